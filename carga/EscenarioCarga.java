@@ -0,0 +1,138 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Escenario de carga reproducible contra el backend levantado en localhost.
+ *
+ * Lanza N clientes concurrentes que durante D segundos repiten la misma mezcla de
+ * lecturas que bloquean en JDBC (listado paginado de reservas, reservas por rango y
+ * habitaciones disponibles). Al final imprime p50/p99/max de latencia, throughput
+ * y el maximo de requests en curso que vio el servidor.
+ *
+ * Uso (JDK 21, sin compilar): java carga/EscenarioCarga.java [url] [clientes] [segundos]
+ */
+public class EscenarioCarga {
+
+    private static final Pattern MAXIMO = Pattern.compile("\"maximoEnCurso\":(\\d+)");
+    private static final Pattern MODO = Pattern.compile("\"modo\":\"(\\w+)\"");
+    private static final Pattern CONFIGURADO = Pattern.compile("\"hilosVirtuales\":(\\w+)");
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:7080";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        LocalDate desde = LocalDate.of(2024, 11, 1);
+        LocalDate hasta = desde.plusDays(60);
+        String[] rutas = {
+                "/reserva?limit=50",
+                "/reserva/rango?desde=" + desde + "&hasta=" + hasta,
+                "/habitacion/disponibles?desde=" + desde + "&hasta=" + hasta,
+        };
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // Calentamiento corto para que el JIT y el pool de conexiones no ensucien la medicion
+        correr(http, url, rutas, Math.min(clientes, 20), 3);
+        enviar(http, HttpRequest.newBuilder(URI.create(url + "/diagnostico/concurrencia/reiniciar"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+
+        Resultado r = correr(http, url, rutas, clientes, segundos);
+        String diagnostico = enviar(http, HttpRequest.newBuilder(URI.create(url + "/diagnostico/concurrencia")).build());
+
+        long[] latencias = r.latencias();
+        Arrays.sort(latencias);
+        System.out.printf("modo servidor        : %s (hilosVirtuales=%s)%n", extraer(MODO, diagnostico),
+                extraer(CONFIGURADO, diagnostico));
+        System.out.printf("clientes / segundos  : %d / %d%n", clientes, segundos);
+        System.out.printf("requests (errores)   : %d (%d)%n", latencias.length, r.errores());
+        System.out.printf("throughput           : %.1f req/s%n", latencias.length / (double) segundos);
+        System.out.printf("p50 / p99 / max (ms) : %.1f / %.1f / %.1f%n",
+                percentil(latencias, 0.50), percentil(latencias, 0.99),
+                latencias.length == 0 ? 0.0 : latencias[latencias.length - 1] / 1e6);
+        System.out.printf("max en curso servidor: %s%n", extraer(MAXIMO, diagnostico));
+    }
+
+    private static Resultado correr(HttpClient http, String url, String[] rutas, int clientes, int segundos) throws Exception {
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        AtomicLong errores = new AtomicLong();
+        List<Future<long[]>> futuros = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                int cliente = c;
+                futuros.add(ejecutor.submit(() -> {
+                    long[] propias = new long[1024];
+                    int n = 0;
+                    for (int i = cliente; System.nanoTime() < fin; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(url + rutas[i % rutas.length]))
+                                .timeout(Duration.ofSeconds(30)).build();
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> respuesta = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (respuesta.statusCode() != 200) {
+                                errores.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errores.incrementAndGet();
+                            continue;
+                        }
+                        if (n == propias.length) {
+                            propias = Arrays.copyOf(propias, n * 2);
+                        }
+                        propias[n++] = System.nanoTime() - inicio;
+                    }
+                    return Arrays.copyOf(propias, n);
+                }));
+            }
+        }
+        int total = 0;
+        for (Future<long[]> f : futuros) {
+            total += f.get().length;
+        }
+        long[] todas = new long[total];
+        int pos = 0;
+        for (Future<long[]> f : futuros) {
+            long[] propias = f.get();
+            System.arraycopy(propias, 0, todas, pos, propias.length);
+            pos += propias.length;
+        }
+        return new Resultado(todas, errores.get());
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0.0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    private static String enviar(HttpClient http, HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static String extraer(Pattern patron, String texto) {
+        Matcher m = patron.matcher(texto);
+        return m.find() ? m.group(1) : "?";
+    }
+
+    private record Resultado(long[] latencias, long errores) {
+    }
+}
@@ -0,0 +1,476 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Simula el flujo del ReservaWizard contra el backend levantado en localhost.
+ *
+ * Cada sesion hace lo mismo que un usuario en el wizard: lista los servicios, elige
+ * fechas y pide las habitaciones libres ya cotizadas, cotiza la elegida con algunos
+ * servicios, crea la reserva y, con cierta probabilidad, la cancela. Al final imprime
+ * por paso el throughput y la distribucion de latencias en el formato de percentiles
+ * de HdrHistogram (y la deja en archivos .hgrm si se pide --salida).
+ *
+ * Dos modelos de carga:
+ *  - cerrado (--tasa=0): --concurrencia sesiones que se repiten sin pausa.
+ *  - abierto (--tasa=N): llegan N sesiones por segundo, con a lo sumo --concurrencia
+ *    en curso. La latencia de la sesion se mide desde el momento en que debia empezar,
+ *    asi una demora del servidor no se esconde atrasando las llegadas (coordinated omission).
+ *
+ * El volumen de datos se controla con --habitaciones y --clientes (se crean antes de
+ * medir) y con --horizonte (dias sobre los que se reparten las fechas).
+ *
+ * Uso (JDK 21, sin compilar): java carga/SimuladorWizard.java [--opcion=valor ...]
+ *   --url=http://localhost:7080  --concurrencia=50  --tasa=0  --segundos=30
+ *   --calentamiento=5  --horizonte=365  --habitaciones=0  --clientes=0
+ *   --cancelacion=0.1  --pausa-ms=0  --salida=target/carga
+ */
+public class SimuladorWizard {
+
+    private static final Pattern ID_HABITACION = Pattern.compile("\"habitacion\":\\{\"id\":(\\d+)");
+    private static final Pattern ID_DATA = Pattern.compile("\"data\":\\{\"id\":(\\d+)");
+    private static final Pattern ID_SERVICIO = Pattern.compile("\\{\"id\":(\\d+),\"nombre\"");
+    private static final Pattern PRECIO_TOTAL = Pattern.compile("\"precioTotal\":([0-9.Ee+-]+)");
+    private static final Pattern ID_CLIENTE = Pattern.compile("\"id\":(\\d+)");
+
+    private static final String[] PASOS = { "servicios", "habitaciones", "cotizar", "crear", "cancelar", "sesion" };
+
+    private final String url;
+    private final HttpClient http;
+    private final Map<String, String> opciones;
+    private final LocalDate primerDia = LocalDate.now().plusDays(1);
+    private final int horizonte;
+    private final double cancelacion;
+    private final long pausaMs;
+    private long[] clienteIds = new long[0];
+
+    private final Map<String, Histograma> histogramas = new LinkedHashMap<>();
+    private final AtomicLong rechazadas = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+    private final AtomicLong sesionesSinLugar = new AtomicLong();
+    private volatile boolean midiendo;
+
+    private SimuladorWizard(Map<String, String> opciones) {
+        this.opciones = opciones;
+        this.url = opciones.getOrDefault("url", "http://localhost:7080");
+        this.horizonte = entero("horizonte", 365);
+        this.cancelacion = Double.parseDouble(opciones.getOrDefault("cancelacion", "0.1"));
+        this.pausaMs = entero("pausa-ms", 0);
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (String paso : PASOS) {
+            histogramas.put(paso, new Histograma());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Opcion invalida: " + arg + " (se espera --clave=valor)");
+                System.exit(2);
+            }
+            opciones.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new SimuladorWizard(opciones).correr();
+    }
+
+    private void correr() throws Exception {
+        int concurrencia = entero("concurrencia", 50);
+        double tasa = Double.parseDouble(opciones.getOrDefault("tasa", "0"));
+        int segundos = entero("segundos", 30);
+        int calentamiento = entero("calentamiento", 5);
+
+        prepararDatos(entero("habitaciones", 0), entero("clientes", 0));
+
+        // Calentamiento sin medir: JIT, pool de conexiones, caches de catalogo y de cotizaciones
+        midiendo = false;
+        cerrado(Math.min(concurrencia, 10), calentamiento);
+        midiendo = true;
+        long inicio = System.nanoTime();
+        if (tasa > 0) {
+            abierto(tasa, concurrencia, segundos);
+        } else {
+            cerrado(concurrencia, segundos);
+        }
+        double transcurridos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("modelo               : %s%n", tasa > 0
+                ? "abierto, " + tasa + " sesiones/s, maximo " + concurrencia + " en curso"
+                : "cerrado, " + concurrencia + " sesiones concurrentes");
+        System.out.printf("duracion             : %.1f s (calentamiento %d s)%n", transcurridos, calentamiento);
+        System.out.printf("reservas rechazadas  : %d (habitacion ocupada entre la cotizacion y el alta)%n", rechazadas.get());
+        System.out.printf("sesiones sin lugar   : %d (ninguna habitacion libre en las fechas)%n", sesionesSinLugar.get());
+        System.out.printf("errores              : %d%n%n", errores.get());
+        System.out.printf("%-13s %9s %9s %9s %9s %9s %9s %9s%n", "paso", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "total");
+        for (Map.Entry<String, Histograma> e : histogramas.entrySet()) {
+            Histograma h = e.getValue();
+            System.out.printf("%-13s %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d%n", e.getKey(), h.total() / transcurridos,
+                    h.percentil(50) / 1000.0, h.percentil(90) / 1000.0, h.percentil(99) / 1000.0,
+                    h.percentil(99.9) / 1000.0, h.maximo() / 1000.0, h.total());
+        }
+        System.out.println();
+        System.out.println("Distribucion de la sesion completa (ms):");
+        histogramas.get("sesion").imprimir(System.out);
+
+        String salida = opciones.get("salida");
+        if (salida != null) {
+            Path directorio = Path.of(salida);
+            Files.createDirectories(directorio);
+            for (Map.Entry<String, Histograma> e : histogramas.entrySet()) {
+                try (PrintStream archivo = new PrintStream(Files.newOutputStream(directorio.resolve(e.getKey() + ".hgrm")))) {
+                    e.getValue().imprimir(archivo);
+                }
+            }
+            System.out.println("Histogramas por paso en " + directorio.toAbsolutePath());
+        }
+    }
+
+    // Modelo cerrado: cada hilo encadena sesiones hasta que se acaba el tiempo
+    private void cerrado(int concurrencia, int segundos) throws InterruptedException {
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrencia; c++) {
+                ejecutor.submit(() -> {
+                    while (System.nanoTime() < fin) {
+                        sesion(System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    // Modelo abierto: las llegadas siguen un reloj fijo, independiente de lo que tarde el servidor
+    private void abierto(double tasa, int concurrencia, int segundos) throws InterruptedException {
+        long intervalo = (long) (1_000_000_000L / tasa);
+        long inicio = System.nanoTime();
+        long fin = inicio + segundos * 1_000_000_000L;
+        Semaphore enCurso = new Semaphore(concurrencia);
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long prevista = inicio; prevista < fin; prevista += intervalo) {
+                long espera = prevista - System.nanoTime();
+                if (espera > 0) {
+                    Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+                }
+                enCurso.acquire();
+                long programada = prevista;
+                ejecutor.submit(() -> {
+                    try {
+                        sesion(programada);
+                    } finally {
+                        enCurso.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void sesion(long programada) {
+        ThreadLocalRandom azar = ThreadLocalRandom.current();
+        try {
+            String servicios = medir("servicios", () -> get("/servicio"));
+            List<Long> servicioIds = ids(ID_SERVICIO, servicios);
+            pausa();
+
+            LocalDate desde = primerDia.plusDays(azar.nextInt(horizonte));
+            LocalDate hasta = desde.plusDays(1 + azar.nextInt(7));
+            String libres = medir("habitaciones", () -> post("/reserva/cotizacion",
+                    "{\"fechaInicio\":\"" + desde + "\",\"fechaFin\":\"" + hasta + "\",\"serviciosIds\":[]}"));
+            List<Long> habitaciones = ids(ID_HABITACION, libres);
+            if (habitaciones.isEmpty()) {
+                sesionesSinLugar.incrementAndGet();
+                registrar("sesion", System.nanoTime() - programada);
+                return;
+            }
+            pausa();
+
+            long habitacion = habitaciones.get(azar.nextInt(habitaciones.size()));
+            List<Long> elegidos = new ArrayList<>();
+            for (Long id : servicioIds) {
+                if (azar.nextInt(3) == 0) {
+                    elegidos.add(id);
+                }
+            }
+            String serviciosJson = elegidos.toString().replace(" ", "");
+            String cotizacion = medir("cotizar", () -> post("/reserva/cotizacion",
+                    "{\"fechaInicio\":\"" + desde + "\",\"fechaFin\":\"" + hasta + "\",\"serviciosIds\":" + serviciosJson
+                            + ",\"habitacionIds\":[" + habitacion + "]}"));
+            pausa();
+
+            long cliente = clienteIds.length > 0 ? clienteIds[azar.nextInt(clienteIds.length)] : 1;
+            long inicioAlta = System.nanoTime();
+            HttpResponse<String> alta = enviar(HttpRequest.newBuilder(URI.create(url + "/reserva"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"fechaInicio\":\"" + desde + "\",\"fechaFin\":\"" + hasta
+                            + "\",\"habitacionId\":" + habitacion + ",\"clienteId\":" + cliente
+                            + ",\"serviciosIds\":" + serviciosJson + "}")));
+            registrar("crear", System.nanoTime() - inicioAlta);
+            if (alta.statusCode() != 200) {
+                // Otra sesion tomo la habitacion despues de la cotizacion: es parte del escenario, no un error
+                (alta.statusCode() == 400 ? rechazadas : errores).incrementAndGet();
+                registrar("sesion", System.nanoTime() - programada);
+                return;
+            }
+
+            if (azar.nextDouble() < cancelacion) {
+                pausa();
+                String reservaId = extraer(ID_DATA, alta.body());
+                String precio = extraer(PRECIO_TOTAL, cotizacion);
+                StringBuilder serviciosReserva = new StringBuilder();
+                for (Long id : elegidos) {
+                    serviciosReserva.append(serviciosReserva.length() > 0 ? "," : "").append("{\"id\":").append(id).append('}');
+                }
+                medir("cancelar", () -> put("/reserva", "{\"id\":" + reservaId + ",\"fechaInicio\":\"" + desde
+                        + "\",\"fechaFin\":\"" + hasta + "\",\"numeroNoches\":" + (hasta.toEpochDay() - desde.toEpochDay())
+                        + ",\"precioTotal\":" + precio + ",\"habitacion\":{\"id\":" + habitacion
+                        + "},\"cliente\":{\"id\":" + cliente + "},\"servicios\":[" + serviciosReserva
+                        + "],\"estado\":\"CANCELADA\"}"));
+            }
+            registrar("sesion", System.nanoTime() - programada);
+        } catch (FalloPaso e) {
+            errores.incrementAndGet();
+        }
+    }
+
+    // Datos adicionales para el escenario; se crean una vez, antes del calentamiento
+    private void prepararDatos(int habitaciones, int clientes) throws Exception {
+        String[] tipos = { "Individual Standard", "Doble Deluxe", "Suite Ejecutiva", "Triple Familiar" };
+        int base = 10_000 + ThreadLocalRandom.current().nextInt(80_000);
+        for (int i = 0; i < habitaciones; i++) {
+            post("/habitacion", "{\"numero\":" + (base + i) + ",\"tipo\":\"" + tipos[i % tipos.length]
+                    + "\",\"precioPorNoche\":" + (8000 + (i % 10) * 1500) + ",\"estado\":\"Limpia\",\"disponible\":true}");
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            String creado = post("/cliente", "{\"nombre\":\"Cliente Carga " + i + "\",\"direccion\":\"Calle " + i
+                    + "\",\"telefono\":\"011-5555-" + i + "\",\"correoElectronico\":\"carga" + base + "." + i + "@test.com\"}");
+            ids.add(Long.parseLong(extraer(ID_DATA, creado)));
+        }
+        if (ids.isEmpty()) {
+            ids = ids(ID_CLIENTE, get("/cliente"));
+        }
+        clienteIds = ids.stream().mapToLong(Long::longValue).toArray();
+        if (clienteIds.length == 0) {
+            throw new IllegalStateException("No hay clientes: use --clientes=N para crearlos");
+        }
+    }
+
+    private String medir(String paso, Llamada llamada) {
+        long inicio = System.nanoTime();
+        String cuerpo = llamada.hacer();
+        registrar(paso, System.nanoTime() - inicio);
+        return cuerpo;
+    }
+
+    private void registrar(String paso, long nanos) {
+        if (midiendo) {
+            histogramas.get(paso).registrar(nanos / 1000);
+        }
+    }
+
+    private void pausa() {
+        if (pausaMs > 0) {
+            try {
+                Thread.sleep(pausaMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private String get(String ruta) {
+        return exigir(enviar(HttpRequest.newBuilder(URI.create(url + ruta)).GET()));
+    }
+
+    private String post(String ruta, String json) {
+        return exigir(enviar(HttpRequest.newBuilder(URI.create(url + ruta))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))));
+    }
+
+    private String put(String ruta, String json) {
+        return exigir(enviar(HttpRequest.newBuilder(URI.create(url + ruta))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))));
+    }
+
+    private HttpResponse<String> enviar(HttpRequest.Builder request) {
+        try {
+            return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new FalloPaso();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FalloPaso();
+        }
+    }
+
+    // Los listados vacios responden 404 con el cuerpo igual de valido
+    private static String exigir(HttpResponse<String> respuesta) {
+        if (respuesta.statusCode() != 200 && respuesta.statusCode() != 404) {
+            throw new FalloPaso();
+        }
+        return respuesta.body();
+    }
+
+    private static List<Long> ids(Pattern patron, String texto) {
+        List<Long> ids = new ArrayList<>();
+        Matcher m = patron.matcher(texto);
+        while (m.find()) {
+            ids.add(Long.parseLong(m.group(1)));
+        }
+        return ids;
+    }
+
+    private static String extraer(Pattern patron, String texto) {
+        Matcher m = patron.matcher(texto);
+        if (!m.find()) {
+            throw new FalloPaso();
+        }
+        return m.group(1);
+    }
+
+    private int entero(String clave, int porDefecto) {
+        return Integer.parseInt(opciones.getOrDefault(clave, String.valueOf(porDefecto)));
+    }
+
+    @FunctionalInterface
+    private interface Llamada {
+        String hacer();
+    }
+
+    private static final class FalloPaso extends RuntimeException {
+        FalloPaso() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Histograma log-lineal en microsegundos, con la misma idea que HdrHistogram: cada
+     * potencia de 2 se divide en 128 sub-buckets, asi el error relativo queda por debajo
+     * del 1% en todo el rango. Registrar es un incremento atomico, sin locks.
+     */
+    static final class Histograma {
+
+        private static final int SUB_BUCKETS = 128;
+        private final AtomicLongArray cuentas = new AtomicLongArray(SUB_BUCKETS * 66);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong maximo = new AtomicLong();
+        private final AtomicLong suma = new AtomicLong();
+
+        void registrar(long valor) {
+            long v = Math.max(0, valor);
+            cuentas.incrementAndGet(indice(v));
+            total.incrementAndGet();
+            suma.addAndGet(v);
+            maximo.accumulateAndGet(v, Math::max);
+        }
+
+        static int indice(long v) {
+            if (v < 2 * SUB_BUCKETS) {
+                return (int) v;
+            }
+            int exponente = 63 - Long.numberOfLeadingZeros(v) - 7;
+            return exponente * SUB_BUCKETS + (int) (v >> exponente);
+        }
+
+        // Punto medio del bucket
+        static long valor(int indice) {
+            if (indice < 2 * SUB_BUCKETS) {
+                return indice;
+            }
+            int exponente = indice / SUB_BUCKETS - 1;
+            long sub = indice - (long) exponente * SUB_BUCKETS;
+            return (sub << exponente) + (1L << exponente) / 2;
+        }
+
+        long total() {
+            return total.get();
+        }
+
+        long maximo() {
+            return maximo.get();
+        }
+
+        long percentil(double p) {
+            long n = total.get();
+            if (n == 0) {
+                return 0;
+            }
+            long objetivo = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+            long acumulado = 0;
+            for (int i = 0; i < cuentas.length(); i++) {
+                acumulado += cuentas.get(i);
+                if (acumulado >= objetivo) {
+                    return Math.min(valor(i), maximo.get());
+                }
+            }
+            return maximo.get();
+        }
+
+        // Mismo formato que HistogramLogProcessor/outputPercentileDistribution (se puede graficar igual)
+        void imprimir(PrintStream salida) {
+            long n = total.get();
+            salida.printf("%12s %14s %10s %14s%n%n", "Value", "Percentile", "TotalCount", "1/(1-Percentile)");
+            if (n == 0) {
+                return;
+            }
+            long acumulado = 0;
+            double siguiente = 0;
+            for (int i = 0; i < cuentas.length() && acumulado < n; i++) {
+                long c = cuentas.get(i);
+                if (c == 0) {
+                    continue;
+                }
+                acumulado += c;
+                double percentil = (double) acumulado / n;
+                // Como HdrHistogram: cada vez mas lineas a medida que se acerca a la cola
+                if (percentil >= siguiente || acumulado == n) {
+                    salida.printf("%12.3f %14.12f %10d %14s%n", Math.min(valor(i), maximo.get()) / 1000.0, percentil,
+                            acumulado, percentil < 1 ? String.format("%.2f", 1 / (1 - percentil)) : "");
+                    double restante = 1 - percentil;
+                    siguiente = percentil + restante / 5;
+                }
+            }
+            double media = suma.get() / (double) n / 1000.0;
+            salida.printf("#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", media, desvio(media));
+            salida.printf("#[Max     = %12.3f, Total count    = %12d]%n", maximo.get() / 1000.0, n);
+            salida.printf("#[Buckets = %12d, SubBuckets     = %12d]%n", cuentas.length() / SUB_BUCKETS, SUB_BUCKETS);
+        }
+
+        private double desvio(double mediaMs) {
+            long n = total.get();
+            double acumulado = 0;
+            for (int i = 0; i < cuentas.length(); i++) {
+                long c = cuentas.get(i);
+                if (c > 0) {
+                    double d = valor(i) / 1000.0 - mediaMs;
+                    acumulado += d * d * c;
+                }
+            }
+            return Math.sqrt(acumulado / n);
+        }
+    }
+}
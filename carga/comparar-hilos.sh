@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Compara el backend con hilos de plataforma y con hilos virtuales bajo la misma carga.
+# Uso: carga/comparar-hilos.sh [clientes] [segundos]
+# Las advertencias de pinning (jdk.tracePinnedThreads) quedan en target/carga-<modo>.log
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CLIENTES=${1:-400}
+SEGUNDOS=${2:-20}
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/*.jar | grep -v original | head -1)
+
+for MODO in false true; do
+    LOG="target/carga-$([ "$MODO" = true ] && echo virtual || echo plataforma).log"
+    HILOS_VIRTUALES=$MODO java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+        --spring.jpa.show-sql=false > "$LOG" 2>&1 &
+    PID=$!
+    trap 'kill $PID 2>/dev/null || true' EXIT
+    until curl -sf http://localhost:7080/diagnostico/concurrencia > /dev/null; do sleep 1; done
+
+    echo "=== HILOS_VIRTUALES=$MODO ==="
+    java carga/EscenarioCarga.java http://localhost:7080 "$CLIENTES" "$SEGUNDOS"
+    echo "advertencias de pinning: $(grep -c 'onPinned\|<== monitors' "$LOG" || true)"
+    echo
+
+    kill $PID; wait $PID 2>/dev/null || true
+done
@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Levanta el backend con H2 en memoria (sin red ni MySQL) y le corre el simulador del wizard.
+# Uso: carga/simular-wizard.sh [--opcion=valor ...]   (ver carga/SimuladorWizard.java)
+# Ejemplo: carga/simular-wizard.sh --habitaciones=200 --clientes=500 --tasa=50 --segundos=60
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/*.jar | grep -v original | head -1)
+
+java -jar "$JAR" > target/carga-wizard.log 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+until curl -sf http://localhost:7080/diagnostico/concurrencia > /dev/null; do sleep 1; done
+
+java carga/SimuladorWizard.java --salida=target/carga-wizard "$@"
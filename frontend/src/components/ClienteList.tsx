@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useEffect, useState } from 'react';
 import { Table, Badge, Alert, Button, Modal, Form, Row, Col } from 'react-bootstrap';
 import { Cliente } from '../types';
 import { clienteService } from '../services/api';
@@ -15,8 +15,39 @@ const ClienteList: React.FC = () => {
     correoElectronico: ''
   });
 
+  const [busqueda, setBusqueda] = useState('');
+  const [resultados, setResultados] = useState<Cliente[] | null>(null);
+
   // Ya no necesitamos cargar clientes, vienen del contexto
 
+  // La busqueda va al indice del servidor; se espera a que el usuario deje de escribir
+  useEffect(() => {
+    const texto = busqueda.trim();
+    if (!texto) {
+      setResultados(null);
+      return;
+    }
+    let vigente = true;
+    const espera = setTimeout(async () => {
+      try {
+        const response = await clienteService.buscar(texto);
+        if (vigente) {
+          setResultados(response.estado ? response.data : []);
+        }
+      } catch (error) {
+        if (vigente) {
+          setResultados([]);
+        }
+      }
+    }, 250);
+    return () => {
+      vigente = false;
+      clearTimeout(espera);
+    };
+  }, [busqueda]);
+
+  const visibles = resultados ?? clientes;
+
   const handleShowModal = (cliente?: Cliente) => {
     if (cliente) {
       setEditingCliente(cliente);
@@ -64,6 +95,7 @@ const ClienteList: React.FC = () => {
         const clienteActualizado = { ...formData, id: editingCliente.id };
         await clienteService.update(clienteActualizado);
         updateCliente(clienteActualizado);
+        setResultados(prev => prev && prev.map(c => (c.id === clienteActualizado.id ? clienteActualizado : c)));
       } else {
         const response = await clienteService.create(formData);
         if (response.estado) {
@@ -83,6 +115,7 @@ const ClienteList: React.FC = () => {
         const response = await clienteService.delete(id);
         if (response.estado) {
           removeCliente(id);
+          setResultados(prev => prev && prev.filter(c => c.id !== id));
           alert('Cliente eliminado exitosamente');
         } else {
           alert('Error al eliminar el cliente: ' + (response.message?.join(', ') || 'Error desconocido'));
@@ -129,7 +162,16 @@ const ClienteList: React.FC = () => {
         </div>
       </div>
 
-      {clientes.length === 0 ? (
+      <Form.Control
+        type="search"
+        placeholder="🔍 Buscar por nombre, email o teléfono"
+        value={busqueda}
+        onChange={(e) => setBusqueda(e.target.value)}
+        className="mb-3"
+        style={{ borderRadius: '25px', padding: '8px 20px' }}
+      />
+
+      {visibles.length === 0 ? (
         <div 
           className="text-center py-5"
           style={{
@@ -140,8 +182,10 @@ const ClienteList: React.FC = () => {
           }}
         >
           <div style={{ fontSize: '48px', marginBottom: '1rem' }}>👥</div>
-          <h5 style={{ color: '#6c757d', marginBottom: '0.5rem' }}>No hay clientes registrados</h5>
-          <p className="text-muted">Comienza agregando tu primer cliente</p>
+          <h5 style={{ color: '#6c757d', marginBottom: '0.5rem' }}>
+            {resultados ? 'No se encontraron clientes' : 'No hay clientes registrados'}
+          </h5>
+          <p className="text-muted">{resultados ? 'Prueba con otro nombre, email o teléfono' : 'Comienza agregando tu primer cliente'}</p>
         </div>
       ) : (
         <div 
@@ -164,7 +208,7 @@ const ClienteList: React.FC = () => {
               </tr>
             </thead>
             <tbody>
-              {clientes.map((cliente, index) => (
+              {visibles.map((cliente, index) => (
                 <tr 
                   key={cliente.id}
                   style={{ 
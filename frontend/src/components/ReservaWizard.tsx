@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Card, Button, Row, Col, Form, Alert, Badge, Modal, Spinner, Table } from 'react-bootstrap';
 import { Cliente, Habitacion, Servicio, ReservaRequest, Reserva } from '../types';
-import { habitacionService, reservaService, clienteService } from '../services/api';
+import { reservaService, clienteService } from '../services/api';
 import { useAppContext } from '../context/AppContext';
 
 const ReservaWizard: React.FC = () => {
@@ -23,6 +23,7 @@ const ReservaWizard: React.FC = () => {
   // Datos de la aplicación
   const [habitaciones, setHabitaciones] = useState<Habitacion[]>([]);
   const [habitacionesDisponibles, setHabitacionesDisponibles] = useState<Habitacion[]>([]);
+  const [preciosEstadia, setPreciosEstadia] = useState<Record<number, number>>({});
   const [serviciosDisponibles, setServiciosDisponibles] = useState<Servicio[]>([]);
 
   // Estados de la reserva
@@ -74,11 +75,17 @@ const ReservaWizard: React.FC = () => {
     }
   };
 
+  // El backend devuelve solo las habitaciones libres en el rango, ya cotizadas
   const loadHabitacionesDisponibles = async () => {
     try {
-      const response = await habitacionService.getAll();
-      const disponibles = response.data.filter(h => h.disponible);
-      setHabitacionesDisponibles(disponibles);
+      const response = await reservaService.cotizar({
+        fechaInicio: formData.fechaInicio,
+        fechaFin: formData.fechaFin,
+        serviciosIds: []
+      });
+      const cotizaciones = response.estado ? response.data : [];
+      setHabitacionesDisponibles(cotizaciones.map(c => c.habitacion));
+      setPreciosEstadia(Object.fromEntries(cotizaciones.map(c => [c.habitacion.id, c.precioTotal])));
     } catch (error) {
       console.error('Error al cargar habitaciones disponibles:', error);
     }
@@ -94,18 +101,23 @@ const ReservaWizard: React.FC = () => {
     }
   };
 
-  const calculateTotalPrice = () => {
-    let total = 0;
-    
-    if (habitacionSeleccionada && numeroNoches > 0) {
-      total += habitacionSeleccionada.precioPorNoche * numeroNoches;
+  // El precio sale del calendario de tarifas del backend (temporadas, fines de semana, etc.)
+  const calculateTotalPrice = async () => {
+    if (!habitacionSeleccionada || numeroNoches <= 0 || !formData.fechaInicio || !formData.fechaFin) {
+      setPrecioTotal(0);
+      return;
+    }
+    try {
+      const response = await reservaService.cotizar({
+        fechaInicio: formData.fechaInicio,
+        fechaFin: formData.fechaFin,
+        serviciosIds: serviciosSeleccionados.map(s => s.id),
+        habitacionIds: [habitacionSeleccionada.id]
+      });
+      setPrecioTotal(response.estado && response.data.length > 0 ? response.data[0].precioTotal : 0);
+    } catch (error) {
+      console.error('Error al cotizar la reserva:', error);
     }
-    
-    serviciosSeleccionados.forEach(servicio => {
-      total += servicio.precio * numeroNoches;
-    });
-    
-    setPrecioTotal(total);
   };
 
   const handleDateChange = (field: 'fechaInicio' | 'fechaFin', value: string) => {
@@ -416,6 +428,11 @@ const ReservaWizard: React.FC = () => {
                         <p className="h5 text-primary mb-0">
                           {formatCurrency(habitacion.precioPorNoche)}/noche
                         </p>
+                        {preciosEstadia[habitacion.id] !== undefined && (
+                          <small className="text-muted">
+                            Total estadía: {formatCurrency(preciosEstadia[habitacion.id])}
+                          </small>
+                        )}
                       </Card.Body>
                     </Card>
                   </Col>
@@ -1,6 +1,6 @@
 import React, { createContext, useContext, useState, useEffect, ReactNode } from 'react';
 import { Cliente, Empleado, Habitacion, Servicio, Reserva } from '../types';
-import { clienteService, empleadoService, habitacionService, servicioService, reservaService } from '../services/api';
+import { clienteService, empleadoService, habitacionService, servicioService, reservaService, getTodasLasPaginas } from '../services/api';
 
 interface AppContextType {
   // Datos
@@ -71,11 +71,11 @@ export const AppProvider: React.FC<AppProviderProps> = ({ children }) => {
       console.log('🔄 Cargando todos los datos...');
       
       const [clientesRes, empleadosRes, habitacionesRes, serviciosRes, reservasRes] = await Promise.all([
-        clienteService.getAll(),
-        empleadoService.getAll(),
-        habitacionService.getAll(),
-        servicioService.getAll(),
-        reservaService.getAll()
+        getTodasLasPaginas(clienteService.getAll),
+        getTodasLasPaginas(empleadoService.getAll),
+        getTodasLasPaginas(habitacionService.getAll),
+        getTodasLasPaginas(servicioService.getAll),
+        getTodasLasPaginas(reservaService.getAll)
       ]);
       
       if (clientesRes.estado) {
@@ -131,7 +131,7 @@ export const AppProvider: React.FC<AppProviderProps> = ({ children }) => {
   // Funciones para refrescar datos individuales
   const refreshClientes = async () => {
     try {
-      const response = await clienteService.getAll();
+      const response = await getTodasLasPaginas(clienteService.getAll);
       if (response.estado) {
         setClientes(response.data);
       }
@@ -142,7 +142,7 @@ export const AppProvider: React.FC<AppProviderProps> = ({ children }) => {
 
   const refreshEmpleados = async () => {
     try {
-      const response = await empleadoService.getAll();
+      const response = await getTodasLasPaginas(empleadoService.getAll);
       if (response.estado) {
         setEmpleados(response.data);
       }
@@ -153,7 +153,7 @@ export const AppProvider: React.FC<AppProviderProps> = ({ children }) => {
 
   const refreshHabitaciones = async () => {
     try {
-      const response = await habitacionService.getAll();
+      const response = await getTodasLasPaginas(habitacionService.getAll);
       if (response.estado) {
         setHabitaciones(response.data);
       }
@@ -164,7 +164,7 @@ export const AppProvider: React.FC<AppProviderProps> = ({ children }) => {
 
   const refreshServicios = async () => {
     try {
-      const response = await servicioService.getAll();
+      const response = await getTodasLasPaginas(servicioService.getAll);
       if (response.estado) {
         setServicios(response.data);
       }
@@ -175,7 +175,7 @@ export const AppProvider: React.FC<AppProviderProps> = ({ children }) => {
 
   const refreshReservas = async () => {
     try {
-      const response = await reservaService.getAll();
+      const response = await getTodasLasPaginas(reservaService.getAll);
       if (response.estado) {
         setReservas(response.data);
       }
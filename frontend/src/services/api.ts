@@ -1,5 +1,5 @@
 import axios from 'axios';
-import { Cliente, Empleado, Habitacion, Servicio, Reserva, ReservaRequest, ApiResponse } from '../types';
+import { Cliente, Empleado, Habitacion, Servicio, Reserva, ReservaRequest, Cotizacion, CotizacionRequest, ApiResponse } from '../types';
 
 const API_BASE_URL = 'http://localhost:7080';
 
@@ -34,15 +34,46 @@ interface ApiResponseSingle<T> {
   data: T;
 }
 
+// Los listados son paginados por cursor: after es el nextCursor de la pagina anterior
+export interface PaginaParams {
+  after?: number | null;
+  limit?: number;
+}
+
+// Tope de filas por pagina que acepta el backend
+const LIMITE_PAGINA = 500;
+
+// Recorre todas las paginas de un listado hasta que nextCursor venga en null
+export const getTodasLasPaginas = async <T>(
+  getPagina: (pagina: PaginaParams) => Promise<ApiResponse<T>>
+): Promise<ApiResponse<T>> => {
+  const primera = await getPagina({ limit: LIMITE_PAGINA });
+  const data = [...(primera.data ?? [])];
+  let cursor = primera.estado ? primera.nextCursor : null;
+  while (cursor != null) {
+    const siguiente = await getPagina({ after: cursor, limit: LIMITE_PAGINA });
+    if (!siguiente.estado) {
+      break;
+    }
+    data.push(...siguiente.data);
+    cursor = siguiente.nextCursor;
+  }
+  return { ...primera, data, nextCursor: null };
+};
+
 export const clienteService = {
-  getAll: async (): Promise<ApiResponse<Cliente>> => {
-    const response = await api.get('/cliente');
+  getAll: async (pagina: PaginaParams = {}): Promise<ApiResponse<Cliente>> => {
+    const response = await api.get('/cliente', { params: pagina });
     return response.data;
   },
   getById: async (id: number): Promise<ApiResponse<Cliente>> => {
     const response = await api.get(`/cliente/${id}`);
     return response.data;
   },
+  buscar: async (q: string, limit?: number): Promise<ApiResponse<Cliente>> => {
+    const response = await api.get('/cliente/buscar', { params: { q, limit } });
+    return response.data;
+  },
   create: async (cliente: Omit<Cliente, 'id'>): Promise<ApiResponseSingle<Cliente>> => {
     const response = await api.post('/cliente', cliente);
     return response.data;
@@ -58,8 +89,8 @@ export const clienteService = {
 };
 
 export const empleadoService = {
-  getAll: async (): Promise<ApiResponse<Empleado>> => {
-    const response = await api.get('/empleado');
+  getAll: async (pagina: PaginaParams = {}): Promise<ApiResponse<Empleado>> => {
+    const response = await api.get('/empleado', { params: pagina });
     return response.data;
   },
   getById: async (id: number): Promise<ApiResponse<Empleado>> => {
@@ -81,8 +112,8 @@ export const empleadoService = {
 };
 
 export const habitacionService = {
-  getAll: async (): Promise<ApiResponse<Habitacion>> => {
-    const response = await api.get('/habitacion');
+  getAll: async (pagina: PaginaParams = {}): Promise<ApiResponse<Habitacion>> => {
+    const response = await api.get('/habitacion', { params: pagina });
     return response.data;
   },
   getById: async (id: number): Promise<ApiResponse<Habitacion>> => {
@@ -104,8 +135,8 @@ export const habitacionService = {
 };
 
 export const servicioService = {
-  getAll: async (): Promise<ApiResponse<Servicio>> => {
-    const response = await api.get('/servicio');
+  getAll: async (pagina: PaginaParams = {}): Promise<ApiResponse<Servicio>> => {
+    const response = await api.get('/servicio', { params: pagina });
     return response.data;
   },
   getById: async (id: number): Promise<ApiResponse<Servicio>> => {
@@ -127,8 +158,8 @@ export const servicioService = {
 };
 
 export const reservaService = {
-  getAll: async (): Promise<ApiResponse<Reserva>> => {
-    const response = await api.get('/reserva');
+  getAll: async (pagina: PaginaParams = {}): Promise<ApiResponse<Reserva>> => {
+    const response = await api.get('/reserva', { params: pagina });
     return response.data;
   },
   getById: async (id: number): Promise<ApiResponse<Reserva>> => {
@@ -139,6 +170,10 @@ export const reservaService = {
     const response = await api.post('/reserva', reserva);
     return response.data;
   },
+  cotizar: async (solicitud: CotizacionRequest): Promise<ApiResponse<Cotizacion>> => {
+    const response = await api.post('/reserva/cotizacion', solicitud);
+    return response.data;
+  },
   update: async (reserva: Reserva): Promise<ApiResponseSingle<Reserva>> => {
     const response = await api.put('/reserva', reserva);
     return response.data;
@@ -42,6 +42,8 @@ export interface Reserva {
   cliente: Cliente;
   servicios: Servicio[];
   estado: 'CONFIRMADA' | 'PENDIENTE' | 'CANCELADA';
+  // Solo en PENDIENTE: si no se confirma antes, la reserva se cancela sola
+  vencimiento?: string | null;
 }
 
 export interface ReservaRequest {
@@ -52,6 +54,20 @@ export interface ReservaRequest {
   serviciosIds: number[];
 }
 
+export interface CotizacionRequest {
+  fechaInicio: string;
+  fechaFin: string;
+  serviciosIds: number[];
+  tipo?: string;
+  habitacionIds?: number[];
+}
+
+export interface Cotizacion {
+  habitacion: Habitacion;
+  numeroNoches: number;
+  precioTotal: number;
+}
+
 export interface Factura {
   id: number;
   reservaId: number;
@@ -63,4 +79,6 @@ export interface ApiResponse<T> {
   estado: boolean;
   message: string[];
   data: T[];
+  nextCursor?: number | null;
+  limit?: number;
 }
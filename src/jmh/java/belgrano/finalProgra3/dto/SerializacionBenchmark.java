@@ -0,0 +1,115 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import belgrano.finalProgra3.entity.Cliente;
+import belgrano.finalProgra3.entity.Empleado;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.Servicio;
+
+/**
+ * Serializacion a JSON de una pagina de reservas: las entidades tal cual (con los
+ * empleados de cada servicio) y los DTOs que devuelve hoy el controller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionBenchmark {
+
+	@Param({ "50", "500" })
+	private int tamanio;
+
+	private ObjectMapper objectMapper;
+	private List<Reserva> reservas;
+
+	@Setup
+	public void preparar() {
+		// Misma configuracion base que usa Spring MVC para las respuestas
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+		List<Servicio> servicios = new ArrayList<>();
+		for (long i = 1; i <= 5; i++) {
+			Empleado empleado = new Empleado();
+			empleado.setId(i);
+			empleado.setNombre("Empleado " + i);
+			empleado.setCargo("Recepcion");
+			empleado.setNumeroIdentificacion(30_000_000L + i);
+			empleado.setSalario(500_000L);
+			empleado.setFechaContratacion(LocalDateTime.of(2020, 1, 1, 9, 0));
+			Servicio servicio = new Servicio();
+			servicio.setId(i);
+			servicio.setNombre("Servicio " + i);
+			servicio.setDescripcion("Descripcion del servicio " + i);
+			servicio.setPrecio(1000 * i);
+			servicio.setDisponibilidad(true);
+			servicio.setEmpleados(new HashSet<>(Set.of(empleado)));
+			servicios.add(servicio);
+		}
+
+		reservas = new ArrayList<>();
+		for (int i = 0; i < tamanio; i++) {
+			Habitacion habitacion = new Habitacion();
+			habitacion.setId((long) (i % 20 + 1));
+			habitacion.setNumero(100 + i % 20);
+			habitacion.setTipo("Doble Deluxe");
+			habitacion.setPrecioPorNoche(12000.00);
+			habitacion.setEstado("Limpia");
+			habitacion.setDisponible(true);
+			Cliente cliente = new Cliente();
+			cliente.setId((long) i + 1);
+			cliente.setNombre("Cliente " + i);
+			cliente.setDireccion("Calle " + i);
+			cliente.setTelefono("11-5555-" + i);
+			cliente.setCorreoElectronico("cliente" + i + "@mail.com");
+
+			LocalDate inicio = LocalDate.of(2025, 1, 1).plusDays(i);
+			Reserva reserva = new Reserva();
+			reserva.setId((long) i + 1);
+			reserva.setFechaInicio(inicio);
+			reserva.setFechaFin(inicio.plusDays(3));
+			reserva.setNumeroNoches(3);
+			reserva.setPrecioTotal(36000.00);
+			reserva.setHabitacion(habitacion);
+			reserva.setCliente(cliente);
+			reserva.setServicios(new HashSet<>(servicios.subList(0, i % 3)));
+			reserva.setEstado(Reserva.EstadoReserva.CONFIRMADA);
+			reservas.add(reserva);
+		}
+	}
+
+	@Benchmark
+	public String entidades() throws JsonProcessingException {
+		return objectMapper.writeValueAsString(new ResponseDto<>(true, "Reservas encontradas", reservas));
+	}
+
+	@Benchmark
+	public String dtos() throws JsonProcessingException {
+		return objectMapper.writeValueAsString(new ResponseDto<>(true, "Reservas encontradas", ReservaResponseDto.de(reservas)));
+	}
+}
@@ -0,0 +1,110 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import belgrano.finalProgra3.Application;
+import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.service.IReservaService;
+import belgrano.finalProgra3.service.ITarifaService;
+
+/**
+ * Camino caliente del alta de reservas. createFromRequest corre completo contra H2
+ * en memoria (cerrojo, transaccion, validaciones e INSERT); cotizar aisla la parte
+ * de CPU: parseo de fechas y precio noche por noche con el calendario de tarifas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservaBenchmark {
+
+	private static final long HABITACIONES = 5;
+	private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+	private ConfigurableApplicationContext contexto;
+	private IReservaService reservaService;
+	private ITarifaService tarifaService;
+	private String fechaInicio;
+	private String fechaFin;
+	private long siguiente;
+
+	private Habitacion habitacion;
+	private Set<Servicio> servicios;
+
+	@Setup(Level.Trial)
+	public void levantar() {
+		contexto = new SpringApplicationBuilder(Application.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				.run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+		reservaService = contexto.getBean(IReservaService.class);
+		tarifaService = contexto.getBean(ITarifaService.class);
+		// Dentro del horizonte precalculado del calendario
+		fechaInicio = LocalDate.now().plusDays(60).toString();
+		fechaFin = LocalDate.now().plusDays(67).toString();
+
+		habitacion = new Habitacion();
+		habitacion.setId(1L);
+		habitacion.setTipo("Individual Standard");
+		habitacion.setPrecioPorNoche(8500.50);
+		servicios = Set.of(servicio(1L, 2500.00), servicio(2L, 4500.50), servicio(3L, 1800.00));
+	}
+
+	@TearDown(Level.Trial)
+	public void bajar() {
+		contexto.close();
+	}
+
+	// Cada llamada usa un rango nuevo (2 noches) rotando entre las habitaciones de data.sql,
+	// asi nunca choca con una reserva anterior
+	@Benchmark
+	public Reserva createFromRequest() {
+		long n = siguiente++;
+		LocalDate inicio = BASE.plusDays((n / HABITACIONES) * 2);
+		ReservaRequestDto request = new ReservaRequestDto();
+		request.setHabitacionId(n % HABITACIONES + 1);
+		request.setClienteId(1L);
+		request.setServiciosIds(List.of(1L, 2L));
+		request.setFechaInicio(inicio.toString());
+		request.setFechaFin(inicio.plusDays(2).toString());
+		return reservaService.createFromRequest(request);
+	}
+
+	@Benchmark
+	public long cotizar() {
+		LocalDate inicio = LocalDate.parse(fechaInicio);
+		LocalDate fin = LocalDate.parse(fechaFin);
+		return tarifaService.cotizarCentavos(habitacion, servicios, inicio, fin);
+	}
+
+	private static Servicio servicio(Long id, double precio) {
+		Servicio servicio = new Servicio();
+		servicio.setId(id);
+		servicio.setPrecio(precio);
+		return servicio;
+	}
+}
@@ -0,0 +1,114 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import belgrano.finalProgra3.Application;
+import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IInventarioService;
+import belgrano.finalProgra3.service.IReservaService;
+
+/**
+ * Altas concurrentes con el cerrojo por habitacion. En habitacionPropia cada hilo
+ * reserva la suya y no compite por el cerrojo; en mismaHabitacion todos reservan
+ * la misma (fechas distintas) y se serializan. Se corre una vez por cantidad de hilos:
+ * mvn -P benchmark compile exec:exec -Djmh.args="ReservaConcurrenteBenchmark -t 16"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservaConcurrenteBenchmark {
+
+	private static final int MAXIMO_HILOS = 64;
+	private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+	private ConfigurableApplicationContext contexto;
+	private IReservaService reservaService;
+	private long[] habitacionIds;
+	private final AtomicInteger siguienteHilo = new AtomicInteger();
+	private final AtomicLong siguienteCompartida = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void levantar() {
+		contexto = new SpringApplicationBuilder(Application.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				.run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+		reservaService = contexto.getBean(IReservaService.class);
+		IHabitacionService habitacionService = contexto.getBean(IHabitacionService.class);
+		habitacionIds = new long[MAXIMO_HILOS];
+		for (int i = 0; i < MAXIMO_HILOS; i++) {
+			Habitacion habitacion = new Habitacion();
+			habitacion.setNumero(5000 + i);
+			habitacion.setTipo("Benchmark");
+			habitacion.setPrecioPorNoche(10000);
+			habitacion.setEstado("Limpia");
+			habitacion.setDisponible(true);
+			habitacionIds[i] = habitacionService.save(habitacion).getId();
+		}
+		contexto.getBean(IInventarioService.class).reconciliar();
+	}
+
+	@TearDown(Level.Trial)
+	public void bajar() {
+		contexto.close();
+	}
+
+	// Cada hilo se queda con una habitacion y avanza sus propias fechas
+	@State(Scope.Thread)
+	public static class Hilo {
+
+		long habitacionId;
+		long siguiente;
+
+		@Setup(Level.Trial)
+		public void elegir(ReservaConcurrenteBenchmark benchmark) {
+			habitacionId = benchmark.habitacionIds[benchmark.siguienteHilo.getAndIncrement() % MAXIMO_HILOS];
+		}
+	}
+
+	@Benchmark
+	public Reserva habitacionPropia(Hilo hilo) {
+		return reservaService.createFromRequest(pedido(hilo.habitacionId, hilo.siguiente++));
+	}
+
+	@Benchmark
+	public Reserva mismaHabitacion() {
+		return reservaService.createFromRequest(pedido(habitacionIds[0], siguienteCompartida.getAndIncrement()));
+	}
+
+	// Rangos de 2 noches que nunca se pisan dentro de la misma habitacion
+	private static ReservaRequestDto pedido(long habitacionId, long n) {
+		LocalDate inicio = BASE.plusDays(n * 2);
+		ReservaRequestDto request = new ReservaRequestDto();
+		request.setHabitacionId(habitacionId);
+		request.setClienteId(1L);
+		request.setFechaInicio(inicio.toString());
+		request.setFechaFin(inicio.plusDays(2).toString());
+		return request;
+	}
+}
@@ -0,0 +1,93 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Consulta de disponibilidad sobre el indice en memoria: una habitacion puntual
+ * y el barrido de todas las habitaciones que hace /habitacion/disponibles.
+ * Las consultas se generan con semilla fija para que las corridas sean comparables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DisponibilidadBenchmark {
+
+	private static final int CONSULTAS = 4096;
+	private static final int DIA_BASE = 20_000;
+
+	@Param({ "100", "1000" })
+	private int habitaciones;
+
+	@Param({ "200" })
+	private int reservasPorHabitacion;
+
+	private IndiceIntervalos indice;
+	private long[] habitacionIds;
+	private int[] desdes;
+	private int[] hastas;
+	private int siguiente;
+
+	@Setup
+	public void preparar() {
+		SplittableRandom random = new SplittableRandom(42);
+		List<IndiceIntervalos.Ocupacion> ocupaciones = new ArrayList<>();
+		long reservaId = 1;
+		for (long h = 1; h <= habitaciones; h++) {
+			int dia = DIA_BASE;
+			for (int r = 0; r < reservasPorHabitacion; r++) {
+				dia += random.nextInt(0, 3);
+				int noches = random.nextInt(1, 6);
+				ocupaciones.add(new IndiceIntervalos.Ocupacion(reservaId++, h, dia, dia + noches));
+				dia += noches;
+			}
+		}
+		indice = new IndiceIntervalos();
+		indice.cargar(ocupaciones);
+
+		habitacionIds = new long[CONSULTAS];
+		desdes = new int[CONSULTAS];
+		hastas = new int[CONSULTAS];
+		int horizonte = reservasPorHabitacion * 4;
+		for (int i = 0; i < CONSULTAS; i++) {
+			habitacionIds[i] = random.nextLong(1, habitaciones + 1);
+			desdes[i] = DIA_BASE + random.nextInt(horizonte);
+			hastas[i] = desdes[i] + random.nextInt(1, 8);
+		}
+	}
+
+	@Benchmark
+	public boolean estaLibre() {
+		int i = siguiente++ & (CONSULTAS - 1);
+		return indice.estaLibre(habitacionIds[i], desdes[i], hastas[i]);
+	}
+
+	@Benchmark
+	public int barridoDeHabitaciones() {
+		int i = siguiente++ & (CONSULTAS - 1);
+		int libres = 0;
+		for (long h = 1; h <= habitaciones; h++) {
+			if (indice.estaLibre(h, desdes[i], hastas[i])) {
+				libres++;
+			}
+		}
+		return libres;
+	}
+}
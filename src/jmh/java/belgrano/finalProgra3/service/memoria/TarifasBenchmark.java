@@ -0,0 +1,80 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Precio de una estadia con el calendario precalculado y costo de cambiar una regla
+ * (recalculo incremental de las noches que cubre).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TarifasBenchmark {
+
+	private static final int DIA_BASE = 20_000;
+	private static final int DIAS = 760;
+	private static final String[] TIPOS = { "Individual Standard", "Doble Deluxe", "Suite Ejecutiva", "Triple Familiar" };
+
+	@Param({ "1", "7", "30" })
+	private int noches;
+
+	private CalendarioTarifas calendario;
+	private CalendarioTarifas.Regla temporada;
+	private int siguiente;
+
+	@Setup
+	public void preparar() {
+		List<CalendarioTarifas.Regla> reglas = new ArrayList<>();
+		long id = 1;
+		// Temporadas altas de 60 noches por anio, fines de semana +15% y un precio fijo por tipo en fechas puntuales
+		for (int anio = 0; anio < 2; anio++) {
+			reglas.add(new CalendarioTarifas.Regla(id++, null, DIA_BASE + anio * 365, DIA_BASE + anio * 365 + 60,
+					0, CalendarioTarifas.Ajuste.PORCENTAJE, 3_000, 0, 1));
+		}
+		reglas.add(new CalendarioTarifas.Regla(id++, null, Integer.MIN_VALUE, Integer.MAX_VALUE,
+				(1 << 4) | (1 << 5), CalendarioTarifas.Ajuste.PORCENTAJE, 1_500, 0, 2));
+		for (String tipo : TIPOS) {
+			reglas.add(new CalendarioTarifas.Regla(id++, tipo, DIA_BASE + 300, DIA_BASE + 310,
+					0, CalendarioTarifas.Ajuste.PRECIO_FIJO, 2_500_000, 0, 0));
+		}
+		calendario = new CalendarioTarifas(DIA_BASE, DIAS);
+		calendario.cargar(reglas);
+		temporada = reglas.get(0);
+		for (String tipo : TIPOS) {
+			calendario.precioNoches(tipo, 850_050, DIA_BASE, DIA_BASE + 1, null);
+		}
+	}
+
+	@Benchmark
+	public long precioEstadia() {
+		int i = siguiente++;
+		int desde = DIA_BASE + (i & 511);
+		return calendario.precioNoches(TIPOS[i & 3], 850_050, desde, desde + noches, null);
+	}
+
+	// Cambia el porcentaje de una temporada: solo se recalculan sus 60 noches en cada tipo
+	@Benchmark
+	public int cambiarRegla() {
+		int i = siguiente++;
+		calendario.aplicar(new CalendarioTarifas.Regla(temporada.id(), null, temporada.inicio(), temporada.fin(),
+				0, CalendarioTarifas.Ajuste.PORCENTAJE, 2_000 + (i & 1023), 0, 1));
+		return calendario.cantidadReglas();
+	}
+}
@@ -0,0 +1,20 @@
+package belgrano.finalProgra3.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import belgrano.finalProgra3.service.memoria.CerrojosPorClave;
+
+// El scheduling corre el tic que cancela las reservas PENDIENTE vencidas y el pase
+// diario que vence las solicitudes de la lista de espera
+@Configuration
+@EnableScheduling
+public class ConcurrenciaConfig {
+
+    // Compartido por todo lo que crea o modifica reservas de una habitacion
+    @Bean
+    public CerrojosPorClave cerrojosPorHabitacion() {
+        return new CerrojosPorClave(1024);
+    }
+}
@@ -0,0 +1,34 @@
+package belgrano.finalProgra3.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Agrega el header Server-Timing justo antes de serializar el cuerpo: despues la
+ * respuesta ya esta enviada y no admite headers. La serializacion en si queda
+ * registrada en las trazas de /diagnostico/trazas.
+ */
+@ControllerAdvice
+public class CuerpoServerTiming implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+            Class<? extends HttpMessageConverter<?>> converterType, ServerHttpRequest request, ServerHttpResponse response) {
+        TrazaRequest traza = TrazaRequest.actual();
+        if (traza != null) {
+            traza.inicioCuerpo = System.nanoTime();
+            response.getHeaders().set(FiltroMetricas.SERVER_TIMING, traza.serverTiming(traza.inicioCuerpo));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,64 @@
+package belgrano.finalProgra3.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mide las sentencias SQL y la espera por conexiones de cada sesion de Hibernate y
+ * las suma a la traza del request. Hibernate crea una instancia por sesion
+ * (hibernate.session.events.auto).
+ */
+public class EventosJdbc implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        TrazaRequest traza = TrazaRequest.actual();
+        if (traza != null) {
+            traza.inicioConexion = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        TrazaRequest traza = TrazaRequest.actual();
+        if (traza != null && traza.inicioConexion != 0) {
+            traza.conexionNanos += System.nanoTime() - traza.inicioConexion;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        iniciarSql();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        terminarSql();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        iniciarSql();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        terminarSql();
+    }
+
+    private static void iniciarSql() {
+        TrazaRequest traza = TrazaRequest.actual();
+        if (traza != null) {
+            traza.inicioSql = System.nanoTime();
+        }
+    }
+
+    private static void terminarSql() {
+        TrazaRequest traza = TrazaRequest.actual();
+        if (traza != null && traza.inicioSql != 0) {
+            traza.sqlNanos += System.nanoTime() - traza.inicioSql;
+            traza.sentencias++;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package belgrano.finalProgra3.config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cuenta los requests en curso y el maximo observado. Sirve para comparar cuanta
+ * concurrencia real admite el servidor con hilos de plataforma y con hilos virtuales.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FiltroConcurrencia extends OncePerRequestFilter {
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger maximoEnCurso = new AtomicInteger();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int actuales = enCurso.incrementAndGet();
+        maximoEnCurso.accumulateAndGet(actuales, Math::max);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            enCurso.decrementAndGet();
+        }
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    public int getMaximoEnCurso() {
+        return maximoEnCurso.get();
+    }
+
+    public void reiniciarMaximo() {
+        maximoEnCurso.set(enCurso.get());
+    }
+}
@@ -0,0 +1,61 @@
+package belgrano.finalProgra3.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Abre la traza de cada request y al terminar registra cuantas sentencias SQL
+ * ejecuto (por endpoint) y, si fue lento, la guarda en RegistroTrazas. Los tiempos
+ * de cada endpoint ya los mide Spring (http.server.requests).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class FiltroMetricas extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private RegistroTrazas registroTrazas;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TrazaRequest traza = TrazaRequest.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long fin = System.nanoTime();
+            TrazaRequest.terminar();
+            // Respuestas sin cuerpo o de error, que no pasaron por CuerpoServerTiming
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, traza.serverTiming(fin));
+            }
+            // El patron del endpoint (/reserva/{id}) y no la URI real, para no abrir una serie por id
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = patron != null ? patron.toString() : "DESCONOCIDA";
+            DistributionSummary.builder("hotel.sql.sentencias")
+                    .description("Sentencias SQL por request")
+                    .tag("metodo", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(traza.sentencias);
+            registroTrazas.registrar(request.getMethod(), request.getRequestURI(), response.getStatus(), traza, fin);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package belgrano.finalProgra3.config;
+
+import java.text.Normalizer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import belgrano.finalProgra3.entity.Cliente;
+import belgrano.finalProgra3.entity.Factura;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.repository.CargaMasivaRepository;
+import belgrano.finalProgra3.repository.ReservaLoteRepository;
+import belgrano.finalProgra3.repository.ServicioRepository;
+
+/**
+ * Genera un volumen grande de datos sinteticos al arrancar con el perfil
+ * datos-sinteticos (cantidades en application-datos-sinteticos.properties o por
+ * linea de comandos: --datos.reservas=2000000).
+ *
+ * Las reservas se arman habitacion por habitacion recorriendo el calendario: estadias
+ * cortas, mas llegadas los viernes, huecos mas chicos en temporada alta (verano y
+ * vacaciones de invierno) y en los tipos mas pedidos. Las no canceladas de una misma
+ * habitacion nunca se superponen; una parte de las canceladas si, como pasa cuando dos
+ * clientes pelean por la misma habitacion. Los clientes frecuentes se repiten.
+ *
+ * Todo se inserta por JDBC en batches, una transaccion por lote, sin pasar por JPA.
+ * Corre antes de ApplicationReadyEvent, asi los indices en memoria se arman ya con
+ * los datos generados.
+ */
+@Component
+@Profile("datos-sinteticos")
+public class GeneradorDatosSinteticos implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(GeneradorDatosSinteticos.class);
+
+	private static final String[] NOMBRES = { "Juan", "María", "Carlos", "Ana", "Luis", "Sofía", "Diego", "Laura",
+			"Martín", "Lucía", "Pablo", "Valentina", "Jorge", "Camila", "Andrés", "Florencia", "Tomás", "Julieta" };
+	private static final String[] APELLIDOS = { "Pérez", "López", "Rodríguez", "Martínez", "González", "Fernández",
+			"García", "Silva", "Torres", "Gómez", "Díaz", "Romero", "Sosa", "Álvarez", "Ruiz", "Benítez", "Castro" };
+	private static final String[] CALLES = { "Av. Libertador", "Corrientes", "Av. Santa Fe", "Florida", "Av. Cabildo",
+			"Av. Rivadavia", "Juramento", "Av. Córdoba", "Thames", "Av. de Mayo" };
+	private static final String[] TIPOS = { "Individual Standard", "Doble Deluxe", "Suite Ejecutiva", "Triple Familiar" };
+	private static final double[] PRECIOS_TIPO = { 8500.50, 12000.00, 18500.75, 15000.00 };
+	// Menor = mas pedida (huecos mas cortos entre estadias)
+	private static final double[] DEMANDA_TIPO = { 0.9, 0.7, 1.5, 1.1 };
+	// Enero a diciembre, hemisferio sur
+	private static final double[] TEMPORADA = { 1.7, 1.5, 1.0, 0.9, 0.8, 0.9, 1.4, 0.9, 0.9, 1.0, 1.0, 1.3 };
+	private static final double NOCHES_PROMEDIO = 2.6;
+	private static final double PROPORCION_CANCELADAS = 0.08;
+
+	@Value("${datos.clientes:100000}")
+	private int cantidadClientes;
+
+	@Value("${datos.habitaciones:1500}")
+	private int cantidadHabitaciones;
+
+	@Value("${datos.reservas:500000}")
+	private int cantidadReservas;
+
+	@Value("${datos.anios-atras:3}")
+	private int aniosAtras;
+
+	@Value("${datos.anios-adelante:1}")
+	private int aniosAdelante;
+
+	@Value("${datos.semilla:42}")
+	private long semilla;
+
+	@Value("${datos.tamanio-lote:5000}")
+	private int tamanioLote;
+
+	@Value("${reservas.pendientes.ttl-minutos:30}")
+	private long ttlMinutos;
+
+	@Autowired
+	private CargaMasivaRepository cargaMasivaRepository;
+
+	@Autowired
+	private ReservaLoteRepository reservaLoteRepository;
+
+	@Autowired
+	private ServicioRepository servicioRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final LocalDate hoy = LocalDate.now();
+	private final LocalDateTime ahora = LocalDateTime.now();
+
+	@Override
+	public void run(ApplicationArguments args) {
+		long inicio = System.nanoTime();
+		// Se valida antes de insertar nada
+		huecoPromedio();
+		SplittableRandom azar = new SplittableRandom(semilla);
+
+		long[] clientes = generarClientes(azar);
+		List<Habitacion> habitaciones = generarHabitaciones(azar);
+		List<Servicio> servicios = new ArrayList<>();
+		servicioRepository.findAll().forEach(s -> {
+			if (s.isDisponibilidad()) {
+				servicios.add(s);
+			}
+		});
+		long[] totales = generarReservas(azar, clientes, habitaciones, servicios);
+
+		log.info("Datos sinteticos: {} clientes, {} habitaciones, {} reservas, {} facturas en {} s",
+				clientes.length, habitaciones.size(), totales[0], totales[1], (System.nanoTime() - inicio) / 1_000_000_000);
+	}
+
+	private long[] generarClientes(SplittableRandom azar) {
+		long[] ids = new long[cantidadClientes];
+		List<Cliente> lote = new ArrayList<>(tamanioLote);
+		int generados = 0;
+		for (int i = 0; i < cantidadClientes; i++) {
+			String nombre = NOMBRES[azar.nextInt(NOMBRES.length)];
+			String apellido = APELLIDOS[azar.nextInt(APELLIDOS.length)];
+			Cliente cliente = new Cliente();
+			cliente.setNombre(nombre + " " + apellido);
+			cliente.setDireccion(CALLES[azar.nextInt(CALLES.length)] + " " + (1 + azar.nextInt(9000)) + ", CABA");
+			cliente.setTelefono(String.format("011-%04d-%04d", azar.nextInt(10000), i % 10000));
+			// El sufijo numerico mantiene unico el correo
+			cliente.setCorreoElectronico(sinAcentos(nombre + "." + apellido).toLowerCase() + "." + i + "@ejemplo.com");
+			lote.add(cliente);
+			if (lote.size() == tamanioLote || i == cantidadClientes - 1) {
+				transactionTemplate.executeWithoutResult(status -> cargaMasivaRepository.insertarClientes(lote));
+				for (Cliente c : lote) {
+					ids[generados++] = c.getId();
+				}
+				lote.clear();
+				log.info("Clientes: {}/{}", generados, cantidadClientes);
+			}
+		}
+		return ids;
+	}
+
+	private List<Habitacion> generarHabitaciones(SplittableRandom azar) {
+		List<Habitacion> habitaciones = new ArrayList<>();
+		for (int i = 0; i < cantidadHabitaciones; i++) {
+			int tipo = azar.nextInt(TIPOS.length);
+			Habitacion habitacion = new Habitacion();
+			// Pisos de 50 habitaciones a partir del piso 10, para no chocar con las de data.sql
+			habitacion.setNumero((10 + i / 50) * 100 + i % 50 + 1);
+			habitacion.setTipo(TIPOS[tipo]);
+			habitacion.setPrecioPorNoche(PRECIOS_TIPO[tipo]);
+			habitacion.setEstado("Limpia");
+			habitacion.setDisponible(true);
+			habitaciones.add(habitacion);
+		}
+		for (int desde = 0; desde < habitaciones.size(); desde += tamanioLote) {
+			List<Habitacion> lote = habitaciones.subList(desde, Math.min(desde + tamanioLote, habitaciones.size()));
+			transactionTemplate.executeWithoutResult(status -> cargaMasivaRepository.insertarHabitaciones(lote));
+		}
+		return habitaciones;
+	}
+
+	// Devuelve {reservas, facturas} generadas
+	private long[] generarReservas(SplittableRandom azar, long[] clientes, List<Habitacion> habitaciones, List<Servicio> servicios) {
+		LocalDate desde = hoy.minusYears(aniosAtras);
+		LocalDate hasta = hoy.plusYears(aniosAdelante);
+		double huecoPromedio = huecoPromedio();
+
+		List<Reserva> lote = new ArrayList<>(tamanioLote);
+		long[] totales = new long[2];
+		long reservas = 0;
+		for (int h = 0; h < habitaciones.size() && reservas < cantidadReservas; h++) {
+			Habitacion habitacion = habitaciones.get(h);
+			double demanda = DEMANDA_TIPO[tipo(habitacion)];
+			LocalDate dia = desde.plusDays((long) (azar.nextDouble() * huecoPromedio));
+			while (reservas < cantidadReservas) {
+				int noches = noches(azar, dia);
+				LocalDate fin = dia.plusDays(noches);
+				if (fin.isAfter(hasta)) {
+					break;
+				}
+				lote.add(reserva(azar, habitacion, dia, fin, clientes, servicios, estado(azar, fin)));
+				reservas++;
+				// Otro cliente quiso las mismas fechas y termino cancelando
+				if (reservas < cantidadReservas && azar.nextDouble() < PROPORCION_CANCELADAS) {
+					lote.add(reserva(azar, habitacion, dia, fin, clientes, servicios, Reserva.EstadoReserva.CANCELADA));
+					reservas++;
+				}
+				if (lote.size() >= tamanioLote) {
+					totales[1] += guardar(lote);
+					log.info("Reservas: {}/{}", reservas, cantidadReservas);
+				}
+				double media = huecoPromedio * demanda / TEMPORADA[dia.getMonthValue() - 1];
+				dia = fin.plusDays((long) (-Math.log(1 - azar.nextDouble()) * media));
+			}
+		}
+		if (!lote.isEmpty()) {
+			totales[1] += guardar(lote);
+		}
+		totales[0] = reservas;
+		if (reservas < cantidadReservas) {
+			log.warn("Se generaron {} de {} reservas: el periodo no alcanzo con la demanda simulada", reservas, cantidadReservas);
+		}
+		return totales;
+	}
+
+	// Dias libres promedio entre dos estadias de una habitacion para llegar a la cantidad pedida
+	private double huecoPromedio() {
+		LocalDate desde = hoy.minusYears(aniosAtras);
+		LocalDate hasta = hoy.plusYears(aniosAdelante);
+		long dias = hasta.toEpochDay() - desde.toEpochDay();
+		double estadiasPorHabitacion = cantidadReservas / (1 + PROPORCION_CANCELADAS) / cantidadHabitaciones;
+		double hueco = dias / estadiasPorHabitacion - NOCHES_PROMEDIO;
+		if (cantidadHabitaciones <= 0 || hueco < 0.3) {
+			throw new IllegalStateException("No entran " + cantidadReservas + " reservas en " + cantidadHabitaciones
+					+ " habitaciones entre " + desde + " y " + hasta + ": aumente datos.habitaciones o el periodo");
+		}
+		return hueco;
+	}
+
+	// Reservas del lote con sus servicios y las facturas de las estadias ya terminadas, en una transaccion
+	private int guardar(List<Reserva> lote) {
+		List<Factura> facturas = new ArrayList<>();
+		transactionTemplate.executeWithoutResult(status -> {
+			reservaLoteRepository.insertar(lote);
+			for (Reserva reserva : lote) {
+				if (reserva.getEstado() == Reserva.EstadoReserva.CONFIRMADA && !reserva.getFechaFin().isAfter(hoy)) {
+					Factura factura = new Factura();
+					factura.setReserva(reserva);
+					factura.setTotal(reserva.getPrecioTotal());
+					factura.setDetalles("Hospedaje " + reserva.getNumeroNoches() + " noches habitación "
+							+ reserva.getHabitacion().getNumero() + (reserva.getServicios().isEmpty() ? "" : " + servicios"));
+					facturas.add(factura);
+				}
+			}
+			cargaMasivaRepository.insertarFacturas(facturas);
+		});
+		lote.clear();
+		return facturas.size();
+	}
+
+	private Reserva reserva(SplittableRandom azar, Habitacion habitacion, LocalDate inicio, LocalDate fin, long[] clientes,
+			List<Servicio> servicios, Reserva.EstadoReserva estado) {
+		Set<Servicio> elegidos = new HashSet<>();
+		if (!servicios.isEmpty() && azar.nextBoolean()) {
+			int cantidad = 1 + azar.nextInt(Math.min(3, servicios.size()));
+			while (elegidos.size() < cantidad) {
+				elegidos.add(servicios.get(azar.nextInt(servicios.size())));
+			}
+		}
+		int noches = (int) (fin.toEpochDay() - inicio.toEpochDay());
+		double porNoche = habitacion.getPrecioPorNoche();
+		for (Servicio servicio : elegidos) {
+			porNoche += servicio.getPrecio();
+		}
+		// Los clientes del principio del arreglo vuelven mas seguido
+		Cliente cliente = new Cliente();
+		cliente.setId(clientes[(int) (clientes.length * Math.pow(azar.nextDouble(), 1.6))]);
+
+		Reserva reserva = new Reserva();
+		reserva.setFechaInicio(inicio);
+		reserva.setFechaFin(fin);
+		reserva.setNumeroNoches(noches);
+		reserva.setPrecioTotal(Math.round(porNoche * noches * 100) / 100.0);
+		reserva.setHabitacion(habitacion);
+		reserva.setCliente(cliente);
+		reserva.setServicios(elegidos);
+		reserva.setEstado(estado);
+		// Las pendientes ya vienen corriendo: vencen repartidas dentro del plazo
+		if (estado == Reserva.EstadoReserva.PENDIENTE) {
+			reserva.setVencimiento(ahora.plusSeconds(1 + azar.nextLong(ttlMinutos * 60)));
+		}
+		return reserva;
+	}
+
+	// Mayoria de estadias de 1 a 3 noches; los viernes llegan escapadas de fin de semana
+	private static int noches(SplittableRandom azar, LocalDate llegada) {
+		if (llegada.getDayOfWeek() == DayOfWeek.FRIDAY && azar.nextInt(3) > 0) {
+			return 2 + azar.nextInt(2);
+		}
+		return Math.min(21, 1 + (int) (-Math.log(1 - azar.nextDouble()) * (NOCHES_PROMEDIO - 1)));
+	}
+
+	private Reserva.EstadoReserva estado(SplittableRandom azar, LocalDate fin) {
+		if (!fin.isAfter(hoy)) {
+			return azar.nextDouble() < 0.95 ? Reserva.EstadoReserva.CONFIRMADA : Reserva.EstadoReserva.CANCELADA;
+		}
+		return azar.nextDouble() < 0.6 ? Reserva.EstadoReserva.PENDIENTE : Reserva.EstadoReserva.CONFIRMADA;
+	}
+
+	private static int tipo(Habitacion habitacion) {
+		for (int i = 0; i < TIPOS.length; i++) {
+			if (TIPOS[i].equals(habitacion.getTipo())) {
+				return i;
+			}
+		}
+		return 0;
+	}
+
+	private static String sinAcentos(String texto) {
+		return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+	}
+}
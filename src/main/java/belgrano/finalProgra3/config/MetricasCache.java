@@ -0,0 +1,66 @@
+package belgrano.finalProgra3.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IServicioService;
+import belgrano.finalProgra3.service.ITarifaService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica en /actuator/metrics las estadisticas de las caches de catalogo
+ * (las mismas que muestra /cache/estadisticas), con el tag cache=nombre.
+ */
+@Component
+public class MetricasCache implements MeterBinder {
+
+    @Autowired
+    private IHabitacionService habitacionService;
+
+    @Autowired
+    private IServicioService servicioService;
+
+    @Autowired
+    private ITarifaService tarifaService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map<String, Object> cache : estadisticas()) {
+            String nombre = (String) cache.get("nombre");
+            FunctionCounter.builder("hotel.cache.aciertos", this, m -> m.valor(nombre, "aciertos"))
+                    .tag("cache", nombre).register(registry);
+            FunctionCounter.builder("hotel.cache.fallos", this, m -> m.valor(nombre, "fallos"))
+                    .tag("cache", nombre).register(registry);
+            FunctionCounter.builder("hotel.cache.desalojos", this, m -> m.valor(nombre, "desalojos"))
+                    .tag("cache", nombre).register(registry);
+            Gauge.builder("hotel.cache.tamanio", this, m -> m.valor(nombre, "tamanio"))
+                    .tag("cache", nombre).register(registry);
+            Gauge.builder("hotel.cache.tasa.aciertos", this, m -> m.valor(nombre, "tasaAciertos"))
+                    .tag("cache", nombre).register(registry);
+        }
+    }
+
+    private List<Map<String, Object>> estadisticas() {
+        List<Map<String, Object>> estadisticas = new ArrayList<>(habitacionService.estadisticasCache());
+        estadisticas.add(servicioService.estadisticasCache());
+        estadisticas.add(tarifaService.estadisticasCache());
+        return estadisticas;
+    }
+
+    private double valor(String nombre, String clave) {
+        for (Map<String, Object> cache : estadisticas()) {
+            if (nombre.equals(cache.get("nombre"))) {
+                return ((Number) cache.get(clave)).doubleValue();
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,43 @@
+package belgrano.finalProgra3.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import belgrano.finalProgra3.service.IInventarioService;
+import belgrano.finalProgra3.service.IListaEsperaService;
+import belgrano.finalProgra3.service.IVencimientoService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica en /actuator/metrics las reservas PENDIENTE que esperan vencer y las que
+ * ya se cancelaron por vencidas desde el arranque, y las solicitudes en lista de
+ * espera junto con las que ya consiguieron reserva. Tambien las celdas del inventario
+ * por tipo que la reconciliacion con la base tuvo que corregir.
+ */
+@Component
+public class MetricasReservas implements MeterBinder {
+
+    @Autowired
+    private IVencimientoService vencimientoService;
+    @Autowired
+    private IListaEsperaService listaEsperaService;
+    @Autowired
+    private IInventarioService inventarioService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hotel.reservas.pendientes", vencimientoService, IVencimientoService::programadas)
+                .register(registry);
+        FunctionCounter.builder("hotel.reservas.vencidas", vencimientoService, IVencimientoService::vencidas)
+                .register(registry);
+        Gauge.builder("hotel.espera.solicitudes", listaEsperaService, IListaEsperaService::enEspera)
+                .register(registry);
+        FunctionCounter.builder("hotel.espera.asignadas", listaEsperaService, IListaEsperaService::asignadas)
+                .register(registry);
+        FunctionCounter.builder("hotel.inventario.desajustes", inventarioService, IInventarioService::desajustes)
+                .register(registry);
+    }
+}
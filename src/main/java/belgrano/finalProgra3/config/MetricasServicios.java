@@ -0,0 +1,64 @@
+package belgrano.finalProgra3.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timer por metodo de cada I*Service (hotel.servicio, con tags servicio, metodo y
+ * excepcion), que ademas suma a la fase servicio de la traza del request. Los
+ * repositorios ya los mide Spring Data (spring.data.repository.invocations).
+ */
+@Aspect
+@Component
+public class MetricasServicios {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // El camino sin excepcion es el de todos los requests: su timer se resuelve una sola vez
+    private final ConcurrentHashMap<Method, Timer> exitosos = new ConcurrentHashMap<>();
+
+    @Around("execution(public * belgrano.finalProgra3.service.I*Service+.*(..))")
+    public Object medir(ProceedingJoinPoint punto) throws Throwable {
+        Method metodo = ((MethodSignature) punto.getSignature()).getMethod();
+        TrazaRequest traza = TrazaRequest.actual();
+        if (traza != null) {
+            traza.entrarServicio();
+        }
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = punto.proceed();
+            exitosos.computeIfAbsent(metodo, m -> timer(punto, m, "ninguna"))
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable e) {
+            timer(punto, metodo, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            if (traza != null) {
+                traza.salirServicio();
+            }
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint punto, Method metodo, String excepcion) {
+        return Timer.builder("hotel.servicio")
+                .description("Tiempo de los metodos de servicio")
+                .tag("servicio", punto.getTarget().getClass().getSimpleName())
+                .tag("metodo", metodo.getName())
+                .tag("excepcion", excepcion)
+                .register(registry);
+    }
+}
@@ -0,0 +1,36 @@
+package belgrano.finalProgra3.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Filtro de logback que deja pasar como maximo maximoPorSegundo eventos por segundo.
+ * Ante una rafaga de consultas lentas se loguea una muestra y el resto se descarta,
+ * asi el log nunca compite con los requests que justamente estan lentos.
+ */
+public class MuestreoLog extends Filter<ILoggingEvent> {
+
+    private int maximoPorSegundo = 20;
+    private final AtomicLong segundoActual = new AtomicLong();
+    private final AtomicLong enSegundo = new AtomicLong();
+
+    @Override
+    public FilterReply decide(ILoggingEvent evento) {
+        long segundo = evento.getTimeStamp() / 1000;
+        long anterior = segundoActual.get();
+        if (segundo != anterior && segundoActual.compareAndSet(anterior, segundo)) {
+            enSegundo.set(0);
+        }
+        if (enSegundo.incrementAndGet() > maximoPorSegundo) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    public void setMaximoPorSegundo(int maximoPorSegundo) {
+        this.maximoPorSegundo = maximoPorSegundo;
+    }
+}
@@ -0,0 +1,68 @@
+package belgrano.finalProgra3.config;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import belgrano.finalProgra3.dto.TrazaDto;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Buffer circular con los ultimos requests que superaron el umbral. Registrar es un
+ * incremento y una escritura en el arreglo, sin locks; al consultar se ordena la
+ * copia por duracion y se devuelven los mas lentos.
+ */
+@Component
+public class RegistroTrazas {
+
+    @Value("${trazas.capacidad:512}")
+    private int capacidad;
+
+    @Value("${trazas.umbral-ms:20}")
+    private double umbralMs;
+
+    private AtomicReferenceArray<TrazaDto> trazas;
+    private final AtomicLong siguiente = new AtomicLong();
+
+    @PostConstruct
+    public void crear() {
+        trazas = new AtomicReferenceArray<>(capacidad);
+    }
+
+    void registrar(String metodo, String uri, int estado, TrazaRequest traza, long fin) {
+        double totalMs = (fin - traza.inicio) / 1_000_000.0;
+        if (totalMs < umbralMs) {
+            return;
+        }
+        TrazaDto dto = new TrazaDto(Instant.now(), metodo, uri, estado, totalMs, traza.sentencias, traza.fases(fin));
+        trazas.set((int) (siguiente.getAndIncrement() % capacidad), dto);
+    }
+
+    public List<TrazaDto> masLentas(int limite) {
+        List<TrazaDto> copia = new ArrayList<>();
+        for (int i = 0; i < capacidad; i++) {
+            TrazaDto traza = trazas.get(i);
+            if (traza != null) {
+                copia.add(traza);
+            }
+        }
+        copia.sort(Comparator.comparingDouble(TrazaDto::getTotalMs).reversed());
+        return copia.size() > limite ? copia.subList(0, limite) : copia;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public void reiniciar() {
+        for (int i = 0; i < capacidad; i++) {
+            trazas.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package belgrano.finalProgra3.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marca en la traza del request cuando entra y sale del metodo del controlador. Lo
+ * anterior es la fase de entrada (ruteo, lectura del JSON, validacion).
+ */
+@Aspect
+@Component
+public class TrazaControladores {
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object marcar(ProceedingJoinPoint punto) throws Throwable {
+        TrazaRequest traza = TrazaRequest.actual();
+        if (traza == null) {
+            return punto.proceed();
+        }
+        traza.entrarControlador();
+        try {
+            return punto.proceed();
+        } finally {
+            traza.salirControlador();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package belgrano.finalProgra3.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tiempos por fase del request en curso. Vive en un ThreadLocal entre que
+ * FiltroMetricas lo inicia y lo termina; los que aportan datos (aspectos, eventos
+ * JDBC de Hibernate, el advice del cuerpo) no hacen nada si no hay traza activa.
+ * Solo lo toca el hilo del request, por eso los campos no son atomicos.
+ */
+public final class TrazaRequest {
+
+    private static final ThreadLocal<TrazaRequest> ACTUAL = new ThreadLocal<>();
+
+    final long inicio = System.nanoTime();
+    long inicioControlador;
+    long finControlador;
+    int profundidadControlador;
+    long inicioServicio;
+    long servicioNanos;
+    int profundidadServicio;
+    long inicioSql;
+    long sqlNanos;
+    int sentencias;
+    long inicioConexion;
+    long conexionNanos;
+    long inicioCuerpo;
+
+    static TrazaRequest iniciar() {
+        TrazaRequest traza = new TrazaRequest();
+        ACTUAL.set(traza);
+        return traza;
+    }
+
+    static TrazaRequest actual() {
+        return ACTUAL.get();
+    }
+
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    // Solo cuenta la llamada mas externa: un servicio que llama a otro no suma dos veces
+    void entrarServicio() {
+        if (profundidadServicio++ == 0) {
+            inicioServicio = System.nanoTime();
+        }
+    }
+
+    void salirServicio() {
+        if (--profundidadServicio == 0) {
+            servicioNanos += System.nanoTime() - inicioServicio;
+        }
+    }
+
+    void entrarControlador() {
+        if (profundidadControlador++ == 0 && inicioControlador == 0) {
+            inicioControlador = System.nanoTime();
+        }
+    }
+
+    void salirControlador() {
+        if (--profundidadControlador == 0) {
+            finControlador = System.nanoTime();
+        }
+    }
+
+    /**
+     * Fases en milisegundos hasta el instante dado. entrada es lo previo al controlador
+     * (ruteo, lectura del JSON, validacion); sql esta contenido en servicio y este en
+     * controlador; serializacion es desde que se empezo a escribir el cuerpo.
+     */
+    Map<String, Double> fases(long hasta) {
+        Map<String, Double> fases = new LinkedHashMap<>();
+        if (inicioControlador != 0) {
+            fases.put("entrada", ms(inicioControlador - inicio));
+            fases.put("controlador", ms((finControlador != 0 ? finControlador : hasta) - inicioControlador));
+        }
+        fases.put("servicio", ms(servicioNanos));
+        fases.put("sql", ms(sqlNanos));
+        fases.put("conexion", ms(conexionNanos));
+        if (inicioCuerpo != 0) {
+            fases.put("serializacion", ms(hasta - inicioCuerpo));
+        }
+        fases.put("total", ms(hasta - inicio));
+        return fases;
+    }
+
+    // La serializacion no va: el header se escribe antes que el cuerpo
+    String serverTiming(long hasta) {
+        StringBuilder header = new StringBuilder();
+        fases(hasta).forEach((fase, duracion) -> {
+            if (fase.equals("serializacion")) {
+                return;
+            }
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(fase);
+            if (fase.equals("sql")) {
+                header.append(";desc=\"").append(sentencias).append(sentencias == 1 ? " sentencia\"" : " sentencias\"");
+            }
+            header.append(";dur=").append(duracion);
+        });
+        return header.toString();
+    }
+
+    private static double ms(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
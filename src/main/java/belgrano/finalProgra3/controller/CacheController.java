@@ -0,0 +1,38 @@
+package belgrano.finalProgra3.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IServicioService;
+import belgrano.finalProgra3.service.ITarifaService;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    @Autowired
+    private IHabitacionService habitacionService;
+
+    @Autowired
+    private IServicioService servicioService;
+
+    @Autowired
+    private ITarifaService tarifaService;
+
+    @GetMapping("/estadisticas")
+    public ResponseEntity<ResponseDto<List<Map<String, Object>>>> estadisticas() {
+
+        List<Map<String, Object>> estadisticas = new ArrayList<>(habitacionService.estadisticasCache());
+        estadisticas.add(servicioService.estadisticasCache());
+        estadisticas.add(tarifaService.estadisticasCache());
+        return new ResponseEntity<>(new ResponseDto<>(true, "Estadisticas de la cache de catalogo", estadisticas), HttpStatus.OK);
+    }
+}
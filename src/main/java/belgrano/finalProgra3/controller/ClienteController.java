@@ -1,6 +1,5 @@
 package belgrano.finalProgra3.controller;
 
-import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,9 +10,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
 import jakarta.validation.Valid;
+import belgrano.finalProgra3.dto.PageResponseDto;
 import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Cliente;
 import belgrano.finalProgra3.service.IClienteService;
 
@@ -21,15 +25,36 @@ import belgrano.finalProgra3.service.IClienteService;
 @RequestMapping("/cliente")
 public class ClienteController {
 
+    private static final int LIMITE_BUSQUEDA = 20;
+    private static final int LIMITE_BUSQUEDA_MAXIMO = 100;
+
     @Autowired
     private IClienteService service;
 
     @GetMapping
-    public ResponseEntity<ResponseDto<List<Cliente>>> buscarTodosLosCliente() {
+    public ResponseEntity<PageResponseDto<Cliente>> buscarTodosLosCliente(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) Long after) {
+
+        int limite = PageResponseDto.limite(limit);
+        PageResponseDto<Cliente> pagina = PageResponseDto.of(service.getPagina(after, limite + 1), limite, Cliente::getId,
+                "Se encontraron los siguientes clientes", "No se encontraron clientes");
+        return new ResponseEntity<>(pagina, pagina.isEstado() ? HttpStatus.OK : HttpStatus.NOT_FOUND);
+    }
+
+    // Busqueda por nombre, correo o telefono sobre el indice en memoria
+    @GetMapping("/buscar")
+    public ResponseEntity<ResponseDto<List<Cliente>>> buscar(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", required = false) Integer limit) {
 
-        return !service.getAll().isEmpty()
-                ? new ResponseEntity<>(new ResponseDto<>(true, "Se encontraron los siguientes clientes", service.getAll()), HttpStatus.OK)
-                : new ResponseEntity<>(new ResponseDto<>(false, "No se encontraron clientes", service.getAll()), HttpStatus.NOT_FOUND);
+        if (q.isBlank()) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "Ingrese un texto para buscar"), HttpStatus.BAD_REQUEST);
+        }
+        List<Cliente> clientes = service.buscar(q, Math.min(limit != null && limit > 0 ? limit : LIMITE_BUSQUEDA, LIMITE_BUSQUEDA_MAXIMO));
+        return !clientes.isEmpty()
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Se encontraron " + clientes.size() + " cliente(s)", clientes), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "No se encontraron clientes para: " + q), HttpStatus.NOT_FOUND);
     }
 
     @GetMapping("/{id}")
@@ -78,6 +103,24 @@ public class ClienteController {
         }
     }
 
+    // Una consulta de dependencias para todo el lote y un solo DELETE; cada id trae su resultado
+    @PostMapping("/batch/eliminar")
+    public ResponseEntity<ResponseDto<List<ResultadoEliminacionDto>>> eliminarEnLote(@RequestBody List<Long> ids) {
+
+        if (ids == null || ids.isEmpty() || ids.size() > ResultadoEliminacionDto.TAMANIO_MAXIMO_LOTE) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "El lote debe tener entre 1 y " + ResultadoEliminacionDto.TAMANIO_MAXIMO_LOTE + " ids"), HttpStatus.BAD_REQUEST);
+        }
+        try {
+            List<ResultadoEliminacionDto> resultados = service.deleteAllById(ids);
+            long eliminados = resultados.stream().filter(ResultadoEliminacionDto::isEstado).count();
+            return new ResponseEntity<>(new ResponseDto<>(eliminados > 0, eliminados + " de " + resultados.size() + " clientes eliminados", resultados),
+                    eliminados > 0 ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "Error al eliminar los clientes: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ResponseDto<Cliente>> delete(@PathVariable("id") Long id) {
 
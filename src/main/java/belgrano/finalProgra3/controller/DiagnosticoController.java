@@ -0,0 +1,76 @@
+package belgrano.finalProgra3.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import belgrano.finalProgra3.config.FiltroConcurrencia;
+import belgrano.finalProgra3.config.RegistroTrazas;
+import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.dto.TrazaDto;
+
+@RestController
+@RequestMapping("/diagnostico")
+public class DiagnosticoController {
+
+    @Autowired
+    private FiltroConcurrencia filtroConcurrencia;
+
+    @Autowired
+    private RegistroTrazas registroTrazas;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    private static final int LIMITE_TRAZAS = 50;
+
+    @GetMapping("/concurrencia")
+    public ResponseEntity<ResponseDto<Map<String, Object>>> concurrencia() {
+
+        return new ResponseEntity<>(new ResponseDto<>(true, "Concurrencia del servidor", estado()), HttpStatus.OK);
+    }
+
+    // Lo usa el escenario de carga antes de cada corrida
+    @PostMapping("/concurrencia/reiniciar")
+    public ResponseEntity<ResponseDto<Map<String, Object>>> reiniciar() {
+
+        filtroConcurrencia.reiniciarMaximo();
+        return new ResponseEntity<>(new ResponseDto<>(true, "Maximo de requests en curso reiniciado", estado()), HttpStatus.OK);
+    }
+
+    // Los requests mas lentos entre los ultimos que superaron trazas.umbral-ms, con sus fases
+    @GetMapping("/trazas")
+    public ResponseEntity<ResponseDto<List<TrazaDto>>> trazas(@RequestParam(value = "limit", required = false) Integer limit) {
+
+        int limite = limit != null && limit > 0 ? Math.min(limit, registroTrazas.getCapacidad()) : LIMITE_TRAZAS;
+        List<TrazaDto> trazas = registroTrazas.masLentas(limite);
+        return !trazas.isEmpty()
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Requests mas lentos recientes", trazas), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "No hay requests registrados", trazas), HttpStatus.NOT_FOUND);
+    }
+
+    @PostMapping("/trazas/reiniciar")
+    public ResponseEntity<ResponseDto<Void>> reiniciarTrazas() {
+
+        registroTrazas.reiniciar();
+        return new ResponseEntity<>(new ResponseDto<>(true, "Trazas descartadas"), HttpStatus.OK);
+    }
+
+    private Map<String, Object> estado() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        // modo es el hilo que atiende este request; hilosVirtuales, lo configurado al arrancar
+        estado.put("modo", Thread.currentThread().isVirtual() ? "virtual" : "plataforma");
+        estado.put("hilosVirtuales", hilosVirtuales);
+        estado.put("enCurso", filtroConcurrencia.getEnCurso());
+        estado.put("maximoEnCurso", filtroConcurrencia.getMaximoEnCurso());
+        return estado;
+    }
+}
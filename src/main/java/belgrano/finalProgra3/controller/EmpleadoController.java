@@ -1,7 +1,10 @@
 package belgrano.finalProgra3.controller;
 
+import java.time.LocalDate;
 import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,10 +14,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import jakarta.validation.Valid;
+import belgrano.finalProgra3.dto.AgendaDiaDto;
+import belgrano.finalProgra3.dto.FranjaDto;
+import belgrano.finalProgra3.dto.PageResponseDto;
 import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
+import belgrano.finalProgra3.dto.TurnoDto;
 import belgrano.finalProgra3.entity.Empleado;
+import belgrano.finalProgra3.service.IAgendaService;
 import belgrano.finalProgra3.service.IEmpleadoService;
 
 @RestController
@@ -24,12 +34,18 @@ public class EmpleadoController {
     @Autowired
     private IEmpleadoService service;
 
-    @GetMapping
-    public ResponseEntity<ResponseDto<List<Empleado>>> buscarTodosLosEmpleados() {
+    @Autowired
+    private IAgendaService agendaService;
 
-        return !service.getAll().isEmpty()
-                ? new ResponseEntity<>(new ResponseDto<>(true, "Se encontraron los siguientes empleados", service.getAll()), HttpStatus.OK)
-                : new ResponseEntity<>(new ResponseDto<>(false, "No se encontraron empleados", service.getAll()), HttpStatus.NOT_FOUND);
+    @GetMapping
+    public ResponseEntity<PageResponseDto<Empleado>> buscarTodosLosEmpleados(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) Long after) {
+
+        int limite = PageResponseDto.limite(limit);
+        PageResponseDto<Empleado> pagina = PageResponseDto.of(service.getPagina(after, limite + 1), limite, Empleado::getId,
+                "Se encontraron los siguientes empleados", "No se encontraron empleados");
+        return new ResponseEntity<>(pagina, pagina.isEstado() ? HttpStatus.OK : HttpStatus.NOT_FOUND);
     }
 
     @GetMapping("/{id}")
@@ -78,6 +94,24 @@ public class EmpleadoController {
         }
     }
 
+    // Una consulta de dependencias para todo el lote y un solo DELETE; cada id trae su resultado
+    @PostMapping("/batch/eliminar")
+    public ResponseEntity<ResponseDto<List<ResultadoEliminacionDto>>> eliminarEnLote(@RequestBody List<Long> ids) {
+
+        if (ids == null || ids.isEmpty() || ids.size() > ResultadoEliminacionDto.TAMANIO_MAXIMO_LOTE) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "El lote debe tener entre 1 y " + ResultadoEliminacionDto.TAMANIO_MAXIMO_LOTE + " ids"), HttpStatus.BAD_REQUEST);
+        }
+        try {
+            List<ResultadoEliminacionDto> resultados = service.deleteAllById(ids);
+            long eliminados = resultados.stream().filter(ResultadoEliminacionDto::isEstado).count();
+            return new ResponseEntity<>(new ResponseDto<>(eliminados > 0, eliminados + " de " + resultados.size() + " empleados eliminados", resultados),
+                    eliminados > 0 ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "Error al eliminar los empleados: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ResponseDto<Empleado>> delete(@PathVariable("id") Long id) {
 
@@ -95,4 +129,53 @@ public class EmpleadoController {
             return new ResponseEntity<>(new ResponseDto<>(false, "Empleado con id: " + id.toString() + " No existe"), HttpStatus.BAD_REQUEST);
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/turnos")
+    public ResponseEntity<ResponseDto<List<TurnoDto>>> turnos(@PathVariable("id") Long id,
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        if (!service.exists(id)) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "No existe un empleado con id: " + id.toString()), HttpStatus.NOT_FOUND);
+        }
+        if (hasta.isBefore(desde)) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "La fecha hasta no puede ser anterior a desde"), HttpStatus.BAD_REQUEST);
+        }
+        List<TurnoDto> turnos = agendaService.turnos(id, desde, hasta);
+        return new ResponseEntity<>(new ResponseDto<>(true, turnos.size() + " turnos del empleado con id: " + id.toString(), turnos), HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/turnos")
+    public ResponseEntity<ResponseDto<TurnoDto>> crearTurno(@PathVariable("id") Long id, @Valid @RequestBody FranjaDto franja) {
+
+        if (!service.exists(id)) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "No existe un empleado con id: " + id.toString()), HttpStatus.NOT_FOUND);
+        }
+        try {
+            return new ResponseEntity<>(new ResponseDto<>(true, "Turno creado", agendaService.crearTurno(id, franja)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/turnos/{turnoId}")
+    public ResponseEntity<ResponseDto<TurnoDto>> eliminarTurno(@PathVariable("turnoId") Long turnoId) {
+
+        return agendaService.eliminarTurno(turnoId)
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Turno con id: " + turnoId.toString() + " ha sido eliminado"), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "Turno con id: " + turnoId.toString() + " No existe"), HttpStatus.NOT_FOUND);
+    }
+
+    // Turnos, servicios asignados y tramos libres del dia
+    @GetMapping("/{id}/agenda")
+    public ResponseEntity<ResponseDto<AgendaDiaDto>> agenda(@PathVariable("id") Long id,
+            @RequestParam("fecha") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+
+        return service.exists(id)
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Agenda del empleado con id: " + id.toString(), agendaService.agenda(id, fecha)), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "No existe un empleado con id: " + id.toString()), HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,42 @@
+package belgrano.finalProgra3.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import belgrano.finalProgra3.service.IExportacionService;
+import belgrano.finalProgra3.service.IExportacionService.Formato;
+
+@RestController
+@RequestMapping("/exportar")
+public class ExportacionController {
+
+    @Autowired
+    private IExportacionService service;
+
+    @GetMapping("/reservas")
+    public ResponseEntity<StreamingResponseBody> exportarReservas(@RequestParam(value = "formato", defaultValue = "NDJSON") Formato formato) {
+
+        return respuesta("reservas", formato, salida -> service.exportarReservas(salida, formato));
+    }
+
+    @GetMapping("/facturas")
+    public ResponseEntity<StreamingResponseBody> exportarFacturas(@RequestParam(value = "formato", defaultValue = "NDJSON") Formato formato) {
+
+        return respuesta("facturas", formato, salida -> service.exportarFacturas(salida, formato));
+    }
+
+    private ResponseEntity<StreamingResponseBody> respuesta(String nombre, Formato formato, StreamingResponseBody cuerpo) {
+
+        String extension = formato == Formato.CSV ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+                .contentType(formato == Formato.CSV ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nombre + "." + extension + "\"")
+                .body(cuerpo);
+    }
+}
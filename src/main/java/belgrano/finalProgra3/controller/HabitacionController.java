@@ -1,7 +1,10 @@
 package belgrano.finalProgra3.controller;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,11 +14,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import jakarta.validation.Valid;
+import belgrano.finalProgra3.dto.InventarioNocheDto;
+import belgrano.finalProgra3.dto.PageResponseDto;
 import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Habitacion;
 import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IInventarioService;
 
 @RestController
 @RequestMapping("/habitacion")
@@ -24,21 +32,68 @@ public class HabitacionController {
     @Autowired
     private IHabitacionService service;
 
+    @Autowired
+    private IInventarioService inventarioService;
+
+    private static final int MAXIMO_DIAS_INVENTARIO = 366;
 
     @GetMapping("/disponibles")
-    public ResponseEntity<ResponseDto<List<Habitacion>>> findByDisponibilidad() {
+    public ResponseEntity<ResponseDto<List<Habitacion>>> findByDisponibilidad(
+            @RequestParam(value = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(value = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        if (desde == null && hasta == null) {
 
-        return !service.findByDisponible(true).isEmpty()
-                ? new ResponseEntity<>(new ResponseDto<>(true, "Listado completo de Habitaciones disponibles", service.findByDisponible(true)), HttpStatus.OK)
-                : new ResponseEntity<>(new ResponseDto<>(false, "No existe listado de Habitaciones disponibles", service.findByDisponible(true)), HttpStatus.NOT_FOUND);
+            return !service.findByDisponible(true).isEmpty()
+                    ? new ResponseEntity<>(new ResponseDto<>(true, "Listado completo de Habitaciones disponibles", service.findByDisponible(true)), HttpStatus.OK)
+                    : new ResponseEntity<>(new ResponseDto<>(false, "No existe listado de Habitaciones disponibles", service.findByDisponible(true)), HttpStatus.NOT_FOUND);
+        }
+        if (desde == null || hasta == null || !hasta.isAfter(desde)) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Indique un rango valido: 'hasta' debe ser posterior a 'desde'"), HttpStatus.BAD_REQUEST);
+        }
+
+        List<Habitacion> disponibles = service.findDisponiblesEntre(desde, hasta);
+        return !disponibles.isEmpty()
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Habitaciones disponibles entre " + desde + " y " + hasta, disponibles), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "No hay habitaciones disponibles entre " + desde + " y " + hasta, disponibles), HttpStatus.NOT_FOUND);
     }
 
-    @GetMapping
-    public ResponseEntity<ResponseDto<List<Habitacion>>> obtenerHabitaciones() {
+    // Habitaciones libres por tipo y noche [desde, hasta) segun los contadores en memoria, sin ir a la base
+    @GetMapping("/inventario")
+    public ResponseEntity<ResponseDto<List<InventarioNocheDto>>> inventario(
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(value = "tipo", required = false) String tipo) {
+
+        if (!hasta.isAfter(desde) || ChronoUnit.DAYS.between(desde, hasta) > MAXIMO_DIAS_INVENTARIO) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Indique un rango valido de hasta " + MAXIMO_DIAS_INVENTARIO + " dias"), HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(new ResponseDto<>(true, "Inventario entre " + desde + " y " + hasta, inventarioService.inventario(desde, hasta, tipo)), HttpStatus.OK);
+    }
+
+    // Compara los contadores con la base y los corrige; el mismo pase corre solo cada tanto
+    @PostMapping("/inventario/reconciliar")
+    public ResponseEntity<ResponseDto<Integer>> reconciliarInventario() {
+
+        int distintas = inventarioService.reconciliar();
+        return new ResponseEntity<>(new ResponseDto<>(true, distintas == 0
+                ? "El inventario coincide con la base"
+                : distintas + " celdas tipo x noche corregidas desde la base", distintas), HttpStatus.OK);
+    }
 
-        return !service.getAll().isEmpty()
-                ? new ResponseEntity<>(new ResponseDto<>(true, "Lista completa de habitaciones", service.getAll()), HttpStatus.OK)
-                : new ResponseEntity<>(new ResponseDto<>(false, "No existe listado de Habitaciones", service.getAll()), HttpStatus.NOT_FOUND);
+    @GetMapping
+    public ResponseEntity<PageResponseDto<Habitacion>> obtenerHabitaciones(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "tipo", required = false) String tipo,
+            @RequestParam(value = "disponible", required = false) Boolean disponible) {
+
+        int limite = PageResponseDto.limite(limit);
+        PageResponseDto<Habitacion> pagina = PageResponseDto.of(service.getPagina(after, limite + 1, tipo, disponible), limite,
+                Habitacion::getId, "Lista completa de habitaciones", "No existe listado de Habitaciones");
+        return new ResponseEntity<>(pagina, pagina.isEstado() ? HttpStatus.OK : HttpStatus.NOT_FOUND);
     }
 
     @GetMapping("/{id}")
@@ -87,6 +142,24 @@ public class HabitacionController {
         }
     }
 
+    // Una consulta de dependencias para todo el lote y un solo DELETE; cada id trae su resultado
+    @PostMapping("/batch/eliminar")
+    public ResponseEntity<ResponseDto<List<ResultadoEliminacionDto>>> eliminarEnLote(@RequestBody List<Long> ids) {
+
+        if (ids == null || ids.isEmpty() || ids.size() > ResultadoEliminacionDto.TAMANIO_MAXIMO_LOTE) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "El lote debe tener entre 1 y " + ResultadoEliminacionDto.TAMANIO_MAXIMO_LOTE + " ids"), HttpStatus.BAD_REQUEST);
+        }
+        try {
+            List<ResultadoEliminacionDto> resultados = service.deleteAllById(ids);
+            long eliminadas = resultados.stream().filter(ResultadoEliminacionDto::isEstado).count();
+            return new ResponseEntity<>(new ResponseDto<>(eliminadas > 0, eliminadas + " de " + resultados.size() + " habitaciones eliminadas", resultados),
+                    eliminadas > 0 ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "Error al eliminar las habitaciones: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ResponseDto<Habitacion>> delete(@PathVariable("id") Long id) {
 
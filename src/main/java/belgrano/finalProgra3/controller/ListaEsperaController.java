@@ -0,0 +1,76 @@
+package belgrano.finalProgra3.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+import belgrano.finalProgra3.dto.PageResponseDto;
+import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.dto.SolicitudEsperaRequestDto;
+import belgrano.finalProgra3.entity.SolicitudEspera;
+import belgrano.finalProgra3.service.IListaEsperaService;
+
+@RestController
+@RequestMapping("/lista-espera")
+public class ListaEsperaController {
+
+    @Autowired
+    private IListaEsperaService service;
+
+    @GetMapping
+    public ResponseEntity<PageResponseDto<SolicitudEspera>> obtenerSolicitudes(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "estado", required = false) SolicitudEspera.EstadoSolicitud estado,
+            @RequestParam(value = "tipo", required = false) String tipo,
+            @RequestParam(value = "clienteId", required = false) Long clienteId) {
+
+        int limite = PageResponseDto.limite(limit);
+        PageResponseDto<SolicitudEspera> pagina = PageResponseDto.of(service.getPagina(after, limite + 1, estado, tipo, clienteId), limite,
+                SolicitudEspera::getId, "Solicitudes de la lista de espera", "No se encontraron solicitudes");
+        return new ResponseEntity<>(pagina, pagina.isEstado() ? HttpStatus.OK : HttpStatus.NOT_FOUND);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ResponseDto<SolicitudEspera>> buscarPorId(@PathVariable("id") Long id) {
+
+        SolicitudEspera solicitud = service.getById(id);
+        return solicitud != null
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Solicitud con id: " + id + " encontrada", solicitud), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "No existe una solicitud con id: " + id), HttpStatus.NOT_FOUND);
+    }
+
+    // Si ya hay lugar la reserva se crea en el momento; si no, la solicitud queda esperando
+    @PostMapping
+    public ResponseEntity<ResponseDto<SolicitudEspera>> crearSolicitud(@Valid @RequestBody SolicitudEsperaRequestDto pedido) {
+        try {
+            SolicitudEspera solicitud = service.crear(pedido);
+            String mensaje = solicitud.getEstado() == SolicitudEspera.EstadoSolicitud.ASIGNADA
+                    ? "Había lugar: se creó la reserva " + solicitud.getReservaId()
+                    : "Solicitud agregada a la lista de espera";
+            return new ResponseEntity<>(new ResponseDto<>(true, mensaje, solicitud), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "Error al crear la solicitud: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ResponseDto<SolicitudEspera>> cancelar(@PathVariable("id") Long id) {
+
+        if (!service.exists(id)) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "No existe una solicitud con id: " + id), HttpStatus.NOT_FOUND);
+        }
+        return service.cancelar(id)
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Solicitud con id: " + id + " cancelada"), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "La solicitud con id: " + id + " ya no está en espera"), HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,66 @@
+package belgrano.finalProgra3.controller;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import belgrano.finalProgra3.dto.IngresoDiaDto;
+import belgrano.finalProgra3.dto.OcupacionDiaDto;
+import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.service.IReporteService;
+
+@RestController
+@RequestMapping("/reportes")
+public class ReporteController {
+
+    private static final int MAXIMO_DIAS = 366;
+
+    @Autowired
+    private IReporteService service;
+
+    // Ocupacion por noche [desde, hasta), total y por tipo de habitacion
+    @GetMapping("/ocupacion")
+    public ResponseEntity<ResponseDto<List<OcupacionDiaDto>>> ocupacion(
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        if (!rangoValido(desde, hasta)) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Indique un rango valido de hasta " + MAXIMO_DIAS + " dias"), HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(new ResponseDto<>(true, "Ocupacion entre " + desde + " y " + hasta, service.ocupacion(desde, hasta)), HttpStatus.OK);
+    }
+
+    // Ingresos por noche [desde, hasta), por tipo de habitacion y por servicio
+    @GetMapping("/ingresos")
+    public ResponseEntity<ResponseDto<List<IngresoDiaDto>>> ingresos(
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        if (!rangoValido(desde, hasta)) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Indique un rango valido de hasta " + MAXIMO_DIAS + " dias"), HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(new ResponseDto<>(true, "Ingresos entre " + desde + " y " + hasta, service.ingresos(desde, hasta)), HttpStatus.OK);
+    }
+
+    // Rearma los agregados desde la base, por si se modifico algo por fuera de la aplicacion
+    @PostMapping("/reconstruir")
+    public ResponseEntity<ResponseDto<Void>> reconstruir() {
+
+        service.recargar();
+        return new ResponseEntity<>(new ResponseDto<>(true, "Agregados reconstruidos"), HttpStatus.OK);
+    }
+
+    private static boolean rangoValido(LocalDate desde, LocalDate hasta) {
+        return hasta.isAfter(desde) && ChronoUnit.DAYS.between(desde, hasta) <= MAXIMO_DIAS;
+    }
+}
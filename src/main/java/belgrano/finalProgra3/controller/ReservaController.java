@@ -1,7 +1,9 @@
 package belgrano.finalProgra3.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,11 +13,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import jakarta.validation.Valid;
+import belgrano.finalProgra3.dto.AsignacionGrupoDto;
+import belgrano.finalProgra3.dto.CotizacionDto;
+import belgrano.finalProgra3.dto.CotizacionRequestDto;
+import belgrano.finalProgra3.dto.PageResponseDto;
+import belgrano.finalProgra3.dto.ReservaGrupoDto;
 import belgrano.finalProgra3.dto.ResponseDto;
 import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.dto.ReservaResponseDto;
+import belgrano.finalProgra3.dto.ReservaTipoRequestDto;
+import belgrano.finalProgra3.dto.ResultadoLoteDto;
+import belgrano.finalProgra3.dto.ResultadoTransicionDto;
+import belgrano.finalProgra3.dto.TransicionReservaDto;
 import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.service.ICotizacionService;
+import belgrano.finalProgra3.service.IReservaLoteService;
 import belgrano.finalProgra3.service.IReservaService;
 
 @RestController
@@ -25,41 +40,157 @@ public class ReservaController {
     @Autowired
     private IReservaService service;
 
+    @Autowired
+    private IReservaLoteService loteService;
+
+    @Autowired
+    private ICotizacionService cotizacionService;
+
+    private static final int TAMANIO_MAXIMO_LOTE = 10_000;
+
     @GetMapping
-    public ResponseEntity<ResponseDto<List<Reserva>>> buscarTodasLasReservas() {
+    public ResponseEntity<PageResponseDto<ReservaResponseDto>> buscarTodasLasReservas(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "estado", required = false) Reserva.EstadoReserva estado,
+            @RequestParam(value = "habitacionId", required = false) Long habitacionId,
+            @RequestParam(value = "clienteId", required = false) Long clienteId) {
+
+        int limite = PageResponseDto.limite(limit);
+        PageResponseDto<ReservaResponseDto> pagina = PageResponseDto.of(
+                ReservaResponseDto.de(service.getPagina(after, limite + 1, estado, habitacionId, clienteId)),
+                limite, ReservaResponseDto::getId, "Se encontraron las siguientes reservas", "No se encontraron reservas");
+        return new ResponseEntity<>(pagina, pagina.isEstado() ? HttpStatus.OK : HttpStatus.NOT_FOUND);
+    }
+
+    @GetMapping("/rango")
+    public ResponseEntity<ResponseDto<List<ReservaResponseDto>>> buscarPorRango(
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(value = "habitacionId", required = false) Long habitacionId) {
+
+        if (!hasta.isAfter(desde)) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Indique un rango valido: 'hasta' debe ser posterior a 'desde'"), HttpStatus.BAD_REQUEST);
+        }
+
+        List<ReservaResponseDto> reservas = ReservaResponseDto.de(service.findEntre(desde, hasta, habitacionId));
+        return !reservas.isEmpty()
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Reservas entre " + desde + " y " + hasta, reservas), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "No se encontraron reservas entre " + desde + " y " + hasta, reservas), HttpStatus.NOT_FOUND);
+    }
+
+    @GetMapping("/cliente/{clienteId}")
+    public ResponseEntity<ResponseDto<List<ReservaResponseDto>>> buscarPorCliente(@PathVariable("clienteId") Long clienteId,
+            @RequestParam(value = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(value = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
 
-        return !service.getAll().isEmpty()
-                ? new ResponseEntity<>(new ResponseDto<>(true, "Se encontraron las siguientes reservas", service.getAll()), HttpStatus.OK)
-                : new ResponseEntity<>(new ResponseDto<>(false, "No se encontraron reservas", service.getAll()), HttpStatus.NOT_FOUND);
+        List<ReservaResponseDto> reservas = ReservaResponseDto.de(service.findByCliente(clienteId, desde, hasta));
+        return !reservas.isEmpty()
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Reservas del cliente con id: " + clienteId, reservas), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "No se encontraron reservas para el cliente con id: " + clienteId, reservas), HttpStatus.NOT_FOUND);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ResponseDto<Reserva>> buscarPorId(@PathVariable("id") Long id) {
+    public ResponseEntity<ResponseDto<ReservaResponseDto>> buscarPorId(@PathVariable("id") Long id) {
 
         return service.exists(id)
-                ? new ResponseEntity<>(new ResponseDto<>(true, "Reserva con id: " + id.toString() + " encontrada", service.getById(id)), HttpStatus.OK)
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Reserva con id: " + id.toString() + " encontrada", ReservaResponseDto.de(service.getById(id))), HttpStatus.OK)
                 : new ResponseEntity<>(new ResponseDto<>(false, "No existe una reserva con id: " + id.toString()), HttpStatus.NOT_FOUND);
     }
 
     @PostMapping
-    public ResponseEntity<ResponseDto<Reserva>> crearNuevaReserva(@Valid @RequestBody ReservaRequestDto reservaRequest) {
+    public ResponseEntity<ResponseDto<ReservaResponseDto>> crearNuevaReserva(@Valid @RequestBody ReservaRequestDto reservaRequest) {
         try {
             Reserva reserva = service.createFromRequest(reservaRequest);
-            return new ResponseEntity<>(new ResponseDto<>(true, "Reserva creada con éxito", reserva), HttpStatus.OK);
+            return new ResponseEntity<>(new ResponseDto<>(true, "Reserva creada con éxito", ReservaResponseDto.de(reserva)), HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(new ResponseDto<>(false, "Error al crear la reserva: " + e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
+    // Venta por tipo (p. ej. preventas): se pide el tipo de habitacion y el servidor elige cual
+    @PostMapping("/por-tipo")
+    public ResponseEntity<ResponseDto<ReservaResponseDto>> crearReservaPorTipo(@Valid @RequestBody ReservaTipoRequestDto pedido) {
+        try {
+            Reserva reserva = service.createPorTipo(pedido);
+            return new ResponseEntity<>(new ResponseDto<>(true, "Reserva creada en la habitación " + reserva.getHabitacion().getNumero(),
+                    ReservaResponseDto.de(reserva)), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "Error al crear la reserva: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ResponseDto<List<ResultadoLoteDto>>> crearReservasEnLote(@RequestBody List<ReservaRequestDto> reservas) {
+
+        if (reservas == null || reservas.isEmpty() || reservas.size() > TAMANIO_MAXIMO_LOTE) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "El lote debe tener entre 1 y " + TAMANIO_MAXIMO_LOTE + " reservas"), HttpStatus.BAD_REQUEST);
+        }
+        try {
+            List<ResultadoLoteDto> resultados = loteService.crearLote(reservas);
+            long creadas = resultados.stream().filter(ResultadoLoteDto::isEstado).count();
+            return new ResponseEntity<>(new ResponseDto<>(creadas > 0, creadas + " de " + reservas.size() + " reservas creadas", resultados),
+                    creadas > 0 ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "Error al crear el lote de reservas: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Confirma o cancela muchas reservas (por ids o por criterio) con pocos UPDATE; cada una trae su resultado
+    @PostMapping("/transiciones")
+    public ResponseEntity<ResponseDto<List<ResultadoTransicionDto>>> transicionar(@Valid @RequestBody TransicionReservaDto solicitud) {
+        try {
+            List<ResultadoTransicionDto> resultados = loteService.transicionar(solicitud);
+            if (resultados.isEmpty()) {
+                return new ResponseEntity<>(new ResponseDto<>(false, "Ninguna reserva cumple el criterio"), HttpStatus.NOT_FOUND);
+            }
+            long aplicadas = resultados.stream().filter(ResultadoTransicionDto::isEstado).count();
+            return new ResponseEntity<>(new ResponseDto<>(aplicadas > 0, aplicadas + " de " + resultados.size() + " reservas pasaron a " + solicitud.getEstado(), resultados),
+                    aplicadas > 0 ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Reserva de grupo: el servidor elige las habitaciones y crea todas las reservas o ninguna
+    @PostMapping("/grupo")
+    public ResponseEntity<ResponseDto<List<AsignacionGrupoDto>>> crearGrupo(@Valid @RequestBody ReservaGrupoDto grupo) {
+        try {
+            List<AsignacionGrupoDto> asignaciones = loteService.crearGrupo(grupo);
+            long habitaciones = asignaciones.stream().map(AsignacionGrupoDto::getHabitacionId).distinct().count();
+            return new ResponseEntity<>(new ResponseDto<>(true, asignaciones.size() + " reservas creadas en " + habitaciones + " habitaciones", asignaciones),
+                    HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, "Error al crear la reserva de grupo: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Precio de cada habitacion libre en el rango, con los servicios pedidos; no reserva nada
+    @PostMapping("/cotizacion")
+    public ResponseEntity<ResponseDto<List<CotizacionDto>>> cotizar(@Valid @RequestBody CotizacionRequestDto solicitud) {
+        try {
+            List<CotizacionDto> cotizaciones = cotizacionService.cotizar(solicitud);
+            return !cotizaciones.isEmpty()
+                    ? new ResponseEntity<>(new ResponseDto<>(true, cotizaciones.size() + " habitaciones cotizadas", cotizaciones), HttpStatus.OK)
+                    : new ResponseEntity<>(new ResponseDto<>(false, "No hay habitaciones disponibles para las fechas seleccionadas", cotizaciones), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PutMapping
-    public ResponseEntity<ResponseDto<Reserva>> actualizarReserva(@RequestBody Reserva reserva) {
+    public ResponseEntity<ResponseDto<ReservaResponseDto>> actualizarReserva(@RequestBody Reserva reserva) {
 
         if (reserva.getId() != null) {
 
             if (service.exists(reserva.getId())) {
-
-                return new ResponseEntity<>(new ResponseDto<>(true, "Reserva con id: " + reserva.getId().toString() + " actualizada", service.save(reserva)), HttpStatus.OK);
-
+                try {
+                    return new ResponseEntity<>(new ResponseDto<>(true, "Reserva con id: " + reserva.getId().toString() + " actualizada", ReservaResponseDto.de(service.save(reserva))), HttpStatus.OK);
+                } catch (RuntimeException e) {
+                    return new ResponseEntity<>(new ResponseDto<>(false, "Error al actualizar la reserva: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+                }
             } else {
 
                 return new ResponseEntity<>(new ResponseDto<>(false, "El id: " + reserva.getId().toString() + " para actualizar es inválido"), HttpStatus.BAD_REQUEST);
@@ -71,7 +202,7 @@ public class ReservaController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<ResponseDto<Reserva>> delete(@PathVariable("id") Long id) {
+    public ResponseEntity<ResponseDto<ReservaResponseDto>> delete(@PathVariable("id") Long id) {
 
         if (service.exists(id)) {
             try {
@@ -1,7 +1,10 @@
 package belgrano.finalProgra3.controller;
 
+import java.time.LocalDate;
 import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,10 +14,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import jakarta.validation.Valid;
+import belgrano.finalProgra3.dto.AsignacionDto;
+import belgrano.finalProgra3.dto.EmpleadosLibresDto;
+import belgrano.finalProgra3.dto.FranjaDto;
+import belgrano.finalProgra3.dto.PageResponseDto;
 import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.dto.ResultadoAsignacionDto;
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.service.IAgendaService;
 import belgrano.finalProgra3.service.IServicioService;
 
 @RestController
@@ -24,15 +35,21 @@ public class ServicioController {
 	@Autowired
 	private IServicioService service;
 
+	@Autowired
+	private IAgendaService agendaService;
 
 
-	@GetMapping
-	public ResponseEntity<ResponseDto<List<Servicio>>> obtenerServicios() {
-
-		return  !service.getAll().isEmpty()
-				? new ResponseEntity<>(new ResponseDto<>(true, "Listado completo de Servicios", service.getAll()),HttpStatus.OK)
-				: new ResponseEntity<>(new ResponseDto<>(false, "No existe listado de Servicio", service.getAll()),HttpStatus.NOT_FOUND);
 
+	@GetMapping
+	public ResponseEntity<PageResponseDto<Servicio>> obtenerServicios(
+			@RequestParam(value = "limit", required = false) Integer limit,
+			@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "disponibilidad", required = false) Boolean disponibilidad) {
+
+		int limite = PageResponseDto.limite(limit);
+		PageResponseDto<Servicio> pagina = PageResponseDto.of(service.getPagina(after, limite + 1, disponibilidad), limite,
+				Servicio::getId, "Listado completo de Servicios", "No existe listado de Servicio");
+		return new ResponseEntity<>(pagina, pagina.isEstado() ? HttpStatus.OK : HttpStatus.NOT_FOUND);
 	}
 
 	@GetMapping("/{id}")
@@ -84,18 +101,96 @@ public class ServicioController {
 		}
 	}
 
+	// Una consulta de dependencias para todo el lote y un solo DELETE; cada id trae su resultado
+	@PostMapping("/batch/eliminar")
+	public ResponseEntity<ResponseDto<List<ResultadoEliminacionDto>>> eliminarEnLote(@RequestBody List<Long> ids) {
+
+		if (ids == null || ids.isEmpty() || ids.size() > ResultadoEliminacionDto.TAMANIO_MAXIMO_LOTE) {
+
+			return new ResponseEntity<>(new ResponseDto<>(false, "El lote debe tener entre 1 y " + ResultadoEliminacionDto.TAMANIO_MAXIMO_LOTE + " ids"), HttpStatus.BAD_REQUEST);
+		}
+		try {
+			List<ResultadoEliminacionDto> resultados = service.deleteAllById(ids);
+			long eliminados = resultados.stream().filter(ResultadoEliminacionDto::isEstado).count();
+			return new ResponseEntity<>(new ResponseDto<>(eliminados > 0, eliminados + " de " + resultados.size() + " servicios eliminados", resultados),
+					eliminados > 0 ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+		} catch (Exception e) {
+			return new ResponseEntity<>(new ResponseDto<>(false, "Error al eliminar los servicios: " + e.getMessage()), HttpStatus.BAD_REQUEST);
+		}
+	}
+
 	@DeleteMapping("/{id}")
 	public ResponseEntity<ResponseDto<Servicio>> delete(@PathVariable("id") Long id) {
 
 		if (service.exists(id)) {
-			
-			service.deleteById(id);
-			return new ResponseEntity<>(new ResponseDto<>(true, "Servicio con id: " + id.toString() + " ha sido eliminado"),HttpStatus.OK);
-			
+			try {
+				service.deleteById(id);
+				return new ResponseEntity<>(new ResponseDto<>(true, "Servicio con id: " + id.toString() + " ha sido eliminado"),HttpStatus.OK);
+			} catch (RuntimeException e) {
+				return new ResponseEntity<>(new ResponseDto<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+			}
 		} else {
 			
 			return new ResponseEntity<>(new ResponseDto<>(false, "Servicio con id: " + id.toString() + " No existe"),HttpStatus.BAD_REQUEST);
 			
 		}
 	}
+
+	// Solo consulta: por cada franja, los empleados habilitados que estan en turno y libres
+	@PostMapping("/{id}/empleados-libres")
+	public ResponseEntity<ResponseDto<List<EmpleadosLibresDto>>> empleadosLibres(@PathVariable("id") Long id, @RequestBody List<FranjaDto> franjas) {
+
+		if (franjas == null || franjas.isEmpty() || franjas.size() > ResultadoAsignacionDto.TAMANIO_MAXIMO_LOTE) {
+
+			return new ResponseEntity<>(new ResponseDto<>(false, "El lote debe tener entre 1 y " + ResultadoAsignacionDto.TAMANIO_MAXIMO_LOTE + " franjas"), HttpStatus.BAD_REQUEST);
+		}
+		if (!service.exists(id)) {
+
+			return new ResponseEntity<>(new ResponseDto<>(false, "El servicio con id: " + id.toString() + " no existe"), HttpStatus.NOT_FOUND);
+		}
+		try {
+			return new ResponseEntity<>(new ResponseDto<>(true, "Empleados libres por franja", agendaService.empleadosLibres(id, franjas)), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(new ResponseDto<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	// Cada franja se asigna por separado; las que no encuentran empleado vuelven con su error
+	@PostMapping("/{id}/asignaciones")
+	public ResponseEntity<ResponseDto<List<ResultadoAsignacionDto>>> asignar(@PathVariable("id") Long id, @RequestBody List<FranjaDto> franjas) {
+
+		if (franjas == null || franjas.isEmpty() || franjas.size() > ResultadoAsignacionDto.TAMANIO_MAXIMO_LOTE) {
+
+			return new ResponseEntity<>(new ResponseDto<>(false, "El lote debe tener entre 1 y " + ResultadoAsignacionDto.TAMANIO_MAXIMO_LOTE + " franjas"), HttpStatus.BAD_REQUEST);
+		}
+		if (!service.exists(id)) {
+
+			return new ResponseEntity<>(new ResponseDto<>(false, "El servicio con id: " + id.toString() + " no existe"), HttpStatus.NOT_FOUND);
+		}
+		try {
+			List<ResultadoAsignacionDto> resultados = agendaService.asignar(id, franjas);
+			long asignadas = resultados.stream().filter(ResultadoAsignacionDto::isEstado).count();
+			return new ResponseEntity<>(new ResponseDto<>(asignadas > 0, asignadas + " de " + resultados.size() + " franjas asignadas", resultados),
+					asignadas > 0 ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			return new ResponseEntity<>(new ResponseDto<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	@GetMapping("/{id}/asignaciones")
+	public ResponseEntity<ResponseDto<List<AsignacionDto>>> asignaciones(@PathVariable("id") Long id,
+			@RequestParam("fecha") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+
+		return service.exists(id)
+				? new ResponseEntity<>(new ResponseDto<>(true, "Asignaciones del servicio con id: " + id.toString(), agendaService.asignaciones(id, fecha)), HttpStatus.OK)
+				: new ResponseEntity<>(new ResponseDto<>(false, "El servicio con id: " + id.toString() + " no existe"), HttpStatus.NOT_FOUND);
+	}
+
+	@DeleteMapping("/asignaciones/{asignacionId}")
+	public ResponseEntity<ResponseDto<AsignacionDto>> eliminarAsignacion(@PathVariable("asignacionId") Long asignacionId) {
+
+		return agendaService.eliminarAsignacion(asignacionId)
+				? new ResponseEntity<>(new ResponseDto<>(true, "Asignacion con id: " + asignacionId.toString() + " ha sido eliminada"), HttpStatus.OK)
+				: new ResponseEntity<>(new ResponseDto<>(false, "Asignacion con id: " + asignacionId.toString() + " No existe"), HttpStatus.NOT_FOUND);
+	}
 }
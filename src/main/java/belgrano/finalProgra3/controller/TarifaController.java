@@ -0,0 +1,114 @@
+package belgrano.finalProgra3.controller;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import jakarta.validation.Valid;
+import belgrano.finalProgra3.dto.ResponseDto;
+import belgrano.finalProgra3.dto.TarifaNocheDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.ReglaTarifa;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.ITarifaService;
+
+@RestController
+@RequestMapping("/tarifa")
+public class TarifaController {
+
+    private static final int MAXIMO_NOCHES_CALENDARIO = 366;
+
+    @Autowired
+    private ITarifaService service;
+
+    @Autowired
+    private IHabitacionService habitacionService;
+
+    @GetMapping
+    public ResponseEntity<ResponseDto<List<ReglaTarifa>>> obtenerReglas() {
+
+        List<ReglaTarifa> reglas = service.getAll();
+        return !reglas.isEmpty()
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Listado completo de reglas de tarifa", reglas), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "No existen reglas de tarifa", reglas), HttpStatus.NOT_FOUND);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ResponseDto<ReglaTarifa>> obtenerReglaPorId(@PathVariable("id") Long id) {
+
+        return service.exists(id)
+                ? new ResponseEntity<>(new ResponseDto<>(true, "La regla con id: " + id + " ha sido encontrada", service.getById(id)), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "La regla con id: " + id + " no existe"), HttpStatus.NOT_FOUND);
+    }
+
+    // Precio de cada noche para una habitacion, con las reglas vigentes
+    @GetMapping("/calendario/{habitacionId}")
+    public ResponseEntity<ResponseDto<List<TarifaNocheDto>>> calendario(
+            @PathVariable("habitacionId") Long habitacionId,
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        if (!hasta.isAfter(desde) || ChronoUnit.DAYS.between(desde, hasta) > MAXIMO_NOCHES_CALENDARIO) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Indique un rango valido de hasta " + MAXIMO_NOCHES_CALENDARIO + " noches"), HttpStatus.BAD_REQUEST);
+        }
+        Habitacion habitacion = habitacionService.getById(habitacionId);
+        return habitacion != null
+                ? new ResponseEntity<>(new ResponseDto<>(true, "Tarifas de la habitacion " + habitacion.getNumero() + " entre " + desde + " y " + hasta, service.calendario(habitacion, desde, hasta)), HttpStatus.OK)
+                : new ResponseEntity<>(new ResponseDto<>(false, "La habitación con id: " + habitacionId + " no existe"), HttpStatus.NOT_FOUND);
+    }
+
+    @PostMapping
+    public ResponseEntity<ResponseDto<ReglaTarifa>> crearRegla(@Valid @RequestBody ReglaTarifa regla) {
+
+        if (regla.getId() != null) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Peticion erronea, enviar nuevamente sin ID"), HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(new ResponseDto<>(true, "Regla de tarifa creada", service.save(regla)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PutMapping
+    public ResponseEntity<ResponseDto<ReglaTarifa>> modificarRegla(@Valid @RequestBody ReglaTarifa regla) {
+
+        if (!service.exists(regla.getId())) {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Para actualizar una regla ingrese un ID valido"), HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(new ResponseDto<>(true, "Regla con id: " + regla.getId() + " actualizada", service.save(regla)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ResponseDto<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ResponseDto<ReglaTarifa>> delete(@PathVariable("id") Long id) {
+
+        if (service.exists(id)) {
+
+            service.deleteById(id);
+            return new ResponseEntity<>(new ResponseDto<>(true, "Regla con id: " + id + " ha sido eliminada"), HttpStatus.OK);
+
+        } else {
+
+            return new ResponseEntity<>(new ResponseDto<>(false, "Regla con id: " + id + " No existe"), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
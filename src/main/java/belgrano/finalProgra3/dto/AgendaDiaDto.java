@@ -0,0 +1,35 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgendaDiaDto {
+
+	private Long empleadoId;
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fecha;
+	private List<TurnoDto> turnos;
+	private List<AsignacionDto> asignaciones;
+	// Tramos en turno que todavia no tienen servicios asignados
+	private List<TramoDto> libres;
+
+	@Data
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class TramoDto {
+		@JsonFormat(pattern = "HH:mm")
+		private LocalTime horaInicio;
+		@JsonFormat(pattern = "HH:mm")
+		private LocalTime horaFin;
+	}
+}
@@ -0,0 +1,27 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AsignacionDto {
+
+	private Long id;
+	private Long empleadoId;
+	private Long servicioId;
+	private Long reservaId;
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fecha;
+	@JsonFormat(pattern = "HH:mm")
+	private LocalTime horaInicio;
+	@JsonFormat(pattern = "HH:mm")
+	private LocalTime horaFin;
+}
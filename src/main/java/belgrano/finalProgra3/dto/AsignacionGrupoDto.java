@@ -0,0 +1,26 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Una habitacion de una reserva de grupo; estadia es la posicion en la lista enviada
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AsignacionGrupoDto {
+
+	private int estadia;
+	private Long reservaId;
+	private Long habitacionId;
+	private int numero;
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaInicio;
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaFin;
+	private double precioTotal;
+}
@@ -0,0 +1,16 @@
+package belgrano.finalProgra3.dto;
+
+import belgrano.finalProgra3.entity.Habitacion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CotizacionDto {
+
+	private Habitacion habitacion;
+	private int numeroNoches;
+	private double precioTotal;
+}
@@ -0,0 +1,21 @@
+package belgrano.finalProgra3.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class CotizacionRequestDto {
+
+    @NotBlank(message = "La fecha de inicio es obligatoria")
+    private String fechaInicio;
+
+    @NotBlank(message = "La fecha de fin es obligatoria")
+    private String fechaFin;
+
+    private List<Long> serviciosIds;
+
+    // Filtros opcionales sobre las habitaciones a cotizar
+    private String tipo;
+    private List<Long> habitacionIds;
+}
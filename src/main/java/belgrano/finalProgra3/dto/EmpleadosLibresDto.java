@@ -0,0 +1,18 @@
+package belgrano.finalProgra3.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Empleados habilitados para el servicio y libres en la franja pedida, en el mismo orden en que se envio
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmpleadosLibresDto {
+
+	private int indice;
+	private FranjaDto franja;
+	private List<Long> empleadoIds;
+}
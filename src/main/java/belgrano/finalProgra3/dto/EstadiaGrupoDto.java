@@ -0,0 +1,23 @@
+package belgrano.finalProgra3.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class EstadiaGrupoDto {
+
+    @NotBlank(message = "El tipo de habitación es obligatorio")
+    private String tipoHabitacion;
+
+    @NotBlank(message = "La fecha de inicio es obligatoria")
+    private String fechaInicio;
+
+    @NotBlank(message = "La fecha de fin es obligatoria")
+    private String fechaFin;
+
+    @NotNull(message = "La cantidad de habitaciones es obligatoria")
+    @Min(value = 1, message = "La cantidad de habitaciones debe ser mayor a 0")
+    private Integer cantidad = 1;
+}
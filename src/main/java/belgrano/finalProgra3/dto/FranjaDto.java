@@ -0,0 +1,34 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Horario pedido para un turno o un servicio; las horas van en multiplos de 15 minutos
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FranjaDto {
+
+	@NotNull(message = "La fecha es obligatoria")
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fecha;
+
+	@NotNull(message = "La hora de inicio es obligatoria")
+	@JsonFormat(pattern = "HH:mm")
+	private LocalTime horaInicio;
+
+	@NotNull(message = "La hora de fin es obligatoria")
+	@JsonFormat(pattern = "HH:mm")
+	private LocalTime horaFin;
+
+	// Opcionales al asignar un servicio: un empleado en particular y la reserva que lo pide
+	private Long empleadoId;
+	private Long reservaId;
+}
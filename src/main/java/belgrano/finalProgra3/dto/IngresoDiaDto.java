@@ -0,0 +1,23 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IngresoDiaDto {
+
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fecha;
+	private double total;
+	// Ingreso por la habitacion, sin servicios
+	private Map<String, Double> porTipo;
+	private Map<Long, Double> porServicio;
+}
@@ -0,0 +1,30 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventarioNocheDto {
+
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fecha;
+	private Map<String, InventarioTipoDto> porTipo;
+
+	@Data
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class InventarioTipoDto {
+		// Habitaciones habilitadas del tipo
+		private int habitaciones;
+		private int vendidas;
+		private int libres;
+	}
+}
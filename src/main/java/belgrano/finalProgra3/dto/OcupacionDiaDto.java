@@ -0,0 +1,34 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OcupacionDiaDto {
+
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fecha;
+	private long ocupadas;
+	private long habitaciones;
+	private double porcentaje;
+	private Map<String, OcupacionTipoDto> porTipo;
+	// Reservas que tienen contratado cada servicio esa noche
+	private Map<Long, Long> serviciosEnUso;
+
+	@Data
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class OcupacionTipoDto {
+		private long ocupadas;
+		private long habitaciones;
+		private double porcentaje;
+	}
+}
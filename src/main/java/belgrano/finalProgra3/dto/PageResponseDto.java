@@ -0,0 +1,51 @@
+package belgrano.finalProgra3.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ResponseDto paginado por cursor (keyset): nextCursor es el id a enviar como
+ * "after" para pedir la pagina siguiente, o null si no quedan mas filas.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class PageResponseDto<T> extends ResponseDto<List<T>> {
+
+	public static final int LIMITE_POR_DEFECTO = 50;
+	public static final int LIMITE_MAXIMO = 500;
+
+	private Long nextCursor;
+	private int limit;
+
+	public PageResponseDto() {
+	}
+
+	public PageResponseDto(boolean estado, String message, List<T> data, Long nextCursor, int limit) {
+		super(estado, message, data);
+		this.nextCursor = nextCursor;
+		this.limit = limit;
+	}
+
+	public static int limite(Integer limit) {
+		if (limit == null || limit <= 0) {
+			return LIMITE_POR_DEFECTO;
+		}
+		return Math.min(limit, LIMITE_MAXIMO);
+	}
+
+	// "filas" se pide con limite + 1: si sobra una fila hay pagina siguiente
+	public static <T> PageResponseDto<T> of(List<T> filas, int limite, Function<T, Long> id,
+			String mensaje, String mensajeVacio) {
+		if (filas.isEmpty()) {
+			return new PageResponseDto<>(false, mensajeVacio, filas, null, limite);
+		}
+		if (filas.size() > limite) {
+			List<T> pagina = filas.subList(0, limite);
+			return new PageResponseDto<>(true, mensaje, pagina, id.apply(pagina.get(limite - 1)), limite);
+		}
+		return new PageResponseDto<>(true, mensaje, filas, null, limite);
+	}
+}
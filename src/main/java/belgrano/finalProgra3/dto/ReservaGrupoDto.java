@@ -0,0 +1,25 @@
+package belgrano.finalProgra3.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+// Reserva de grupo: las habitaciones las elige el servidor. Se crean todas o ninguna
+@Data
+public class ReservaGrupoDto {
+
+    // Entre todas las estadias (sumando cantidades)
+    public static final int MAXIMO_HABITACIONES = 500;
+
+    @NotNull(message = "El ID del cliente es obligatorio")
+    private Long clienteId;
+
+    // Se contratan en todas las reservas del grupo
+    private List<Long> serviciosIds;
+
+    @NotEmpty(message = "El grupo debe tener al menos una estadía")
+    private List<@Valid EstadiaGrupoDto> estadias;
+}
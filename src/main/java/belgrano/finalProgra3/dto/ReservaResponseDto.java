@@ -0,0 +1,62 @@
+package belgrano.finalProgra3.dto;
+
+import belgrano.finalProgra3.entity.Cliente;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Vista de una reserva para las respuestas REST. Mantiene la forma JSON de la entidad
+ * pero corta el grafo en los servicios, asi serializar no dispara cargas perezosas
+ * de empleados ni recorre relaciones bidireccionales.
+ */
+@Data
+public class ReservaResponseDto {
+
+	private Long id;
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaInicio;
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaFin;
+	private int numeroNoches;
+	private double precioTotal;
+	private Habitacion habitacion;
+	private Cliente cliente;
+	private List<ServicioResponseDto> servicios;
+	private Reserva.EstadoReserva estado;
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime vencimiento;
+
+	public static ReservaResponseDto de(Reserva reserva) {
+		ReservaResponseDto dto = new ReservaResponseDto();
+		dto.setId(reserva.getId());
+		dto.setFechaInicio(reserva.getFechaInicio());
+		dto.setFechaFin(reserva.getFechaFin());
+		dto.setNumeroNoches(reserva.getNumeroNoches());
+		dto.setPrecioTotal(reserva.getPrecioTotal());
+		dto.setHabitacion(reserva.getHabitacion());
+		dto.setCliente(reserva.getCliente());
+		dto.setServicios(reserva.getServicios() == null ? List.of() : reserva.getServicios().stream()
+				.map(ServicioResponseDto::de)
+				.sorted(Comparator.comparing(ServicioResponseDto::getId))
+				.toList());
+		dto.setEstado(reserva.getEstado());
+		dto.setVencimiento(reserva.getVencimiento());
+		return dto;
+	}
+
+	public static List<ReservaResponseDto> de(List<Reserva> reservas) {
+		List<ReservaResponseDto> dtos = new ArrayList<>(reservas.size());
+		for (Reserva reserva : reservas) {
+			dtos.add(de(reserva));
+		}
+		return dtos;
+	}
+}
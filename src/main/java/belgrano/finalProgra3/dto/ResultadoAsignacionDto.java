@@ -0,0 +1,27 @@
+package belgrano.finalProgra3.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de una franja de POST /servicio/{id}/asignaciones, en el mismo orden en que se envio
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoAsignacionDto {
+
+	public static final int TAMANIO_MAXIMO_LOTE = 500;
+
+	private int indice;
+	private boolean estado;
+	private String mensaje;
+	private AsignacionDto asignacion;
+
+	public static ResultadoAsignacionDto ok(int indice, AsignacionDto asignacion) {
+		return new ResultadoAsignacionDto(indice, true, "Empleado asignado", asignacion);
+	}
+
+	public static ResultadoAsignacionDto error(int indice, String mensaje) {
+		return new ResultadoAsignacionDto(indice, false, mensaje, null);
+	}
+}
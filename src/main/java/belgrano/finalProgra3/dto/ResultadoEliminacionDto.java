@@ -0,0 +1,27 @@
+package belgrano.finalProgra3.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de un id de POST /{entidad}/batch/eliminar, en el mismo orden en que se envio
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoEliminacionDto {
+
+	// Los ids viajan en un IN: por encima de esto conviene partir el pedido
+	public static final int TAMANIO_MAXIMO_LOTE = 1000;
+
+	private Long id;
+	private boolean estado;
+	private String mensaje;
+
+	public static ResultadoEliminacionDto ok(Long id) {
+		return new ResultadoEliminacionDto(id, true, "Eliminado");
+	}
+
+	public static ResultadoEliminacionDto error(Long id, String mensaje) {
+		return new ResultadoEliminacionDto(id, false, mensaje);
+	}
+}
@@ -0,0 +1,25 @@
+package belgrano.finalProgra3.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de un item de POST /reserva/batch, en el mismo orden en que se envio
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoLoteDto {
+
+	private int indice;
+	private boolean estado;
+	private Long reservaId;
+	private String mensaje;
+
+	public static ResultadoLoteDto ok(int indice, Long reservaId) {
+		return new ResultadoLoteDto(indice, true, reservaId, "Reserva creada");
+	}
+
+	public static ResultadoLoteDto error(int indice, String mensaje) {
+		return new ResultadoLoteDto(indice, false, null, mensaje);
+	}
+}
@@ -0,0 +1,30 @@
+package belgrano.finalProgra3.dto;
+
+import belgrano.finalProgra3.entity.Reserva;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de una reserva de POST /reserva/transiciones; anterior es null si la reserva no existe
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoTransicionDto {
+
+	public static final int TAMANIO_MAXIMO_LOTE = 1000;
+	// Un criterio que abarca mas reservas que esto se rechaza entero: hay que acotarlo
+	public static final int MAXIMO_POR_CRITERIO = 5000;
+
+	private Long id;
+	private boolean estado;
+	private String mensaje;
+	private Reserva.EstadoReserva anterior;
+
+	public static ResultadoTransicionDto ok(Long id, Reserva.EstadoReserva anterior, Reserva.EstadoReserva destino) {
+		return new ResultadoTransicionDto(id, true, "Pasó de " + anterior + " a " + destino, anterior);
+	}
+
+	public static ResultadoTransicionDto error(Long id, Reserva.EstadoReserva anterior, String mensaje) {
+		return new ResultadoTransicionDto(id, false, mensaje, anterior);
+	}
+}
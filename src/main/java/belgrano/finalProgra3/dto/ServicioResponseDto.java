@@ -0,0 +1,25 @@
+package belgrano.finalProgra3.dto;
+
+import belgrano.finalProgra3.entity.Servicio;
+import lombok.Data;
+
+// Servicio tal como se muestra dentro de una reserva: sin el grafo de empleados
+@Data
+public class ServicioResponseDto {
+
+	private Long id;
+	private String nombre;
+	private String descripcion;
+	private double precio;
+	private boolean disponibilidad;
+
+	public static ServicioResponseDto de(Servicio servicio) {
+		ServicioResponseDto dto = new ServicioResponseDto();
+		dto.setId(servicio.getId());
+		dto.setNombre(servicio.getNombre());
+		dto.setDescripcion(servicio.getDescripcion());
+		dto.setPrecio(servicio.getPrecio());
+		dto.setDisponibilidad(servicio.isDisponibilidad());
+		return dto;
+	}
+}
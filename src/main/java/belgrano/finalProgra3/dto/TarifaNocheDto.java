@@ -0,0 +1,19 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TarifaNocheDto {
+
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fecha;
+	private double precio;
+}
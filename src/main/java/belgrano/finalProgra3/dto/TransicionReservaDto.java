@@ -0,0 +1,25 @@
+package belgrano.finalProgra3.dto;
+
+import java.util.List;
+
+import belgrano.finalProgra3.entity.Reserva;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+// Cambio de estado de muchas reservas: por ids, o por un criterio sobre las que pueden pasar al estado
+@Data
+public class TransicionReservaDto {
+
+    @NotNull(message = "El estado destino es obligatorio")
+    private Reserva.EstadoReserva estado;
+
+    private List<Long> ids;
+
+    // Criterio, solo si no hay ids: al menos uno de estos campos. desde y hasta son sobre la
+    // fecha de inicio (yyyy-MM-dd, ambas inclusive)
+    private Reserva.EstadoReserva estadoActual;
+    private String desde;
+    private String hasta;
+    private Long habitacionId;
+    private Long clienteId;
+}
@@ -0,0 +1,23 @@
+package belgrano.finalProgra3.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrazaDto {
+
+	private Instant fecha;
+	private String metodo;
+	private String uri;
+	private int estado;
+	private double totalMs;
+	private int sentencias;
+	// Milisegundos por fase: entrada, controlador, servicio, sql, conexion, serializacion, total
+	private Map<String, Double> fases;
+}
@@ -0,0 +1,80 @@
+package belgrano.finalProgra3.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Regla del calendario de tarifas: temporadas, fines de semana, precios fijos por
+ * tipo de habitacion y recargos por ocupacion. Las reglas se aplican por prioridad
+ * ascendente; un PRECIO_FIJO reemplaza lo anterior y los porcentajes se componen.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReglaTarifa {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@NotBlank(message = "El nombre es obligatorio")
+	private String nombre;
+
+	// Vacio: aplica a todos los tipos de habitacion
+	private String tipoHabitacion;
+
+	// Noches [fechaInicio, fechaFin); sin fechas la regla no vence
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaInicio;
+
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaFin;
+
+	// Vacio: todos los dias de la semana
+	@ElementCollection(fetch = FetchType.EAGER)
+	@CollectionTable(name = "regla_tarifa_dia", joinColumns = @JoinColumn(name = "regla_id"))
+	@Enumerated(EnumType.STRING)
+	@Column(name = "dia")
+	private Set<DayOfWeek> diasSemana = new HashSet<>();
+
+	@NotNull(message = "El tipo de ajuste es obligatorio")
+	@Enumerated(EnumType.STRING)
+	private TipoAjuste ajuste;
+
+	// Precio por noche para PRECIO_FIJO; porcentaje (puede ser negativo) para los demas
+	private double valor;
+
+	@Min(value = 0, message = "El umbral de ocupacion debe estar entre 0 y 100")
+	@Max(value = 100, message = "El umbral de ocupacion debe estar entre 0 y 100")
+	private Integer umbralOcupacion;
+
+	private int prioridad;
+
+	public enum TipoAjuste {
+		PRECIO_FIJO, PORCENTAJE, RECARGO_OCUPACION;
+	}
+}
@@ -1,15 +1,26 @@
 package belgrano.finalProgra3.entity;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Table(indexes = {
+	@Index(name = "idx_reserva_habitacion_fechas", columnList = "habitacion, fecha_inicio, fecha_fin"),
+	@Index(name = "idx_reserva_cliente_fecha", columnList = "cliente_id, fecha_inicio"),
+	@Index(name = "idx_reserva_estado_vencimiento", columnList = "estado, vencimiento"),
+	@Index(name = "idx_reserva_estado_fecha_inicio", columnList = "estado, fecha_inicio")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -19,11 +30,13 @@ public class Reserva {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 	
-	@NotBlank(message = "La fecha de inicio es obligatoria")
-	private String fechaInicio;
+	@NotNull(message = "La fecha de inicio es obligatoria")
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaInicio;
 	
-	@NotBlank(message = "La fecha de fin es obligatoria")
-	private String fechaFin;
+	@NotNull(message = "La fecha de fin es obligatoria")
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaFin;
 	
 	private int numeroNoches;
 	private double precioTotal;
@@ -38,6 +51,8 @@ public class Reserva {
 	@JoinColumn(name = "cliente_id")
 	private Cliente cliente;
 	
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
 	@ManyToMany
 	@JoinTable(
 		name = "reserva_servicio",
@@ -50,9 +65,24 @@ public class Reserva {
     @Enumerated(EnumType.STRING)
     private EstadoReserva estado;
 
+	// Solo en PENDIENTE: pasado este momento la reserva se cancela sola. Lo fija el servidor
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private LocalDateTime vencimiento;
+
 
 	public enum EstadoReserva {
 		CONFIRMADA, PENDIENTE, CANCELADA;
+
+		// Una pendiente se confirma o se cancela, una confirmada solo se cancela y una cancelada
+		// ya no cambia: volver a ocupar la habitacion exige revalidar las fechas (nueva reserva)
+		public boolean puedePasarA(EstadoReserva destino) {
+			return switch (this) {
+				case PENDIENTE -> destino == CONFIRMADA || destino == CANCELADA;
+				case CONFIRMADA -> destino == CANCELADA;
+				case CANCELADA -> false;
+			};
+		}
 	}
 
 
@@ -0,0 +1,82 @@
+package belgrano.finalProgra3.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Pedido de un tipo de habitacion para fechas sin lugar. Cliente, servicios y reserva
+// van por id, sin claves foraneas: la solicitud no impide borrar a ninguno de ellos
+@Entity
+@Table(indexes = {
+	@Index(name = "idx_solicitud_estado_fecha_inicio", columnList = "estado, fecha_inicio"),
+	@Index(name = "idx_solicitud_cliente", columnList = "cliente_id")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SolicitudEspera {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@NotNull(message = "El cliente es obligatorio")
+	@Column(name = "cliente_id")
+	private Long clienteId;
+
+	@NotBlank(message = "El tipo de habitación es obligatorio")
+	private String tipoHabitacion;
+
+	@NotNull(message = "La fecha de inicio es obligatoria")
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaInicio;
+
+	@NotNull(message = "La fecha de fin es obligatoria")
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fechaFin;
+
+	@ElementCollection(fetch = FetchType.EAGER)
+	@CollectionTable(name = "solicitud_espera_servicio", joinColumns = @JoinColumn(name = "solicitud_id"))
+	@Column(name = "servicio_id")
+	private List<Long> serviciosIds = new ArrayList<>();
+
+	@NotNull(message = "El estado es obligatorio")
+	@Enumerated(EnumType.STRING)
+	private EstadoSolicitud estado;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private LocalDateTime creada;
+
+	// La reserva que se creo al encontrar lugar
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private Long reservaId;
+
+
+	public enum EstadoSolicitud {
+		ESPERANDO, ASIGNADA, CANCELADA, VENCIDA
+	}
+}
@@ -0,0 +1,49 @@
+package belgrano.finalProgra3.entity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Horario en que un empleado puede tomar servicios; horaFin 00:00 es el fin del dia
+@Entity
+@Table(indexes = @Index(name = "idx_turno_empleado_fecha", columnList = "empleado_id, fecha"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Turno {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@NotNull(message = "El empleado es obligatorio")
+	@ManyToOne
+	@JoinColumn(name = "empleado_id")
+	private Empleado empleado;
+
+	@NotNull(message = "La fecha es obligatoria")
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate fecha;
+
+	@NotNull(message = "La hora de inicio es obligatoria")
+	@JsonFormat(pattern = "HH:mm")
+	private LocalTime horaInicio;
+
+	@NotNull(message = "La hora de fin es obligatoria")
+	@JsonFormat(pattern = "HH:mm")
+	private LocalTime horaFin;
+}
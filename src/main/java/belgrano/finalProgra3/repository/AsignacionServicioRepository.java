@@ -0,0 +1,55 @@
+package belgrano.finalProgra3.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import belgrano.finalProgra3.entity.AsignacionServicio;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AsignacionServicioRepository extends JpaRepository<AsignacionServicio, Long> {
+
+	String COLUMNAS = "select a.id as id, a.empleado.id as empleadoId, a.servicio.id as servicioId, a.reserva.id as reservaId, " +
+			"a.fecha as fecha, a.horaInicio as horaInicio, a.horaFin as horaFin from AsignacionServicio a ";
+
+	@Query(COLUMNAS + "where a.fecha >= :desde")
+	List<Horario> findHorariosDesde(@Param("desde") LocalDate desde);
+
+	@Query(COLUMNAS + "where a.servicio.id = :servicioId and a.fecha = :fecha order by a.horaInicio, a.id")
+	List<Horario> findPorServicio(@Param("servicioId") Long servicioId, @Param("fecha") LocalDate fecha);
+
+	@Query(COLUMNAS + "where a.empleado.id = :empleadoId and a.fecha = :fecha order by a.horaInicio, a.id")
+	List<Horario> findPorEmpleado(@Param("empleadoId") Long empleadoId, @Param("fecha") LocalDate fecha);
+
+	@Query(COLUMNAS + "where a.reserva.id in :reservaIds")
+	List<Horario> findPorReservas(@Param("reservaIds") Collection<Long> reservaIds);
+
+	@Query("select a.empleado.id as id, count(a) as cantidad from AsignacionServicio a " +
+			"where a.empleado.id in :ids group by a.empleado.id")
+	List<ReservaRepository.CantidadPorId> contarPorEmpleado(@Param("ids") Collection<Long> ids);
+
+	@Query("select a.servicio.id as id, count(a) as cantidad from AsignacionServicio a " +
+			"where a.servicio.id in :ids group by a.servicio.id")
+	List<ReservaRepository.CantidadPorId> contarPorServicio(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("delete from AsignacionServicio a where a.reserva.id in :reservaIds")
+	int eliminarPorReservas(@Param("reservaIds") Collection<Long> reservaIds);
+
+	interface Horario {
+		Long getId();
+		Long getEmpleadoId();
+		Long getServicioId();
+		Long getReservaId();
+		LocalDate getFecha();
+		LocalTime getHoraInicio();
+		LocalTime getHoraFin();
+	}
+}
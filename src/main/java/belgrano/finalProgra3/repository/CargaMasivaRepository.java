@@ -0,0 +1,94 @@
+package belgrano.finalProgra3.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import belgrano.finalProgra3.entity.Cliente;
+import belgrano.finalProgra3.entity.Factura;
+import belgrano.finalProgra3.entity.Habitacion;
+
+/**
+ * Inserciones en batch de clientes, habitaciones y facturas para cargar volumenes
+ * grandes de datos. Las reservas van por ReservaLoteRepository. Igual que alli, se
+ * leen las claves generadas del mismo batch y se asignan a las entidades.
+ */
+@Repository
+public class CargaMasivaRepository {
+
+	private static final String INSERT_CLIENTE = "insert into cliente "
+			+ "(nombre, direccion, telefono, correo_electronico) values (?, ?, ?, ?)";
+	private static final String INSERT_HABITACION = "insert into habitacion "
+			+ "(numero, tipo, precio_por_noche, estado, disponible) values (?, ?, ?, ?, ?)";
+	private static final String INSERT_FACTURA = "insert into factura (reserva_id, total, detalles) values (?, ?, ?)";
+	private static final int TAMANIO_BATCH = 1000;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public void insertarClientes(List<Cliente> clientes) {
+		KeyHolder claves = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_CLIENTE, new String[] { "id" }),
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						Cliente c = clientes.get(i);
+						ps.setString(1, c.getNombre());
+						ps.setString(2, c.getDireccion());
+						ps.setString(3, c.getTelefono());
+						ps.setString(4, c.getCorreoElectronico());
+					}
+
+					@Override
+					public int getBatchSize() {
+						return clientes.size();
+					}
+				}, claves);
+		List<Map<String, Object>> generadas = claves.getKeyList();
+		for (int i = 0; i < clientes.size(); i++) {
+			clientes.get(i).setId(((Number) generadas.get(i).values().iterator().next()).longValue());
+		}
+	}
+
+	public void insertarHabitaciones(List<Habitacion> habitaciones) {
+		KeyHolder claves = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_HABITACION, new String[] { "id" }),
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						Habitacion h = habitaciones.get(i);
+						ps.setInt(1, h.getNumero());
+						ps.setString(2, h.getTipo());
+						ps.setDouble(3, h.getPrecioPorNoche());
+						ps.setString(4, h.getEstado());
+						ps.setBoolean(5, h.isDisponible());
+					}
+
+					@Override
+					public int getBatchSize() {
+						return habitaciones.size();
+					}
+				}, claves);
+		List<Map<String, Object>> generadas = claves.getKeyList();
+		for (int i = 0; i < habitaciones.size(); i++) {
+			habitaciones.get(i).setId(((Number) generadas.get(i).values().iterator().next()).longValue());
+		}
+	}
+
+	// Las facturas no se referencian despues: no hace falta leer sus claves
+	public void insertarFacturas(List<Factura> facturas) {
+		jdbcTemplate.batchUpdate(INSERT_FACTURA, facturas, TAMANIO_BATCH, (ps, f) -> {
+			ps.setLong(1, f.getReserva().getId());
+			ps.setDouble(2, f.getTotal());
+			ps.setString(3, f.getDetalles());
+		});
+	}
+}
@@ -1,13 +1,37 @@
 package belgrano.finalProgra3.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import belgrano.finalProgra3.entity.Cliente;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente,Long> {
 
-	
+	List<Cliente> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+	@Query("select c.id from Cliente c where c.id in :ids")
+	List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("delete from Cliente c where c.id in :ids")
+	int eliminarTodos(@Param("ids") Collection<Long> ids);
+
+	// Para armar el indice de busqueda: instancias sueltas, fuera del contexto de persistencia
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select new belgrano.finalProgra3.entity.Cliente(c.id, c.nombre, c.direccion, c.telefono, c.correoElectronico) from Cliente c")
+	Stream<Cliente> streamParaBusqueda();
 
 }
@@ -1,6 +1,13 @@
 package belgrano.finalProgra3.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import belgrano.finalProgra3.entity.Empleado;
 import org.springframework.stereotype.Repository;
@@ -8,4 +15,16 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface EmpleadoRepository extends JpaRepository <Empleado,Long>{
 
+	List<Empleado> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+	@Query("select e.id from Empleado e where e.id in :ids")
+	List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+	// servicio_empleado es del lado de Servicio: se cuenta desde ahi sin inicializar la coleccion
+	@Query("select e.id as id, count(s) as cantidad from Servicio s join s.empleados e where e.id in :ids group by e.id")
+	List<ReservaRepository.CantidadPorId> contarServicios(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("delete from Empleado e where e.id in :ids")
+	int eliminarTodos(@Param("ids") Collection<Long> ids);
 }
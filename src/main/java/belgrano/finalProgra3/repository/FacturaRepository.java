@@ -1,13 +1,31 @@
 package belgrano.finalProgra3.repository;
 
 import belgrano.finalProgra3.entity.Factura;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FacturaRepository extends JpaRepository<Factura, Long> {
     Optional<Factura> findByReserva_Id(Long reservaId);
+
+    // Proyeccion plana: exportar facturas no necesita levantar la reserva (EAGER) de cada una
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select f.id as id, f.reserva.id as reservaId, f.total as total, f.detalles as detalles from Factura f order by f.id")
+    Stream<FacturaExportacion> streamExportacion();
+
+    interface FacturaExportacion {
+        Long getId();
+        Long getReservaId();
+        Double getTotal();
+        String getDetalles();
+    }
 }
 
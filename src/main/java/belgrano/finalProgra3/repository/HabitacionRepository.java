@@ -1,14 +1,61 @@
 package belgrano.finalProgra3.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import belgrano.finalProgra3.entity.Habitacion;
+import jakarta.persistence.LockModeType;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface HabitacionRepository extends JpaRepository <Habitacion, Long> {
 
 	List<Habitacion> findByDisponible(boolean disponible);
+
+	@Query("select h from Habitacion h where h.id > :after and (:tipo is null or h.tipo = :tipo) " +
+			"and (:disponible is null or h.disponible = :disponible) order by h.id")
+	List<Habitacion> findPagina(@Param("after") Long after, @Param("tipo") String tipo,
+			@Param("disponible") Boolean disponible, Limit limit);
+
+	// Solo lo necesario para agrupar habitaciones por tipo (ocupacion por tipo en tarifas)
+	@Query("select h.id as id, h.tipo as tipo from Habitacion h order by h.id")
+	List<IdYTipo> findIdsYTipos();
+
+	@Query("select h.tipo as tipo, count(h) as cantidad from Habitacion h group by h.tipo")
+	List<CantidadPorTipo> contarPorTipo();
+
+	// SELECT ... FOR UPDATE: serializa las reservas de una misma habitacion entre instancias
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select h from Habitacion h where h.id = :id")
+	Optional<Habitacion> findByIdParaReservar(@Param("id") Long id);
+
+	// Mismo bloqueo para un lote, siempre en orden de id para no cruzarse con otro lote
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select h from Habitacion h where h.id in :ids order by h.id")
+	List<Habitacion> findAllByIdParaReservar(@Param("ids") Collection<Long> ids);
+
+	@Query("select h.id from Habitacion h where h.id in :ids")
+	List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("delete from Habitacion h where h.id in :ids")
+	int eliminarTodos(@Param("ids") Collection<Long> ids);
+
+	interface IdYTipo {
+		Long getId();
+		String getTipo();
+	}
+
+	interface CantidadPorTipo {
+		String getTipo();
+		long getCantidad();
+	}
 }
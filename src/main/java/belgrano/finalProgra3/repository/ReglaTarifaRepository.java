@@ -0,0 +1,11 @@
+package belgrano.finalProgra3.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import belgrano.finalProgra3.entity.ReglaTarifa;
+
+@Repository
+public interface ReglaTarifaRepository extends JpaRepository<ReglaTarifa, Long> {
+
+}
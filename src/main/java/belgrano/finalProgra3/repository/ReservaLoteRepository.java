@@ -0,0 +1,77 @@
+package belgrano.finalProgra3.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.Servicio;
+
+/**
+ * Inserciones masivas de reservas por JDBC. Con GenerationType.IDENTITY Hibernate
+ * inserta fila por fila; aca se arma un unico batch y se leen las claves generadas.
+ * Corre sobre la misma conexion de la transaccion JPA en curso.
+ */
+@Repository
+public class ReservaLoteRepository {
+
+	private static final String INSERT_RESERVA = "insert into reserva "
+			+ "(fecha_inicio, fecha_fin, numero_noches, precio_total, habitacion, cliente_id, estado, vencimiento) "
+			+ "values (?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_RESERVA_SERVICIO = "insert into reserva_servicio (reserva_id, servicio_id) values (?, ?)";
+	private static final int TAMANIO_BATCH = 500;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Asigna a cada reserva el id generado por la base
+	public void insertar(List<Reserva> reservas) {
+		KeyHolder claves = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_RESERVA, new String[] { "id" }),
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws java.sql.SQLException {
+						Reserva r = reservas.get(i);
+						ps.setDate(1, Date.valueOf(r.getFechaInicio()));
+						ps.setDate(2, Date.valueOf(r.getFechaFin()));
+						ps.setInt(3, r.getNumeroNoches());
+						ps.setDouble(4, r.getPrecioTotal());
+						ps.setLong(5, r.getHabitacion().getId());
+						ps.setLong(6, r.getCliente().getId());
+						ps.setString(7, r.getEstado().name());
+						ps.setTimestamp(8, r.getVencimiento() != null ? Timestamp.valueOf(r.getVencimiento()) : null);
+					}
+
+					@Override
+					public int getBatchSize() {
+						return reservas.size();
+					}
+				}, claves);
+
+		List<Map<String, Object>> generadas = claves.getKeyList();
+		List<long[]> servicios = new ArrayList<>();
+		for (int i = 0; i < reservas.size(); i++) {
+			Reserva r = reservas.get(i);
+			r.setId(((Number) generadas.get(i).values().iterator().next()).longValue());
+			for (Servicio servicio : r.getServicios()) {
+				servicios.add(new long[] { r.getId(), servicio.getId() });
+			}
+		}
+		if (!servicios.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_RESERVA_SERVICIO, servicios, TAMANIO_BATCH, (ps, par) -> {
+				ps.setLong(1, par[0]);
+				ps.setLong(2, par[1]);
+			});
+		}
+	}
+}
@@ -2,13 +2,220 @@ package belgrano.finalProgra3.repository;
 
 
 import belgrano.finalProgra3.entity.Reserva;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface ReservaRepository extends JpaRepository<Reserva, Long> {
-    List<Reserva> findByClienteId(Long clienteId);
-    List<Reserva> findByHabitacionId(Long habitacionId);
+
+    // Dependencias para borrar clientes, habitaciones y servicios: un conteo por id, solo los que tienen reservas
+    @Query("select r.cliente.id as id, count(r) as cantidad from Reserva r where r.cliente.id in :ids group by r.cliente.id")
+    List<CantidadPorId> contarPorCliente(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.habitacion.id as id, count(r) as cantidad from Reserva r where r.habitacion.id in :ids group by r.habitacion.id")
+    List<CantidadPorId> contarPorHabitacion(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.id as id, count(r) as cantidad from Reserva r join r.servicios s where s.id in :ids group by s.id")
+    List<CantidadPorId> contarPorServicio(@Param("ids") Collection<Long> ids);
+    // Los listados traen habitacion y cliente en el mismo SELECT; los servicios de toda
+    // la pagina llegan en una sola consulta IN gracias a default_batch_fetch_size
+    @Override
+    @EntityGraph(attributePaths = {"habitacion", "cliente", "servicios"})
+    Optional<Reserva> findById(Long id);
+
+    @EntityGraph(attributePaths = {"habitacion", "cliente"})
+    @Query("select r from Reserva r where r.id > :after and (:estado is null or r.estado = :estado) " +
+            "and (:habitacionId is null or r.habitacion.id = :habitacionId) " +
+            "and (:clienteId is null or r.cliente.id = :clienteId) order by r.id")
+    List<Reserva> findPagina(@Param("after") Long after, @Param("estado") Reserva.EstadoReserva estado,
+                             @Param("habitacionId") Long habitacionId, @Param("clienteId") Long clienteId, Limit limit);
+
+    // Rangos semiabiertos [desde, hasta): se cruzan si inicio < hasta y fin > desde
+    @EntityGraph(attributePaths = {"habitacion", "cliente"})
+    @Query("select r from Reserva r where r.fechaInicio < :hasta and r.fechaFin > :desde order by r.fechaInicio, r.id")
+    List<Reserva> findSolapadas(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    @EntityGraph(attributePaths = {"habitacion", "cliente"})
+    @Query("select r from Reserva r where r.habitacion.id = :habitacionId " +
+            "and r.fechaInicio < :hasta and r.fechaFin > :desde order by r.fechaInicio, r.id")
+    List<Reserva> findSolapadasPorHabitacion(@Param("habitacionId") Long habitacionId,
+                                             @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    @EntityGraph(attributePaths = {"habitacion", "cliente"})
+    List<Reserva> findByFechaInicioBetweenOrderByFechaInicioAsc(LocalDate desde, LocalDate hasta);
+
+    @EntityGraph(attributePaths = {"habitacion", "cliente"})
+    List<Reserva> findByClienteIdAndFechaInicioBetweenOrderByFechaInicioAsc(Long clienteId, LocalDate desde, LocalDate hasta);
+
+    @EntityGraph(attributePaths = {"habitacion", "cliente"})
+    List<Reserva> findByClienteIdOrderByFechaInicioAsc(Long clienteId);
+
+    @Query("select count(r) > 0 from Reserva r where r.habitacion.id = :habitacionId and r.estado <> :estado " +
+            "and r.fechaInicio < :hasta and r.fechaFin > :desde and (:reservaId is null or r.id <> :reservaId)")
+    boolean existsSolapamiento(@Param("habitacionId") Long habitacionId, @Param("desde") LocalDate desde,
+                               @Param("hasta") LocalDate hasta, @Param("estado") Reserva.EstadoReserva estado,
+                               @Param("reservaId") Long reservaId);
+
+    // Vencimientos de las reservas PENDIENTE: para reconstruir la rueda al arrancar
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select r.id as id, r.vencimiento as vencimiento from Reserva r where r.estado = :estado")
+    Stream<Retencion> streamRetenciones(@Param("estado") Reserva.EstadoReserva estado);
+
+    // Las PENDIENTE anteriores a los vencimientos (datos iniciales) reciben el plazo completo
+    @Modifying
+    @Query("update Reserva r set r.vencimiento = :vencimiento where r.estado = :estado and r.vencimiento is null")
+    int fijarVencimientoFaltante(@Param("estado") Reserva.EstadoReserva estado, @Param("vencimiento") LocalDateTime vencimiento);
+
+    @Query("select r.vencimiento from Reserva r where r.id = :id")
+    LocalDateTime findVencimiento(@Param("id") Long id);
+
+    // Las filas quedan bloqueadas hasta el commit: una confirmacion concurrente espera y la
+    // que ya se confirmo no aparece
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id from Reserva r where r.id in :ids and r.estado = :estado and r.vencimiento <= :ahora")
+    List<Long> findIdsVencidas(@Param("ids") Collection<Long> ids, @Param("estado") Reserva.EstadoReserva estado,
+                               @Param("ahora") LocalDateTime ahora);
+
+    // Para POST /reserva/transiciones: estado actual con las filas bloqueadas hasta el commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id as id, r.estado as estado, r.vencimiento as vencimiento from Reserva r where r.id in :ids")
+    List<EstadoActual> findEstadosParaTransicion(@Param("ids") Collection<Long> ids);
+
+    // Las fechas van siempre (sin "is null or") para que se use el indice por fecha de inicio
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id as id, r.estado as estado, r.vencimiento as vencimiento from Reserva r where r.estado in :estados " +
+            "and r.fechaInicio between :desde and :hasta " +
+            "and (:habitacionId is null or r.habitacion.id = :habitacionId) and (:clienteId is null or r.cliente.id = :clienteId) " +
+            "order by r.id")
+    List<EstadoActual> findEstadosPorCriterio(@Param("estados") Collection<Reserva.EstadoReserva> estados,
+                                              @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+                                              @Param("habitacionId") Long habitacionId, @Param("clienteId") Long clienteId,
+                                              Limit limit);
+
+    @Modifying
+    @Query("update Reserva r set r.estado = :estado, r.vencimiento = null where r.id in :ids")
+    int cambiarEstado(@Param("ids") Collection<Long> ids, @Param("estado") Reserva.EstadoReserva estado);
+
+    // Solo las columnas necesarias para armar el indice de disponibilidad
+    @Query("select r.id as id, r.habitacion.id as habitacionId, r.fechaInicio as fechaInicio, r.fechaFin as fechaFin " +
+            "from Reserva r where r.estado <> :estado")
+    List<FechasReserva> findFechasByEstadoNot(@Param("estado") Reserva.EstadoReserva estado);
+
+    // Las que todavia ocupan alguna noche desde :desde; el inventario por tipo no mira el pasado
+    @Query("select r.id as id, r.habitacion.id as habitacionId, r.fechaInicio as fechaInicio, r.fechaFin as fechaFin " +
+            "from Reserva r where r.fechaFin > :desde and r.estado <> :estado")
+    List<FechasReserva> findFechasTerminanDespues(@Param("desde") LocalDate desde, @Param("estado") Reserva.EstadoReserva estado);
+
+    @Query("select r.id as id, r.habitacion.id as habitacionId, r.fechaInicio as fechaInicio, r.fechaFin as fechaFin " +
+            "from Reserva r where r.habitacion.id in :habitacionIds and r.estado <> :estado " +
+            "and r.fechaInicio < :hasta and r.fechaFin > :desde")
+    List<FechasReserva> findFechasSolapadas(@Param("habitacionIds") Collection<Long> habitacionIds,
+                                            @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+                                            @Param("estado") Reserva.EstadoReserva estado);
+
+    // Para asignar servicios a un conjunto de reservas: estadia y estado, y cuales contrataron el servicio
+    @Query("select r.id as id, r.fechaInicio as fechaInicio, r.fechaFin as fechaFin, r.estado as estado " +
+            "from Reserva r where r.id in :ids")
+    List<Estadia> findEstadias(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.id from Reserva r join r.servicios s where s.id = :servicioId and r.id in :ids")
+    List<Long> findIdsConServicio(@Param("servicioId") Long servicioId, @Param("ids") Collection<Long> ids);
+
+    // Cursores de solo avance para exportaciones: proyecciones planas leidas de a 500, sin
+    // entidades. Los servicios van en un segundo cursor con el mismo orden para unirlos por id
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select r.id as id, r.fechaInicio as fechaInicio, r.fechaFin as fechaFin, r.numeroNoches as numeroNoches, " +
+            "r.precioTotal as precioTotal, r.habitacion.id as habitacionId, r.cliente.id as clienteId, r.estado as estado " +
+            "from Reserva r order by r.id")
+    Stream<ReservaExportacion> streamExportacion();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select r.id as reservaId, s.id as servicioId from Reserva r join r.servicios s order by r.id, s.id")
+    Stream<ServicioExportacion> streamServiciosExportacion();
+
+    // Carga de los agregados de reportes: una fila por reserva y una por cada servicio contratado
+    @Query("select r.id as id, r.habitacion.tipo as tipo, r.fechaInicio as fechaInicio, r.fechaFin as fechaFin, " +
+            "r.precioTotal as precioTotal from Reserva r where r.estado <> :estado")
+    List<ReservaReporte> findParaReportes(@Param("estado") Reserva.EstadoReserva estado);
+
+    @Query("select r.id as reservaId, s.id as servicioId, s.precio as precio " +
+            "from Reserva r join r.servicios s where r.estado <> :estado")
+    List<ServicioReporte> findServiciosParaReportes(@Param("estado") Reserva.EstadoReserva estado);
+
+    interface ReservaReporte {
+        Long getId();
+        String getTipo();
+        LocalDate getFechaInicio();
+        LocalDate getFechaFin();
+        double getPrecioTotal();
+    }
+
+    interface ServicioReporte {
+        Long getReservaId();
+        Long getServicioId();
+        double getPrecio();
+    }
+
+    interface EstadoActual {
+        Long getId();
+        Reserva.EstadoReserva getEstado();
+        LocalDateTime getVencimiento();
+    }
+
+    interface Retencion {
+        Long getId();
+        LocalDateTime getVencimiento();
+    }
+
+    interface FechasReserva {
+        Long getId();
+        Long getHabitacionId();
+        LocalDate getFechaInicio();
+        LocalDate getFechaFin();
+    }
+
+    interface Estadia {
+        Long getId();
+        LocalDate getFechaInicio();
+        LocalDate getFechaFin();
+        Reserva.EstadoReserva getEstado();
+    }
+
+    interface ReservaExportacion {
+        Long getId();
+        LocalDate getFechaInicio();
+        LocalDate getFechaFin();
+        int getNumeroNoches();
+        double getPrecioTotal();
+        Long getHabitacionId();
+        Long getClienteId();
+        Reserva.EstadoReserva getEstado();
+    }
+
+    interface ServicioExportacion {
+        Long getReservaId();
+        Long getServicioId();
+    }
+
+    interface CantidadPorId {
+        Long getId();
+        long getCantidad();
+    }
 }
@@ -1,6 +1,15 @@
 package belgrano.finalProgra3.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import belgrano.finalProgra3.entity.Servicio;
 import org.springframework.stereotype.Repository;
@@ -8,4 +17,23 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ServicioRepository extends JpaRepository <Servicio, Long> {
 
+	// Para cachear: los empleados quedan cargados y la entidad se puede serializar fuera de la sesion
+	@EntityGraph(attributePaths = "empleados")
+	Optional<Servicio> findConEmpleadosById(Long id);
+
+	@Query("select s from Servicio s where s.id > :after " +
+			"and (:disponibilidad is null or s.disponibilidad = :disponibilidad) order by s.id")
+	List<Servicio> findPagina(@Param("after") Long after, @Param("disponibilidad") Boolean disponibilidad, Limit limit);
+
+	@Query("select s.id from Servicio s where s.id in :ids")
+	List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+	// Un DELETE por JPQL no pasa por la coleccion empleados: la tabla intermedia se limpia antes
+	@Modifying
+	@Query(value = "delete from servicio_empleado where servicio_id in :ids", nativeQuery = true)
+	int eliminarEmpleadosDe(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("delete from Servicio s where s.id in :ids")
+	int eliminarTodos(@Param("ids") Collection<Long> ids);
 }
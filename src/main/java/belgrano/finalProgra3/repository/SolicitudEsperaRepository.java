@@ -0,0 +1,46 @@
+package belgrano.finalProgra3.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import belgrano.finalProgra3.entity.SolicitudEspera;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SolicitudEsperaRepository extends JpaRepository<SolicitudEspera, Long> {
+
+	@Query("select s from SolicitudEspera s where s.id > :after and (:estado is null or s.estado = :estado) " +
+			"and (:tipo is null or s.tipoHabitacion = :tipo) " +
+			"and (:clienteId is null or s.clienteId = :clienteId) order by s.id")
+	List<SolicitudEspera> findPagina(@Param("after") Long after, @Param("estado") SolicitudEspera.EstadoSolicitud estado,
+			@Param("tipo") String tipo, @Param("clienteId") Long clienteId, Limit limit);
+
+	// Para armar la lista en memoria: solo columnas, sin entidades
+	@Query("select s.id as id, s.tipoHabitacion as tipo, s.fechaInicio as fechaInicio, s.fechaFin as fechaFin " +
+			"from SolicitudEspera s where s.estado = :estado")
+	List<Espera> findEsperas(@Param("estado") SolicitudEspera.EstadoSolicitud estado);
+
+	// Cada cambio de estado exige el estado esperado: si otro lo cambio antes no toca nada
+	@Modifying
+	@Query("update SolicitudEspera s set s.estado = :nuevo, s.reservaId = :reservaId where s.id = :id and s.estado = :estado")
+	int cambiarEstado(@Param("id") Long id, @Param("estado") SolicitudEspera.EstadoSolicitud estado,
+			@Param("nuevo") SolicitudEspera.EstadoSolicitud nuevo, @Param("reservaId") Long reservaId);
+
+	@Modifying
+	@Query("update SolicitudEspera s set s.estado = :nuevo where s.estado = :estado and s.fechaInicio < :dia")
+	int cambiarEstadoAnteriores(@Param("dia") LocalDate dia, @Param("estado") SolicitudEspera.EstadoSolicitud estado,
+			@Param("nuevo") SolicitudEspera.EstadoSolicitud nuevo);
+
+	interface Espera {
+		Long getId();
+		String getTipo();
+		LocalDate getFechaInicio();
+		LocalDate getFechaFin();
+	}
+}
@@ -0,0 +1,43 @@
+package belgrano.finalProgra3.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import belgrano.finalProgra3.entity.Turno;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TurnoRepository extends JpaRepository<Turno, Long> {
+
+	// Para armar la agenda en memoria: solo columnas, sin entidades
+	@Query("select t.id as id, t.empleado.id as empleadoId, t.fecha as fecha, t.horaInicio as horaInicio, " +
+			"t.horaFin as horaFin from Turno t where t.fecha >= :desde")
+	List<Horario> findHorariosDesde(@Param("desde") LocalDate desde);
+
+	@Query("select t.id as id, t.empleado.id as empleadoId, t.fecha as fecha, t.horaInicio as horaInicio, " +
+			"t.horaFin as horaFin from Turno t where t.empleado.id = :empleadoId and t.fecha between :desde and :hasta " +
+			"order by t.fecha, t.horaInicio")
+	List<Horario> findHorarios(@Param("empleadoId") Long empleadoId, @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+	@Query("select t.id from Turno t where t.empleado.id in :empleadoIds")
+	List<Long> findIdsPorEmpleados(@Param("empleadoIds") Collection<Long> empleadoIds);
+
+	@Modifying
+	@Query("delete from Turno t where t.empleado.id in :empleadoIds")
+	int eliminarPorEmpleados(@Param("empleadoIds") Collection<Long> empleadoIds);
+
+	interface Horario {
+		Long getId();
+		Long getEmpleadoId();
+		LocalDate getFecha();
+		LocalTime getHoraInicio();
+		LocalTime getHoraFin();
+	}
+}
@@ -0,0 +1,30 @@
+package belgrano.finalProgra3.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import belgrano.finalProgra3.dto.AgendaDiaDto;
+import belgrano.finalProgra3.dto.AsignacionDto;
+import belgrano.finalProgra3.dto.EmpleadosLibresDto;
+import belgrano.finalProgra3.dto.FranjaDto;
+import belgrano.finalProgra3.dto.ResultadoAsignacionDto;
+import belgrano.finalProgra3.dto.TurnoDto;
+
+public interface IAgendaService {
+
+	List<TurnoDto> turnos(Long empleadoId, LocalDate desde, LocalDate hasta);
+	TurnoDto crearTurno(Long empleadoId, FranjaDto franja);
+	boolean eliminarTurno(Long turnoId);
+	AgendaDiaDto agenda(Long empleadoId, LocalDate fecha);
+	List<EmpleadosLibresDto> empleadosLibres(Long servicioId, List<FranjaDto> franjas);
+	List<ResultadoAsignacionDto> asignar(Long servicioId, List<FranjaDto> franjas);
+	List<AsignacionDto> asignaciones(Long servicioId, LocalDate fecha);
+	boolean eliminarAsignacion(Long asignacionId);
+	// Al cancelar o borrar reservas sus servicios dejan de ocupar a los empleados
+	void liberarReservas(Collection<Long> reservaIds);
+	// Los turnos se borran junto con los empleados
+	void eliminarTurnosDe(Collection<Long> empleadoIds);
+	void recargar();
+
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Cliente;
 
 @Service
@@ -11,10 +12,14 @@ import belgrano.finalProgra3.entity.Cliente;
 public interface IClienteService {
 	
 	List <Cliente> getAll();
+	List <Cliente> getPagina(Long after, int limit);
 	Cliente getById(Long id);
 	Cliente save(Cliente cliente);
 	void delete(Long id);
 	void deleteById(Long id);
+	List <ResultadoEliminacionDto> deleteAllById(List<Long> ids);
 	boolean exists (Long id);
+	List <Cliente> buscar(String consulta, int limite);
+	void recargarIndice();
 
 }
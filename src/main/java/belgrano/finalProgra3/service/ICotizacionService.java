@@ -0,0 +1,12 @@
+package belgrano.finalProgra3.service;
+
+import java.util.List;
+
+import belgrano.finalProgra3.dto.CotizacionDto;
+import belgrano.finalProgra3.dto.CotizacionRequestDto;
+
+public interface ICotizacionService {
+
+	List<CotizacionDto> cotizar(CotizacionRequestDto solicitud);
+
+}
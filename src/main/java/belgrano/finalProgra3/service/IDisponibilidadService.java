@@ -0,0 +1,28 @@
+package belgrano.finalProgra3.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+
+public interface IDisponibilidadService {
+
+	boolean estaDisponible(Long habitacionId, LocalDate desde, LocalDate hasta);
+	boolean estaDisponible(Long habitacionId, LocalDate desde, LocalDate hasta, Long reservaIgnorada);
+	List<Habitacion> filtrarDisponibles(List<Habitacion> habitaciones, LocalDate desde, LocalDate hasta);
+	// Cuantas de las habitaciones tienen ocupada la noche (epoch day); sin crear objetos por consulta
+	int contarOcupadas(long[] habitacionIds, int dia);
+	// Reservas activas de la habitacion que se cruzan con las noches [desde, hasta) (epoch day)
+	List<IndiceIntervalos.Ocupacion> ocupaciones(long habitacionId, int desde, int hasta);
+	void registrar(Reserva reserva);
+	void remover(Long reservaId);
+	void recargar();
+
+	// Se publica despues del commit cuando una reserva cancelada, borrada o movida deja
+	// libres las noches [desde, hasta) (epoch day) de una habitacion
+	record NochesLiberadas(long habitacionId, int desde, int hasta) {
+	}
+
+}
@@ -2,14 +2,17 @@ package belgrano.finalProgra3.service;
 
 import java.util.List;
 
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Empleado;
 
 public interface IEmpleadoService {
 
 	List <Empleado> getAll();
+	List <Empleado> getPagina(Long after, int limit);
     Empleado getById (Long id);
 	Empleado save (Empleado empleado);
 	void delete (Long id);
 	void deleteById (Long id);
+	List <ResultadoEliminacionDto> deleteAllById (List<Long> ids);
 	boolean exists(Long id);
 }
@@ -0,0 +1,15 @@
+package belgrano.finalProgra3.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IExportacionService {
+
+	enum Formato {
+		NDJSON, CSV
+	}
+
+	void exportarReservas(OutputStream salida, Formato formato) throws IOException;
+	void exportarFacturas(OutputStream salida, Formato formato) throws IOException;
+
+}
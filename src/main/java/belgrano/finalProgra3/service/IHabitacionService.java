@@ -1,20 +1,32 @@
 package belgrano.finalProgra3.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Habitacion;
 
 @Service
 public interface IHabitacionService {
 	
   List <Habitacion> getAll();
+  List <Habitacion> getPagina(Long after, int limit, String tipo, Boolean disponible);
   Habitacion getById(Long id);
   Habitacion save(Habitacion habitacion);
   void delete(Long id);
   void deleteById(Long id);
+  List<ResultadoEliminacionDto> deleteAllById(List<Long> ids);
   boolean exists(Long id);
   List<Habitacion> findByDisponible(boolean disponible);
+  List<Habitacion> findDisponiblesEntre(LocalDate desde, LocalDate hasta);
+  List<Map<String, Object>> estadisticasCache();
+
+  // Se publica despues del commit cuando una habitacion pasa a estar disponible
+  // (alta, rehabilitacion o cambio de tipo) y puede tomar reservas que antes no cabian
+  record HabitacionHabilitada(long habitacionId) {
+  }
 	
 }
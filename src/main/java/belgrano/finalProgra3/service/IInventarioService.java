@@ -0,0 +1,24 @@
+package belgrano.finalProgra3.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import belgrano.finalProgra3.dto.InventarioNocheDto;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+
+public interface IInventarioService {
+
+	// Habitaciones, vendidas y libres por tipo en las noches [desde, hasta); tipo null trae todos
+	List<InventarioNocheDto> inventario(LocalDate desde, LocalDate hasta, String tipo);
+	// Cuantas habitaciones del tipo quedan libres en todas las noches [desde, hasta)
+	int libres(String tipo, LocalDate desde, LocalDate hasta);
+	// Los llama el indice de disponibilidad despues del commit, con el cambio ya aplicado
+	void registrar(IndiceIntervalos.Ocupacion ocupacion);
+	void remover(long reservaId);
+	// Alta, baja o cambio de una habitacion: el inventario se rearma en segundo plano
+	void habitacionesActualizadas();
+	// Rearma los contadores desde la base; devuelve cuantas celdas tipo x noche no coincidian
+	int reconciliar();
+	long desajustes();
+
+}
@@ -0,0 +1,23 @@
+package belgrano.finalProgra3.service;
+
+import java.util.List;
+
+import belgrano.finalProgra3.dto.SolicitudEsperaRequestDto;
+import belgrano.finalProgra3.entity.SolicitudEspera;
+
+public interface IListaEsperaService {
+
+	// Si ya hay una habitacion libre del tipo la reserva se crea en el momento; si no, queda esperando
+	SolicitudEspera crear(SolicitudEsperaRequestDto solicitud);
+	SolicitudEspera getById(Long id);
+	List<SolicitudEspera> getPagina(Long after, int limit, SolicitudEspera.EstadoSolicitud estado, String tipo, Long clienteId);
+	boolean exists(Long id);
+	// Solo se cancela una solicitud que sigue esperando
+	boolean cancelar(Long id);
+	// Las que empiezan antes de hoy pasan a VENCIDA
+	int vencerAnteriores();
+	int enEspera();
+	long asignadas();
+	void recargar();
+
+}
@@ -0,0 +1,19 @@
+package belgrano.finalProgra3.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import belgrano.finalProgra3.dto.IngresoDiaDto;
+import belgrano.finalProgra3.dto.OcupacionDiaDto;
+import belgrano.finalProgra3.entity.Reserva;
+
+public interface IReporteService {
+
+	List<OcupacionDiaDto> ocupacion(LocalDate desde, LocalDate hasta);
+	List<IngresoDiaDto> ingresos(LocalDate desde, LocalDate hasta);
+	// Alta, modificacion o cambio de estado; una reserva CANCELADA sale de los agregados
+	void registrar(Reserva reserva);
+	void remover(Long reservaId);
+	void recargar();
+
+}
@@ -0,0 +1,21 @@
+package belgrano.finalProgra3.service;
+
+import java.util.List;
+
+import belgrano.finalProgra3.dto.AsignacionGrupoDto;
+import belgrano.finalProgra3.dto.ReservaGrupoDto;
+import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.dto.ResultadoLoteDto;
+import belgrano.finalProgra3.dto.ResultadoTransicionDto;
+import belgrano.finalProgra3.dto.TransicionReservaDto;
+
+public interface IReservaLoteService {
+
+	List<ResultadoLoteDto> crearLote(List<ReservaRequestDto> solicitudes);
+	// Un resultado por reserva alcanzada; IllegalArgumentException si el pedido no es valido
+	List<ResultadoTransicionDto> transicionar(TransicionReservaDto solicitud);
+	// El servidor elige las habitaciones y crea todas las reservas o ninguna: IllegalStateException
+	// si no hay lugar para todo el grupo, IllegalArgumentException si el pedido no es valido
+	List<AsignacionGrupoDto> crearGrupo(ReservaGrupoDto grupo);
+
+}
@@ -1,18 +1,25 @@
 package belgrano.finalProgra3.service;
 
 import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.dto.ReservaTipoRequestDto;
 import belgrano.finalProgra3.entity.Reserva;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
 public interface IReservaService {
 
     List<Reserva> getAll();
+    List<Reserva> getPagina(Long after, int limit, Reserva.EstadoReserva estado, Long habitacionId, Long clienteId);
     Reserva getById(Long id);
     Reserva save(Reserva reserva);
     Reserva createFromRequest(ReservaRequestDto reservaRequest);
+    // El servidor elige una habitacion libre del tipo; sin lugar segun el inventario se rechaza sin ir a la base
+    Reserva createPorTipo(ReservaTipoRequestDto pedido);
+    List<Reserva> findEntre(LocalDate desde, LocalDate hasta, Long habitacionId);
+    List<Reserva> findByCliente(Long clienteId, LocalDate desde, LocalDate hasta);
     void deleteById(Long id);
     boolean exists(Long id);
 }
@@ -1,18 +1,25 @@
 package belgrano.finalProgra3.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Servicio;
 
 @Service
 public interface IServicioService {
 
 	List<Servicio> getAll();
+	List<Servicio> getPagina(Long after, int limit, Boolean disponibilidad);
 	Servicio getById(Long id);
+	List<Servicio> getAllById(Collection<Long> ids);
 	Servicio save(Servicio servicio);
 	void deleteById(Long id);
+	List<ResultadoEliminacionDto> deleteAllById(List<Long> ids);
 	boolean exists(Long id);
+	Map<String, Object> estadisticasCache();
 
 }
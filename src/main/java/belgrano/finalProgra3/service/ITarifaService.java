@@ -0,0 +1,28 @@
+package belgrano.finalProgra3.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import belgrano.finalProgra3.dto.TarifaNocheDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.ReglaTarifa;
+import belgrano.finalProgra3.entity.Servicio;
+
+public interface ITarifaService {
+
+	List<ReglaTarifa> getAll();
+	ReglaTarifa getById(Long id);
+	ReglaTarifa save(ReglaTarifa regla);
+	void deleteById(Long id);
+	boolean exists(Long id);
+	long cotizarCentavos(Habitacion habitacion, Collection<Servicio> servicios, LocalDate desde, LocalDate hasta);
+	double cotizar(Habitacion habitacion, Collection<Servicio> servicios, LocalDate desde, LocalDate hasta);
+	long cotizarCentavosCacheado(Habitacion habitacion, Collection<Servicio> servicios, LocalDate desde, LocalDate hasta);
+	List<TarifaNocheDto> calendario(Habitacion habitacion, LocalDate desde, LocalDate hasta);
+	void habitacionesActualizadas();
+	void recargar();
+	Map<String, Object> estadisticasCache();
+
+}
@@ -0,0 +1,20 @@
+package belgrano.finalProgra3.service;
+
+import java.time.LocalDateTime;
+
+import belgrano.finalProgra3.entity.Reserva;
+
+public interface IVencimientoService {
+
+	// Vencimiento de una reserva PENDIENTE creada ahora
+	LocalDateTime plazo();
+	// Alta o cambio de estado: una PENDIENTE queda programada, cualquier otra sale de la rueda
+	void registrar(Reserva reserva);
+	void remover(Long reservaId);
+	// Cancela las PENDIENTE cuyo plazo ya paso; devuelve cuantas cancelo
+	int vencer();
+	int programadas();
+	long vencidas();
+	void recargar();
+
+}
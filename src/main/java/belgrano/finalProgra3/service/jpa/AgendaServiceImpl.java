@@ -0,0 +1,397 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import belgrano.finalProgra3.dto.AgendaDiaDto;
+import belgrano.finalProgra3.dto.AsignacionDto;
+import belgrano.finalProgra3.dto.EmpleadosLibresDto;
+import belgrano.finalProgra3.dto.FranjaDto;
+import belgrano.finalProgra3.dto.ResultadoAsignacionDto;
+import belgrano.finalProgra3.dto.TurnoDto;
+import belgrano.finalProgra3.entity.AsignacionServicio;
+import belgrano.finalProgra3.entity.Empleado;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.entity.Turno;
+import belgrano.finalProgra3.repository.AsignacionServicioRepository;
+import belgrano.finalProgra3.repository.EmpleadoRepository;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.repository.ServicioRepository;
+import belgrano.finalProgra3.repository.TurnoRepository;
+import belgrano.finalProgra3.service.IAgendaService;
+import belgrano.finalProgra3.service.IServicioService;
+import belgrano.finalProgra3.service.memoria.AgendaEmpleados;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class AgendaServiceImpl implements IAgendaService {
+
+	// Los turnos y asignaciones mas viejos que esto no se cargan en memoria
+	private static final int DIAS_PASADOS = 30;
+	private static final long ESPERA_CERROJO_SEGUNDOS = 30;
+
+	@Autowired
+	private TurnoRepository turnoRepository;
+	@Autowired
+	private AsignacionServicioRepository asignacionRepository;
+	@Autowired
+	private EmpleadoRepository empleadoRepository;
+	@Autowired
+	private ServicioRepository servicioRepository;
+	@Autowired
+	private ReservaRepository reservaRepository;
+	@Autowired
+	private IServicioService servicioService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private Validator validator;
+
+	private final AgendaEmpleados agenda = new AgendaEmpleados();
+	private final ReentrantLock carga = new ReentrantLock();
+	// Las asignaciones se deciden contra la agenda en memoria: de a un lote por vez y
+	// hasta que el lote confirma, asi dos lotes no toman al mismo empleado en la misma franja
+	private final ReentrantLock asignando = new ReentrantLock();
+	private volatile boolean cargado;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void alIniciar() {
+		asegurarCargado();
+	}
+
+	@Override
+	public List<TurnoDto> turnos(Long empleadoId, LocalDate desde, LocalDate hasta) {
+		List<TurnoDto> turnos = new ArrayList<>();
+		for (TurnoRepository.Horario t : turnoRepository.findHorarios(empleadoId, desde, hasta)) {
+			turnos.add(new TurnoDto(t.getId(), t.getEmpleadoId(), t.getFecha(), t.getHoraInicio(), t.getHoraFin()));
+		}
+		return turnos;
+	}
+
+	@Override
+	public TurnoDto crearTurno(Long empleadoId, FranjaDto franja) {
+		int[] rango = AgendaEmpleados.franjas(franja.getHoraInicio(), franja.getHoraFin());
+		asegurarCargado();
+		return transactionTemplate.execute(status -> {
+			Empleado empleado = empleadoRepository.getReferenceById(empleadoId);
+			Turno turno = turnoRepository.save(new Turno(null, empleado, franja.getFecha(), franja.getHoraInicio(), franja.getHoraFin()));
+			AgendaEmpleados.Bloque bloque = new AgendaEmpleados.Bloque(turno.getId(), empleadoId,
+					IndiceIntervalos.dia(turno.getFecha()), rango[0], rango[1]);
+			Transacciones.alConfirmar(() -> agenda.agregarTurno(bloque));
+			return new TurnoDto(turno.getId(), empleadoId, turno.getFecha(), turno.getHoraInicio(), turno.getHoraFin());
+		});
+	}
+
+	@Override
+	public boolean eliminarTurno(Long turnoId) {
+		if (turnoId == null || !turnoRepository.existsById(turnoId)) {
+			return false;
+		}
+		asegurarCargado();
+		transactionTemplate.executeWithoutResult(status -> {
+			turnoRepository.deleteById(turnoId);
+			Transacciones.alConfirmar(() -> agenda.quitarTurno(turnoId));
+		});
+		return true;
+	}
+
+	// Turnos y asignaciones salen de la base; los tramos libres, de los bits de la agenda
+	@Override
+	public AgendaDiaDto agenda(Long empleadoId, LocalDate fecha) {
+		asegurarCargado();
+		List<AsignacionDto> asignaciones = new ArrayList<>();
+		for (AsignacionServicioRepository.Horario a : asignacionRepository.findPorEmpleado(empleadoId, fecha)) {
+			asignaciones.add(dto(a));
+		}
+		List<AgendaDiaDto.TramoDto> libres = new ArrayList<>();
+		for (int[] tramo : AgendaEmpleados.tramos(agenda.libres(empleadoId, IndiceIntervalos.dia(fecha)))) {
+			libres.add(new AgendaDiaDto.TramoDto(AgendaEmpleados.hora(tramo[0]), AgendaEmpleados.hora(tramo[1])));
+		}
+		return new AgendaDiaDto(empleadoId, fecha, turnos(empleadoId, fecha, fecha), asignaciones, libres);
+	}
+
+	// Solo lectura: por cada franja, los habilitados que estan en turno y sin asignaciones que la crucen
+	@Override
+	public List<EmpleadosLibresDto> empleadosLibres(Long servicioId, List<FranjaDto> franjas) {
+		long[] habilitados = habilitados(servicio(servicioId));
+		asegurarCargado();
+		List<EmpleadosLibresDto> resultado = new ArrayList<>(franjas.size());
+		for (int i = 0; i < franjas.size(); i++) {
+			FranjaDto franja = franjas.get(i);
+			String error = validar(franja);
+			if (error != null) {
+				throw new IllegalArgumentException("Franja " + i + ": " + error);
+			}
+			int[] rango = AgendaEmpleados.franjas(franja.getHoraInicio(), franja.getHoraFin());
+			long[] mascara = AgendaEmpleados.mascara(rango[0], rango[1]);
+			int dia = IndiceIntervalos.dia(franja.getFecha());
+			List<Long> libres = new ArrayList<>();
+			for (long empleadoId : habilitados) {
+				if (agenda.estaLibre(empleadoId, dia, mascara)) {
+					libres.add(empleadoId);
+				}
+			}
+			resultado.add(new EmpleadosLibresDto(i, franja, libres));
+		}
+		return resultado;
+	}
+
+	@Override
+	public List<ResultadoAsignacionDto> asignar(Long servicioId, List<FranjaDto> franjas) {
+		Servicio servicio = servicio(servicioId);
+		if (!servicio.isDisponibilidad()) {
+			throw new IllegalStateException("El servicio con id: " + servicioId + " no está disponible");
+		}
+		long[] habilitados = habilitados(servicio);
+		asegurarCargado();
+		try {
+			if (!asignando.tryLock(ESPERA_CERROJO_SEGUNDOS, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Hay otra asignación en curso, intente nuevamente");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("La operación fue interrumpida");
+		}
+		try {
+			return transactionTemplate.execute(status -> asignarEnLote(servicioId, habilitados, franjas));
+		} finally {
+			asignando.unlock();
+		}
+	}
+
+	// Las reservas del lote se validan con dos consultas por conjunto; cada franja se da al
+	// habilitado libre con menos franjas ocupadas ese dia, contando lo que ya tomo el lote
+	private List<ResultadoAsignacionDto> asignarEnLote(Long servicioId, long[] habilitados, List<FranjaDto> franjas) {
+		ResultadoAsignacionDto[] resultados = new ResultadoAsignacionDto[franjas.size()];
+		Set<Long> reservaIds = new HashSet<>();
+		for (FranjaDto franja : franjas) {
+			if (franja != null && franja.getReservaId() != null) {
+				reservaIds.add(franja.getReservaId());
+			}
+		}
+		Map<Long, ReservaRepository.Estadia> estadias = new HashMap<>();
+		Set<Long> conServicio = new HashSet<>();
+		if (!reservaIds.isEmpty()) {
+			reservaRepository.findEstadias(reservaIds).forEach(e -> estadias.put(e.getId(), e));
+			conServicio.addAll(reservaRepository.findIdsConServicio(servicioId, reservaIds));
+		}
+
+		Map<Tomada, long[]> tomadas = new HashMap<>();
+		List<AsignacionServicio> nuevas = new ArrayList<>();
+		List<Integer> indices = new ArrayList<>();
+		List<int[]> rangos = new ArrayList<>();
+		for (int i = 0; i < franjas.size(); i++) {
+			FranjaDto franja = franjas.get(i);
+			String error = validar(franja);
+			if (error == null && franja.getReservaId() != null) {
+				error = validarReserva(franja, estadias.get(franja.getReservaId()), conServicio);
+			}
+			if (error == null && franja.getEmpleadoId() != null && Arrays.binarySearch(habilitados, franja.getEmpleadoId()) < 0) {
+				error = "El empleado con id: " + franja.getEmpleadoId() + " no está habilitado para el servicio";
+			}
+			if (error != null) {
+				resultados[i] = ResultadoAsignacionDto.error(i, error);
+				continue;
+			}
+			int[] rango = AgendaEmpleados.franjas(franja.getHoraInicio(), franja.getHoraFin());
+			long[] mascara = AgendaEmpleados.mascara(rango[0], rango[1]);
+			int dia = IndiceIntervalos.dia(franja.getFecha());
+			long[] candidatos = franja.getEmpleadoId() != null ? new long[] { franja.getEmpleadoId() } : habilitados;
+
+			long elegido = agenda.menosCargado(candidatos, dia, mascara, empleadoId -> tomadas.get(new Tomada(empleadoId, dia)));
+			if (elegido < 0) {
+				resultados[i] = ResultadoAsignacionDto.error(i, (franja.getEmpleadoId() != null
+						? "El empleado no está libre" : "No hay empleados habilitados libres")
+						+ " el " + franja.getFecha() + " entre " + franja.getHoraInicio() + " y " + franja.getHoraFin());
+				continue;
+			}
+			tomadas.merge(new Tomada(elegido, dia), mascara, (actual, nueva) -> {
+				long[] union = actual.clone();
+				for (int p = 0; p < union.length; p++) {
+					union[p] |= nueva[p];
+				}
+				return union;
+			});
+			nuevas.add(new AsignacionServicio(null, empleadoRepository.getReferenceById(elegido),
+					servicioRepository.getReferenceById(servicioId),
+					franja.getReservaId() != null ? reservaRepository.getReferenceById(franja.getReservaId()) : null,
+					franja.getFecha(), franja.getHoraInicio(), franja.getHoraFin()));
+			indices.add(i);
+			rangos.add(rango);
+		}
+
+		asignacionRepository.saveAll(nuevas);
+		List<AgendaEmpleados.Bloque> bloques = new ArrayList<>();
+		for (int n = 0; n < nuevas.size(); n++) {
+			AsignacionServicio a = nuevas.get(n);
+			Long empleadoId = a.getEmpleado().getId();
+			bloques.add(new AgendaEmpleados.Bloque(a.getId(), empleadoId, IndiceIntervalos.dia(a.getFecha()),
+					rangos.get(n)[0], rangos.get(n)[1]));
+			resultados[indices.get(n)] = ResultadoAsignacionDto.ok(indices.get(n), new AsignacionDto(a.getId(), empleadoId,
+					servicioId, a.getReserva() != null ? a.getReserva().getId() : null, a.getFecha(), a.getHoraInicio(), a.getHoraFin()));
+		}
+		Transacciones.alConfirmar(() -> bloques.forEach(agenda::agregarAsignacion));
+		return Arrays.asList(resultados);
+	}
+
+	@Override
+	public List<AsignacionDto> asignaciones(Long servicioId, LocalDate fecha) {
+		List<AsignacionDto> asignaciones = new ArrayList<>();
+		for (AsignacionServicioRepository.Horario a : asignacionRepository.findPorServicio(servicioId, fecha)) {
+			asignaciones.add(dto(a));
+		}
+		return asignaciones;
+	}
+
+	@Override
+	public boolean eliminarAsignacion(Long asignacionId) {
+		if (asignacionId == null || !asignacionRepository.existsById(asignacionId)) {
+			return false;
+		}
+		asegurarCargado();
+		transactionTemplate.executeWithoutResult(status -> {
+			asignacionRepository.deleteById(asignacionId);
+			Transacciones.alConfirmar(() -> agenda.quitarAsignacion(asignacionId));
+		});
+		return true;
+	}
+
+	// Se llama dentro de la transaccion que cancela o borra las reservas
+	@Override
+	public void liberarReservas(Collection<Long> reservaIds) {
+		if (reservaIds.isEmpty()) {
+			return;
+		}
+		List<Long> ids = new ArrayList<>();
+		asignacionRepository.findPorReservas(reservaIds).forEach(a -> ids.add(a.getId()));
+		if (ids.isEmpty()) {
+			return;
+		}
+		asegurarCargado();
+		asignacionRepository.eliminarPorReservas(reservaIds);
+		Transacciones.alConfirmar(() -> ids.forEach(agenda::quitarAsignacion));
+	}
+
+	@Override
+	public void eliminarTurnosDe(Collection<Long> empleadoIds) {
+		List<Long> ids = turnoRepository.findIdsPorEmpleados(empleadoIds);
+		if (ids.isEmpty()) {
+			return;
+		}
+		asegurarCargado();
+		turnoRepository.eliminarPorEmpleados(empleadoIds);
+		Transacciones.alConfirmar(() -> ids.forEach(agenda::quitarTurno));
+	}
+
+	@Override
+	public void recargar() {
+		carga.lock();
+		try {
+			LocalDate desde = LocalDate.now().minusDays(DIAS_PASADOS);
+			List<AgendaEmpleados.Bloque> turnos = new ArrayList<>();
+			for (TurnoRepository.Horario t : turnoRepository.findHorariosDesde(desde)) {
+				turnos.add(bloque(t.getId(), t.getEmpleadoId(), t.getFecha(), t.getHoraInicio(), t.getHoraFin()));
+			}
+			List<AgendaEmpleados.Bloque> asignaciones = new ArrayList<>();
+			for (AsignacionServicioRepository.Horario a : asignacionRepository.findHorariosDesde(desde)) {
+				asignaciones.add(bloque(a.getId(), a.getEmpleadoId(), a.getFecha(), a.getHoraInicio(), a.getHoraFin()));
+			}
+			agenda.cargar(turnos, asignaciones);
+			cargado = true;
+		} finally {
+			carga.unlock();
+		}
+	}
+
+	private Servicio servicio(Long servicioId) {
+		Servicio servicio = servicioService.getById(servicioId);
+		if (servicio == null) {
+			throw new IllegalArgumentException("No existe un servicio con id: " + servicioId);
+		}
+		return servicio;
+	}
+
+	// Ordenados para buscar con binarySearch
+	private static long[] habilitados(Servicio servicio) {
+		return servicio.getEmpleados().stream().mapToLong(Empleado::getId).sorted().toArray();
+	}
+
+	private String validar(FranjaDto franja) {
+		if (franja == null) {
+			return "Franja vacia";
+		}
+		Set<ConstraintViolation<FranjaDto>> violaciones = validator.validate(franja);
+		if (!violaciones.isEmpty()) {
+			return violaciones.iterator().next().getMessage();
+		}
+		try {
+			AgendaEmpleados.franjas(franja.getHoraInicio(), franja.getHoraFin());
+			return null;
+		} catch (IllegalArgumentException e) {
+			return e.getMessage();
+		}
+	}
+
+	// El servicio se presta durante la estadia, checkout incluido, a una reserva que lo contrato
+	private static String validarReserva(FranjaDto franja, ReservaRepository.Estadia estadia, Set<Long> conServicio) {
+		if (estadia == null) {
+			return "Reserva no encontrada";
+		}
+		if (estadia.getEstado() == Reserva.EstadoReserva.CANCELADA) {
+			return "La reserva está cancelada";
+		}
+		if (franja.getFecha().isBefore(estadia.getFechaInicio()) || franja.getFecha().isAfter(estadia.getFechaFin())) {
+			return "La fecha está fuera de la estadía de la reserva";
+		}
+		if (!conServicio.contains(estadia.getId())) {
+			return "La reserva no incluye el servicio";
+		}
+		return null;
+	}
+
+	// [desde, hasta) en franjas de 15 minutos; horaFin 00:00 es el fin del dia
+	private static AgendaEmpleados.Bloque bloque(Long id, Long empleadoId, LocalDate fecha, LocalTime inicio, LocalTime fin) {
+		int[] rango = AgendaEmpleados.franjas(inicio, fin);
+		return new AgendaEmpleados.Bloque(id, empleadoId, IndiceIntervalos.dia(fecha), rango[0], rango[1]);
+	}
+
+	private static AsignacionDto dto(AsignacionServicioRepository.Horario a) {
+		return new AsignacionDto(a.getId(), a.getEmpleadoId(), a.getServicioId(), a.getReservaId(), a.getFecha(),
+				a.getHoraInicio(), a.getHoraFin());
+	}
+
+	private record Tomada(long empleadoId, int dia) {
+	}
+
+	private void asegurarCargado() {
+		if (!cargado) {
+			carga.lock();
+			try {
+				if (!cargado) {
+					recargar();
+				}
+			} finally {
+				carga.unlock();
+			}
+		}
+	}
+}
@@ -1,17 +1,29 @@
 package belgrano.finalProgra3.service.jpa;
 
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import belgrano.finalProgra3.service.IClienteService;
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Cliente;
 import belgrano.finalProgra3.repository.ClienteRepository;
 import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.service.memoria.IndiceClientes;
 
 @Service
 
@@ -22,6 +34,20 @@ public class ClienteServiceImpl implements IClienteService{
 	
 	@Autowired
 	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private volatile IndiceClientes indice = new IndiceClientes();
+	// Igual que en los reportes: las altas y bajas comparten el cerrojo de lectura y la
+	// recarga toma el de escritura, asi ningun cambio cae en el indice que se descarta
+	private final ReentrantReadWriteLock carga = new ReentrantReadWriteLock();
+	private volatile boolean cargado;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void alIniciar() {
+		asegurarCargado();
+	}
 	
 	@Override
 	public List<Cliente> getAll()  {
@@ -29,6 +55,11 @@ public class ClienteServiceImpl implements IClienteService{
 		return repositoryCliente.findAll();
 	}
 
+	@Override
+	public List<Cliente> getPagina(Long after, int limit) {
+		return repositoryCliente.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, Limit.of(limit));
+	}
+
 	@Override
 	
 	public Cliente getById(Long id) {
@@ -38,31 +69,56 @@ public class ClienteServiceImpl implements IClienteService{
 	
 	@Override
 	public Cliente save(Cliente cliente) {
-		
-		return repositoryCliente.save(cliente);
+		asegurarCargado();
+		Cliente guardado = repositoryCliente.save(cliente);
+		Transacciones.alConfirmar(() -> aplicar(i -> i.registrar(guardado)));
+		return guardado;
 	}
 
 	@Override
 	@Transactional
 	public void delete(Long id) {
 		// Verificar si hay reservas asociadas
-		List<belgrano.finalProgra3.entity.Reserva> reservas = reservaRepository.findByClienteId(id);
-		if (reservas != null && !reservas.isEmpty()) {
-			throw new RuntimeException("No se puede eliminar el cliente porque tiene " + reservas.size() + " reserva(s) asociada(s)");
+		String bloqueo = bloqueos(List.of(id)).get(id);
+		if (bloqueo != null) {
+			throw new RuntimeException(bloqueo);
 		}
 		repositoryCliente.deleteById(id);
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> aplicar(i -> i.remover(id)));
 	}
 	
 	@Override
 	@Transactional
 	public void deleteById(Long id) {
 		// Verificar si hay reservas asociadas
-		List<belgrano.finalProgra3.entity.Reserva> reservas = reservaRepository.findByClienteId(id);
-		if (reservas != null && !reservas.isEmpty()) {
-			throw new RuntimeException("No se puede eliminar el cliente porque tiene " + reservas.size() + " reserva(s) asociada(s)");
+		String bloqueo = bloqueos(List.of(id)).get(id);
+		if (bloqueo != null) {
+			throw new RuntimeException(bloqueo);
 		}
 		repositoryCliente.deleteById(id);
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> aplicar(i -> i.remover(id)));
+	}
+
+	@Override
+	@Transactional
+	public List<ResultadoEliminacionDto> deleteAllById(List<Long> ids) {
+		asegurarCargado();
+		return Eliminaciones.eliminar(ids, "Cliente", repositoryCliente::findIdsExistentes, this::bloqueos, libres -> {
+			repositoryCliente.eliminarTodos(libres);
+			Transacciones.alConfirmar(() -> aplicar(i -> libres.forEach(i::remover)));
+		});
+	}
+
+	// Un solo conteo agrupado para todos los ids, sin cargar las reservas
+	private Map<Long, String> bloqueos(Collection<Long> ids) {
+		Map<Long, String> bloqueos = new HashMap<>();
+		Eliminaciones.cantidades(reservaRepository.contarPorCliente(ids)).forEach((id, reservas) ->
+				bloqueos.put(id, "No se puede eliminar el cliente porque tiene " + reservas + " reserva(s) asociada(s)"));
+		return bloqueos;
 	}
+
 	@Override 
 	public boolean exists(Long id) {
 		if (id != null) {
@@ -71,6 +127,52 @@ public class ClienteServiceImpl implements IClienteService{
 			return false;
 		}
 	}
+
+	@Override
+	public List<Cliente> buscar(String consulta, int limite) {
+		asegurarCargado();
+		return indice.buscar(consulta, limite);
+	}
+
+	// Una sola consulta en streaming; el indice nuevo reemplaza al anterior completo
+	@Override
+	public void recargarIndice() {
+		carga.writeLock().lock();
+		try {
+			IndiceClientes nuevo = new IndiceClientes();
+			transactionTemplate.executeWithoutResult(status -> {
+				try (Stream<Cliente> clientes = repositoryCliente.streamParaBusqueda()) {
+					nuevo.cargar(clientes.iterator());
+				}
+			});
+			indice = nuevo;
+			cargado = true;
+		} finally {
+			carga.writeLock().unlock();
+		}
+	}
+
+	private void aplicar(Consumer<IndiceClientes> cambio) {
+		carga.readLock().lock();
+		try {
+			cambio.accept(indice);
+		} finally {
+			carga.readLock().unlock();
+		}
+	}
+
+	private void asegurarCargado() {
+		if (!cargado) {
+			carga.writeLock().lock();
+			try {
+				if (!cargado) {
+					recargarIndice();
+				}
+			} finally {
+				carga.writeLock().unlock();
+			}
+		}
+	}
 	
 }
 		
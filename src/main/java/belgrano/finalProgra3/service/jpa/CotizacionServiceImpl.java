@@ -0,0 +1,81 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import belgrano.finalProgra3.dto.CotizacionDto;
+import belgrano.finalProgra3.dto.CotizacionRequestDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.service.ICotizacionService;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IServicioService;
+import belgrano.finalProgra3.service.ITarifaService;
+
+/**
+ * Cotiza de una vez todas las habitaciones libres en un rango, sin persistir nada.
+ * Todo sale de memoria: habitaciones y servicios de la cache de catalogo, la
+ * disponibilidad del indice y los precios del calendario de tarifas.
+ */
+@Service
+public class CotizacionServiceImpl implements ICotizacionService {
+
+	private static final int MAXIMO_NOCHES = 366;
+
+	@Autowired
+	private IHabitacionService habitacionService;
+
+	@Autowired
+	private IServicioService servicioService;
+
+	@Autowired
+	private ITarifaService tarifaService;
+
+	@Override
+	public List<CotizacionDto> cotizar(CotizacionRequestDto solicitud) {
+		LocalDate desde;
+		LocalDate hasta;
+		try {
+			desde = LocalDate.parse(solicitud.getFechaInicio());
+			hasta = LocalDate.parse(solicitud.getFechaFin());
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Formato de fecha invalido, se espera yyyy-MM-dd");
+		}
+		if (!hasta.isAfter(desde)) {
+			throw new IllegalArgumentException("La fecha de fin debe ser posterior a la fecha de inicio");
+		}
+		int numeroNoches = (int) ChronoUnit.DAYS.between(desde, hasta);
+		if (numeroNoches > MAXIMO_NOCHES) {
+			throw new IllegalArgumentException("No se puede cotizar una estadia de mas de " + MAXIMO_NOCHES + " noches");
+		}
+
+		List<Servicio> servicios = solicitud.getServiciosIds() != null && !solicitud.getServiciosIds().isEmpty()
+				? servicioService.getAllById(new HashSet<>(solicitud.getServiciosIds()))
+				: List.of();
+		Set<Long> soloEstas = solicitud.getHabitacionIds() != null && !solicitud.getHabitacionIds().isEmpty()
+				? new HashSet<>(solicitud.getHabitacionIds())
+				: null;
+
+		List<CotizacionDto> cotizaciones = new ArrayList<>();
+		for (Habitacion habitacion : habitacionService.findDisponiblesEntre(desde, hasta)) {
+			if ((solicitud.getTipo() != null && !solicitud.getTipo().equals(habitacion.getTipo()))
+					|| (soloEstas != null && !soloEstas.contains(habitacion.getId()))) {
+				continue;
+			}
+			long centavos = tarifaService.cotizarCentavosCacheado(habitacion, servicios, desde, hasta);
+			cotizaciones.add(new CotizacionDto(habitacion, numeroNoches, centavos / 100.0));
+		}
+		cotizaciones.sort(Comparator.comparingDouble(CotizacionDto::getPrecioTotal)
+				.thenComparing(c -> c.getHabitacion().getId()));
+		return cotizaciones;
+	}
+}
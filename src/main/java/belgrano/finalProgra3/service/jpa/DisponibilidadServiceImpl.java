@@ -0,0 +1,152 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.service.IDisponibilidadService;
+import belgrano.finalProgra3.service.IInventarioService;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+
+@Service
+public class DisponibilidadServiceImpl implements IDisponibilidadService {
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+	@Autowired
+	private ApplicationEventPublisher eventos;
+	@Autowired
+	private IInventarioService inventarioService;
+
+	private final IndiceIntervalos indice = new IndiceIntervalos();
+	private final ReentrantLock carga = new ReentrantLock();
+	private volatile boolean cargado;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void alIniciar() {
+		asegurarCargado();
+	}
+
+	@Override
+	public boolean estaDisponible(Long habitacionId, LocalDate desde, LocalDate hasta) {
+		return estaDisponible(habitacionId, desde, hasta, null);
+	}
+
+	@Override
+	public boolean estaDisponible(Long habitacionId, LocalDate desde, LocalDate hasta, Long reservaIgnorada) {
+		asegurarCargado();
+		return indice.estaLibre(habitacionId, IndiceIntervalos.dia(desde), IndiceIntervalos.dia(hasta), reservaIgnorada);
+	}
+
+	@Override
+	public List<Habitacion> filtrarDisponibles(List<Habitacion> habitaciones, LocalDate desde, LocalDate hasta) {
+		asegurarCargado();
+		int inicio = IndiceIntervalos.dia(desde);
+		int fin = IndiceIntervalos.dia(hasta);
+		List<Habitacion> libres = new ArrayList<>();
+		for (Habitacion habitacion : habitaciones) {
+			if (indice.estaLibre(habitacion.getId(), inicio, fin)) {
+				libres.add(habitacion);
+			}
+		}
+		return libres;
+	}
+
+	@Override
+	public int contarOcupadas(long[] habitacionIds, int dia) {
+		asegurarCargado();
+		int ocupadas = 0;
+		for (long habitacionId : habitacionIds) {
+			if (!indice.estaLibre(habitacionId, dia, dia + 1)) {
+				ocupadas++;
+			}
+		}
+		return ocupadas;
+	}
+
+	@Override
+	public List<IndiceIntervalos.Ocupacion> ocupaciones(long habitacionId, int desde, int hasta) {
+		asegurarCargado();
+		return indice.solapadas(habitacionId, desde, hasta);
+	}
+
+	@Override
+	public void registrar(Reserva reserva) {
+		if (reserva.getId() == null || reserva.getHabitacion() == null || reserva.getHabitacion().getId() == null) {
+			return;
+		}
+		if (reserva.getEstado() == Reserva.EstadoReserva.CANCELADA) {
+			remover(reserva.getId());
+			return;
+		}
+		IndiceIntervalos.Ocupacion ocupacion = new IndiceIntervalos.Ocupacion(reserva.getId(),
+				reserva.getHabitacion().getId(),
+				IndiceIntervalos.dia(reserva.getFechaInicio()),
+				IndiceIntervalos.dia(reserva.getFechaFin()));
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> {
+			IndiceIntervalos.Ocupacion anterior = indice.registrar(ocupacion);
+			inventarioService.registrar(ocupacion);
+			if (anterior != null && !anterior.equals(ocupacion)) {
+				liberadas(anterior);
+			}
+		});
+	}
+
+	@Override
+	public void remover(Long reservaId) {
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> {
+			IndiceIntervalos.Ocupacion removida = indice.remover(reservaId);
+			inventarioService.remover(reservaId);
+			liberadas(removida);
+		});
+	}
+
+	// El indice y el inventario ya reflejan el cambio cuando se avisa, asi quien escuche ve las noches libres
+	private void liberadas(IndiceIntervalos.Ocupacion ocupacion) {
+		if (ocupacion != null) {
+			eventos.publishEvent(new NochesLiberadas(ocupacion.habitacionId(), ocupacion.inicio(), ocupacion.fin()));
+		}
+	}
+
+	@Override
+	public void recargar() {
+		carga.lock();
+		try {
+			List<IndiceIntervalos.Ocupacion> ocupaciones = new ArrayList<>();
+			for (ReservaRepository.FechasReserva r : reservaRepository.findFechasByEstadoNot(Reserva.EstadoReserva.CANCELADA)) {
+				ocupaciones.add(new IndiceIntervalos.Ocupacion(r.getId(), r.getHabitacionId(),
+						IndiceIntervalos.dia(r.getFechaInicio()),
+						IndiceIntervalos.dia(r.getFechaFin())));
+			}
+			indice.cargar(ocupaciones);
+			cargado = true;
+		} finally {
+			carga.unlock();
+		}
+	}
+
+	private void asegurarCargado() {
+		if (!cargado) {
+			carga.lock();
+			try {
+				if (!cargado) {
+					recargar();
+				}
+			} finally {
+				carga.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
+import belgrano.finalProgra3.repository.ReservaRepository;
+
+final class Eliminaciones {
+
+	private Eliminaciones() {
+	}
+
+	// Un resultado por id distinto, en el orden pedido. Existencia y dependencias se
+	// consultan una vez para todo el conjunto y los ids libres se borran juntos
+	static List<ResultadoEliminacionDto> eliminar(List<Long> ids, String entidad,
+			Function<Collection<Long>, Collection<Long>> existentes,
+			Function<Collection<Long>, Map<Long, String>> bloqueos,
+			Consumer<Collection<Long>> borrar) {
+		Set<Long> pedidos = new LinkedHashSet<>();
+		for (Long id : ids) {
+			if (id != null) {
+				pedidos.add(id);
+			}
+		}
+		Set<Long> hay = pedidos.isEmpty() ? Set.of() : new HashSet<>(existentes.apply(pedidos));
+		Map<Long, String> bloqueados = hay.isEmpty() ? Map.of() : bloqueos.apply(hay);
+		List<ResultadoEliminacionDto> resultados = new ArrayList<>(pedidos.size());
+		List<Long> libres = new ArrayList<>();
+		for (Long id : pedidos) {
+			if (!hay.contains(id)) {
+				resultados.add(ResultadoEliminacionDto.error(id, entidad + " con id: " + id + " No existe"));
+			} else if (bloqueados.containsKey(id)) {
+				resultados.add(ResultadoEliminacionDto.error(id, bloqueados.get(id)));
+			} else {
+				resultados.add(ResultadoEliminacionDto.ok(id));
+				libres.add(id);
+			}
+		}
+		if (!libres.isEmpty()) {
+			borrar.accept(libres);
+		}
+		return resultados;
+	}
+
+	static Map<Long, Long> cantidades(List<ReservaRepository.CantidadPorId> filas) {
+		Map<Long, Long> cantidades = new HashMap<>();
+		for (ReservaRepository.CantidadPorId fila : filas) {
+			cantidades.put(fila.getId(), fila.getCantidad());
+		}
+		return cantidades;
+	}
+}
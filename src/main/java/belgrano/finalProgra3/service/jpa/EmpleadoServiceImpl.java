@@ -1,12 +1,20 @@
 package belgrano.finalProgra3.service.jpa;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Empleado;
+import belgrano.finalProgra3.service.IAgendaService;
 import belgrano.finalProgra3.service.IEmpleadoService;
+import belgrano.finalProgra3.repository.AsignacionServicioRepository;
 import belgrano.finalProgra3.repository.EmpleadoRepository;
 
 
@@ -14,12 +22,21 @@ import belgrano.finalProgra3.repository.EmpleadoRepository;
 public class EmpleadoServiceImpl implements IEmpleadoService {
 	@Autowired
 	private EmpleadoRepository repo;
+	@Autowired
+	private AsignacionServicioRepository asignacionRepository;
+	@Autowired
+	private IAgendaService agendaService;
 
 	@Override
 	public List<Empleado> getAll() {
 		return repo.findAll();
 	}
 
+	@Override
+	public List<Empleado> getPagina(Long after, int limit) {
+		return repo.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, Limit.of(limit));
+	}
+
 	@Override
 	public Empleado getById(Long id) {
 		return repo.findById(id).orElse(null);
@@ -33,60 +50,38 @@ public class EmpleadoServiceImpl implements IEmpleadoService {
 	@Override
 	@Transactional
 	public void delete(Long id) {
-		try {
-			// Obtener el empleado para verificar relaciones
-			Empleado empleado = repo.findById(id).orElse(null);
-			if (empleado != null) {
-				try {
-					// Intentar acceder a los servicios de forma segura
-					if (empleado.getServicios() != null && !empleado.getServicios().isEmpty()) {
-						throw new RuntimeException("No se puede eliminar el empleado porque está asociado a " + empleado.getServicios().size() + " servicio(s)");
-					}
-				} catch (Exception e) {
-					// Si hay un error al acceder a los servicios (lazy loading), verificar de otra forma
-					// No mostrar el mensaje de error original que puede contener queries SQL
-					throw new RuntimeException("No se puede eliminar el empleado porque está asociado a uno o más servicios");
-				}
-			}
-			repo.deleteById(id);
-		} catch (RuntimeException e) {
-			// Re-lanzar RuntimeException con mensaje seguro
-			throw e;
-		} catch (Exception e) {
-			// Capturar cualquier otra excepción y lanzar un mensaje genérico seguro
-			throw new RuntimeException("No se puede eliminar el empleado porque está asociado a uno o más servicios");
-		}
+		deleteById(id);
 	}
 
 	@Override
 	@Transactional
 	public void deleteById(Long id) {
-		try {
-			// Obtener el empleado para verificar relaciones
-			Empleado empleado = repo.findById(id).orElse(null);
-			if (empleado != null) {
-				try {
-					// Intentar acceder a los servicios de forma segura
-					if (empleado.getServicios() != null && !empleado.getServicios().isEmpty()) {
-						throw new RuntimeException("No se puede eliminar el empleado porque está asociado a " + empleado.getServicios().size() + " servicio(s)");
-					}
-				} catch (RuntimeException e) {
-					// Si es nuestra RuntimeException, re-lanzarla
-					throw e;
-				} catch (Exception e) {
-					// Si hay un error al acceder a los servicios (lazy loading), verificar de otra forma
-					// No mostrar el mensaje de error original que puede contener queries SQL
-					throw new RuntimeException("No se puede eliminar el empleado porque está asociado a uno o más servicios");
-				}
-			}
-			repo.deleteById(id);
-		} catch (RuntimeException e) {
-			// Re-lanzar RuntimeException con mensaje seguro
-			throw e;
-		} catch (Exception e) {
-			// Capturar cualquier otra excepción y lanzar un mensaje genérico seguro
-			throw new RuntimeException("No se puede eliminar el empleado porque está asociado a uno o más servicios");
+		// Verificar si esta asignado a servicios, sin inicializar la coleccion
+		String bloqueo = bloqueos(List.of(id)).get(id);
+		if (bloqueo != null) {
+			throw new RuntimeException(bloqueo);
 		}
+		agendaService.eliminarTurnosDe(List.of(id));
+		repo.deleteById(id);
+	}
+
+	@Override
+	@Transactional
+	public List<ResultadoEliminacionDto> deleteAllById(List<Long> ids) {
+		return Eliminaciones.eliminar(ids, "Empleado", repo::findIdsExistentes, this::bloqueos, libres -> {
+			agendaService.eliminarTurnosDe(libres);
+			repo.eliminarTodos(libres);
+		});
+	}
+
+	private Map<Long, String> bloqueos(Collection<Long> ids) {
+		Map<Long, String> bloqueos = new HashMap<>();
+		Eliminaciones.cantidades(repo.contarServicios(ids)).forEach((id, servicios) ->
+				bloqueos.put(id, "No se puede eliminar el empleado porque está asociado a " + servicios + " servicio(s)"));
+		// Los turnos se borran con el empleado; las asignaciones hay que liberarlas antes
+		Eliminaciones.cantidades(asignacionRepository.contarPorEmpleado(ids)).forEach((id, asignaciones) ->
+				bloqueos.putIfAbsent(id, "No se puede eliminar el empleado porque tiene " + asignaciones + " servicio(s) asignado(s)"));
+		return bloqueos;
 	}
 
 	@Override 
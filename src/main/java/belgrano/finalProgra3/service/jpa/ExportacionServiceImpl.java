@@ -0,0 +1,154 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.repository.FacturaRepository;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.service.IExportacionService;
+
+/**
+ * Exportaciones completas que escriben fila por fila sobre la respuesta. Se leen
+ * proyecciones planas con cursores de solo avance: no quedan entidades en el contexto
+ * de persistencia, asi la memoria no crece con la tabla y no hay cargas perezosas por fila.
+ */
+@Service
+public class ExportacionServiceImpl implements IExportacionService {
+
+	private static final int LOTE = 500;
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private FacturaRepository facturaRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportarReservas(OutputStream salida, Formato formato) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+		if (formato == Formato.CSV) {
+			writer.write("id,fechaInicio,fechaFin,numeroNoches,precioTotal,habitacionId,clienteId,estado,serviciosIds\n");
+		}
+		// Dos sentencias en total: las reservas y sus servicios, ambos ordenados por reserva
+		try (Stream<ReservaRepository.ReservaExportacion> reservas = reservaRepository.streamExportacion();
+				Stream<ReservaRepository.ServicioExportacion> servicios = reservaRepository.streamServiciosExportacion()) {
+			ServiciosPorReserva serviciosPorReserva = new ServiciosPorReserva(servicios.iterator());
+			int filas = 0;
+			for (Iterator<ReservaRepository.ReservaExportacion> it = reservas.iterator(); it.hasNext();) {
+				ReservaRepository.ReservaExportacion r = it.next();
+				FilaReserva fila = new FilaReserva(r.getId(), r.getFechaInicio(), r.getFechaFin(), r.getNumeroNoches(),
+						r.getPrecioTotal(), r.getHabitacionId(), r.getClienteId(), r.getEstado(), serviciosPorReserva.de(r.getId()));
+				if (formato == Formato.CSV) {
+					writer.write(fila.id() + "," + fila.fechaInicio() + "," + fila.fechaFin() + "," + fila.numeroNoches() + ","
+							+ fila.precioTotal() + "," + fila.habitacionId() + "," + fila.clienteId() + "," + fila.estado() + ","
+							+ String.join("|", fila.serviciosIds().stream().map(String::valueOf).toList()) + "\n");
+				} else {
+					writer.write(objectMapper.writeValueAsString(fila));
+					writer.write('\n');
+				}
+				if (++filas % LOTE == 0) {
+					writer.flush();
+				}
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.flush();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportarFacturas(OutputStream salida, Formato formato) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+		if (formato == Formato.CSV) {
+			writer.write("id,reservaId,total,detalles\n");
+		}
+		try (Stream<FacturaRepository.FacturaExportacion> facturas = facturaRepository.streamExportacion()) {
+			int filas = 0;
+			for (Iterator<FacturaRepository.FacturaExportacion> it = facturas.iterator(); it.hasNext();) {
+				FacturaRepository.FacturaExportacion f = it.next();
+				if (formato == Formato.CSV) {
+					writer.write(f.getId() + "," + f.getReservaId() + "," + f.getTotal() + "," + csv(f.getDetalles()) + "\n");
+				} else {
+					writer.write(objectMapper.writeValueAsString(
+							new FilaFactura(f.getId(), f.getReservaId(), f.getTotal(), f.getDetalles())));
+					writer.write('\n');
+				}
+				if (++filas % LOTE == 0) {
+					writer.flush();
+				}
+			}
+		}
+		writer.flush();
+	}
+
+	private static String csv(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		if (valor.contains(",") || valor.contains("\"") || valor.contains("\n")) {
+			return "\"" + valor.replace("\"", "\"\"") + "\"";
+		}
+		return valor;
+	}
+
+	private record FilaReserva(Long id, LocalDate fechaInicio, LocalDate fechaFin, int numeroNoches, double precioTotal,
+			Long habitacionId, Long clienteId, Reserva.EstadoReserva estado, List<Long> serviciosIds) {
+	}
+
+	/**
+	 * Avanza el cursor de servicios a la par del de reservas (los dos ordenados por id de
+	 * reserva). Las filas de reservas que el primer cursor no vio, por ejemplo insertadas
+	 * entre una consulta y otra, se saltean.
+	 */
+	private static final class ServiciosPorReserva {
+
+		private final Iterator<ReservaRepository.ServicioExportacion> servicios;
+		private ReservaRepository.ServicioExportacion actual;
+
+		ServiciosPorReserva(Iterator<ReservaRepository.ServicioExportacion> servicios) {
+			this.servicios = servicios;
+			this.actual = servicios.hasNext() ? servicios.next() : null;
+		}
+
+		List<Long> de(Long reservaId) {
+			while (actual != null && actual.getReservaId() < reservaId) {
+				avanzar();
+			}
+			List<Long> ids = new ArrayList<>();
+			while (actual != null && actual.getReservaId().equals(reservaId)) {
+				ids.add(actual.getServicioId());
+				avanzar();
+			}
+			return ids;
+		}
+
+		private void avanzar() {
+			actual = servicios.hasNext() ? servicios.next() : null;
+		}
+	}
+
+	private record FilaFactura(Long id, Long reservaId, Double total, String detalles) {
+	}
+}
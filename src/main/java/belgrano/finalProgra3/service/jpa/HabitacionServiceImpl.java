@@ -1,15 +1,29 @@
 package belgrano.finalProgra3.service.jpa;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Habitacion;
 import belgrano.finalProgra3.repository.HabitacionRepository;
 import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.service.IDisponibilidadService;
 import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IInventarioService;
+import belgrano.finalProgra3.service.ITarifaService;
+import belgrano.finalProgra3.service.memoria.CacheCatalogo;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class HabitacionServiceImpl implements IHabitacionService {
@@ -19,42 +33,130 @@ public class HabitacionServiceImpl implements IHabitacionService {
 	
 	@Autowired
 	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private IDisponibilidadService disponibilidadService;
+
+	@Autowired
+	private ITarifaService tarifaService;
+
+	@Autowired
+	private IInventarioService inventarioService;
+
+	@Autowired
+	private ApplicationEventPublisher eventos;
+
+	@Value("${catalogo.cache.tamanio-maximo:10000}")
+	private int tamanioCache;
+
+	@Value("${catalogo.cache.ttl-segundos:300}")
+	private long ttlCache;
+
+	private CacheCatalogo<Long, Habitacion> cache;
+	private CacheCatalogo<Boolean, List<Habitacion>> cachePorDisponible;
+
+	@PostConstruct
+	public void crearCache() {
+		cache = new CacheCatalogo<>("habitacion", tamanioCache, ttlCache);
+		cachePorDisponible = new CacheCatalogo<>("habitacion.disponible", 2, ttlCache);
+	}
 	
 	@Override
 	public List<Habitacion> getAll() {
 		return repositoryHabitacion.findAll();
 	}
 
+	@Override
+	public List<Habitacion> getPagina(Long after, int limit, String tipo, Boolean disponible) {
+		return repositoryHabitacion.findPagina(after != null ? after : 0L, tipo, disponible, Limit.of(limit));
+	}
+
 	@Override
 	public Habitacion getById(Long id) {
-	return repositoryHabitacion.findById(id).orElse(null);
+	return cache.obtener(id, k -> repositoryHabitacion.findById(k).orElse(null));
 	}
 
 	@Override
 	public Habitacion save(Habitacion habitacion) {
-		return repositoryHabitacion.save(habitacion);
+		// Solo hace falta la version anterior si la habitacion queda disponible
+		Habitacion anterior = habitacion.isDisponible() && habitacion.getId() != null
+				? repositoryHabitacion.findById(habitacion.getId()).orElse(null)
+				: null;
+		boolean habilitada = habitacion.isDisponible() && (anterior == null || !anterior.isDisponible()
+				|| !Objects.equals(anterior.getTipo(), habitacion.getTipo()));
+		invalidar(habitacion.getId());
+		Habitacion guardada = repositoryHabitacion.save(habitacion);
+		Transacciones.alConfirmar(() -> {
+			confirmado(guardada.getId());
+			if (habilitada) {
+				eventos.publishEvent(new HabitacionHabilitada(guardada.getId()));
+			}
+		});
+		return guardada;
+	}
+
+	// Los listados por disponibilidad se descartan enteros ante cualquier cambio
+	private void invalidar(Long id) {
+		if (id != null) {
+			cache.invalidar(id);
+		}
+		cachePorDisponible.invalidarTodo();
+	}
+
+	// Despues del commit: la cache ya no tiene la version vieja, tarifas reagrupa por tipo
+	// y el inventario cuenta las habitaciones habilitadas de nuevo
+	private void confirmado(Long id) {
+		invalidar(id);
+		tarifaService.habitacionesActualizadas();
+		inventarioService.habitacionesActualizadas();
 	}
 
 	@Override
 	@Transactional
 	public void delete(Long id) {
 		// Verificar si hay reservas asociadas
-		List<belgrano.finalProgra3.entity.Reserva> reservas = reservaRepository.findByHabitacionId(id);
-		if (reservas != null && !reservas.isEmpty()) {
-			throw new RuntimeException("No se puede eliminar la habitación porque tiene " + reservas.size() + " reserva(s) asociada(s)");
+		String bloqueo = bloqueos(List.of(id)).get(id);
+		if (bloqueo != null) {
+			throw new RuntimeException(bloqueo);
 		}
+		invalidar(id);
 		repositoryHabitacion.deleteById(id);
+		Transacciones.alConfirmar(() -> confirmado(id));
 	}
 
 	@Override
 	@Transactional
 	public void deleteById(Long id) {
 		// Verificar si hay reservas asociadas
-		List<belgrano.finalProgra3.entity.Reserva> reservas = reservaRepository.findByHabitacionId(id);
-		if (reservas != null && !reservas.isEmpty()) {
-			throw new RuntimeException("No se puede eliminar la habitación porque tiene " + reservas.size() + " reserva(s) asociada(s)");
+		String bloqueo = bloqueos(List.of(id)).get(id);
+		if (bloqueo != null) {
+			throw new RuntimeException(bloqueo);
 		}
+		invalidar(id);
 		repositoryHabitacion.deleteById(id);
+		Transacciones.alConfirmar(() -> confirmado(id));
+	}
+
+	@Override
+	@Transactional
+	public List<ResultadoEliminacionDto> deleteAllById(List<Long> ids) {
+		return Eliminaciones.eliminar(ids, "Habitación", repositoryHabitacion::findIdsExistentes, this::bloqueos, libres -> {
+			libres.forEach(this::invalidar);
+			repositoryHabitacion.eliminarTodos(libres);
+			Transacciones.alConfirmar(() -> {
+				libres.forEach(this::invalidar);
+				tarifaService.habitacionesActualizadas();
+				inventarioService.habitacionesActualizadas();
+			});
+		});
+	}
+
+	// Un solo conteo agrupado para todos los ids, sin cargar las reservas
+	private Map<Long, String> bloqueos(Collection<Long> ids) {
+		Map<Long, String> bloqueos = new HashMap<>();
+		Eliminaciones.cantidades(reservaRepository.contarPorHabitacion(ids)).forEach((id, reservas) ->
+				bloqueos.put(id, "No se puede eliminar la habitación porque tiene " + reservas + " reserva(s) asociada(s)"));
+		return bloqueos;
 	}
 
 	@Override
@@ -70,7 +172,18 @@ public class HabitacionServiceImpl implements IHabitacionService {
 	@Override
 	public List<Habitacion> findByDisponible(boolean disponible) {
 		
-	return repositoryHabitacion.findByDisponible(disponible);
+	return cachePorDisponible.obtener(disponible, k -> List.copyOf(repositoryHabitacion.findByDisponible(k)));
 		
 	}
+
+	// Habitaciones habilitadas y sin reservas activas que se crucen con [desde, hasta)
+	@Override
+	public List<Habitacion> findDisponiblesEntre(LocalDate desde, LocalDate hasta) {
+		return disponibilidadService.filtrarDisponibles(findByDisponible(true), desde, hasta);
+	}
+
+	@Override
+	public List<Map<String, Object>> estadisticasCache() {
+		return List.of(cache.estadisticas(), cachePorDisponible.estadisticas());
+	}
 }
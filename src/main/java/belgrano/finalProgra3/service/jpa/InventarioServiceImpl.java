@@ -0,0 +1,224 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import belgrano.finalProgra3.dto.InventarioNocheDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.repository.HabitacionRepository;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.service.IInventarioService;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+import belgrano.finalProgra3.service.memoria.InventarioTipos;
+
+/**
+ * Inventario por tipo de habitacion y noche para decidir ventas por tipo sin ir a la
+ * base. Lo mueve el indice de disponibilidad despues de cada commit, y cada tanto se
+ * rearma desde la base para corregir lo que haya cambiado por fuera de esta instancia.
+ */
+@Service
+public class InventarioServiceImpl implements IInventarioService {
+
+	private static final Logger log = LoggerFactory.getLogger(InventarioServiceImpl.class);
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+	@Autowired
+	private HabitacionRepository habitacionRepository;
+	// Los rearmes por cambios de habitaciones corren en el executor de la aplicacion
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private TaskExecutor rearmador;
+
+	@Value("${inventario.horizonte-dias:400}")
+	private int horizonteDias;
+
+	private volatile InventarioTipos actual;
+	// Los cambios incrementales comparten el cerrojo de lectura; el de escritura solo se toma
+	// para abrir el diario y para reemplazar el inventario, no mientras se consulta la base
+	private final ReentrantReadWriteLock carga = new ReentrantReadWriteLock();
+	// Cambios aplicados mientras se rearma: se repiten sobre el inventario nuevo antes del reemplazo
+	private Queue<Consumer<InventarioTipos>> diario;
+	private final ReentrantLock reconciliacion = new ReentrantLock();
+	private final AtomicBoolean rearmePendiente = new AtomicBoolean();
+	private final AtomicLong desajustes = new AtomicLong();
+	private volatile boolean cargado;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void alIniciar() {
+		asegurarCargado();
+	}
+
+	@Override
+	public List<InventarioNocheDto> inventario(LocalDate desde, LocalDate hasta, String tipo) {
+		asegurarCargado();
+		InventarioTipos inventario = actual;
+		TreeSet<String> tipos = new TreeSet<>(inventario.tipos());
+		if (tipo != null) {
+			tipos.retainAll(List.of(tipo));
+		}
+		List<InventarioNocheDto> noches = new ArrayList<>();
+		for (LocalDate fecha = desde; fecha.isBefore(hasta); fecha = fecha.plusDays(1)) {
+			int dia = IndiceIntervalos.dia(fecha);
+			Map<String, InventarioNocheDto.InventarioTipoDto> porTipo = new TreeMap<>();
+			for (String t : tipos) {
+				porTipo.put(t, new InventarioNocheDto.InventarioTipoDto(inventario.habitaciones(t),
+						inventario.vendidas(t, dia), inventario.libres(t, dia)));
+			}
+			noches.add(new InventarioNocheDto(fecha, porTipo));
+		}
+		return noches;
+	}
+
+	@Override
+	public int libres(String tipo, LocalDate desde, LocalDate hasta) {
+		asegurarCargado();
+		return actual.minimoLibres(tipo, IndiceIntervalos.dia(desde), IndiceIntervalos.dia(hasta));
+	}
+
+	@Override
+	public void registrar(IndiceIntervalos.Ocupacion ocupacion) {
+		aplicar(i -> i.aplicar(ocupacion));
+	}
+
+	@Override
+	public void remover(long reservaId) {
+		aplicar(i -> i.quitar(reservaId));
+	}
+
+	// Antes de la primera carga no hay nada que mover: la carga ya lee el cambio de la base
+	private void aplicar(Consumer<InventarioTipos> cambio) {
+		carga.readLock().lock();
+		try {
+			InventarioTipos inventario = actual;
+			if (inventario != null) {
+				cambio.accept(inventario);
+			}
+			if (diario != null) {
+				diario.add(cambio);
+			}
+		} finally {
+			carga.readLock().unlock();
+		}
+	}
+
+	// Varios cambios seguidos de habitaciones se juntan en un solo rearme
+	@Override
+	public void habitacionesActualizadas() {
+		if (rearmePendiente.compareAndSet(false, true)) {
+			rearmador.execute(() -> {
+				rearmePendiente.set(false);
+				reconciliar();
+			});
+		}
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${inventario.reconciliacion.intervalo-ms:300000}",
+			initialDelayString = "${inventario.reconciliacion.intervalo-ms:300000}")
+	public int reconciliar() {
+		reconciliacion.lock();
+		try {
+			abrirDiario();
+			try {
+				int hoy = IndiceIntervalos.dia(LocalDate.now());
+				InventarioTipos nuevo = desdeLaBase(LocalDate.now());
+				carga.writeLock().lock();
+				try {
+					// Repetir un cambio que la consulta ya vio no cuenta doble
+					diario.forEach(cambio -> cambio.accept(nuevo));
+					InventarioTipos anterior = actual;
+					int distintas = anterior == null ? 0 : nuevo.diferencias(anterior, hoy, hoy + horizonteDias);
+					actual = nuevo;
+					cargado = true;
+					if (distintas > 0) {
+						desajustes.addAndGet(distintas);
+						log.warn("Inventario por tipo corregido desde la base: {} celdas tipo x noche no coincidian", distintas);
+					}
+					return distintas;
+				} finally {
+					carga.writeLock().unlock();
+				}
+			} finally {
+				cerrarDiario();
+			}
+		} finally {
+			reconciliacion.unlock();
+		}
+	}
+
+	private void abrirDiario() {
+		carga.writeLock().lock();
+		try {
+			diario = new ConcurrentLinkedQueue<>();
+		} finally {
+			carga.writeLock().unlock();
+		}
+	}
+
+	private void cerrarDiario() {
+		carga.writeLock().lock();
+		try {
+			diario = null;
+		} finally {
+			carga.writeLock().unlock();
+		}
+	}
+
+	// Habitaciones habilitadas y reservas que todavia no terminaron: dos consultas
+	private InventarioTipos desdeLaBase(LocalDate hoy) {
+		Map<Long, String> tipoPorHabitacion = new HashMap<>();
+		for (Habitacion habitacion : habitacionRepository.findByDisponible(true)) {
+			tipoPorHabitacion.put(habitacion.getId(), habitacion.getTipo());
+		}
+		InventarioTipos inventario = new InventarioTipos(tipoPorHabitacion);
+		for (ReservaRepository.FechasReserva r : reservaRepository.findFechasTerminanDespues(hoy, Reserva.EstadoReserva.CANCELADA)) {
+			inventario.aplicar(new IndiceIntervalos.Ocupacion(r.getId(), r.getHabitacionId(),
+					IndiceIntervalos.dia(r.getFechaInicio()), IndiceIntervalos.dia(r.getFechaFin())));
+		}
+		return inventario;
+	}
+
+	@Override
+	public long desajustes() {
+		return desajustes.get();
+	}
+
+	private void asegurarCargado() {
+		if (!cargado) {
+			reconciliacion.lock();
+			try {
+				if (!cargado) {
+					reconciliar();
+				}
+			} finally {
+				reconciliacion.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,332 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.dto.SolicitudEsperaRequestDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.SolicitudEspera;
+import belgrano.finalProgra3.repository.ClienteRepository;
+import belgrano.finalProgra3.repository.HabitacionRepository;
+import belgrano.finalProgra3.repository.SolicitudEsperaRepository;
+import belgrano.finalProgra3.service.IDisponibilidadService;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IListaEsperaService;
+import belgrano.finalProgra3.service.IReservaService;
+import belgrano.finalProgra3.service.memoria.CerrojosPorClave;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+import belgrano.finalProgra3.service.memoria.ListaEspera;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Lista de espera para fechas sin lugar. Las solicitudes que esperan viven en memoria
+ * indexadas por tipo y noche; cuando se liberan noches de una habitacion (reserva
+ * cancelada, vencida, borrada o movida) o una habitacion pasa a estar disponible, se
+ * prueban solo las solicitudes que tocan esas noches, de la mas vieja a la mas nueva,
+ * y cada una que entra se convierte en una reserva PENDIENTE.
+ */
+@Service
+public class ListaEsperaServiceImpl implements IListaEsperaService {
+
+	private static final Logger log = LoggerFactory.getLogger(ListaEsperaServiceImpl.class);
+	private static final long ESPERA_CERROJO_SEGUNDOS = 5;
+
+	@Autowired
+	private SolicitudEsperaRepository repository;
+	@Autowired
+	private ClienteRepository clienteRepository;
+	@Autowired
+	private HabitacionRepository habitacionRepository;
+	@Autowired
+	private IHabitacionService habitacionService;
+	@Autowired
+	private IDisponibilidadService disponibilidadService;
+	@Autowired
+	private IReservaService reservaService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private CerrojosPorClave cerrojos;
+	// Los avisos llegan en el hilo que hizo commit; el emparejamiento corre en el executor
+	// de la aplicacion (hilos virtuales con HILOS_VIRTUALES=true) para no demorarlo
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private TaskExecutor emparejador;
+
+	private final ListaEspera lista = new ListaEspera();
+	// La lista no es thread-safe: la usan los requests y los emparejamientos en curso
+	private final ReentrantLock cerrojo = new ReentrantLock();
+	private final ReentrantLock carga = new ReentrantLock();
+	private final AtomicLong asignadas = new AtomicLong();
+	private volatile boolean cargado;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void alIniciar() {
+		asegurarCargado();
+	}
+
+	@EventListener
+	public void alLiberarNoches(IDisponibilidadService.NochesLiberadas liberadas) {
+		emparejador.execute(() -> emparejar(liberadas.habitacionId(), liberadas.desde(), liberadas.hasta()));
+	}
+
+	@EventListener
+	public void alHabilitarHabitacion(IHabitacionService.HabitacionHabilitada habilitada) {
+		emparejador.execute(() -> emparejar(habilitada.habitacionId(), Integer.MIN_VALUE, Integer.MAX_VALUE));
+	}
+
+	@Override
+	public SolicitudEspera crear(SolicitudEsperaRequestDto pedido) {
+		LocalDate fechaInicio = LocalDate.parse(pedido.getFechaInicio());
+		LocalDate fechaFin = LocalDate.parse(pedido.getFechaFin());
+		if (!fechaFin.isAfter(fechaInicio)) {
+			throw new IllegalArgumentException("La fecha de fin debe ser posterior a la fecha de inicio");
+		}
+		if (fechaInicio.isBefore(LocalDate.now())) {
+			throw new IllegalArgumentException("La fecha de inicio ya pasó");
+		}
+		if (!clienteRepository.existsById(pedido.getClienteId())) {
+			throw new EntityNotFoundException("Cliente no encontrado");
+		}
+		if (habitacionRepository.contarPorTipo().stream().noneMatch(c -> c.getTipo().equals(pedido.getTipoHabitacion()))) {
+			throw new IllegalArgumentException("No existen habitaciones del tipo: " + pedido.getTipoHabitacion());
+		}
+		asegurarCargado();
+
+		SolicitudEspera solicitud = new SolicitudEspera();
+		solicitud.setClienteId(pedido.getClienteId());
+		solicitud.setTipoHabitacion(pedido.getTipoHabitacion());
+		solicitud.setFechaInicio(fechaInicio);
+		solicitud.setFechaFin(fechaFin);
+		if (pedido.getServiciosIds() != null) {
+			solicitud.setServiciosIds(new ArrayList<>(pedido.getServiciosIds()));
+		}
+		solicitud.setEstado(SolicitudEspera.EstadoSolicitud.ESPERANDO);
+		solicitud.setCreada(LocalDateTime.now());
+		SolicitudEspera guardada = repository.save(solicitud);
+
+		ListaEspera.Solicitud espera = espera(guardada.getId(), guardada.getTipoHabitacion(), fechaInicio, fechaFin);
+		conLista(l -> {
+			l.agregar(espera);
+			return null;
+		});
+		// Puede que ya haya lugar: se prueba en la primera habitacion libre del tipo
+		List<Habitacion> delTipo = habitacionService.findByDisponible(true).stream()
+				.filter(h -> h.getTipo().equals(guardada.getTipoHabitacion()))
+				.toList();
+		for (Habitacion habitacion : disponibilidadService.filtrarDisponibles(delTipo, fechaInicio, fechaFin)) {
+			Long reservaId = asignar(espera, habitacion.getId());
+			if (reservaId != null) {
+				guardada.setEstado(SolicitudEspera.EstadoSolicitud.ASIGNADA);
+				guardada.setReservaId(reservaId);
+				break;
+			}
+		}
+		return guardada;
+	}
+
+	@Override
+	public SolicitudEspera getById(Long id) {
+		return repository.findById(id).orElse(null);
+	}
+
+	@Override
+	public List<SolicitudEspera> getPagina(Long after, int limit, SolicitudEspera.EstadoSolicitud estado, String tipo, Long clienteId) {
+		return repository.findPagina(after != null ? after : 0L, estado, tipo, clienteId, Limit.of(limit));
+	}
+
+	@Override
+	public boolean exists(Long id) {
+		return id != null && repository.existsById(id);
+	}
+
+	@Override
+	@Transactional
+	public boolean cancelar(Long id) {
+		if (repository.cambiarEstado(id, SolicitudEspera.EstadoSolicitud.ESPERANDO,
+				SolicitudEspera.EstadoSolicitud.CANCELADA, null) == 0) {
+			return false;
+		}
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> conLista(l -> l.quitar(id)));
+		return true;
+	}
+
+	@Override
+	@Scheduled(cron = "${lista-espera.vencidas.cron:0 5 0 * * *}")
+	public int vencerAnteriores() {
+		asegurarCargado();
+		LocalDate hoy = LocalDate.now();
+		int vencidas = transactionTemplate.execute(status -> repository.cambiarEstadoAnteriores(hoy,
+				SolicitudEspera.EstadoSolicitud.ESPERANDO, SolicitudEspera.EstadoSolicitud.VENCIDA));
+		conLista(l -> {
+			l.anterioresA(IndiceIntervalos.dia(hoy)).forEach(s -> l.quitar(s.id()));
+			return null;
+		});
+		return vencidas;
+	}
+
+	@Override
+	public int enEspera() {
+		return conLista(ListaEspera::tamanio);
+	}
+
+	@Override
+	public long asignadas() {
+		return asignadas.get();
+	}
+
+	@Override
+	public void recargar() {
+		carga.lock();
+		try {
+			LocalDate hoy = LocalDate.now();
+			List<ListaEspera.Solicitud> esperas = transactionTemplate.execute(status -> {
+				repository.cambiarEstadoAnteriores(hoy, SolicitudEspera.EstadoSolicitud.ESPERANDO,
+						SolicitudEspera.EstadoSolicitud.VENCIDA);
+				List<ListaEspera.Solicitud> leidas = new ArrayList<>();
+				for (SolicitudEsperaRepository.Espera e : repository.findEsperas(SolicitudEspera.EstadoSolicitud.ESPERANDO)) {
+					leidas.add(espera(e.getId(), e.getTipo(), e.getFechaInicio(), e.getFechaFin()));
+				}
+				return leidas;
+			});
+			conLista(l -> {
+				l.cargar(esperas);
+				return null;
+			});
+			cargado = true;
+			log.info("Solicitudes en lista de espera: {}", esperas.size());
+		} finally {
+			carga.unlock();
+		}
+	}
+
+	// Prueba las solicitudes que tocan las noches liberadas contra esa habitacion, por antiguedad.
+	// Cada reserva creada ocupa el indice de disponibilidad antes de probar la siguiente
+	private void emparejar(long habitacionId, int desde, int hasta) {
+		try {
+			asegurarCargado();
+			Habitacion habitacion = habitacionService.getById(habitacionId);
+			if (habitacion == null || !habitacion.isDisponible()) {
+				return;
+			}
+			int hoy = IndiceIntervalos.dia(LocalDate.now());
+			List<ListaEspera.Solicitud> candidatas = conLista(l -> l.candidatas(habitacion.getTipo(), Math.max(desde, hoy), hasta));
+			for (ListaEspera.Solicitud candidata : candidatas) {
+				if (candidata.desde() >= hoy && disponibilidadService.estaDisponible(habitacionId,
+						LocalDate.ofEpochDay(candidata.desde()), LocalDate.ofEpochDay(candidata.hasta()))) {
+					asignar(candidata, habitacionId);
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("No se pudo emparejar la lista de espera con la habitación {}", habitacionId, e);
+		}
+	}
+
+	// La reserva y el cambio de estado de la solicitud van en una sola transaccion, con el
+	// cerrojo de la habitacion tomado hasta despues del commit (es el mismo que toma
+	// ReservaServiceImpl y es reentrante). Devuelve la reserva creada o null
+	private Long asignar(ListaEspera.Solicitud espera, long habitacionId) {
+		ReentrantLock cerrojoHabitacion = cerrojos.para(habitacionId);
+		try {
+			if (!cerrojoHabitacion.tryLock(ESPERA_CERROJO_SEGUNDOS, TimeUnit.SECONDS)) {
+				return null;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		try {
+			Long reservaId = transactionTemplate.execute(status -> {
+				SolicitudEspera solicitud = repository.findById(espera.id()).orElse(null);
+				if (solicitud == null || solicitud.getEstado() != SolicitudEspera.EstadoSolicitud.ESPERANDO) {
+					return null;
+				}
+				// Si el cliente se borro la solicitud ya no se puede cumplir
+				if (!clienteRepository.existsById(solicitud.getClienteId())) {
+					repository.cambiarEstado(espera.id(), SolicitudEspera.EstadoSolicitud.ESPERANDO,
+							SolicitudEspera.EstadoSolicitud.CANCELADA, null);
+					return null;
+				}
+				Reserva reserva = reservaService.createFromRequest(pedido(solicitud, habitacionId));
+				if (repository.cambiarEstado(espera.id(), SolicitudEspera.EstadoSolicitud.ESPERANDO,
+						SolicitudEspera.EstadoSolicitud.ASIGNADA, reserva.getId()) == 0) {
+					// La cancelaron mientras tanto: la reserva no se crea
+					status.setRollbackOnly();
+					return null;
+				}
+				return reserva.getId();
+			});
+			conLista(l -> l.quitar(espera.id()));
+			if (reservaId != null) {
+				asignadas.incrementAndGet();
+				log.info("Solicitud de espera {} asignada: reserva {} en la habitación {}", espera.id(), reservaId, habitacionId);
+			}
+			return reservaId;
+		} catch (RuntimeException e) {
+			// Otra instancia tomo las noches antes: la solicitud sigue esperando
+			log.debug("No se pudo asignar la solicitud de espera {} a la habitación {}: {}", espera.id(), habitacionId, e.getMessage());
+			return null;
+		} finally {
+			cerrojoHabitacion.unlock();
+		}
+	}
+
+	private static ReservaRequestDto pedido(SolicitudEspera solicitud, long habitacionId) {
+		ReservaRequestDto pedido = new ReservaRequestDto();
+		pedido.setFechaInicio(solicitud.getFechaInicio().toString());
+		pedido.setFechaFin(solicitud.getFechaFin().toString());
+		pedido.setHabitacionId(habitacionId);
+		pedido.setClienteId(solicitud.getClienteId());
+		pedido.setServiciosIds(List.copyOf(solicitud.getServiciosIds()));
+		return pedido;
+	}
+
+	private static ListaEspera.Solicitud espera(Long id, String tipo, LocalDate fechaInicio, LocalDate fechaFin) {
+		return new ListaEspera.Solicitud(id, tipo, IndiceIntervalos.dia(fechaInicio), IndiceIntervalos.dia(fechaFin));
+	}
+
+	private <T> T conLista(Function<ListaEspera, T> operacion) {
+		cerrojo.lock();
+		try {
+			return operacion.apply(lista);
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	private void asegurarCargado() {
+		if (!cargado) {
+			carga.lock();
+			try {
+				if (!cargado) {
+					recargar();
+				}
+			} finally {
+				carga.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import belgrano.finalProgra3.dto.IngresoDiaDto;
+import belgrano.finalProgra3.dto.OcupacionDiaDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.repository.HabitacionRepository;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IReporteService;
+import belgrano.finalProgra3.service.IServicioService;
+import belgrano.finalProgra3.service.memoria.AgregadosDiarios;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+
+@Service
+public class ReporteServiceImpl implements IReporteService {
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private HabitacionRepository habitacionRepository;
+
+	@Autowired
+	private IHabitacionService habitacionService;
+
+	@Autowired
+	private IServicioService servicioService;
+
+	private volatile AgregadosDiarios agregados = new AgregadosDiarios();
+	// Las actualizaciones incrementales comparten el cerrojo de lectura; la reconstruccion
+	// toma el de escritura para que ninguna se aplique sobre los agregados que se descartan
+	private final ReentrantReadWriteLock carga = new ReentrantReadWriteLock();
+	private volatile boolean cargado;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void alIniciar() {
+		asegurarCargado();
+	}
+
+	@Override
+	public List<OcupacionDiaDto> ocupacion(LocalDate desde, LocalDate hasta) {
+		asegurarCargado();
+		AgregadosDiarios actuales = agregados;
+		Map<String, Long> habitacionesPorTipo = new TreeMap<>();
+		long habitaciones = 0;
+		for (HabitacionRepository.CantidadPorTipo c : habitacionRepository.contarPorTipo()) {
+			habitacionesPorTipo.put(c.getTipo(), c.getCantidad());
+			habitaciones += c.getCantidad();
+		}
+		List<OcupacionDiaDto> dias = new ArrayList<>();
+		for (LocalDate fecha = desde; fecha.isBefore(hasta); fecha = fecha.plusDays(1)) {
+			int dia = IndiceIntervalos.dia(fecha);
+			Map<String, OcupacionDiaDto.OcupacionTipoDto> porTipo = new TreeMap<>();
+			long ocupadas = 0;
+			for (Map.Entry<String, Long> tipo : habitacionesPorTipo.entrySet()) {
+				long ocupadasTipo = actuales.ocupadas(tipo.getKey(), dia);
+				ocupadas += ocupadasTipo;
+				porTipo.put(tipo.getKey(), new OcupacionDiaDto.OcupacionTipoDto(ocupadasTipo, tipo.getValue(),
+						porcentaje(ocupadasTipo, tipo.getValue())));
+			}
+			Map<Long, Long> serviciosEnUso = new TreeMap<>();
+			for (Long servicioId : actuales.servicios()) {
+				long usos = actuales.usosServicio(servicioId, dia);
+				if (usos != 0) {
+					serviciosEnUso.put(servicioId, usos);
+				}
+			}
+			dias.add(new OcupacionDiaDto(fecha, ocupadas, habitaciones, porcentaje(ocupadas, habitaciones), porTipo, serviciosEnUso));
+		}
+		return dias;
+	}
+
+	@Override
+	public List<IngresoDiaDto> ingresos(LocalDate desde, LocalDate hasta) {
+		asegurarCargado();
+		AgregadosDiarios actuales = agregados;
+		List<IngresoDiaDto> dias = new ArrayList<>();
+		for (LocalDate fecha = desde; fecha.isBefore(hasta); fecha = fecha.plusDays(1)) {
+			int dia = IndiceIntervalos.dia(fecha);
+			long total = 0;
+			Map<String, Double> porTipo = new TreeMap<>();
+			for (String tipo : actuales.tipos()) {
+				long ingreso = actuales.ingresosTipo(tipo, dia);
+				total += ingreso;
+				porTipo.put(tipo, ingreso / 100.0);
+			}
+			Map<Long, Double> porServicio = new TreeMap<>();
+			for (Long servicioId : actuales.servicios()) {
+				long ingreso = actuales.ingresosServicio(servicioId, dia);
+				total += ingreso;
+				if (ingreso != 0) {
+					porServicio.put(servicioId, ingreso / 100.0);
+				}
+			}
+			dias.add(new IngresoDiaDto(fecha, total / 100.0, porTipo, porServicio));
+		}
+		return dias;
+	}
+
+	// Se llama dentro de la transaccion de la reserva: el aporte se arma ahora, con las
+	// entidades cargadas, y se suma recien si la transaccion confirma
+	@Override
+	public void registrar(Reserva reserva) {
+		if (reserva.getId() == null || reserva.getHabitacion() == null || reserva.getHabitacion().getId() == null) {
+			return;
+		}
+		if (reserva.getEstado() == Reserva.EstadoReserva.CANCELADA) {
+			remover(reserva.getId());
+			return;
+		}
+		String tipo = reserva.getHabitacion().getTipo();
+		if (tipo == null) {
+			Habitacion habitacion = habitacionService.getById(reserva.getHabitacion().getId());
+			if (habitacion == null) {
+				return;
+			}
+			tipo = habitacion.getTipo();
+		}
+		List<Long> ids = new ArrayList<>();
+		if (reserva.getServicios() != null) {
+			reserva.getServicios().forEach(s -> ids.add(s.getId()));
+		}
+		Map<Long, Long> precios = new HashMap<>();
+		if (!ids.isEmpty()) {
+			for (Servicio servicio : servicioService.getAllById(ids)) {
+				precios.put(servicio.getId(), TarifaServiceImpl.centavos(servicio.getPrecio()));
+			}
+		}
+		AgregadosDiarios.Aporte aporte = aporte(reserva.getId(), tipo, reserva.getFechaInicio(), reserva.getFechaFin(),
+				reserva.getPrecioTotal(), precios);
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> aplicar(a -> a.aplicar(aporte)));
+	}
+
+	@Override
+	public void remover(Long reservaId) {
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> aplicar(a -> a.quitar(reservaId)));
+	}
+
+	// Dos consultas por conjunto (reservas y servicios contratados) y se reemplazan los agregados enteros
+	@Override
+	public void recargar() {
+		carga.writeLock().lock();
+		try {
+			Map<Long, Map<Long, Long>> serviciosPorReserva = new HashMap<>();
+			for (ReservaRepository.ServicioReporte s : reservaRepository.findServiciosParaReportes(Reserva.EstadoReserva.CANCELADA)) {
+				serviciosPorReserva.computeIfAbsent(s.getReservaId(), k -> new HashMap<>())
+						.put(s.getServicioId(), TarifaServiceImpl.centavos(s.getPrecio()));
+			}
+			AgregadosDiarios nuevos = new AgregadosDiarios();
+			for (ReservaRepository.ReservaReporte r : reservaRepository.findParaReportes(Reserva.EstadoReserva.CANCELADA)) {
+				nuevos.aplicar(aporte(r.getId(), r.getTipo(), r.getFechaInicio(), r.getFechaFin(), r.getPrecioTotal(),
+						serviciosPorReserva.getOrDefault(r.getId(), Map.of())));
+			}
+			agregados = nuevos;
+			cargado = true;
+		} finally {
+			carga.writeLock().unlock();
+		}
+	}
+
+	private void aplicar(Consumer<AgregadosDiarios> cambio) {
+		carga.readLock().lock();
+		try {
+			cambio.accept(agregados);
+		} finally {
+			carga.readLock().unlock();
+		}
+	}
+
+	// Lo que no es servicio se toma como ingreso de la habitacion
+	private static AgregadosDiarios.Aporte aporte(long reservaId, String tipo, LocalDate desde, LocalDate hasta,
+			double precioTotal, Map<Long, Long> serviciosCentavos) {
+		int inicio = IndiceIntervalos.dia(desde);
+		int fin = IndiceIntervalos.dia(hasta);
+		long[] ids = new long[serviciosCentavos.size()];
+		long[] centavos = new long[serviciosCentavos.size()];
+		long serviciosPorNoche = 0;
+		int i = 0;
+		for (Map.Entry<Long, Long> servicio : serviciosCentavos.entrySet()) {
+			ids[i] = servicio.getKey();
+			centavos[i] = servicio.getValue();
+			serviciosPorNoche += servicio.getValue();
+			i++;
+		}
+		long habitacion = Math.max(0, TarifaServiceImpl.centavos(precioTotal) - serviciosPorNoche * Math.max(0, fin - inicio));
+		return new AgregadosDiarios.Aporte(reservaId, tipo, inicio, fin, habitacion, ids, centavos);
+	}
+
+	private static double porcentaje(long parte, long total) {
+		return total == 0 ? 0 : Math.round(parte * 10000.0 / total) / 100.0;
+	}
+
+	private void asegurarCargado() {
+		if (!cargado) {
+			carga.writeLock().lock();
+			try {
+				if (!cargado) {
+					recargar();
+				}
+			} finally {
+				carga.writeLock().unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,544 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import belgrano.finalProgra3.dto.AsignacionGrupoDto;
+import belgrano.finalProgra3.dto.EstadiaGrupoDto;
+import belgrano.finalProgra3.dto.ReservaGrupoDto;
+import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.dto.ResultadoLoteDto;
+import belgrano.finalProgra3.dto.ResultadoTransicionDto;
+import belgrano.finalProgra3.dto.TransicionReservaDto;
+import belgrano.finalProgra3.entity.Cliente;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.repository.ClienteRepository;
+import belgrano.finalProgra3.repository.HabitacionRepository;
+import belgrano.finalProgra3.repository.ReservaLoteRepository;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.repository.ServicioRepository;
+import belgrano.finalProgra3.service.IAgendaService;
+import belgrano.finalProgra3.service.IDisponibilidadService;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IReporteService;
+import belgrano.finalProgra3.service.IReservaLoteService;
+import belgrano.finalProgra3.service.ITarifaService;
+import belgrano.finalProgra3.service.IVencimientoService;
+import belgrano.finalProgra3.service.memoria.AsignadorHabitaciones;
+import belgrano.finalProgra3.service.memoria.CerrojosPorClave;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class ReservaLoteServiceImpl implements IReservaLoteService {
+
+	private static final long ESPERA_CERROJO_SEGUNDOS = 30;
+	// Ids por UPDATE en las transiciones
+	private static final int TAMANIO_UPDATE = 1000;
+	// Veces que se replanifica un grupo si otra operacion ocupa una habitacion elegida
+	private static final int INTENTOS_GRUPO = 3;
+	// Habitaciones por consulta al verificar un grupo: con listas IN largas H2 deja el indice y recorre la tabla
+	private static final int HABITACIONES_POR_CONSULTA = 50;
+	// Rango de fechas de un criterio sin desde o sin hasta
+	private static final LocalDate SIN_LIMITE_DESDE = LocalDate.of(1, 1, 1);
+	private static final LocalDate SIN_LIMITE_HASTA = LocalDate.of(9999, 12, 31);
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+	@Autowired
+	private ReservaLoteRepository reservaLoteRepository;
+	@Autowired
+	private HabitacionRepository habitacionRepository;
+	@Autowired
+	private ClienteRepository clienteRepository;
+	@Autowired
+	private ServicioRepository servicioRepository;
+	@Autowired
+	private IDisponibilidadService disponibilidadService;
+	@Autowired
+	private IReporteService reporteService;
+	@Autowired
+	private ITarifaService tarifaService;
+	@Autowired
+	private IVencimientoService vencimientoService;
+	@Autowired
+	private IAgendaService agendaService;
+	@Autowired
+	private IHabitacionService habitacionService;
+	@Autowired
+	private CerrojosPorClave cerrojos;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private Validator validator;
+
+	@Override
+	public List<ResultadoLoteDto> crearLote(List<ReservaRequestDto> solicitudes) {
+		ResultadoLoteDto[] resultados = new ResultadoLoteDto[solicitudes.size()];
+		List<Candidata> candidatas = validarIndividualmente(solicitudes, resultados);
+		if (candidatas.isEmpty()) {
+			return Arrays.asList(resultados);
+		}
+
+		Set<Long> habitacionIds = new HashSet<>();
+		candidatas.forEach(c -> habitacionIds.add(c.solicitud().getHabitacionId()));
+		List<ReentrantLock> tomados = new ArrayList<>();
+		try {
+			for (ReentrantLock cerrojo : cerrojos.paraTodas(habitacionIds)) {
+				if (!cerrojo.tryLock(ESPERA_CERROJO_SEGUNDOS, TimeUnit.SECONDS)) {
+					throw new IllegalStateException("Las habitaciones del lote están siendo reservadas por otra operación, intente nuevamente");
+				}
+				tomados.add(cerrojo);
+			}
+			transactionTemplate.executeWithoutResult(status -> procesar(candidatas, habitacionIds, resultados));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("La operación fue interrumpida");
+		} finally {
+			for (int i = tomados.size() - 1; i >= 0; i--) {
+				tomados.get(i).unlock();
+			}
+		}
+		return Arrays.asList(resultados);
+	}
+
+	// Chequeos que no necesitan la base: anotaciones del DTO y coherencia de fechas
+	private List<Candidata> validarIndividualmente(List<ReservaRequestDto> solicitudes, ResultadoLoteDto[] resultados) {
+		List<Candidata> candidatas = new ArrayList<>();
+		for (int i = 0; i < solicitudes.size(); i++) {
+			ReservaRequestDto solicitud = solicitudes.get(i);
+			if (solicitud == null) {
+				resultados[i] = ResultadoLoteDto.error(i, "Item vacio");
+				continue;
+			}
+			Set<ConstraintViolation<ReservaRequestDto>> violaciones = validator.validate(solicitud);
+			if (!violaciones.isEmpty()) {
+				resultados[i] = ResultadoLoteDto.error(i, violaciones.iterator().next().getMessage());
+				continue;
+			}
+			try {
+				LocalDate inicio = LocalDate.parse(solicitud.getFechaInicio());
+				LocalDate fin = LocalDate.parse(solicitud.getFechaFin());
+				if (!fin.isAfter(inicio)) {
+					resultados[i] = ResultadoLoteDto.error(i, "La fecha de fin debe ser posterior a la fecha de inicio");
+					continue;
+				}
+				candidatas.add(new Candidata(i, solicitud, inicio, fin));
+			} catch (DateTimeParseException e) {
+				resultados[i] = ResultadoLoteDto.error(i, "Formato de fecha invalido, se espera yyyy-MM-dd");
+			}
+		}
+		return candidatas;
+	}
+
+	// Todo el lote se resuelve con cuatro consultas por conjunto y dos batches de INSERT
+	private void procesar(List<Candidata> candidatas, Set<Long> habitacionIds, ResultadoLoteDto[] resultados) {
+		Set<Long> clienteIds = new HashSet<>();
+		Set<Long> servicioIds = new HashSet<>();
+		LocalDate desde = LocalDate.MAX;
+		LocalDate hasta = LocalDate.MIN;
+		for (Candidata c : candidatas) {
+			clienteIds.add(c.solicitud().getClienteId());
+			if (c.solicitud().getServiciosIds() != null) {
+				servicioIds.addAll(c.solicitud().getServiciosIds());
+			}
+			desde = c.inicio().isBefore(desde) ? c.inicio() : desde;
+			hasta = c.fin().isAfter(hasta) ? c.fin() : hasta;
+		}
+
+		Map<Long, Habitacion> habitaciones = new HashMap<>();
+		habitacionRepository.findAllByIdParaReservar(habitacionIds).forEach(h -> habitaciones.put(h.getId(), h));
+		Set<Long> clientes = new HashSet<>(clienteRepository.findIdsExistentes(clienteIds));
+		Map<Long, Servicio> servicios = new HashMap<>();
+		servicioRepository.findAllById(servicioIds).forEach(s -> servicios.put(s.getId(), s));
+
+		// Ocupacion vigente en la ventana del lote mas lo que el propio lote va aceptando
+		List<IndiceIntervalos.Ocupacion> existentes = new ArrayList<>();
+		for (ReservaRepository.FechasReserva r : reservaRepository.findFechasSolapadas(habitacionIds, desde, hasta,
+				Reserva.EstadoReserva.CANCELADA)) {
+			existentes.add(new IndiceIntervalos.Ocupacion(r.getId(), r.getHabitacionId(),
+					IndiceIntervalos.dia(r.getFechaInicio()), IndiceIntervalos.dia(r.getFechaFin())));
+		}
+		IndiceIntervalos ocupacion = new IndiceIntervalos();
+		ocupacion.cargar(existentes);
+
+		List<Reserva> nuevas = new ArrayList<>();
+		List<Integer> indices = new ArrayList<>();
+		LocalDateTime vencimiento = vencimientoService.plazo();
+		for (Candidata c : candidatas) {
+			ReservaRequestDto solicitud = c.solicitud();
+			Habitacion habitacion = habitaciones.get(solicitud.getHabitacionId());
+			if (habitacion == null) {
+				resultados[c.indice()] = ResultadoLoteDto.error(c.indice(), "Habitación no encontrada");
+				continue;
+			}
+			if (!clientes.contains(solicitud.getClienteId())) {
+				resultados[c.indice()] = ResultadoLoteDto.error(c.indice(), "Cliente no encontrado");
+				continue;
+			}
+			int inicio = IndiceIntervalos.dia(c.inicio());
+			int fin = IndiceIntervalos.dia(c.fin());
+			if (!ocupacion.estaLibre(habitacion.getId(), inicio, fin)) {
+				resultados[c.indice()] = ResultadoLoteDto.error(c.indice(),
+						"La habitación no está disponible entre " + c.inicio() + " y " + c.fin());
+				continue;
+			}
+			// Id provisorio negativo hasta que la base asigne el real
+			ocupacion.registrar(new IndiceIntervalos.Ocupacion(-(long) (c.indice() + 1), habitacion.getId(), inicio, fin));
+
+			Set<Servicio> serviciosReserva = new HashSet<>();
+			if (solicitud.getServiciosIds() != null) {
+				for (Long id : solicitud.getServiciosIds()) {
+					Servicio servicio = servicios.get(id);
+					if (servicio != null) {
+						serviciosReserva.add(servicio);
+					}
+				}
+			}
+			nuevas.add(nuevaReserva(habitacion, solicitud.getClienteId(), serviciosReserva, c.inicio(), c.fin(), vencimiento));
+			indices.add(c.indice());
+		}
+
+		if (nuevas.isEmpty()) {
+			return;
+		}
+		insertar(nuevas);
+		for (int i = 0; i < nuevas.size(); i++) {
+			resultados[indices.get(i)] = ResultadoLoteDto.ok(indices.get(i), nuevas.get(i).getId());
+		}
+	}
+
+	private Reserva nuevaReserva(Habitacion habitacion, Long clienteId, Set<Servicio> servicios,
+			LocalDate inicio, LocalDate fin, LocalDateTime vencimiento) {
+		Cliente cliente = new Cliente();
+		cliente.setId(clienteId);
+
+		Reserva reserva = new Reserva();
+		reserva.setFechaInicio(inicio);
+		reserva.setFechaFin(fin);
+		reserva.setNumeroNoches((int) ChronoUnit.DAYS.between(inicio, fin));
+		reserva.setPrecioTotal(tarifaService.cotizar(habitacion, servicios, inicio, fin));
+		reserva.setHabitacion(habitacion);
+		reserva.setCliente(cliente);
+		reserva.setServicios(servicios);
+		reserva.setEstado(Reserva.EstadoReserva.PENDIENTE);
+		reserva.setVencimiento(vencimiento);
+		return reserva;
+	}
+
+	// Un batch de INSERT; los indices en memoria se actualizan despues del commit
+	private void insertar(List<Reserva> nuevas) {
+		reservaLoteRepository.insertar(nuevas);
+		for (Reserva reserva : nuevas) {
+			disponibilidadService.registrar(reserva);
+			reporteService.registrar(reserva);
+			vencimientoService.registrar(reserva);
+		}
+	}
+
+	@Override
+	public List<ResultadoTransicionDto> transicionar(TransicionReservaDto solicitud) {
+		Reserva.EstadoReserva destino = solicitud.getEstado();
+		boolean hayCriterio = solicitud.getEstadoActual() != null || solicitud.getDesde() != null || solicitud.getHasta() != null
+				|| solicitud.getHabitacionId() != null || solicitud.getClienteId() != null;
+		if (solicitud.getIds() != null && !solicitud.getIds().isEmpty()) {
+			if (hayCriterio) {
+				throw new IllegalArgumentException("Indique ids o un criterio, no ambos");
+			}
+			Set<Long> ids = new LinkedHashSet<>();
+			solicitud.getIds().forEach(id -> {
+				if (id != null) {
+					ids.add(id);
+				}
+			});
+			if (ids.isEmpty() || ids.size() > ResultadoTransicionDto.TAMANIO_MAXIMO_LOTE) {
+				throw new IllegalArgumentException("El lote debe tener entre 1 y " + ResultadoTransicionDto.TAMANIO_MAXIMO_LOTE + " ids");
+			}
+			return transactionTemplate.execute(status ->
+					transicionar(ids, reservaRepository.findEstadosParaTransicion(ids), destino));
+		}
+		if (!hayCriterio) {
+			throw new IllegalArgumentException("Indique ids o un criterio (estadoActual, desde, hasta, habitacionId o clienteId)");
+		}
+
+		// Solo se buscan las reservas que pueden llegar al destino
+		Set<Reserva.EstadoReserva> origenes = EnumSet.noneOf(Reserva.EstadoReserva.class);
+		for (Reserva.EstadoReserva origen : Reserva.EstadoReserva.values()) {
+			if (origen.puedePasarA(destino) && (solicitud.getEstadoActual() == null || solicitud.getEstadoActual() == origen)) {
+				origenes.add(origen);
+			}
+		}
+		if (origenes.isEmpty()) {
+			throw new IllegalArgumentException(solicitud.getEstadoActual() != null
+					? "No se puede pasar de " + solicitud.getEstadoActual() + " a " + destino
+					: "Ninguna reserva puede pasar a " + destino);
+		}
+		LocalDate desde = solicitud.getDesde() != null ? fecha(solicitud.getDesde()) : SIN_LIMITE_DESDE;
+		LocalDate hasta = solicitud.getHasta() != null ? fecha(solicitud.getHasta()) : SIN_LIMITE_HASTA;
+		return transactionTemplate.execute(status -> {
+			List<ReservaRepository.EstadoActual> encontradas = reservaRepository.findEstadosPorCriterio(origenes, desde, hasta,
+					solicitud.getHabitacionId(), solicitud.getClienteId(), Limit.of(ResultadoTransicionDto.MAXIMO_POR_CRITERIO + 1));
+			if (encontradas.size() > ResultadoTransicionDto.MAXIMO_POR_CRITERIO) {
+				throw new IllegalArgumentException("El criterio abarca más de " + ResultadoTransicionDto.MAXIMO_POR_CRITERIO
+						+ " reservas, acótelo por fechas, habitación o cliente");
+			}
+			List<Long> ids = new ArrayList<>(encontradas.size());
+			encontradas.forEach(e -> ids.add(e.getId()));
+			return transicionar(ids, encontradas, destino);
+		});
+	}
+
+	// Las filas ya estan bloqueadas: se decide cada una contra el grafo y las validas se
+	// actualizan con un UPDATE cada TAMANIO_UPDATE ids
+	private List<ResultadoTransicionDto> transicionar(Collection<Long> ids, List<ReservaRepository.EstadoActual> actuales,
+			Reserva.EstadoReserva destino) {
+		Map<Long, ReservaRepository.EstadoActual> porId = new HashMap<>();
+		actuales.forEach(a -> porId.put(a.getId(), a));
+		LocalDateTime ahora = LocalDateTime.now();
+		List<ResultadoTransicionDto> resultados = new ArrayList<>(ids.size());
+		List<Long> aplicar = new ArrayList<>();
+		for (Long id : ids) {
+			ReservaRepository.EstadoActual actual = porId.get(id);
+			if (actual == null) {
+				resultados.add(ResultadoTransicionDto.error(id, null, "Reserva con id: " + id + " No existe"));
+			} else if (actual.getEstado() == destino) {
+				resultados.add(ResultadoTransicionDto.error(id, actual.getEstado(), "La reserva ya está " + destino));
+			} else if (!actual.getEstado().puedePasarA(destino)) {
+				resultados.add(ResultadoTransicionDto.error(id, actual.getEstado(), "No se puede pasar de " + actual.getEstado() + " a " + destino));
+			} else if (destino == Reserva.EstadoReserva.CONFIRMADA && actual.getVencimiento() != null
+					&& !actual.getVencimiento().isAfter(ahora)) {
+				resultados.add(ResultadoTransicionDto.error(id, actual.getEstado(), "El plazo para confirmar la reserva venció"));
+			} else {
+				resultados.add(ResultadoTransicionDto.ok(id, actual.getEstado(), destino));
+				aplicar.add(id);
+			}
+		}
+		for (int i = 0; i < aplicar.size(); i += TAMANIO_UPDATE) {
+			reservaRepository.cambiarEstado(aplicar.subList(i, Math.min(i + TAMANIO_UPDATE, aplicar.size())), destino);
+		}
+		// Confirmadas y canceladas dejan de vencer; las canceladas ademas liberan habitacion y empleados
+		if (destino == Reserva.EstadoReserva.CANCELADA && !aplicar.isEmpty()) {
+			agendaService.liberarReservas(aplicar);
+			for (Long id : aplicar) {
+				disponibilidadService.remover(id);
+				reporteService.remover(id);
+			}
+		}
+		aplicar.forEach(vencimientoService::remover);
+		return resultados;
+	}
+
+	@Override
+	public List<AsignacionGrupoDto> crearGrupo(ReservaGrupoDto grupo) {
+		List<Plaza> plazas = plazas(grupo);
+		if (!clienteRepository.existsById(grupo.getClienteId())) {
+			throw new IllegalArgumentException("Cliente no encontrado");
+		}
+		// Optimista: se planifica sin cerrojos y se verifica con las habitaciones elegidas
+		// bloqueadas; si otra operacion ocupo alguna mientras tanto se vuelve a planificar
+		for (int intento = 1; intento <= INTENTOS_GRUPO; intento++) {
+			long[] elegidas = planificar(plazas);
+			List<AsignacionGrupoDto> asignaciones = confirmarGrupo(grupo, plazas, elegidas);
+			if (asignaciones != null) {
+				return asignaciones;
+			}
+		}
+		throw new IllegalStateException("Las habitaciones elegidas se ocuparon mientras se armaba el grupo, intente nuevamente");
+	}
+
+	// Una plaza por habitacion pedida, en el orden de las estadias
+	private static List<Plaza> plazas(ReservaGrupoDto grupo) {
+		List<Plaza> plazas = new ArrayList<>();
+		for (int i = 0; i < grupo.getEstadias().size(); i++) {
+			EstadiaGrupoDto estadia = grupo.getEstadias().get(i);
+			LocalDate inicio = fecha(estadia.getFechaInicio());
+			LocalDate fin = fecha(estadia.getFechaFin());
+			if (!fin.isAfter(inicio)) {
+				throw new IllegalArgumentException("Estadía " + i + ": la fecha de fin debe ser posterior a la fecha de inicio");
+			}
+			if (plazas.size() + estadia.getCantidad() > ReservaGrupoDto.MAXIMO_HABITACIONES) {
+				throw new IllegalArgumentException("Un grupo puede tener hasta " + ReservaGrupoDto.MAXIMO_HABITACIONES + " habitaciones");
+			}
+			for (int j = 0; j < estadia.getCantidad(); j++) {
+				plazas.add(new Plaza(i, estadia.getTipoHabitacion(), inicio, fin));
+			}
+		}
+		return plazas;
+	}
+
+	// Elige una habitacion por plaza, tipo por tipo, con la ocupacion de las habitaciones
+	// disponibles en la ventana del grupo (mas un margen para medir los huecos que quedan)
+	private long[] planificar(List<Plaza> plazas) {
+		Map<String, List<Integer>> plazasPorTipo = new HashMap<>();
+		LocalDate desde = LocalDate.MAX;
+		LocalDate hasta = LocalDate.MIN;
+		for (int i = 0; i < plazas.size(); i++) {
+			Plaza plaza = plazas.get(i);
+			plazasPorTipo.computeIfAbsent(plaza.tipo(), k -> new ArrayList<>()).add(i);
+			desde = plaza.inicio().isBefore(desde) ? plaza.inicio() : desde;
+			hasta = plaza.fin().isAfter(hasta) ? plaza.fin() : hasta;
+		}
+
+		Map<String, List<Long>> habitacionesPorTipo = new HashMap<>();
+		for (Habitacion habitacion : habitacionService.findByDisponible(true)) {
+			if (plazasPorTipo.containsKey(habitacion.getTipo())) {
+				habitacionesPorTipo.computeIfAbsent(habitacion.getTipo(), k -> new ArrayList<>()).add(habitacion.getId());
+			}
+		}
+		Map<String, AsignadorHabitaciones> asignadores = new HashMap<>();
+		Map<Long, Integer> posiciones = new HashMap<>();
+		Map<Long, AsignadorHabitaciones> asignadorPorHabitacion = new HashMap<>();
+		habitacionesPorTipo.forEach((tipo, ids) -> {
+			ids.sort(null);
+			AsignadorHabitaciones asignador = new AsignadorHabitaciones(ids.stream().mapToLong(Long::longValue).toArray());
+			asignadores.put(tipo, asignador);
+			for (int i = 0; i < ids.size(); i++) {
+				posiciones.put(ids.get(i), i);
+				asignadorPorHabitacion.put(ids.get(i), asignador);
+			}
+		});
+		// El plan sale del indice en memoria, sin consultas; la base se mira recien al confirmar
+		int ventanaDesde = IndiceIntervalos.dia(desde) - AsignadorHabitaciones.HORIZONTE_NOCHES;
+		int ventanaHasta = IndiceIntervalos.dia(hasta) + AsignadorHabitaciones.HORIZONTE_NOCHES;
+		posiciones.forEach((habitacionId, posicion) -> {
+			for (IndiceIntervalos.Ocupacion o : disponibilidadService.ocupaciones(habitacionId, ventanaDesde, ventanaHasta)) {
+				asignadorPorHabitacion.get(habitacionId).ocupar(posicion, o.inicio(), o.fin());
+			}
+		});
+
+		long[] elegidas = new long[plazas.size()];
+		Map<Integer, Integer> faltantes = new TreeMap<>();
+		plazasPorTipo.forEach((tipo, indices) -> {
+			AsignadorHabitaciones asignador = asignadores.get(tipo);
+			List<AsignadorHabitaciones.Estadia> estadias = new ArrayList<>(indices.size());
+			for (int i : indices) {
+				estadias.add(new AsignadorHabitaciones.Estadia(i, IndiceIntervalos.dia(plazas.get(i).inicio()),
+						IndiceIntervalos.dia(plazas.get(i).fin())));
+			}
+			int[] asignadas = asignador != null ? asignador.asignar(estadias, plazas.size()) : null;
+			for (int i : indices) {
+				if (asignadas == null || asignadas[i] < 0) {
+					faltantes.merge(plazas.get(i).estadia(), 1, Integer::sum);
+				} else {
+					elegidas[i] = asignador.habitacionId(asignadas[i]);
+				}
+			}
+		});
+		if (!faltantes.isEmpty()) {
+			List<String> detalle = new ArrayList<>();
+			faltantes.forEach((estadia, cantidad) -> {
+				Plaza plaza = plazas.stream().filter(p -> p.estadia() == estadia).findFirst().orElseThrow();
+				detalle.add("estadía " + estadia + " (" + plaza.tipo() + " del " + plaza.inicio() + " al " + plaza.fin()
+						+ "): faltan " + cantidad);
+			});
+			throw new IllegalStateException("No hay habitaciones para todo el grupo: " + String.join("; ", detalle));
+		}
+		return elegidas;
+	}
+
+	// Con los cerrojos y las filas de las habitaciones elegidas tomados, se verifica el plan contra
+	// la base y se inserta entero. null si alguna habitacion dejo de servir (hay que replanificar)
+	private List<AsignacionGrupoDto> confirmarGrupo(ReservaGrupoDto grupo, List<Plaza> plazas, long[] elegidas) {
+		Set<Long> habitacionIds = new HashSet<>();
+		for (long id : elegidas) {
+			habitacionIds.add(id);
+		}
+		List<ReentrantLock> tomados = new ArrayList<>();
+		try {
+			for (ReentrantLock cerrojo : cerrojos.paraTodas(habitacionIds)) {
+				if (!cerrojo.tryLock(ESPERA_CERROJO_SEGUNDOS, TimeUnit.SECONDS)) {
+					throw new IllegalStateException("Las habitaciones del grupo están siendo reservadas por otra operación, intente nuevamente");
+				}
+				tomados.add(cerrojo);
+			}
+			return transactionTemplate.execute(status -> {
+				Map<Long, Habitacion> habitaciones = new HashMap<>();
+				habitacionRepository.findAllByIdParaReservar(habitacionIds).forEach(h -> habitaciones.put(h.getId(), h));
+				LocalDate desde = plazas.stream().map(Plaza::inicio).min(LocalDate::compareTo).orElseThrow();
+				LocalDate hasta = plazas.stream().map(Plaza::fin).max(LocalDate::compareTo).orElseThrow();
+				IndiceIntervalos ocupacion = new IndiceIntervalos();
+				List<IndiceIntervalos.Ocupacion> existentes = new ArrayList<>();
+				List<Long> ids = new ArrayList<>(habitacionIds);
+				for (int i = 0; i < ids.size(); i += HABITACIONES_POR_CONSULTA) {
+					List<Long> tramo = ids.subList(i, Math.min(i + HABITACIONES_POR_CONSULTA, ids.size()));
+					for (ReservaRepository.FechasReserva r : reservaRepository.findFechasSolapadas(tramo, desde, hasta,
+							Reserva.EstadoReserva.CANCELADA)) {
+						existentes.add(new IndiceIntervalos.Ocupacion(r.getId(), r.getHabitacionId(),
+								IndiceIntervalos.dia(r.getFechaInicio()), IndiceIntervalos.dia(r.getFechaFin())));
+					}
+				}
+				ocupacion.cargar(existentes);
+
+				Set<Servicio> servicios = grupo.getServiciosIds() == null || grupo.getServiciosIds().isEmpty()
+						? Set.of()
+						: new HashSet<>(servicioRepository.findAllById(grupo.getServiciosIds()));
+				LocalDateTime vencimiento = vencimientoService.plazo();
+				List<Reserva> nuevas = new ArrayList<>(plazas.size());
+				for (int i = 0; i < plazas.size(); i++) {
+					Plaza plaza = plazas.get(i);
+					Habitacion habitacion = habitaciones.get(elegidas[i]);
+					int inicio = IndiceIntervalos.dia(plaza.inicio());
+					int fin = IndiceIntervalos.dia(plaza.fin());
+					if (habitacion == null || !habitacion.isDisponible() || !ocupacion.estaLibre(habitacion.getId(), inicio, fin)) {
+						return null;
+					}
+					ocupacion.registrar(new IndiceIntervalos.Ocupacion(-(long) (i + 1), habitacion.getId(), inicio, fin));
+					nuevas.add(nuevaReserva(habitacion, grupo.getClienteId(), new HashSet<>(servicios), plaza.inicio(), plaza.fin(), vencimiento));
+				}
+				insertar(nuevas);
+				List<AsignacionGrupoDto> asignaciones = new ArrayList<>(nuevas.size());
+				for (int i = 0; i < nuevas.size(); i++) {
+					Reserva reserva = nuevas.get(i);
+					asignaciones.add(new AsignacionGrupoDto(plazas.get(i).estadia(), reserva.getId(), reserva.getHabitacion().getId(),
+							reserva.getHabitacion().getNumero(), reserva.getFechaInicio(), reserva.getFechaFin(), reserva.getPrecioTotal()));
+				}
+				return asignaciones;
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("La operación fue interrumpida");
+		} finally {
+			for (int i = tomados.size() - 1; i >= 0; i--) {
+				tomados.get(i).unlock();
+			}
+		}
+	}
+
+	private static LocalDate fecha(String valor) {
+		try {
+			return LocalDate.parse(valor);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Formato de fecha invalido, se espera yyyy-MM-dd");
+		}
+	}
+
+	private record Candidata(int indice, ReservaRequestDto solicitud, LocalDate inicio, LocalDate fin) {
+	}
+
+	// Una habitacion pedida por una estadia del grupo
+	private record Plaza(int estadia, String tipo, LocalDate inicio, LocalDate fin) {
+	}
+}
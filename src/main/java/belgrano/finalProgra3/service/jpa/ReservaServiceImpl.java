@@ -1,6 +1,7 @@
 package belgrano.finalProgra3.service.jpa;
 
 import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.dto.ReservaTipoRequestDto;
 import belgrano.finalProgra3.entity.Cliente;
 import belgrano.finalProgra3.entity.Factura;
 import belgrano.finalProgra3.entity.Habitacion;
@@ -10,20 +11,34 @@ import belgrano.finalProgra3.repository.ClienteRepository;
 import belgrano.finalProgra3.repository.FacturaRepository;
 import belgrano.finalProgra3.repository.HabitacionRepository;
 import belgrano.finalProgra3.repository.ReservaRepository;
-import belgrano.finalProgra3.repository.ServicioRepository;
+import belgrano.finalProgra3.service.IAgendaService;
+import belgrano.finalProgra3.service.IDisponibilidadService;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IInventarioService;
+import belgrano.finalProgra3.service.IReporteService;
 import belgrano.finalProgra3.service.IReservaService;
+import belgrano.finalProgra3.service.IServicioService;
+import belgrano.finalProgra3.service.ITarifaService;
+import belgrano.finalProgra3.service.IVencimientoService;
+import belgrano.finalProgra3.service.memoria.CerrojosPorClave;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 @Service
 public class ReservaServiceImpl implements IReservaService {
@@ -35,9 +50,29 @@ public class ReservaServiceImpl implements IReservaService {
     @Autowired
     private ClienteRepository clienteRepository;
     @Autowired
-    private ServicioRepository servicioRepository;
+    private IServicioService servicioService;
     @Autowired
     private FacturaRepository facturaRepository;
+    @Autowired
+    private IDisponibilidadService disponibilidadService;
+    @Autowired
+    private IReporteService reporteService;
+    @Autowired
+    private ITarifaService tarifaService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private IAgendaService agendaService;
+    @Autowired
+    private IVencimientoService vencimientoService;
+    @Autowired
+    private IHabitacionService habitacionService;
+    @Autowired
+    private IInventarioService inventarioService;
+
+    private static final long ESPERA_CERROJO_SEGUNDOS = 5;
+    @Autowired
+    private CerrojosPorClave cerrojos;
 
 
     @Override
@@ -45,6 +80,11 @@ public class ReservaServiceImpl implements IReservaService {
         return repository.findAll();
     }
 
+    @Override
+    public List<Reserva> getPagina(Long after, int limit, Reserva.EstadoReserva estado, Long habitacionId, Long clienteId) {
+        return repository.findPagina(after != null ? after : 0L, estado, habitacionId, clienteId, Limit.of(limit));
+    }
+
     @Override
     public Reserva getById(Long id) {
         return repository.findById(id).orElse(null);
@@ -52,13 +92,34 @@ public class ReservaServiceImpl implements IReservaService {
 
     @Override
     public Reserva save(Reserva reserva) {
-        if (reserva.getHabitacion() != null && reserva.getHabitacion().getId() != null) {
-            if (!habitacionRepository.existsById(reserva.getHabitacion().getId())) {
-                throw new EntityNotFoundException("La habitación con id: " +
-                        reserva.getHabitacion().getId() + " no existe");
-            }
+        // El vencimiento lo maneja el servidor: una PENDIENTE conserva el que ya tenia
+        if (reserva.getEstado() == Reserva.EstadoReserva.PENDIENTE) {
+            LocalDateTime vigente = reserva.getId() != null ? repository.findVencimiento(reserva.getId()) : null;
+            reserva.setVencimiento(vigente != null ? vigente : vencimientoService.plazo());
+        } else {
+            reserva.setVencimiento(null);
+        }
+        if (reserva.getHabitacion() == null || reserva.getHabitacion().getId() == null) {
+            return repository.save(reserva);
         }
-        return repository.save(reserva);
+        return bajoCerrojo(reserva.getHabitacion().getId(), () -> {
+            habitacionRepository.findByIdParaReservar(reserva.getHabitacion().getId())
+                    .orElseThrow(() -> new EntityNotFoundException("La habitación con id: " +
+                            reserva.getHabitacion().getId() + " no existe"));
+            if (reserva.getEstado() != Reserva.EstadoReserva.CANCELADA) {
+                validarFechas(reserva.getHabitacion().getId(), reserva.getFechaInicio(),
+                        reserva.getFechaFin(), reserva.getId());
+            }
+            Reserva guardada = repository.save(reserva);
+            // Una reserva cancelada ya no retiene a los empleados asignados a sus servicios
+            if (guardada.getEstado() == Reserva.EstadoReserva.CANCELADA) {
+                agendaService.liberarReservas(List.of(guardada.getId()));
+            }
+            disponibilidadService.registrar(guardada);
+            reporteService.registrar(guardada);
+            vencimientoService.registrar(guardada);
+            return guardada;
+        });
     }
 
     @Override
@@ -69,7 +130,25 @@ public class ReservaServiceImpl implements IReservaService {
         if (factura.isPresent()) {
             throw new RuntimeException("No se puede eliminar la reserva porque tiene una factura asociada");
         }
+        agendaService.liberarReservas(List.of(id));
         repository.deleteById(id);
+        disponibilidadService.remover(id);
+        reporteService.remover(id);
+        vencimientoService.remover(id);
+    }
+
+    @Override
+    public List<Reserva> findEntre(LocalDate desde, LocalDate hasta, Long habitacionId) {
+        return habitacionId != null
+                ? repository.findSolapadasPorHabitacion(habitacionId, desde, hasta)
+                : repository.findSolapadas(desde, hasta);
+    }
+
+    @Override
+    public List<Reserva> findByCliente(Long clienteId, LocalDate desde, LocalDate hasta) {
+        return desde != null && hasta != null
+                ? repository.findByClienteIdAndFechaInicioBetweenOrderByFechaInicioAsc(clienteId, desde, hasta)
+                : repository.findByClienteIdOrderByFechaInicioAsc(clienteId);
     }
 
     @Override
@@ -83,8 +162,46 @@ public class ReservaServiceImpl implements IReservaService {
 
     @Override
     public Reserva createFromRequest(ReservaRequestDto reservaRequest) {
-        // Validar que la habitación existe
-        Habitacion habitacion = habitacionRepository.findById(reservaRequest.getHabitacionId())
+        return bajoCerrojo(reservaRequest.getHabitacionId(), () -> crear(reservaRequest));
+    }
+
+    @Override
+    public Reserva createPorTipo(ReservaTipoRequestDto pedido) {
+        LocalDate fechaInicio = LocalDate.parse(pedido.getFechaInicio());
+        LocalDate fechaFin = LocalDate.parse(pedido.getFechaFin());
+        if (!fechaFin.isAfter(fechaInicio)) {
+            throw new IllegalArgumentException("La fecha de fin debe ser posterior a la fecha de inicio");
+        }
+        // Sin lugar se rechaza con los contadores del inventario, sin ir a la base
+        String sinLugar = "No quedan habitaciones " + pedido.getTipoHabitacion() + " entre " + fechaInicio + " y " + fechaFin;
+        if (inventarioService.libres(pedido.getTipoHabitacion(), fechaInicio, fechaFin) == 0) {
+            throw new IllegalStateException(sinLugar);
+        }
+        List<Habitacion> delTipo = habitacionService.findByDisponible(true).stream()
+                .filter(h -> h.getTipo().equals(pedido.getTipoHabitacion()))
+                .toList();
+        List<Habitacion> libres = disponibilidadService.filtrarDisponibles(delTipo, fechaInicio, fechaFin);
+        // Cada pedido arranca en una habitacion al azar para que los concurrentes no esperen el mismo cerrojo
+        int primera = libres.isEmpty() ? 0 : ThreadLocalRandom.current().nextInt(libres.size());
+        for (int i = 0; i < libres.size(); i++) {
+            ReservaRequestDto reservaRequest = new ReservaRequestDto();
+            reservaRequest.setFechaInicio(pedido.getFechaInicio());
+            reservaRequest.setFechaFin(pedido.getFechaFin());
+            reservaRequest.setHabitacionId(libres.get((primera + i) % libres.size()).getId());
+            reservaRequest.setClienteId(pedido.getClienteId());
+            reservaRequest.setServiciosIds(pedido.getServiciosIds());
+            try {
+                return createFromRequest(reservaRequest);
+            } catch (IllegalStateException e) {
+                // Otra operacion la tomo mientras tanto: se prueba la siguiente
+            }
+        }
+        throw new IllegalStateException(sinLugar);
+    }
+
+    private Reserva crear(ReservaRequestDto reservaRequest) {
+        // Validar que la habitación existe (y bloquear su fila hasta el commit)
+        Habitacion habitacion = habitacionRepository.findByIdParaReservar(reservaRequest.getHabitacionId())
                 .orElseThrow(() -> new EntityNotFoundException("Habitación no encontrada"));
 
         // Validar que el cliente existe
@@ -94,31 +211,66 @@ public class ReservaServiceImpl implements IReservaService {
         // Obtener servicios si se proporcionaron
         Set<Servicio> servicios = new HashSet<>();
         if (reservaRequest.getServiciosIds() != null && !reservaRequest.getServiciosIds().isEmpty()) {
-            servicios = new HashSet<>(servicioRepository.findAllById(reservaRequest.getServiciosIds()));
+            servicios = new HashSet<>(servicioService.getAllById(reservaRequest.getServiciosIds()));
         }
 
         // Calcular número de noches
         LocalDate fechaInicio = LocalDate.parse(reservaRequest.getFechaInicio());
         LocalDate fechaFin = LocalDate.parse(reservaRequest.getFechaFin());
+        validarFechas(habitacion.getId(), fechaInicio, fechaFin, null);
         int numeroNoches = (int) ChronoUnit.DAYS.between(fechaInicio, fechaFin);
 
-        // Calcular precio total
-        double precioTotal = habitacion.getPrecioPorNoche() * numeroNoches;
-        for (Servicio servicio : servicios) {
-            precioTotal += servicio.getPrecio() * numeroNoches;
-        }
+        // Calcular precio total noche por noche segun el calendario de tarifas
+        double precioTotal = tarifaService.cotizar(habitacion, servicios, fechaInicio, fechaFin);
 
         // Crear la reserva
         Reserva reserva = new Reserva();
-        reserva.setFechaInicio(reservaRequest.getFechaInicio());
-        reserva.setFechaFin(reservaRequest.getFechaFin());
+        reserva.setFechaInicio(fechaInicio);
+        reserva.setFechaFin(fechaFin);
         reserva.setNumeroNoches(numeroNoches);
         reserva.setPrecioTotal(precioTotal);
         reserva.setHabitacion(habitacion);
         reserva.setCliente(cliente);
         reserva.setServicios(servicios);
         reserva.setEstado(Reserva.EstadoReserva.PENDIENTE);
+        reserva.setVencimiento(vencimientoService.plazo());
+
+        Reserva guardada = repository.save(reserva);
+        disponibilidadService.registrar(guardada);
+        reporteService.registrar(guardada);
+        vencimientoService.registrar(guardada);
+        return guardada;
+    }
+
+    private void validarFechas(Long habitacionId, LocalDate fechaInicio, LocalDate fechaFin, Long reservaId) {
+        if (!fechaFin.isAfter(fechaInicio)) {
+            throw new IllegalArgumentException("La fecha de fin debe ser posterior a la fecha de inicio");
+        }
+        // El indice descarta rapido los conflictos conocidos; la consulta con la fila bloqueada
+        // cubre lo escrito por otras instancias que este indice todavia no vio
+        if (!disponibilidadService.estaDisponible(habitacionId, fechaInicio, fechaFin, reservaId)
+                || repository.existsSolapamiento(habitacionId, fechaInicio, fechaFin,
+                        Reserva.EstadoReserva.CANCELADA, reservaId)) {
+            throw new IllegalStateException("La habitación no está disponible entre " + fechaInicio + " y " + fechaFin);
+        }
+    }
 
-        return repository.save(reserva);
+    // Solo se serializan las operaciones sobre la misma habitacion. El cerrojo envuelve
+    // la transaccion entera para liberarse recien despues del commit
+    private Reserva bajoCerrojo(Long habitacionId, Supplier<Reserva> operacion) {
+        ReentrantLock cerrojo = cerrojos.para(habitacionId);
+        try {
+            if (!cerrojo.tryLock(ESPERA_CERROJO_SEGUNDOS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("La habitación está siendo reservada por otra operación, intente nuevamente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La operación fue interrumpida");
+        }
+        try {
+            return transactionTemplate.execute(status -> operacion.get());
+        } finally {
+            cerrojo.unlock();
+        }
     }
 }
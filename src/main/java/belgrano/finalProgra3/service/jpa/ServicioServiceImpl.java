@@ -1,13 +1,25 @@
 package belgrano.finalProgra3.service.jpa;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import belgrano.finalProgra3.dto.ResultadoEliminacionDto;
 import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.repository.AsignacionServicioRepository;
+import belgrano.finalProgra3.repository.ReservaRepository;
 import belgrano.finalProgra3.repository.ServicioRepository;
 import belgrano.finalProgra3.service.IServicioService;
+import belgrano.finalProgra3.service.memoria.CacheCatalogo;
+import jakarta.annotation.PostConstruct;
 
 @Service
 
@@ -16,24 +28,101 @@ public class ServicioServiceImpl implements IServicioService {
 	@Autowired
 	private ServicioRepository repositoryServicio;
 
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private AsignacionServicioRepository asignacionRepository;
+
+	@Value("${catalogo.cache.tamanio-maximo:10000}")
+	private int tamanioCache;
+
+	@Value("${catalogo.cache.ttl-segundos:300}")
+	private long ttlCache;
+
+	private CacheCatalogo<Long, Servicio> cache;
+
+	@PostConstruct
+	public void crearCache() {
+		cache = new CacheCatalogo<>("servicio", tamanioCache, ttlCache);
+	}
+
 	@Override
 	public List<Servicio> getAll() {
 		return repositoryServicio.findAll();
 	}
 
+	@Override
+	public List<Servicio> getPagina(Long after, int limit, Boolean disponibilidad) {
+		return repositoryServicio.findPagina(after != null ? after : 0L, disponibilidad, Limit.of(limit));
+	}
+
 	@Override
 	public Servicio getById(Long id) {
-		return repositoryServicio.findById(id).orElse(null);
+		return cache.obtener(id, k -> repositoryServicio.findConEmpleadosById(k).orElse(null));
 	}
 
+	// Mismo criterio que findAllById: los ids inexistentes se ignoran
+	@Override
+	public List<Servicio> getAllById(Collection<Long> ids) {
+		List<Servicio> servicios = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			Servicio servicio = getById(id);
+			if (servicio != null) {
+				servicios.add(servicio);
+			}
+		}
+		return servicios;
+	}
+
+	// Se invalida antes y despues de escribir: la segunda pasada descarta lo que
+	// algun lector haya cargado mientras el cambio todavia no estaba confirmado
 	@Override
 	public Servicio save(Servicio servicio) {
-		return repositoryServicio.save(servicio);
+		if (servicio.getId() != null) {
+			cache.invalidar(servicio.getId());
+		}
+		Servicio guardado = repositoryServicio.save(servicio);
+		Transacciones.alConfirmar(() -> cache.invalidar(guardado.getId()));
+		return guardado;
 	}
 
 	@Override
+	@Transactional
 	public void deleteById(Long id) {
+		String bloqueo = bloqueos(List.of(id)).get(id);
+		if (bloqueo != null) {
+			throw new RuntimeException(bloqueo);
+		}
+		cache.invalidar(id);
 		repositoryServicio.deleteById(id);
+		Transacciones.alConfirmar(() -> cache.invalidar(id));
+	}
+
+	@Override
+	@Transactional
+	public List<ResultadoEliminacionDto> deleteAllById(List<Long> ids) {
+		return Eliminaciones.eliminar(ids, "Servicio", repositoryServicio::findIdsExistentes, this::bloqueos, libres -> {
+			libres.forEach(cache::invalidar);
+			repositoryServicio.eliminarEmpleadosDe(libres);
+			repositoryServicio.eliminarTodos(libres);
+			Transacciones.alConfirmar(() -> libres.forEach(cache::invalidar));
+		});
+	}
+
+	// Los servicios contratados en alguna reserva no se borran: la reserva perderia parte de su precio
+	private Map<Long, String> bloqueos(Collection<Long> ids) {
+		Map<Long, String> bloqueos = new HashMap<>();
+		Eliminaciones.cantidades(reservaRepository.contarPorServicio(ids)).forEach((id, reservas) ->
+				bloqueos.put(id, "No se puede eliminar el servicio porque está incluido en " + reservas + " reserva(s)"));
+		Eliminaciones.cantidades(asignacionRepository.contarPorServicio(ids)).forEach((id, asignaciones) ->
+				bloqueos.putIfAbsent(id, "No se puede eliminar el servicio porque tiene " + asignaciones + " asignación(es) de empleados"));
+		return bloqueos;
+	}
+
+	@Override
+	public Map<String, Object> estadisticasCache() {
+		return cache.estadisticas();
 	}
 
 	@Override
@@ -0,0 +1,268 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import belgrano.finalProgra3.dto.TarifaNocheDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.ReglaTarifa;
+import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.repository.HabitacionRepository;
+import belgrano.finalProgra3.repository.ReglaTarifaRepository;
+import belgrano.finalProgra3.service.IDisponibilidadService;
+import belgrano.finalProgra3.service.ITarifaService;
+import belgrano.finalProgra3.service.memoria.CacheCatalogo;
+import belgrano.finalProgra3.service.memoria.CalendarioTarifas;
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos;
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class TarifaServiceImpl implements ITarifaService {
+
+	private static final int DIAS_PASADOS = 30;
+
+	@Autowired
+	private ReglaTarifaRepository repository;
+
+	@Autowired
+	private HabitacionRepository habitacionRepository;
+
+	@Autowired
+	private IDisponibilidadService disponibilidadService;
+
+	@Value("${tarifas.horizonte-dias:730}")
+	private int horizonteDias;
+
+	@Value("${tarifas.cotizaciones.tamanio-maximo:50000}")
+	private int tamanioCotizaciones;
+
+	@Value("${tarifas.cotizaciones.ttl-segundos:600}")
+	private long ttlCotizaciones;
+
+	private CalendarioTarifas calendario;
+	private CacheCatalogo<ClaveCotizacion, Long> cotizaciones;
+	private volatile Map<String, long[]> habitacionesPorTipo = Map.of();
+	private final CalendarioTarifas.Ocupacion ocupacion = this::porcentajeOcupacion;
+	private final ReentrantLock carga = new ReentrantLock();
+	private volatile boolean cargado;
+
+	@PostConstruct
+	public void crearCalendario() {
+		calendario = new CalendarioTarifas(IndiceIntervalos.dia(LocalDate.now()) - DIAS_PASADOS, DIAS_PASADOS + horizonteDias);
+		cotizaciones = new CacheCatalogo<>("tarifa.cotizacion", tamanioCotizaciones, ttlCotizaciones);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void alIniciar() {
+		asegurarCargado();
+	}
+
+	@Override
+	public List<ReglaTarifa> getAll() {
+		return repository.findAll();
+	}
+
+	@Override
+	public ReglaTarifa getById(Long id) {
+		return repository.findById(id).orElse(null);
+	}
+
+	@Override
+	public ReglaTarifa save(ReglaTarifa regla) {
+		validar(regla);
+		asegurarCargado();
+		cotizaciones.invalidarTodo();
+		ReglaTarifa guardada = repository.save(regla);
+		CalendarioTarifas.Regla compacta = compactar(guardada);
+		Transacciones.alConfirmar(() -> {
+			calendario.aplicar(compacta);
+			cotizaciones.invalidarTodo();
+		});
+		return guardada;
+	}
+
+	@Override
+	public void deleteById(Long id) {
+		asegurarCargado();
+		cotizaciones.invalidarTodo();
+		repository.deleteById(id);
+		Transacciones.alConfirmar(() -> {
+			calendario.quitar(id);
+			cotizaciones.invalidarTodo();
+		});
+	}
+
+	@Override
+	public boolean exists(Long id) {
+		return id != null && repository.existsById(id);
+	}
+
+	// Total de la estadia [desde, hasta) en centavos: noches segun calendario mas servicios por noche
+	@Override
+	public long cotizarCentavos(Habitacion habitacion, Collection<Servicio> servicios, LocalDate desde, LocalDate hasta) {
+		asegurarCargado();
+		int inicio = IndiceIntervalos.dia(desde);
+		int fin = IndiceIntervalos.dia(hasta);
+		long total = calendario.precioNoches(habitacion.getTipo(), centavos(habitacion.getPrecioPorNoche()), inicio, fin, ocupacion);
+		long serviciosPorNoche = 0;
+		for (Servicio servicio : servicios) {
+			serviciosPorNoche += centavos(servicio.getPrecio());
+		}
+		return total + serviciosPorNoche * (fin - inicio);
+	}
+
+	@Override
+	public double cotizar(Habitacion habitacion, Collection<Servicio> servicios, LocalDate desde, LocalDate hasta) {
+		return cotizarCentavos(habitacion, servicios, desde, hasta) / 100.0;
+	}
+
+	// Para rafagas de cotizaciones. La clave lleva el precio base y el de los servicios (no sus ids),
+	// asi un cambio de precio cae en otra clave; los tipos con recargo por ocupacion no se guardan
+	// porque su precio cambia con cada reserva
+	@Override
+	public long cotizarCentavosCacheado(Habitacion habitacion, Collection<Servicio> servicios, LocalDate desde, LocalDate hasta) {
+		asegurarCargado();
+		if (calendario.tieneRecargos(habitacion.getTipo())) {
+			return cotizarCentavos(habitacion, servicios, desde, hasta);
+		}
+		long serviciosPorNoche = 0;
+		for (Servicio servicio : servicios) {
+			serviciosPorNoche += centavos(servicio.getPrecio());
+		}
+		ClaveCotizacion clave = new ClaveCotizacion(habitacion.getTipo(), centavos(habitacion.getPrecioPorNoche()),
+				IndiceIntervalos.dia(desde), IndiceIntervalos.dia(hasta), serviciosPorNoche);
+		return cotizaciones.obtener(clave, k -> calendario.precioNoches(k.tipo(), k.baseCentavos(), k.desde(), k.hasta(), null)
+				+ k.serviciosPorNoche() * (k.hasta() - k.desde()));
+	}
+
+	@Override
+	public Map<String, Object> estadisticasCache() {
+		return cotizaciones.estadisticas();
+	}
+
+	@Override
+	public List<TarifaNocheDto> calendario(Habitacion habitacion, LocalDate desde, LocalDate hasta) {
+		asegurarCargado();
+		long base = centavos(habitacion.getPrecioPorNoche());
+		List<TarifaNocheDto> noches = new ArrayList<>();
+		for (LocalDate fecha = desde; fecha.isBefore(hasta); fecha = fecha.plusDays(1)) {
+			int dia = IndiceIntervalos.dia(fecha);
+			noches.add(new TarifaNocheDto(fecha, calendario.precioNoches(habitacion.getTipo(), base, dia, dia + 1, ocupacion) / 100.0));
+		}
+		return noches;
+	}
+
+	// Las habitaciones por tipo solo se usan para los recargos por ocupacion
+	@Override
+	public void habitacionesActualizadas() {
+		Map<String, List<Long>> agrupadas = new HashMap<>();
+		for (HabitacionRepository.IdYTipo h : habitacionRepository.findIdsYTipos()) {
+			agrupadas.computeIfAbsent(h.getTipo(), k -> new ArrayList<>()).add(h.getId());
+		}
+		Map<String, long[]> porTipo = new HashMap<>();
+		agrupadas.forEach((tipo, ids) -> porTipo.put(tipo, ids.stream().mapToLong(Long::longValue).toArray()));
+		habitacionesPorTipo = porTipo;
+	}
+
+	@Override
+	public void recargar() {
+		carga.lock();
+		try {
+			List<CalendarioTarifas.Regla> reglas = new ArrayList<>();
+			for (ReglaTarifa regla : repository.findAll()) {
+				reglas.add(compactar(regla));
+			}
+			calendario.cargar(reglas);
+			cotizaciones.invalidarTodo();
+			habitacionesActualizadas();
+			cargado = true;
+		} finally {
+			carga.unlock();
+		}
+	}
+
+	private int porcentajeOcupacion(String tipo, int dia) {
+		long[] ids = habitacionesPorTipo.get(tipo);
+		if (ids == null || ids.length == 0) {
+			return 0;
+		}
+		return disponibilidadService.contarOcupadas(ids, dia) * 100 / ids.length;
+	}
+
+	private void validar(ReglaTarifa regla) {
+		if (regla.getFechaInicio() != null && regla.getFechaFin() != null
+				&& !regla.getFechaFin().isAfter(regla.getFechaInicio())) {
+			throw new IllegalArgumentException("La fecha de fin debe ser posterior a la fecha de inicio");
+		}
+		if (regla.getAjuste() == ReglaTarifa.TipoAjuste.PRECIO_FIJO && regla.getValor() < 0) {
+			throw new IllegalArgumentException("El precio fijo debe ser mayor o igual a 0");
+		}
+		if (regla.getAjuste() != ReglaTarifa.TipoAjuste.PRECIO_FIJO && regla.getValor() < -100) {
+			throw new IllegalArgumentException("El porcentaje no puede ser menor a -100");
+		}
+		// El calendario guarda centavos y puntos basicos en int: mas alla de eso el valor desbordaria
+		if (regla.getAjuste() == ReglaTarifa.TipoAjuste.PRECIO_FIJO && centavos(regla.getValor()) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("El precio fijo no puede superar 21474836.47 por noche");
+		}
+		if (regla.getAjuste() != ReglaTarifa.TipoAjuste.PRECIO_FIJO && Math.round(regla.getValor() * 100) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("El porcentaje no puede superar 21474836.47");
+		}
+		if (regla.getAjuste() == ReglaTarifa.TipoAjuste.RECARGO_OCUPACION && regla.getUmbralOcupacion() == null) {
+			throw new IllegalArgumentException("El recargo por ocupacion necesita un umbral de ocupacion");
+		}
+	}
+
+	private static CalendarioTarifas.Regla compactar(ReglaTarifa regla) {
+		int diasSemana = 0;
+		if (regla.getDiasSemana() != null) {
+			for (DayOfWeek dia : regla.getDiasSemana()) {
+				diasSemana |= 1 << (dia.getValue() - 1);
+			}
+		}
+		String tipo = regla.getTipoHabitacion() == null || regla.getTipoHabitacion().isBlank() ? null : regla.getTipoHabitacion();
+		// validar() ya descarta lo que no entra; una fila vieja fuera de rango falla en vez de desbordar
+		int valor = regla.getAjuste() == ReglaTarifa.TipoAjuste.PRECIO_FIJO
+				? Math.toIntExact(centavos(regla.getValor()))
+				: Math.toIntExact(Math.round(regla.getValor() * 100));
+		return new CalendarioTarifas.Regla(regla.getId(), tipo,
+				regla.getFechaInicio() != null ? IndiceIntervalos.dia(regla.getFechaInicio()) : Integer.MIN_VALUE,
+				regla.getFechaFin() != null ? IndiceIntervalos.dia(regla.getFechaFin()) : Integer.MAX_VALUE,
+				diasSemana,
+				CalendarioTarifas.Ajuste.valueOf(regla.getAjuste().name()),
+				valor,
+				regla.getUmbralOcupacion() != null ? regla.getUmbralOcupacion() : 0,
+				regla.getPrioridad());
+	}
+
+	static long centavos(double monto) {
+		return Math.round(monto * 100);
+	}
+
+	private record ClaveCotizacion(String tipo, long baseCentavos, int desde, int hasta, long serviciosPorNoche) {
+	}
+
+	private void asegurarCargado() {
+		if (!cargado) {
+			carga.lock();
+			try {
+				if (!cargado) {
+					recargar();
+				}
+			} finally {
+				carga.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package belgrano.finalProgra3.service.jpa;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class Transacciones {
+
+	private Transacciones() {
+	}
+
+	// Si hay una transaccion en curso el cambio se aplica recien despues del commit,
+	// asi un rollback no deja estado en memoria que la base no tiene
+	static void alConfirmar(Runnable cambio) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cambio.run();
+				}
+			});
+		} else {
+			cambio.run();
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package belgrano.finalProgra3.service.jpa;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.service.IAgendaService;
+import belgrano.finalProgra3.service.IDisponibilidadService;
+import belgrano.finalProgra3.service.IReporteService;
+import belgrano.finalProgra3.service.IVencimientoService;
+import belgrano.finalProgra3.service.memoria.RuedaVencimientos;
+
+/**
+ * Cancela las reservas PENDIENTE que no se confirmaron a tiempo. Los vencimientos
+ * viven en una rueda de tiempos en memoria (se reconstruye desde la base al arrancar)
+ * y cada tic cancela lo vencido en lotes, con un UPDATE por lote.
+ */
+@Service
+public class VencimientoServiceImpl implements IVencimientoService {
+
+	private static final Logger log = LoggerFactory.getLogger(VencimientoServiceImpl.class);
+	private static final long RESOLUCION_MS = 1000;
+	private static final int TAMANIO_LOTE = 500;
+	private static final long REINTENTO_MS = 30_000;
+
+	@Value("${reservas.pendientes.ttl-minutos:30}")
+	private long ttlMinutos;
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+	@Autowired
+	private IDisponibilidadService disponibilidadService;
+	@Autowired
+	private IReporteService reporteService;
+	@Autowired
+	private IAgendaService agendaService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final ReentrantLock carga = new ReentrantLock();
+	// La rueda no es thread-safe: la usan los requests (despues del commit) y el tic
+	private final ReentrantLock cerrojo = new ReentrantLock();
+	private final AtomicLong vencidas = new AtomicLong();
+	private RuedaVencimientos rueda;
+	private volatile boolean cargado;
+	private volatile boolean activo;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void alIniciar() {
+		asegurarCargado();
+	}
+
+	// El tic empieza recien cuando la aplicacion acepta trafico: antes los demas indices
+	// todavia se estan cargando y cancelar los obligaria a cargarse en paralelo
+	@EventListener
+	public void alCambiarDisponibilidad(AvailabilityChangeEvent<ReadinessState> evento) {
+		activo = evento.getState() == ReadinessState.ACCEPTING_TRAFFIC;
+	}
+
+	@Scheduled(fixedDelayString = "${reservas.pendientes.intervalo-ms:1000}")
+	public void alTic() {
+		if (activo) {
+			vencer();
+		}
+	}
+
+	@Override
+	public LocalDateTime plazo() {
+		return LocalDateTime.now().plusMinutes(ttlMinutos);
+	}
+
+	@Override
+	public void registrar(Reserva reserva) {
+		if (reserva.getId() == null) {
+			return;
+		}
+		if (reserva.getEstado() != Reserva.EstadoReserva.PENDIENTE || reserva.getVencimiento() == null) {
+			remover(reserva.getId());
+			return;
+		}
+		long id = reserva.getId();
+		long vence = milisegundos(reserva.getVencimiento());
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> conRueda(r -> r.programar(id, vence)));
+	}
+
+	@Override
+	public void remover(Long reservaId) {
+		asegurarCargado();
+		Transacciones.alConfirmar(() -> conRueda(r -> r.cancelar(reservaId)));
+	}
+
+	@Override
+	public int vencer() {
+		asegurarCargado();
+		List<Long> vencidos = new ArrayList<>();
+		conRueda(r -> r.avanzar(System.currentTimeMillis(), vencidos::add));
+		int canceladas = 0;
+		for (int i = 0; i < vencidos.size(); i += TAMANIO_LOTE) {
+			List<Long> lote = vencidos.subList(i, Math.min(i + TAMANIO_LOTE, vencidos.size()));
+			try {
+				canceladas += transactionTemplate.execute(status -> cancelarVencidas(lote));
+			} catch (RuntimeException e) {
+				log.warn("No se pudieron cancelar {} reservas vencidas, se reintenta en {} s", lote.size(), REINTENTO_MS / 1000, e);
+				long reintento = System.currentTimeMillis() + REINTENTO_MS;
+				conRueda(r -> lote.forEach(id -> r.programar(id, reintento)));
+			}
+		}
+		vencidas.addAndGet(canceladas);
+		return canceladas;
+	}
+
+	// Solo se cancelan las que siguen PENDIENTE y vencidas con la fila bloqueada; la capacidad
+	// liberada se publica en los indices despues del commit
+	private int cancelarVencidas(List<Long> ids) {
+		List<Long> vencidasLote = reservaRepository.findIdsVencidas(ids, Reserva.EstadoReserva.PENDIENTE, LocalDateTime.now());
+		if (vencidasLote.isEmpty()) {
+			return 0;
+		}
+		reservaRepository.cambiarEstado(vencidasLote, Reserva.EstadoReserva.CANCELADA);
+		agendaService.liberarReservas(vencidasLote);
+		for (Long id : vencidasLote) {
+			disponibilidadService.remover(id);
+			reporteService.remover(id);
+		}
+		return vencidasLote.size();
+	}
+
+	@Override
+	public int programadas() {
+		cerrojo.lock();
+		try {
+			return rueda != null ? rueda.tamanio() : 0;
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	@Override
+	public long vencidas() {
+		return vencidas.get();
+	}
+
+	@Override
+	public void recargar() {
+		carga.lock();
+		try {
+			RuedaVencimientos nueva = new RuedaVencimientos(RESOLUCION_MS, System.currentTimeMillis());
+			LocalDateTime plazo = plazo();
+			int sinVencimiento = transactionTemplate.execute(status -> {
+				int fijadas = reservaRepository.fijarVencimientoFaltante(Reserva.EstadoReserva.PENDIENTE, plazo);
+				try (Stream<ReservaRepository.Retencion> retenciones = reservaRepository.streamRetenciones(Reserva.EstadoReserva.PENDIENTE)) {
+					retenciones.forEach(r -> nueva.programar(r.getId(), milisegundos(r.getVencimiento())));
+				}
+				return fijadas;
+			});
+			cerrojo.lock();
+			try {
+				rueda = nueva;
+			} finally {
+				cerrojo.unlock();
+			}
+			cargado = true;
+			log.info("Reservas pendientes con vencimiento: {} ({} sin plazo previo vencen a los {} min)",
+					nueva.tamanio(), sinVencimiento, ttlMinutos);
+		} finally {
+			carga.unlock();
+		}
+	}
+
+	private void conRueda(Consumer<RuedaVencimientos> operacion) {
+		cerrojo.lock();
+		try {
+			operacion.accept(rueda);
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	private static long milisegundos(LocalDateTime momento) {
+		return momento.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	private void asegurarCargado() {
+		if (!cargado) {
+			carga.lock();
+			try {
+				if (!cargado) {
+					recargar();
+				}
+			} finally {
+				carga.unlock();
+			}
+		}
+	}
+}
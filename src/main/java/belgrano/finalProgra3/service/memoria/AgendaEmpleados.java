@@ -0,0 +1,262 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * Agenda en memoria de los empleados, en franjas de 15 minutos.
+ *
+ * Cada dia de un empleado guarda dos mapas de bits de 96 franjas: las horas de
+ * turno (disponible) y las ya asignadas a un servicio (ocupado). Saber si alguien
+ * esta libre en un rango es una mascara contra esos bits, sin ir a la base.
+ * Los dias son inmutables y se reemplazan enteros (copy-on-write), asi las
+ * lecturas no toman cerrojos.
+ */
+public class AgendaEmpleados {
+
+	public static final int MINUTOS_POR_FRANJA = 15;
+	public static final int FRANJAS_POR_DIA = 24 * 60 / MINUTOS_POR_FRANJA;
+	private static final int PALABRAS = (FRANJAS_POR_DIA + 63) / 64;
+
+	// Turno o asignacion de un empleado: franjas [desde, hasta) del dia (epoch day)
+	public record Bloque(long id, long empleadoId, int dia, int desde, int hasta) {
+	}
+
+	private record Clave(long empleadoId, int dia) {
+	}
+
+	private record Dia(List<Bloque> turnos, List<Bloque> asignaciones, long[] disponible, long[] ocupado) {
+
+		static final Dia VACIO = new Dia(List.of(), List.of(), new long[PALABRAS], new long[PALABRAS]);
+
+		Dia conTurnos(List<Bloque> turnos) {
+			return new Dia(turnos, asignaciones, union(turnos), ocupado);
+		}
+
+		Dia conAsignaciones(List<Bloque> asignaciones) {
+			return new Dia(turnos, asignaciones, disponible, union(asignaciones));
+		}
+
+		boolean vacio() {
+			return turnos.isEmpty() && asignaciones.isEmpty();
+		}
+	}
+
+	private final ConcurrentHashMap<Clave, Dia> dias = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Long, Bloque> turnos = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Long, Bloque> asignaciones = new ConcurrentHashMap<>();
+
+	// Reemplaza todo el contenido (carga inicial o reconstruccion)
+	public void cargar(Collection<Bloque> nuevosTurnos, Collection<Bloque> nuevasAsignaciones) {
+		Map<Clave, List<Bloque>> turnosPorDia = agrupar(nuevosTurnos);
+		Map<Clave, List<Bloque>> asignacionesPorDia = agrupar(nuevasAsignaciones);
+		Map<Clave, Dia> nuevos = new HashMap<>();
+		turnosPorDia.forEach((clave, lista) -> nuevos.put(clave, Dia.VACIO.conTurnos(lista)));
+		asignacionesPorDia.forEach((clave, lista) -> nuevos.put(clave, nuevos.getOrDefault(clave, Dia.VACIO).conAsignaciones(lista)));
+		dias.putAll(nuevos);
+		dias.keySet().retainAll(nuevos.keySet());
+		turnos.clear();
+		nuevosTurnos.forEach(t -> turnos.put(t.id(), t));
+		asignaciones.clear();
+		nuevasAsignaciones.forEach(a -> asignaciones.put(a.id(), a));
+	}
+
+	public void agregarTurno(Bloque turno) {
+		quitarTurno(turno.id());
+		turnos.put(turno.id(), turno);
+		dias.compute(clave(turno), (k, dia) -> {
+			Dia actual = dia == null ? Dia.VACIO : dia;
+			return actual.conTurnos(con(actual.turnos(), turno));
+		});
+	}
+
+	public void quitarTurno(long id) {
+		Bloque turno = turnos.remove(id);
+		if (turno != null) {
+			dias.computeIfPresent(clave(turno), (k, dia) -> podar(dia.conTurnos(sin(dia.turnos(), id))));
+		}
+	}
+
+	public void agregarAsignacion(Bloque asignacion) {
+		quitarAsignacion(asignacion.id());
+		asignaciones.put(asignacion.id(), asignacion);
+		dias.compute(clave(asignacion), (k, dia) -> {
+			Dia actual = dia == null ? Dia.VACIO : dia;
+			return actual.conAsignaciones(con(actual.asignaciones(), asignacion));
+		});
+	}
+
+	public void quitarAsignacion(long id) {
+		Bloque asignacion = asignaciones.remove(id);
+		if (asignacion != null) {
+			dias.computeIfPresent(clave(asignacion), (k, dia) -> podar(dia.conAsignaciones(sin(dia.asignaciones(), id))));
+		}
+	}
+
+	/** Bits de las franjas [desde, hasta). */
+	public static long[] mascara(int desde, int hasta) {
+		long[] mascara = new long[PALABRAS];
+		for (int i = 0; i < PALABRAS; i++) {
+			int inicio = Math.max(desde, i * 64) - i * 64;
+			int fin = Math.min(hasta, (i + 1) * 64) - i * 64;
+			if (fin > inicio) {
+				mascara[i] = (fin - inicio == 64 ? -1L : ((1L << (fin - inicio)) - 1)) << inicio;
+			}
+		}
+		return mascara;
+	}
+
+	/** En turno durante toda la mascara y sin nada asignado que la cruce. */
+	public boolean estaLibre(long empleadoId, int dia, long[] mascara) {
+		return estaLibre(empleadoId, dia, mascara, null);
+	}
+
+	// extra: franjas que el llamador ya reservo para el empleado y todavia no estan en la agenda
+	public boolean estaLibre(long empleadoId, int dia, long[] mascara, long[] extra) {
+		Dia actual = dias.get(new Clave(empleadoId, dia));
+		if (actual == null) {
+			return false;
+		}
+		for (int i = 0; i < PALABRAS; i++) {
+			long ocupado = actual.ocupado()[i] | (extra != null ? extra[i] : 0);
+			if ((actual.disponible()[i] & mascara[i]) != mascara[i] || (ocupado & mascara[i]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Franjas ya asignadas en el dia; sirve para repartir la carga entre empleados
+	public int franjasOcupadas(long empleadoId, int dia) {
+		Dia actual = dias.get(new Clave(empleadoId, dia));
+		return actual == null ? 0 : bits(actual.ocupado());
+	}
+
+	/**
+	 * El candidato libre en la mascara con menos franjas ocupadas ese dia (ante empate, el
+	 * primero), o -1 si ninguno esta libre. delLote da lo que el llamador ya tomo para cada
+	 * empleado y todavia no esta en la agenda: cuenta como ocupado y como carga.
+	 */
+	public long menosCargado(long[] candidatos, int dia, long[] mascara, LongFunction<long[]> delLote) {
+		long elegido = -1;
+		int menorCarga = Integer.MAX_VALUE;
+		for (long empleadoId : candidatos) {
+			long[] extra = delLote.apply(empleadoId);
+			if (estaLibre(empleadoId, dia, mascara, extra)) {
+				int carga = franjasOcupadas(empleadoId, dia) + bits(extra);
+				if (carga < menorCarga) {
+					menorCarga = carga;
+					elegido = empleadoId;
+				}
+			}
+		}
+		return elegido;
+	}
+
+	/** Franjas en turno y sin asignar. */
+	public long[] libres(long empleadoId, int dia) {
+		Dia actual = dias.get(new Clave(empleadoId, dia));
+		long[] libres = new long[PALABRAS];
+		if (actual != null) {
+			for (int i = 0; i < PALABRAS; i++) {
+				libres[i] = actual.disponible()[i] & ~actual.ocupado()[i];
+			}
+		}
+		return libres;
+	}
+
+	/** Rangos [desde, hasta) de franjas consecutivas encendidas. */
+	public static List<int[]> tramos(long[] bits) {
+		List<int[]> tramos = new ArrayList<>();
+		int inicio = -1;
+		for (int franja = 0; franja <= FRANJAS_POR_DIA; franja++) {
+			boolean encendida = franja < FRANJAS_POR_DIA && (bits[franja / 64] & (1L << (franja % 64))) != 0;
+			if (encendida && inicio < 0) {
+				inicio = franja;
+			} else if (!encendida && inicio >= 0) {
+				tramos.add(new int[] { inicio, franja });
+				inicio = -1;
+			}
+		}
+		return tramos;
+	}
+
+	/** Franjas [desde, hasta) de un horario; las 00:00 como fin son el final del dia (franja 96). */
+	public static int[] franjas(LocalTime inicio, LocalTime fin) {
+		int desde = franja(inicio);
+		int hasta = fin.equals(LocalTime.MIDNIGHT) ? FRANJAS_POR_DIA : franja(fin);
+		if (hasta <= desde) {
+			throw new IllegalArgumentException("La hora de fin debe ser posterior a la hora de inicio");
+		}
+		return new int[] { desde, hasta };
+	}
+
+	private static int franja(LocalTime hora) {
+		int minutos = hora.getHour() * 60 + hora.getMinute();
+		if (minutos % MINUTOS_POR_FRANJA != 0 || hora.getSecond() != 0 || hora.getNano() != 0) {
+			throw new IllegalArgumentException("Las horas deben ser múltiplos de " + MINUTOS_POR_FRANJA + " minutos");
+		}
+		return minutos / MINUTOS_POR_FRANJA;
+	}
+
+	public static LocalTime hora(int franja) {
+		return LocalTime.MIDNIGHT.plusMinutes((long) franja * MINUTOS_POR_FRANJA);
+	}
+
+	public int cantidadAsignaciones() {
+		return asignaciones.size();
+	}
+
+	private static int bits(long[] palabras) {
+		int total = 0;
+		if (palabras != null) {
+			for (long palabra : palabras) {
+				total += Long.bitCount(palabra);
+			}
+		}
+		return total;
+	}
+
+	private static Clave clave(Bloque bloque) {
+		return new Clave(bloque.empleadoId(), bloque.dia());
+	}
+
+	private static Map<Clave, List<Bloque>> agrupar(Collection<Bloque> bloques) {
+		Map<Clave, List<Bloque>> agrupados = new HashMap<>();
+		for (Bloque bloque : bloques) {
+			agrupados.computeIfAbsent(clave(bloque), k -> new ArrayList<>()).add(bloque);
+		}
+		return agrupados;
+	}
+
+	private static long[] union(List<Bloque> bloques) {
+		long[] bits = new long[PALABRAS];
+		for (Bloque bloque : bloques) {
+			long[] mascara = mascara(bloque.desde(), bloque.hasta());
+			for (int i = 0; i < PALABRAS; i++) {
+				bits[i] |= mascara[i];
+			}
+		}
+		return bits;
+	}
+
+	private static List<Bloque> con(List<Bloque> bloques, Bloque nuevo) {
+		List<Bloque> copia = new ArrayList<>(bloques);
+		copia.add(nuevo);
+		return List.copyOf(copia);
+	}
+
+	private static List<Bloque> sin(List<Bloque> bloques, long id) {
+		return bloques.stream().filter(b -> b.id() != id).toList();
+	}
+
+	private static Dia podar(Dia dia) {
+		return dia.vacio() ? null : dia;
+	}
+}
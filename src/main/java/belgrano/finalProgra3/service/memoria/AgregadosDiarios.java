@@ -0,0 +1,103 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ocupacion e ingresos por dia, por tipo de habitacion y por servicio, mantenidos
+ * incrementalmente. Se guarda el aporte de cada reserva: al modificarla o darla de
+ * baja se resta exactamente lo que se habia sumado, aunque despues hayan cambiado
+ * los precios o el tipo de la habitacion. Aplicar el mismo aporte dos veces no
+ * cuenta doble, asi una reconstruccion puede convivir con altas concurrentes.
+ */
+public class AgregadosDiarios {
+
+	private final ConcurrentHashMap<Long, Aporte> aportes = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, SerieDiaria> ocupadasPorTipo = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, SerieDiaria> ingresosPorTipo = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Long, SerieDiaria> usosPorServicio = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Long, SerieDiaria> ingresosPorServicio = new ConcurrentHashMap<>();
+
+	/**
+	 * Lo que una reserva suma a los agregados. El ingreso de la habitacion se reparte
+	 * en partes iguales entre las noches; el de cada servicio es su precio por noche.
+	 */
+	public record Aporte(long reservaId, String tipo, int inicio, int fin, long ingresoHabitacion,
+			long[] servicioIds, long[] serviciosCentavosPorNoche) {
+	}
+
+	// Alta o modificacion: reemplaza el aporte anterior de la misma reserva
+	public void aplicar(Aporte aporte) {
+		aportes.compute(aporte.reservaId(), (id, anterior) -> {
+			if (anterior != null) {
+				sumar(anterior, -1);
+			}
+			sumar(aporte, 1);
+			return aporte;
+		});
+	}
+
+	public void quitar(long reservaId) {
+		aportes.computeIfPresent(reservaId, (id, anterior) -> {
+			sumar(anterior, -1);
+			return null;
+		});
+	}
+
+	private void sumar(Aporte aporte, int signo) {
+		int noches = aporte.fin() - aporte.inicio();
+		if (noches <= 0) {
+			return;
+		}
+		SerieDiaria ocupadas = ocupadasPorTipo.computeIfAbsent(aporte.tipo(), k -> new SerieDiaria());
+		SerieDiaria ingresos = ingresosPorTipo.computeIfAbsent(aporte.tipo(), k -> new SerieDiaria());
+		long porNoche = aporte.ingresoHabitacion() / noches;
+		long resto = aporte.ingresoHabitacion() % noches;
+		for (int i = 0; i < noches; i++) {
+			int dia = aporte.inicio() + i;
+			ocupadas.sumar(dia, signo);
+			// Los centavos que no se dividen exacto van a las primeras noches
+			ingresos.sumar(dia, signo * (porNoche + (i < resto ? 1 : 0)));
+		}
+		for (int s = 0; s < aporte.servicioIds().length; s++) {
+			SerieDiaria usos = usosPorServicio.computeIfAbsent(aporte.servicioIds()[s], k -> new SerieDiaria());
+			SerieDiaria ingresosServicio = ingresosPorServicio.computeIfAbsent(aporte.servicioIds()[s], k -> new SerieDiaria());
+			for (int dia = aporte.inicio(); dia < aporte.fin(); dia++) {
+				usos.sumar(dia, signo);
+				ingresosServicio.sumar(dia, signo * aporte.serviciosCentavosPorNoche()[s]);
+			}
+		}
+	}
+
+	public long ocupadas(String tipo, int dia) {
+		return valor(ocupadasPorTipo.get(tipo), dia);
+	}
+
+	public long ingresosTipo(String tipo, int dia) {
+		return valor(ingresosPorTipo.get(tipo), dia);
+	}
+
+	public long usosServicio(Long servicioId, int dia) {
+		return valor(usosPorServicio.get(servicioId), dia);
+	}
+
+	public long ingresosServicio(Long servicioId, int dia) {
+		return valor(ingresosPorServicio.get(servicioId), dia);
+	}
+
+	private static long valor(SerieDiaria serie, int dia) {
+		return serie == null ? 0 : serie.valor(dia);
+	}
+
+	public Set<String> tipos() {
+		return ocupadasPorTipo.keySet();
+	}
+
+	public Set<Long> servicios() {
+		return usosPorServicio.keySet();
+	}
+
+	public int cantidadReservas() {
+		return aportes.size();
+	}
+}
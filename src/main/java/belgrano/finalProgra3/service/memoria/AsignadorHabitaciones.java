@@ -0,0 +1,99 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reparte estadias entre habitaciones intercambiables (mismo tipo) dejando la menor
+ * cantidad de noches sueltas.
+ *
+ * Las estadias se recorren por fecha de inicio (las mas largas primero ante empate) y
+ * cada una va a la habitacion libre cuyo hueco mejor la contiene: la que deja menos
+ * noches vacias entre la ocupacion anterior y la siguiente (best fit). Una habitacion
+ * sin vecinos cerca cuenta como el peor hueco, asi las habitaciones vacias quedan para
+ * el final y enteras. Cada habitacion guarda sus rangos ocupados [desde, hasta) sin
+ * solaparse, ordenados por inicio.
+ */
+public class AsignadorHabitaciones {
+
+	// Huecos mas largos que esto dan lo mismo: la noche suelta ya no se vende con la de al lado
+	public static final int HORIZONTE_NOCHES = 30;
+
+	public record Estadia(int indice, int desde, int hasta) {
+	}
+
+	private final long[] habitacionIds;
+	private final List<TreeMap<Integer, Integer>> ocupadas;
+
+	// El orden de habitacionIds desempata: ante el mismo hueco gana la primera
+	public AsignadorHabitaciones(long[] habitacionIds) {
+		this.habitacionIds = habitacionIds;
+		this.ocupadas = new ArrayList<>(habitacionIds.length);
+		for (int i = 0; i < habitacionIds.length; i++) {
+			ocupadas.add(new TreeMap<>());
+		}
+	}
+
+	// Las ocupaciones heredadas pueden solaparse: se funden con los rangos que pisan, asi
+	// cada noche ocupada queda en un solo rango y hueco() puede mirar solo a los vecinos
+	public void ocupar(int habitacion, int desde, int hasta) {
+		TreeMap<Integer, Integer> rangos = ocupadas.get(habitacion);
+		int inicio = desde;
+		int fin = hasta;
+		Map.Entry<Integer, Integer> anterior = rangos.floorEntry(desde);
+		if (anterior != null && anterior.getValue() > desde) {
+			inicio = anterior.getKey();
+		}
+		Map.Entry<Integer, Integer> solapado;
+		while ((solapado = rangos.ceilingEntry(inicio)) != null && solapado.getKey() < fin) {
+			fin = Math.max(fin, solapado.getValue());
+			rangos.remove(solapado.getKey());
+		}
+		rangos.put(inicio, fin);
+	}
+
+	public long habitacionId(int habitacion) {
+		return habitacionIds[habitacion];
+	}
+
+	/** Posicion de la habitacion elegida para cada estadia (por indice), o -1 si no entra en ninguna. */
+	public int[] asignar(List<Estadia> estadias, int cantidadIndices) {
+		int[] asignadas = new int[cantidadIndices];
+		List<Estadia> ordenadas = new ArrayList<>(estadias);
+		ordenadas.sort(Comparator.comparingInt(Estadia::desde)
+				.thenComparing(Comparator.comparingInt((Estadia e) -> e.hasta() - e.desde()).reversed())
+				.thenComparingInt(Estadia::indice));
+		for (Estadia estadia : ordenadas) {
+			int mejor = -1;
+			int menorHueco = Integer.MAX_VALUE;
+			for (int h = 0; h < habitacionIds.length && menorHueco > 0; h++) {
+				int hueco = hueco(ocupadas.get(h), estadia.desde(), estadia.hasta());
+				if (hueco < menorHueco) {
+					menorHueco = hueco;
+					mejor = h;
+				}
+			}
+			asignadas[estadia.indice()] = mejor;
+			if (mejor >= 0) {
+				ocupar(mejor, estadia.desde(), estadia.hasta());
+			}
+		}
+		return asignadas;
+	}
+
+	// Noches vacias que quedan antes y despues de [desde, hasta) en la habitacion, o
+	// MAX_VALUE si esta ocupada. Sin solapes alcanza con mirar el rango anterior y el siguiente
+	private static int hueco(TreeMap<Integer, Integer> rangos, int desde, int hasta) {
+		Map.Entry<Integer, Integer> anterior = rangos.lowerEntry(hasta);
+		if (anterior != null && anterior.getValue() > desde) {
+			return Integer.MAX_VALUE;
+		}
+		Integer siguiente = rangos.ceilingKey(hasta);
+		int antes = anterior != null ? Math.min(desde - anterior.getValue(), HORIZONTE_NOCHES) : HORIZONTE_NOCHES;
+		int despues = siguiente != null ? Math.min(siguiente - hasta, HORIZONTE_NOCHES) : HORIZONTE_NOCHES;
+		return antes + despues;
+	}
+}
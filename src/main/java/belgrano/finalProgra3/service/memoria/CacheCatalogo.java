@@ -0,0 +1,97 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache de lectura (read-through) acotada por tamanio y TTL para datos de catalogo.
+ *
+ * Cada invalidacion incrementa una generacion: una carga que empezo antes de una
+ * escritura no llega a guardar su resultado, asi nunca queda cacheado un valor
+ * que ya fue reemplazado en la base.
+ */
+public class CacheCatalogo<K, V> {
+
+	private final String nombre;
+	private final int tamanioMaximo;
+	private final long ttlNanos;
+	private final ConcurrentHashMap<K, Entrada<V>> entradas = new ConcurrentHashMap<>();
+	private final AtomicLong generacion = new AtomicLong();
+	private final LongAdder aciertos = new LongAdder();
+	private final LongAdder fallos = new LongAdder();
+	private final LongAdder desalojos = new LongAdder();
+
+	public CacheCatalogo(String nombre, int tamanioMaximo, long ttlSegundos) {
+		this.nombre = nombre;
+		this.tamanioMaximo = tamanioMaximo;
+		this.ttlNanos = ttlSegundos * 1_000_000_000L;
+	}
+
+	public V obtener(K clave, Function<K, V> cargador) {
+		Entrada<V> entrada = entradas.get(clave);
+		long ahora = System.nanoTime();
+		if (entrada != null && ahora - entrada.cargadaEn() < ttlNanos) {
+			aciertos.increment();
+			return entrada.valor();
+		}
+		fallos.increment();
+		long generacionAlCargar = generacion.get();
+		V valor = cargador.apply(clave);
+		if (valor != null) {
+			// compute toma el lock de la clave: o ve la generacion nueva o la invalidacion
+			// posterior espera y borra lo que se acaba de guardar
+			entradas.compute(clave, (k, actual) -> generacion.get() == generacionAlCargar
+					? new Entrada<>(valor, ahora)
+					: actual);
+			if (entradas.size() > tamanioMaximo) {
+				desalojar();
+			}
+		}
+		return valor;
+	}
+
+	public void invalidar(K clave) {
+		generacion.incrementAndGet();
+		entradas.remove(clave);
+	}
+
+	public void invalidarTodo() {
+		generacion.incrementAndGet();
+		entradas.clear();
+	}
+
+	// Saca el 10% mas viejo; alcanza con que sea aproximado
+	private void desalojar() {
+		int sobrante = entradas.size() - tamanioMaximo + Math.max(1, tamanioMaximo / 10);
+		entradas.entrySet().stream()
+				.sorted(Comparator.comparingLong(e -> e.getValue().cargadaEn()))
+				.limit(sobrante)
+				.forEach(e -> {
+					if (entradas.remove(e.getKey(), e.getValue())) {
+						desalojos.increment();
+					}
+				});
+	}
+
+	public Map<String, Object> estadisticas() {
+		long hits = aciertos.sum();
+		long misses = fallos.sum();
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("nombre", nombre);
+		stats.put("tamanio", entradas.size());
+		stats.put("tamanioMaximo", tamanioMaximo);
+		stats.put("aciertos", hits);
+		stats.put("fallos", misses);
+		stats.put("desalojos", desalojos.sum());
+		stats.put("tasaAciertos", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+		return stats;
+	}
+
+	private record Entrada<V>(V valor, long cargadaEn) {
+	}
+}
@@ -0,0 +1,294 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Calendario de tarifas por tipo de habitacion, precalculado noche por noche.
+ *
+ * Para cada tipo y cada noche del horizonte se guardan dos enteros: un precio fijo en
+ * centavos (o SIN_FIJO si se usa el precio propio de la habitacion) y un factor en
+ * puntos basicos (10000 = sin ajuste), que al componerse se satura en Integer.MAX_VALUE
+ * en lugar de desbordar. Asi el precio de una estadia sale de un loop
+ * sobre arreglos primitivos, sin crear objetos. Los recargos por ocupacion dependen
+ * de las reservas del momento y se aplican aparte, solo en los tipos que los tienen.
+ *
+ * Cuando cambia una regla se recalculan solamente las noches y los tipos que cubre
+ * (la version anterior y la nueva), sobre copias de los arreglos que se publican al
+ * terminar: los lectores nunca ven un calendario a medio actualizar.
+ */
+public class CalendarioTarifas {
+
+	public static final int SIN_FIJO = -1;
+	public static final int FACTOR_NEUTRO = 10_000;
+
+	private static final Comparator<Regla> ORDEN = Comparator.comparingInt(Regla::prioridad).thenComparingLong(Regla::id);
+
+	private final int diaBase;
+	private final int dias;
+	private final ConcurrentHashMap<String, Calendario> porTipo = new ConcurrentHashMap<>();
+	// Ordenadas por prioridad: las posteriores pisan (fijo) o se componen (porcentaje) sobre las anteriores
+	private volatile Regla[] reglas = new Regla[0];
+	// Serializa solo a los que escriben; las lecturas no lo toman
+	private final ReentrantLock escritura = new ReentrantLock();
+
+	public CalendarioTarifas(int diaBase, int dias) {
+		this.diaBase = diaBase;
+		this.dias = dias;
+	}
+
+	public enum Ajuste {
+		PRECIO_FIJO, PORCENTAJE, RECARGO_OCUPACION
+	}
+
+	/**
+	 * @param tipo       tipo de habitacion, null aplica a todos
+	 * @param inicio     primera noche (epoch day), Integer.MIN_VALUE sin limite
+	 * @param fin        noche siguiente a la ultima, Integer.MAX_VALUE sin limite
+	 * @param diasSemana bit 0 = lunes ... bit 6 = domingo; 0 aplica a todos los dias
+	 * @param valor      centavos para PRECIO_FIJO, puntos basicos para los porcentajes
+	 * @param umbral     porcentaje de ocupacion a partir del cual aplica un RECARGO_OCUPACION
+	 */
+	public record Regla(long id, String tipo, int inicio, int fin, int diasSemana, Ajuste ajuste, int valor,
+			int umbral, int prioridad) {
+
+		boolean cubre(String tipoHabitacion, int dia) {
+			return dia >= inicio && dia < fin
+					&& (tipo == null || tipo.equals(tipoHabitacion))
+					&& (diasSemana == 0 || (diasSemana & (1 << diaDeSemana(dia))) != 0);
+		}
+	}
+
+	// Cuantas habitaciones del tipo estan ocupadas esa noche, en porcentaje
+	@FunctionalInterface
+	public interface Ocupacion {
+		int porcentaje(String tipo, int dia);
+	}
+
+	// 1970-01-01 (dia 0) fue jueves; lunes = 0
+	static int diaDeSemana(int dia) {
+		return Math.floorMod(dia + 3, 7);
+	}
+
+	// Reemplaza todas las reglas y descarta los calendarios armados
+	public void cargar(Collection<Regla> nuevas) {
+		List<Regla> ordenadas = new ArrayList<>(nuevas);
+		ordenadas.sort(ORDEN);
+		escritura.lock();
+		try {
+			reglas = ordenadas.toArray(new Regla[0]);
+			porTipo.clear();
+		} finally {
+			escritura.unlock();
+		}
+	}
+
+	// Alta o modificacion de una regla
+	public void aplicar(Regla nueva) {
+		escritura.lock();
+		try {
+			Regla anterior = buscar(nueva.id());
+			List<Regla> lista = sinRegla(nueva.id());
+			lista.add(nueva);
+			lista.sort(ORDEN);
+			reglas = lista.toArray(new Regla[0]);
+			recalcular(anterior);
+			recalcular(nueva);
+		} finally {
+			escritura.unlock();
+		}
+	}
+
+	public void quitar(long reglaId) {
+		escritura.lock();
+		try {
+			Regla anterior = buscar(reglaId);
+			if (anterior == null) {
+				return;
+			}
+			reglas = sinRegla(reglaId).toArray(new Regla[0]);
+			recalcular(anterior);
+		} finally {
+			escritura.unlock();
+		}
+	}
+
+	private Regla buscar(long reglaId) {
+		for (Regla regla : reglas) {
+			if (regla.id() == reglaId) {
+				return regla;
+			}
+		}
+		return null;
+	}
+
+	private List<Regla> sinRegla(long reglaId) {
+		List<Regla> lista = new ArrayList<>(reglas.length + 1);
+		for (Regla regla : reglas) {
+			if (regla.id() != reglaId) {
+				lista.add(regla);
+			}
+		}
+		return lista;
+	}
+
+	// Rehace solo las noches del horizonte que cubre la regla, en los tipos que alcanza
+	private void recalcular(Regla regla) {
+		if (regla == null) {
+			return;
+		}
+		int desde = Math.max(regla.inicio(), diaBase) - diaBase;
+		int hasta = (int) Math.min((long) regla.fin(), (long) diaBase + dias) - diaBase;
+		Regla[] vigentes = reglas;
+		porTipo.replaceAll((tipo, actual) -> {
+			if (regla.tipo() != null && !regla.tipo().equals(tipo)) {
+				return actual;
+			}
+			int[] fijos = actual.fijos.clone();
+			int[] factores = actual.factores.clone();
+			for (int i = desde; i < hasta; i++) {
+				llenarNoche(vigentes, tipo, i, fijos, factores);
+			}
+			return new Calendario(fijos, factores, recargosDe(vigentes, tipo));
+		});
+	}
+
+	// Un tipo nuevo se arma bajo el cerrojo de escritura, asi no se cruza con una regla que cambia
+	private Calendario calendario(String tipo) {
+		Calendario calendario = porTipo.get(tipo);
+		if (calendario != null) {
+			return calendario;
+		}
+		escritura.lock();
+		try {
+			return porTipo.computeIfAbsent(tipo, this::construir);
+		} finally {
+			escritura.unlock();
+		}
+	}
+
+	private Calendario construir(String tipo) {
+		Regla[] vigentes = reglas;
+		int[] fijos = new int[dias];
+		int[] factores = new int[dias];
+		for (int i = 0; i < dias; i++) {
+			llenarNoche(vigentes, tipo, i, fijos, factores);
+		}
+		return new Calendario(fijos, factores, recargosDe(vigentes, tipo));
+	}
+
+	private void llenarNoche(Regla[] vigentes, String tipo, int i, int[] fijos, int[] factores) {
+		long noche = evaluarNoche(vigentes, tipo, diaBase + i);
+		fijos[i] = (int) (noche >> 32);
+		factores[i] = (int) noche;
+	}
+
+	// Aplica las reglas estaticas en orden; devuelve el fijo en los 32 bits altos y el factor en los bajos
+	private static long evaluarNoche(Regla[] vigentes, String tipo, int dia) {
+		int fijo = SIN_FIJO;
+		long factor = FACTOR_NEUTRO;
+		for (Regla regla : vigentes) {
+			if (regla.ajuste() == Ajuste.RECARGO_OCUPACION || !regla.cubre(tipo, dia)) {
+				continue;
+			}
+			if (regla.ajuste() == Ajuste.PRECIO_FIJO) {
+				fijo = regla.valor();
+				factor = FACTOR_NEUTRO;
+			} else {
+				factor = Math.min(Integer.MAX_VALUE, Math.max(0, factor * (FACTOR_NEUTRO + regla.valor()) / FACTOR_NEUTRO));
+			}
+		}
+		return ((long) fijo << 32) | (factor & 0xFFFFFFFFL);
+	}
+
+	private static Regla[] recargosDe(Regla[] vigentes, String tipo) {
+		List<Regla> recargos = new ArrayList<>();
+		for (Regla regla : vigentes) {
+			if (regla.ajuste() == Ajuste.RECARGO_OCUPACION && (regla.tipo() == null || regla.tipo().equals(tipo))) {
+				recargos.add(regla);
+			}
+		}
+		return recargos.toArray(new Regla[0]);
+	}
+
+	public boolean tieneRecargos(String tipo) {
+		return calendario(tipo).recargos.length > 0;
+	}
+
+	/**
+	 * Precio en centavos de las noches [desde, hasta) para una habitacion del tipo dado
+	 * cuyo precio propio es baseCentavos. Con ocupacion null no se aplican recargos.
+	 */
+	public long precioNoches(String tipo, long baseCentavos, int desde, int hasta, Ocupacion ocupacion) {
+		Calendario calendario = calendario(tipo);
+		Regla[] vigentes = reglas;
+		long total = 0;
+		for (int dia = desde; dia < hasta; dia++) {
+			int i = dia - diaBase;
+			long noche;
+			if (i >= 0 && i < dias) {
+				noche = precioNoche(calendario.fijos[i], calendario.factores[i], baseCentavos);
+			} else {
+				// Fuera del horizonte se evalua la noche al vuelo con las mismas reglas
+				long evaluada = evaluarNoche(vigentes, tipo, dia);
+				noche = precioNoche((int) (evaluada >> 32), (int) evaluada, baseCentavos);
+			}
+			if (ocupacion != null && calendario.recargos.length > 0) {
+				noche = aplicarRecargos(calendario.recargos, tipo, dia, noche, ocupacion);
+			}
+			total += noche;
+		}
+		return total;
+	}
+
+	private static long precioNoche(int fijo, int factor, long baseCentavos) {
+		long precio = fijo == SIN_FIJO ? baseCentavos : fijo;
+		return (precio * factor + FACTOR_NEUTRO / 2) / FACTOR_NEUTRO;
+	}
+
+	private static long aplicarRecargos(Regla[] recargos, String tipo, int dia, long noche, Ocupacion ocupacion) {
+		int porcentaje = -1;
+		long precio = noche;
+		for (Regla regla : recargos) {
+			if (!regla.cubre(tipo, dia)) {
+				continue;
+			}
+			if (porcentaje < 0) {
+				porcentaje = ocupacion.porcentaje(tipo, dia);
+			}
+			if (porcentaje >= regla.umbral()) {
+				precio += (noche * regla.valor() + FACTOR_NEUTRO / 2) / FACTOR_NEUTRO;
+			}
+		}
+		return precio;
+	}
+
+	public int getDiaBase() {
+		return diaBase;
+	}
+
+	public int getDias() {
+		return dias;
+	}
+
+	public int cantidadReglas() {
+		return reglas.length;
+	}
+
+	private static final class Calendario {
+
+		final int[] fijos;
+		final int[] factores;
+		final Regla[] recargos;
+
+		Calendario(int[] fijos, int[] factores, Regla[] recargos) {
+			this.fijos = fijos;
+			this.factores = factores;
+			this.recargos = recargos;
+		}
+	}
+}
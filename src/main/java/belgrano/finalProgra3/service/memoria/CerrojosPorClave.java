@@ -0,0 +1,50 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cerrojos repartidos en franjas fijas (lock striping): dos claves solo compiten
+ * si caen en la misma franja, sin tener que crear ni limpiar un lock por clave.
+ * Se usa ReentrantLock y no synchronized para no fijar hilos virtuales al carrier.
+ */
+public class CerrojosPorClave {
+
+	private final ReentrantLock[] franjas;
+	private final int mascara;
+
+	public CerrojosPorClave(int cantidad) {
+		int tamanio = Integer.highestOneBit(Math.max(1, cantidad - 1)) << 1;
+		this.franjas = new ReentrantLock[tamanio];
+		this.mascara = tamanio - 1;
+		for (int i = 0; i < tamanio; i++) {
+			franjas[i] = new ReentrantLock();
+		}
+	}
+
+	public ReentrantLock para(long clave) {
+		return franjas[franja(clave)];
+	}
+
+	// Cerrojos de varias claves sin repetir y siempre en el mismo orden, para que dos
+	// operaciones que toman varios a la vez no puedan bloquearse mutuamente
+	public List<ReentrantLock> paraTodas(Collection<Long> claves) {
+		TreeSet<Integer> indices = new TreeSet<>();
+		for (Long clave : claves) {
+			indices.add(franja(clave));
+		}
+		List<ReentrantLock> cerrojos = new ArrayList<>(indices.size());
+		for (int indice : indices) {
+			cerrojos.add(franjas[indice]);
+		}
+		return cerrojos;
+	}
+
+	private int franja(long clave) {
+		long h = clave * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mascara;
+	}
+}
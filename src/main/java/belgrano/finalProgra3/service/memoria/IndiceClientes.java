@@ -0,0 +1,371 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import belgrano.finalProgra3.entity.Cliente;
+
+/**
+ * Indice de prefijos en memoria para buscar clientes por nombre, correo o telefono.
+ *
+ * Cada palabra normalizada (sin acentos, en minusculas) apunta a la lista ordenada
+ * de ids que la contienen; una busqueda recorre el rango de palabras que empiezan
+ * con el termino mas selectivo y verifica el resto contra el documento del cliente.
+ * Las listas son inmutables y se reemplazan al modificarse, asi las lecturas no
+ * toman cerrojos.
+ */
+public class IndiceClientes {
+
+	// Tope de clientes que se evaluan por busqueda: acota la latencia con prefijos muy comunes
+	private static final int MAXIMO_EVALUADOS = 1000;
+	private static final Pattern NO_DIGITOS = Pattern.compile("\\D+");
+	private static final Pattern TELEFONO = Pattern.compile("[\\d\\s()+\\-.]+");
+
+	private static final int EXACTO_NOMBRE = 6;
+	private static final int PREFIJO_NOMBRE = 4;
+	private static final int EXACTO_OTRO = 3;
+	private static final int PREFIJO_OTRO = 2;
+
+	private volatile ConcurrentSkipListMap<String, long[]> palabras = new ConcurrentSkipListMap<>();
+	private final ConcurrentHashMap<Long, Documento> documentos = new ConcurrentHashMap<>();
+
+	/** Carga inicial sobre un indice vacio: arma las listas de una vez en lugar de copiarlas por cada cliente. */
+	public void cargar(Iterator<Cliente> clientes) {
+		Map<String, Acumulada> acumuladas = new HashMap<>();
+		while (clientes.hasNext()) {
+			Cliente cliente = clientes.next();
+			Documento documento = documento(cliente);
+			documentos.put(cliente.getId(), documento);
+			for (String palabra : documento.indexadas()) {
+				acumuladas.computeIfAbsent(palabra, p -> new Acumulada()).agregar(cliente.getId());
+			}
+		}
+		TreeMap<String, long[]> ordenadas = new TreeMap<>();
+		acumuladas.forEach((palabra, acumulada) -> {
+			long[] ids = Arrays.copyOf(acumulada.ids, acumulada.cantidad);
+			Arrays.sort(ids);
+			ordenadas.put(palabra, ids);
+		});
+		// Desde un mapa ordenado la skip list se arma en tiempo lineal
+		palabras = new ConcurrentSkipListMap<>(ordenadas);
+	}
+
+	public void registrar(Cliente cliente) {
+		Documento nuevo = documento(cliente);
+		documentos.compute(cliente.getId(), (id, anterior) -> {
+			Set<String> quitar = anterior != null ? new HashSet<>(anterior.indexadas()) : new HashSet<>();
+			quitar.removeAll(nuevo.indexadas());
+			for (String palabra : quitar) {
+				palabras.computeIfPresent(palabra, (p, ids) -> sin(ids, id));
+			}
+			for (String palabra : nuevo.indexadas()) {
+				palabras.merge(palabra, new long[] { id }, (ids, x) -> con(ids, id));
+			}
+			return nuevo;
+		});
+	}
+
+	public void remover(Long id) {
+		documentos.computeIfPresent(id, (k, anterior) -> {
+			for (String palabra : anterior.indexadas()) {
+				palabras.computeIfPresent(palabra, (p, ids) -> sin(ids, k));
+			}
+			return null;
+		});
+	}
+
+	public int tamanio() {
+		return documentos.size();
+	}
+
+	/**
+	 * Clientes en los que cada termino de la consulta es prefijo de alguna palabra,
+	 * ordenados por relevancia: coincidencia exacta antes que prefijo y nombre antes
+	 * que correo o telefono.
+	 */
+	public List<Cliente> buscar(String consulta, int limite) {
+		List<String> terminos = terminos(consulta);
+		if (terminos.isEmpty() || limite <= 0) {
+			return List.of();
+		}
+		// Guia la busqueda el termino con menos candidatos; los que no aparecen en el
+		// indice (dominio del correo, numeros sueltos) solo se verifican
+		String guia = null;
+		long menor = Long.MAX_VALUE;
+		for (String termino : terminos) {
+			long estimados = estimar(termino, menor);
+			if (estimados > 0 && estimados < menor) {
+				menor = estimados;
+				guia = termino;
+			}
+		}
+		if (guia == null) {
+			return List.of();
+		}
+
+		List<Resultado> resultados = new ArrayList<>();
+		Set<Long> vistos = new HashSet<>();
+		int evaluados = 0;
+		int maximo = puntajeMaximo(terminos);
+		int conMaximo = 0;
+		// Primero la palabra exacta, despues el resto del rango de prefijos. Pasada la exacta
+		// el termino guia ya no puede sumar como exacto, asi que el techo baja; con suficientes
+		// clientes en el techo no queda nadie mejor por evaluar
+		for (Map.Entry<String, long[]> entrada : palabras.tailMap(guia, true).entrySet()) {
+			if (!entrada.getKey().startsWith(guia) || evaluados >= MAXIMO_EVALUADOS || conMaximo >= limite) {
+				break;
+			}
+			if (!entrada.getKey().equals(guia)) {
+				int techo = maximo - (esNumero(guia) ? EXACTO_OTRO - PREFIJO_OTRO : EXACTO_NOMBRE - PREFIJO_NOMBRE);
+				if (techo < maximo) {
+					maximo = techo;
+					conMaximo = 0;
+					for (Resultado r : resultados) {
+						conMaximo += r.puntaje() >= maximo ? 1 : 0;
+					}
+				}
+			}
+			for (long id : entrada.getValue()) {
+				if (evaluados >= MAXIMO_EVALUADOS || conMaximo >= limite) {
+					break;
+				}
+				if (!vistos.add(id)) {
+					continue;
+				}
+				evaluados++;
+				Documento documento = documentos.get(id);
+				int puntaje = documento != null ? documento.puntaje(terminos) : -1;
+				if (puntaje >= 0) {
+					resultados.add(new Resultado(documento.cliente(), puntaje));
+					conMaximo += puntaje >= maximo ? 1 : 0;
+				}
+			}
+		}
+		resultados.sort(Comparator.comparingInt(Resultado::puntaje).reversed()
+				.thenComparingInt(r -> r.cliente().getNombre().length())
+				.thenComparing(r -> r.cliente().getId()));
+		List<Cliente> clientes = new ArrayList<>(Math.min(limite, resultados.size()));
+		for (int i = 0; i < resultados.size() && i < limite; i++) {
+			clientes.add(resultados.get(i).cliente());
+		}
+		return clientes;
+	}
+
+	// Lo mas que puede sumar un cliente: los numeros solo coinciden con telefono o correo
+	private static int puntajeMaximo(List<String> terminos) {
+		int maximo = 0;
+		for (String termino : terminos) {
+			maximo += esNumero(termino) ? EXACTO_OTRO : EXACTO_NOMBRE;
+		}
+		return maximo;
+	}
+
+	private static boolean esNumero(String palabra) {
+		return !palabra.isEmpty() && palabra.chars().allMatch(Character::isDigit);
+	}
+
+	private long estimar(String termino, long cota) {
+		long total = 0;
+		for (Map.Entry<String, long[]> entrada : palabras.tailMap(termino, true).entrySet()) {
+			if (!entrada.getKey().startsWith(termino)) {
+				break;
+			}
+			total += entrada.getValue().length;
+			if (total >= cota || total >= MAXIMO_EVALUADOS) {
+				break;
+			}
+		}
+		return total;
+	}
+
+	/** Minusculas y sin acentos; todo lo que no es letra o digito separa palabras. */
+	public static String normalizar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		StringBuilder normalizado = new StringBuilder(texto.length());
+		boolean separar = false;
+		for (int i = 0; i < texto.length(); i++) {
+			char c = texto.charAt(i);
+			// Solo los caracteres fuera de ASCII pasan por la descomposicion NFD
+			String partes = c < 128 ? null : Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+			for (int j = 0; j < (partes == null ? 1 : partes.length()); j++) {
+				char parte = partes == null ? c : partes.charAt(j);
+				if (Character.getType(parte) == Character.NON_SPACING_MARK) {
+					continue;
+				}
+				if (Character.isLetterOrDigit(parte)) {
+					if (separar && normalizado.length() > 0) {
+						normalizado.append(' ');
+					}
+					normalizado.append(Character.toLowerCase(parte));
+					separar = false;
+				} else {
+					separar = true;
+				}
+			}
+		}
+		return normalizado.toString();
+	}
+
+	// Una consulta con forma de telefono se busca como un solo numero
+	private static List<String> terminos(String consulta) {
+		if (consulta == null || consulta.isBlank()) {
+			return List.of();
+		}
+		if (TELEFONO.matcher(consulta).matches()) {
+			String digitos = soloDigitos(consulta);
+			if (digitos.length() >= 3) {
+				return List.of(digitos);
+			}
+		}
+		String normalizada = normalizar(consulta);
+		if (normalizada.isEmpty()) {
+			return List.of();
+		}
+		return new ArrayList<>(new LinkedHashSet<>(Arrays.asList(normalizada.split(" "))));
+	}
+
+	private static Documento documento(Cliente cliente) {
+		Cliente copia = new Cliente(cliente.getId(), cliente.getNombre(), cliente.getDireccion(),
+				cliente.getTelefono(), cliente.getCorreoElectronico());
+		String[] nombre = partir(normalizar(cliente.getNombre()));
+		String correoCompleto = cliente.getCorreoElectronico() != null ? cliente.getCorreoElectronico() : "";
+		int arroba = correoCompleto.indexOf('@');
+		String[] usuario = partir(normalizar(arroba >= 0 ? correoCompleto.substring(0, arroba) : correoCompleto));
+		String[] dominio = partir(normalizar(arroba >= 0 ? correoCompleto.substring(arroba + 1) : ""));
+		String[] telefono = telefonos(cliente.getTelefono());
+		return new Documento(copia, nombre, usuario, dominio, telefono);
+	}
+
+	// El numero completo y sus colas por grupo: "011-4555-0101" tambien se encuentra por "45550101" y "0101"
+	private static String[] telefonos(String telefono) {
+		if (telefono == null) {
+			return new String[0];
+		}
+		String[] grupos = NO_DIGITOS.split(telefono);
+		Set<String> numeros = new LinkedHashSet<>();
+		StringBuilder cola = new StringBuilder();
+		for (int i = grupos.length - 1; i >= 0; i--) {
+			cola.insert(0, grupos[i]);
+			if (cola.length() > 0) {
+				numeros.add(cola.toString());
+			}
+		}
+		return numeros.toArray(new String[0]);
+	}
+
+	private static String soloDigitos(String texto) {
+		StringBuilder digitos = new StringBuilder(texto.length());
+		for (int i = 0; i < texto.length(); i++) {
+			if (Character.isDigit(texto.charAt(i))) {
+				digitos.append(texto.charAt(i));
+			}
+		}
+		return digitos.toString();
+	}
+
+	private static String[] partir(String normalizado) {
+		return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+	}
+
+	private static long[] con(long[] ids, long id) {
+		int i = Arrays.binarySearch(ids, id);
+		if (i >= 0) {
+			return ids;
+		}
+		int pos = -i - 1;
+		long[] nuevos = new long[ids.length + 1];
+		System.arraycopy(ids, 0, nuevos, 0, pos);
+		nuevos[pos] = id;
+		System.arraycopy(ids, pos, nuevos, pos + 1, ids.length - pos);
+		return nuevos;
+	}
+
+	// null borra la palabra del mapa cuando se queda sin clientes
+	private static long[] sin(long[] ids, long id) {
+		int i = Arrays.binarySearch(ids, id);
+		if (i < 0) {
+			return ids;
+		}
+		if (ids.length == 1) {
+			return null;
+		}
+		long[] nuevos = new long[ids.length - 1];
+		System.arraycopy(ids, 0, nuevos, 0, i);
+		System.arraycopy(ids, i + 1, nuevos, i, ids.length - i - 1);
+		return nuevos;
+	}
+
+	private record Documento(Cliente cliente, String[] nombre, String[] usuario, String[] dominio, String[] telefono) {
+
+		// Los numeros sueltos del correo y su dominio no se indexan: casi todos los clientes los comparten
+		Set<String> indexadas() {
+			Set<String> palabras = new HashSet<>(Arrays.asList(nombre));
+			for (String palabra : usuario) {
+				if (!esNumero(palabra)) {
+					palabras.add(palabra);
+				}
+			}
+			palabras.addAll(Arrays.asList(telefono));
+			return palabras;
+		}
+
+		// -1 si algun termino no coincide con ninguna palabra del cliente
+		int puntaje(List<String> terminos) {
+			int total = 0;
+			for (String termino : terminos) {
+				int mejor = Math.max(coincidencia(nombre, termino, EXACTO_NOMBRE, PREFIJO_NOMBRE),
+						Math.max(coincidencia(usuario, termino, EXACTO_OTRO, PREFIJO_OTRO),
+								Math.max(coincidencia(telefono, termino, EXACTO_OTRO, PREFIJO_OTRO),
+										coincidencia(dominio, termino, PREFIJO_OTRO - 1, PREFIJO_OTRO - 1))));
+				if (mejor == 0) {
+					return -1;
+				}
+				total += mejor;
+			}
+			return total;
+		}
+
+		private static int coincidencia(String[] palabras, String termino, int exacto, int prefijo) {
+			int mejor = 0;
+			for (String palabra : palabras) {
+				if (palabra.equals(termino)) {
+					return exacto;
+				}
+				if (palabra.startsWith(termino)) {
+					mejor = prefijo;
+				}
+			}
+			return mejor;
+		}
+	}
+
+	private record Resultado(Cliente cliente, int puntaje) {
+	}
+
+	private static final class Acumulada {
+		long[] ids = new long[4];
+		int cantidad;
+
+		void agregar(long id) {
+			if (cantidad == ids.length) {
+				ids = Arrays.copyOf(ids, cantidad * 2);
+			}
+			ids[cantidad++] = id;
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indice en memoria de los rangos de fechas ocupados por habitacion.
+ * Cada rango es semiabierto [inicio, fin): la noche del checkout queda libre.
+ * Las lecturas no bloquean: cada habitacion publica un snapshot inmutable
+ * que se reemplaza entero (copy-on-write) en cada alta o baja.
+ */
+public class IndiceIntervalos {
+
+	private final ConcurrentHashMap<Long, Intervalos> porHabitacion = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Long, Long> habitacionPorReserva = new ConcurrentHashMap<>();
+
+	public static int dia(LocalDate fecha) {
+		return (int) fecha.toEpochDay();
+	}
+
+	// Reemplaza todo el contenido del indice (carga inicial o reconstruccion)
+	public void cargar(Collection<Ocupacion> ocupaciones) {
+		Map<Long, List<Ocupacion>> agrupadas = new HashMap<>();
+		for (Ocupacion o : ocupaciones) {
+			agrupadas.computeIfAbsent(o.habitacionId(), k -> new ArrayList<>()).add(o);
+		}
+		// Se pisan las entradas en lugar de vaciar el mapa, asi las lecturas concurrentes
+		// nunca ven el indice vacio durante una reconstruccion
+		Map<Long, Long> reservas = new HashMap<>();
+		agrupadas.forEach((habitacionId, lista) -> {
+			porHabitacion.put(habitacionId, Intervalos.de(lista));
+			lista.forEach(o -> reservas.put(o.reservaId(), habitacionId));
+		});
+		porHabitacion.keySet().retainAll(agrupadas.keySet());
+		habitacionPorReserva.putAll(reservas);
+		habitacionPorReserva.keySet().retainAll(reservas.keySet());
+	}
+
+	// Alta o modificacion: si la reserva ya estaba (incluso en otra habitacion) se reubica.
+	// Devuelve la ocupacion que reemplazo, o null si es nueva
+	public Ocupacion registrar(Ocupacion ocupacion) {
+		Long anterior = habitacionPorReserva.put(ocupacion.reservaId(), ocupacion.habitacionId());
+		Ocupacion[] reemplazada = new Ocupacion[1];
+		if (anterior != null && !anterior.equals(ocupacion.habitacionId())) {
+			reemplazada[0] = quitar(anterior, ocupacion.reservaId());
+		}
+		porHabitacion.compute(ocupacion.habitacionId(), (k, actual) -> {
+			Intervalos previos = actual == null ? Intervalos.VACIO : actual;
+			Ocupacion enEsta = previos.buscar(k, ocupacion.reservaId());
+			if (enEsta != null) {
+				reemplazada[0] = enEsta;
+			}
+			return previos.sin(ocupacion.reservaId()).con(ocupacion);
+		});
+		return reemplazada[0];
+	}
+
+	// Devuelve la ocupacion quitada (las noches que quedaron libres), o null si no estaba
+	public Ocupacion remover(Long reservaId) {
+		Long habitacionId = habitacionPorReserva.remove(reservaId);
+		return habitacionId != null ? quitar(habitacionId, reservaId) : null;
+	}
+
+	private Ocupacion quitar(Long habitacionId, Long reservaId) {
+		Ocupacion[] quitada = new Ocupacion[1];
+		porHabitacion.computeIfPresent(habitacionId, (k, actual) -> {
+			quitada[0] = actual.buscar(k, reservaId);
+			Intervalos resto = actual.sin(reservaId);
+			return resto.tamanio() == 0 ? null : resto;
+		});
+		return quitada[0];
+	}
+
+	public boolean estaLibre(Long habitacionId, int desde, int hasta) {
+		return estaLibre(habitacionId, desde, hasta, null);
+	}
+
+	// Igual que estaLibre pero ignorando una reserva (para validar la modificacion de si misma)
+	public boolean estaLibre(Long habitacionId, int desde, int hasta, Long reservaIgnorada) {
+		Intervalos intervalos = porHabitacion.get(habitacionId);
+		return intervalos == null || !intervalos.solapa(desde, hasta, reservaIgnorada);
+	}
+
+	// Rangos de la habitacion que se cruzan con [desde, hasta)
+	public List<Ocupacion> solapadas(Long habitacionId, int desde, int hasta) {
+		Intervalos intervalos = porHabitacion.get(habitacionId);
+		return intervalos == null ? List.of() : intervalos.solapadas(habitacionId, desde, hasta);
+	}
+
+	public int cantidadReservas() {
+		return habitacionPorReserva.size();
+	}
+
+	public record Ocupacion(Long reservaId, Long habitacionId, int inicio, int fin) {
+	}
+
+	/**
+	 * Snapshot inmutable ordenado por inicio. maxFin[i] guarda el mayor fin entre
+	 * los intervalos 0..i, asi una sola busqueda binaria alcanza para saber si hay
+	 * solapamiento aun cuando existan intervalos superpuestos heredados.
+	 */
+	private static final class Intervalos {
+
+		static final Intervalos VACIO = new Intervalos(new long[0], new int[0], new int[0]);
+
+		final long[] reservaIds;
+		final int[] inicios;
+		final int[] fines;
+		final int[] maxFin;
+
+		private Intervalos(long[] reservaIds, int[] inicios, int[] fines) {
+			this.reservaIds = reservaIds;
+			this.inicios = inicios;
+			this.fines = fines;
+			this.maxFin = new int[fines.length];
+			int max = Integer.MIN_VALUE;
+			for (int i = 0; i < fines.length; i++) {
+				max = Math.max(max, fines[i]);
+				maxFin[i] = max;
+			}
+		}
+
+		static Intervalos de(List<Ocupacion> lista) {
+			lista.sort((a, b) -> Integer.compare(a.inicio(), b.inicio()));
+			int n = lista.size();
+			long[] ids = new long[n];
+			int[] inicios = new int[n];
+			int[] fines = new int[n];
+			for (int i = 0; i < n; i++) {
+				Ocupacion o = lista.get(i);
+				ids[i] = o.reservaId();
+				inicios[i] = o.inicio();
+				fines[i] = o.fin();
+			}
+			return new Intervalos(ids, inicios, fines);
+		}
+
+		int tamanio() {
+			return inicios.length;
+		}
+
+		// Cantidad de intervalos cuyo inicio es menor a "hasta"
+		private int cantidadQueEmpiezanAntesDe(int hasta) {
+			int bajo = 0;
+			int alto = inicios.length;
+			while (bajo < alto) {
+				int medio = (bajo + alto) >>> 1;
+				if (inicios[medio] < hasta) {
+					bajo = medio + 1;
+				} else {
+					alto = medio;
+				}
+			}
+			return bajo;
+		}
+
+		boolean solapa(int desde, int hasta, Long reservaIgnorada) {
+			int n = cantidadQueEmpiezanAntesDe(hasta);
+			if (n == 0 || maxFin[n - 1] <= desde) {
+				return false;
+			}
+			if (reservaIgnorada == null) {
+				return true;
+			}
+			// Caso poco frecuente: recorrer los candidatos saltando la reserva ignorada
+			for (int i = n - 1; i >= 0 && maxFin[i] > desde; i--) {
+				if (fines[i] > desde && reservaIds[i] != reservaIgnorada) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		List<Ocupacion> solapadas(Long habitacionId, int desde, int hasta) {
+			List<Ocupacion> solapadas = new ArrayList<>();
+			for (int i = cantidadQueEmpiezanAntesDe(hasta) - 1; i >= 0 && maxFin[i] > desde; i--) {
+				if (fines[i] > desde) {
+					solapadas.add(new Ocupacion(reservaIds[i], habitacionId, inicios[i], fines[i]));
+				}
+			}
+			return solapadas;
+		}
+
+		Intervalos con(Ocupacion o) {
+			int n = inicios.length;
+			int pos = cantidadQueEmpiezanAntesDe(o.inicio());
+			long[] ids = new long[n + 1];
+			int[] nuevosInicios = new int[n + 1];
+			int[] nuevosFines = new int[n + 1];
+			System.arraycopy(reservaIds, 0, ids, 0, pos);
+			System.arraycopy(inicios, 0, nuevosInicios, 0, pos);
+			System.arraycopy(fines, 0, nuevosFines, 0, pos);
+			ids[pos] = o.reservaId();
+			nuevosInicios[pos] = o.inicio();
+			nuevosFines[pos] = o.fin();
+			System.arraycopy(reservaIds, pos, ids, pos + 1, n - pos);
+			System.arraycopy(inicios, pos, nuevosInicios, pos + 1, n - pos);
+			System.arraycopy(fines, pos, nuevosFines, pos + 1, n - pos);
+			return new Intervalos(ids, nuevosInicios, nuevosFines);
+		}
+
+		Ocupacion buscar(Long habitacionId, long reservaId) {
+			int pos = posicion(reservaId);
+			return pos < 0 ? null : new Ocupacion(reservaId, habitacionId, inicios[pos], fines[pos]);
+		}
+
+		private int posicion(long reservaId) {
+			for (int i = 0; i < reservaIds.length; i++) {
+				if (reservaIds[i] == reservaId) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		Intervalos sin(long reservaId) {
+			int n = reservaIds.length;
+			int pos = posicion(reservaId);
+			if (pos < 0) {
+				return this;
+			}
+			long[] ids = new long[n - 1];
+			int[] nuevosInicios = new int[n - 1];
+			int[] nuevosFines = new int[n - 1];
+			System.arraycopy(reservaIds, 0, ids, 0, pos);
+			System.arraycopy(inicios, 0, nuevosInicios, 0, pos);
+			System.arraycopy(fines, 0, nuevosFines, 0, pos);
+			System.arraycopy(reservaIds, pos + 1, ids, pos, n - pos - 1);
+			System.arraycopy(inicios, pos + 1, nuevosInicios, pos, n - pos - 1);
+			System.arraycopy(fines, pos + 1, nuevosFines, pos, n - pos - 1);
+			return new Intervalos(ids, nuevosInicios, nuevosFines);
+		}
+	}
+}
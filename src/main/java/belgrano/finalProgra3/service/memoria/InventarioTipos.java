@@ -0,0 +1,114 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inventario por tipo de habitacion y noche: cuantas habitaciones habilitadas hay de
+ * cada tipo y cuantas estan vendidas cada noche. Las vendidas son contadores atomicos
+ * (SerieDiaria), asi consultar y vender no toman locks. Se guardan las noches de cada
+ * reserva: al moverla o darla de baja se resta exactamente lo sumado, y aplicar dos
+ * veces el mismo cambio no cuenta doble. Las reservas de habitaciones que no estan
+ * habilitadas no cuentan.
+ */
+public class InventarioTipos {
+
+	public record Noches(String tipo, int desde, int hasta) {
+	}
+
+	private final Map<Long, String> tipoPorHabitacion;
+	private final Map<String, Integer> habitaciones;
+	private final Map<String, SerieDiaria> vendidas = new HashMap<>();
+	private final ConcurrentHashMap<Long, Noches> porReserva = new ConcurrentHashMap<>();
+
+	// Las habitaciones habilitadas quedan fijas: si cambian se arma otro inventario
+	public InventarioTipos(Map<Long, String> tipoPorHabitacion) {
+		this.tipoPorHabitacion = Map.copyOf(tipoPorHabitacion);
+		Map<String, Integer> porTipo = new HashMap<>();
+		tipoPorHabitacion.values().forEach(tipo -> porTipo.merge(tipo, 1, Integer::sum));
+		this.habitaciones = Map.copyOf(porTipo);
+		habitaciones.keySet().forEach(tipo -> vendidas.put(tipo, new SerieDiaria()));
+	}
+
+	// Alta o modificacion: reemplaza las noches anteriores de la misma reserva
+	public void aplicar(IndiceIntervalos.Ocupacion ocupacion) {
+		String tipo = tipoPorHabitacion.get(ocupacion.habitacionId());
+		if (tipo == null) {
+			quitar(ocupacion.reservaId());
+			return;
+		}
+		Noches noches = new Noches(tipo, ocupacion.inicio(), ocupacion.fin());
+		porReserva.compute(ocupacion.reservaId(), (id, anteriores) -> {
+			if (anteriores != null) {
+				sumar(anteriores, -1);
+			}
+			sumar(noches, 1);
+			return noches;
+		});
+	}
+
+	public void quitar(long reservaId) {
+		porReserva.computeIfPresent(reservaId, (id, anteriores) -> {
+			sumar(anteriores, -1);
+			return null;
+		});
+	}
+
+	private void sumar(Noches noches, int signo) {
+		SerieDiaria serie = vendidas.get(noches.tipo());
+		for (int dia = noches.desde(); dia < noches.hasta(); dia++) {
+			serie.sumar(dia, signo);
+		}
+	}
+
+	public Set<String> tipos() {
+		return habitaciones.keySet();
+	}
+
+	public int habitaciones(String tipo) {
+		return habitaciones.getOrDefault(tipo, 0);
+	}
+
+	public int vendidas(String tipo, int dia) {
+		SerieDiaria serie = vendidas.get(tipo);
+		return serie == null ? 0 : (int) serie.valor(dia);
+	}
+
+	public int libres(String tipo, int dia) {
+		return Math.max(0, habitaciones(tipo) - vendidas(tipo, dia));
+	}
+
+	/** Habitaciones del tipo libres todas las noches [desde, hasta) a nivel de conteo; 0 si el tipo no existe. */
+	public int minimoLibres(String tipo, int desde, int hasta) {
+		if (!habitaciones.containsKey(tipo)) {
+			return 0;
+		}
+		int minimo = habitaciones(tipo);
+		for (int dia = desde; dia < hasta && minimo > 0; dia++) {
+			minimo = Math.min(minimo, libres(tipo, dia));
+		}
+		return minimo;
+	}
+
+	/** Celdas tipo x noche de [desde, hasta) cuyas vendidas no coinciden con las de otro inventario. */
+	public int diferencias(InventarioTipos otro, int desde, int hasta) {
+		Set<String> todos = new HashSet<>(tipos());
+		todos.addAll(otro.tipos());
+		int distintas = 0;
+		for (String tipo : todos) {
+			for (int dia = desde; dia < hasta; dia++) {
+				if (vendidas(tipo, dia) != otro.vendidas(tipo, dia)) {
+					distintas++;
+				}
+			}
+		}
+		return distintas;
+	}
+
+	public int cantidadReservas() {
+		return porReserva.size();
+	}
+}
@@ -0,0 +1,86 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Solicitudes en lista de espera indexadas por tipo de habitacion y noche.
+ *
+ * Cada solicitud queda anotada en cada noche que necesita, en un conjunto ordenado
+ * por id: como el id crece con el tiempo, la primera de cada noche es la que espera
+ * hace mas. Al liberarse noches de una habitacion solo se miran las solicitudes de
+ * su tipo que tocan esas noches, sin recorrer la lista entera.
+ * No es thread-safe, el llamador sincroniza.
+ */
+public class ListaEspera {
+
+	// Noches [desde, hasta) en epoch day, igual que IndiceIntervalos
+	public record Solicitud(long id, String tipo, int desde, int hasta) {
+	}
+
+	private final Map<Long, Solicitud> porId = new HashMap<>();
+	private final Map<String, TreeMap<Integer, TreeSet<Long>>> porTipoYNoche = new HashMap<>();
+
+	// Reemplaza todo el contenido (carga inicial o reconstruccion)
+	public void cargar(Collection<Solicitud> solicitudes) {
+		porId.clear();
+		porTipoYNoche.clear();
+		solicitudes.forEach(this::agregar);
+	}
+
+	public void agregar(Solicitud solicitud) {
+		quitar(solicitud.id());
+		porId.put(solicitud.id(), solicitud);
+		TreeMap<Integer, TreeSet<Long>> noches = porTipoYNoche.computeIfAbsent(solicitud.tipo(), k -> new TreeMap<>());
+		for (int noche = solicitud.desde(); noche < solicitud.hasta(); noche++) {
+			noches.computeIfAbsent(noche, k -> new TreeSet<>()).add(solicitud.id());
+		}
+	}
+
+	public Solicitud quitar(long id) {
+		Solicitud solicitud = porId.remove(id);
+		if (solicitud == null) {
+			return null;
+		}
+		TreeMap<Integer, TreeSet<Long>> noches = porTipoYNoche.get(solicitud.tipo());
+		for (int noche = solicitud.desde(); noche < solicitud.hasta(); noche++) {
+			TreeSet<Long> ids = noches.get(noche);
+			if (ids != null && ids.remove(id) && ids.isEmpty()) {
+				noches.remove(noche);
+			}
+		}
+		if (noches.isEmpty()) {
+			porTipoYNoche.remove(solicitud.tipo());
+		}
+		return solicitud;
+	}
+
+	/** Las del tipo que necesitan alguna noche de [desde, hasta), de la mas vieja a la mas nueva. */
+	public List<Solicitud> candidatas(String tipo, int desde, int hasta) {
+		TreeMap<Integer, TreeSet<Long>> noches = porTipoYNoche.get(tipo);
+		if (noches == null || desde >= hasta) {
+			return List.of();
+		}
+		TreeSet<Long> ids = new TreeSet<>();
+		for (TreeSet<Long> enNoche : noches.subMap(desde, hasta).values()) {
+			ids.addAll(enNoche);
+		}
+		List<Solicitud> candidatas = new ArrayList<>(ids.size());
+		ids.forEach(id -> candidatas.add(porId.get(id)));
+		return candidatas;
+	}
+
+	// Las que empiezan antes del dia ya no se pueden cumplir
+	public List<Solicitud> anterioresA(int dia) {
+		return porId.values().stream().filter(s -> s.desde() < dia).toList();
+	}
+
+	public int tamanio() {
+		return porId.size();
+	}
+}
@@ -0,0 +1,127 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Rueda de tiempos jerarquica para vencimientos: 4 niveles de 64 casilleros.
+ *
+ * Programar y cancelar son O(1) y cada tic recorre solo el casillero que toca. Cuando
+ * un nivel da la vuelta, el casillero que corresponde del nivel de arriba baja
+ * (cascada) y sus entradas se reubican por lo que les falta. Con tics de un segundo
+ * el ultimo nivel llega a 194 dias; lo que vence despues se reubica en cada cascada.
+ * Cancelar solo saca el id de los vigentes: la entrada vieja se descarta al llegar.
+ * No es thread-safe, el llamador sincroniza.
+ */
+public class RuedaVencimientos {
+
+	private static final int BITS = 6;
+	private static final int CASILLEROS = 1 << BITS;
+	private static final int MASCARA = CASILLEROS - 1;
+	private static final int NIVELES = 4;
+
+	private final long resolucionMs;
+	private final Casillero[][] niveles = new Casillero[NIVELES][CASILLEROS];
+	// Tic de vencimiento vigente de cada id; una entrada con otro tic quedo vieja
+	private final Map<Long, Long> vigentes = new HashMap<>();
+	// Ultimo tic procesado
+	private long actual;
+
+	public RuedaVencimientos(long resolucionMs, long ahoraMs) {
+		this.resolucionMs = resolucionMs;
+		this.actual = ahoraMs / resolucionMs;
+		for (Casillero[] nivel : niveles) {
+			for (int i = 0; i < CASILLEROS; i++) {
+				nivel[i] = new Casillero();
+			}
+		}
+	}
+
+	/** Reemplaza el vencimiento anterior del id, si tenia. Lo ya vencido sale en el proximo tic. */
+	public void programar(long id, long venceMs) {
+		long tic = Math.max(Math.floorDiv(venceMs + resolucionMs - 1, resolucionMs), actual + 1);
+		vigentes.put(id, tic);
+		ubicar(id, tic);
+	}
+
+	public boolean cancelar(long id) {
+		return vigentes.remove(id) != null;
+	}
+
+	public int tamanio() {
+		return vigentes.size();
+	}
+
+	/** Procesa los tics hasta ahoraMs y entrega los ids que vencieron. */
+	public void avanzar(long ahoraMs, LongConsumer vencidos) {
+		long objetivo = ahoraMs / resolucionMs;
+		while (actual < objetivo) {
+			actual++;
+			// Al dar la vuelta un nivel baja el casillero del siguiente, de abajo hacia arriba
+			for (int nivel = 1; nivel < NIVELES && (actual & ((1L << (BITS * nivel)) - 1)) == 0; nivel++) {
+				cascada(nivel, (int) ((actual >>> (BITS * nivel)) & MASCARA));
+			}
+			Casillero casillero = niveles[0][(int) (actual & MASCARA)];
+			for (int i = 0; i < casillero.tamanio; i++) {
+				Long vigente = vigentes.get(casillero.ids[i]);
+				if (vigente != null && vigente == casillero.tics[i]) {
+					vigentes.remove(casillero.ids[i]);
+					vencidos.accept(casillero.ids[i]);
+				}
+			}
+			casillero.vaciar();
+		}
+	}
+
+	private void cascada(int nivel, int indice) {
+		Casillero casillero = niveles[nivel][indice];
+		if (casillero.tamanio == 0) {
+			return;
+		}
+		niveles[nivel][indice] = new Casillero();
+		for (int i = 0; i < casillero.tamanio; i++) {
+			Long vigente = vigentes.get(casillero.ids[i]);
+			if (vigente != null && vigente == casillero.tics[i]) {
+				ubicar(casillero.ids[i], casillero.tics[i]);
+			}
+		}
+	}
+
+	// El nivel sale de cuanto falta; el casillero, de los bits del tic en ese nivel
+	private void ubicar(long id, long tic) {
+		long falta = tic - actual;
+		int nivel = 0;
+		while (nivel < NIVELES - 1 && falta >= 1L << (BITS * (nivel + 1))) {
+			nivel++;
+		}
+		niveles[nivel][(int) ((tic >>> (BITS * nivel)) & MASCARA)].agregar(id, tic);
+	}
+
+	private static final class Casillero {
+
+		private long[] ids = new long[4];
+		private long[] tics = new long[4];
+		private int tamanio;
+
+		void agregar(long id, long tic) {
+			if (tamanio == ids.length) {
+				ids = Arrays.copyOf(ids, tamanio * 2);
+				tics = Arrays.copyOf(tics, tamanio * 2);
+			}
+			ids[tamanio] = id;
+			tics[tamanio] = tic;
+			tamanio++;
+		}
+
+		// Un casillero que crecio mucho (una rafaga) no retiene la memoria
+		void vaciar() {
+			if (ids.length > 1024) {
+				ids = new long[4];
+				tics = new long[4];
+			}
+			tamanio = 0;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package belgrano.finalProgra3.service.memoria;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador por dia (epoch day) guardado en bloques de 1024 dias. Leer o sumar un
+ * dia es O(1) y no toma locks: cada celda es un AtomicLongArray.
+ */
+public class SerieDiaria {
+
+	private static final int BITS_BLOQUE = 10;
+	private static final int MASCARA = (1 << BITS_BLOQUE) - 1;
+
+	private final ConcurrentHashMap<Integer, AtomicLongArray> bloques = new ConcurrentHashMap<>();
+
+	public void sumar(int dia, long delta) {
+		bloques.computeIfAbsent(dia >> BITS_BLOQUE, k -> new AtomicLongArray(1 << BITS_BLOQUE))
+				.addAndGet(dia & MASCARA, delta);
+	}
+
+	public long valor(int dia) {
+		AtomicLongArray bloque = bloques.get(dia >> BITS_BLOQUE);
+		return bloque == null ? 0 : bloque.get(dia & MASCARA);
+	}
+}
@@ -0,0 +1,103 @@
+package belgrano.finalProgra3.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Venta por tipo contra el inventario en memoria: "Doble Deluxe" tiene una sola habitacion (201) en data.sql
+@SpringBootTest
+@AutoConfigureMockMvc
+class InventarioIntegracionTest {
+
+	private static final String TIPO = "Doble Deluxe";
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Test
+	void venderPorTipoMueveElInventarioYCancelarLoDevuelve() throws Exception {
+		LocalDate desde = LocalDate.now().plusDays(90);
+		LocalDate hasta = desde.plusDays(2);
+
+		inventario(desde, hasta)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.length()").value(2))
+				.andExpect(jsonPath("$.data[0].porTipo['" + TIPO + "'].habitaciones").value(1))
+				.andExpect(jsonPath("$.data[0].porTipo['" + TIPO + "'].libres").value(1));
+
+		JsonNode creada = mapper.readTree(porTipo(desde, hasta)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.habitacion.numero").value(201))
+				.andReturn().getResponse().getContentAsString());
+		long reservaId = creada.at("/data/id").asLong();
+
+		inventario(desde, hasta)
+				.andExpect(jsonPath("$.data[0].porTipo['" + TIPO + "'].vendidas").value(1))
+				.andExpect(jsonPath("$.data[1].porTipo['" + TIPO + "'].libres").value(0));
+
+		// Sin lugar se rechaza segun los contadores
+		porTipo(desde, hasta)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message[0]").value(containsString("No quedan habitaciones " + TIPO)));
+
+		mvc.perform(delete("/reserva/{id}", reservaId)).andExpect(status().isOk());
+
+		inventario(desde, hasta)
+				.andExpect(jsonPath("$.data[0].porTipo['" + TIPO + "'].vendidas").value(0))
+				.andExpect(jsonPath("$.data[1].porTipo['" + TIPO + "'].libres").value(1));
+	}
+
+	@Test
+	void elInventarioCoincideConLaBaseDespuesDeVender() throws Exception {
+		LocalDate desde = LocalDate.now().plusDays(120);
+		porTipo(desde, desde.plusDays(3)).andExpect(status().isOk());
+
+		mvc.perform(post("/habitacion/inventario/reconciliar"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data").value(0));
+	}
+
+	@Test
+	void rechazaRangosInvalidos() throws Exception {
+		LocalDate desde = LocalDate.now().plusDays(30);
+
+		inventario(desde, desde).andExpect(status().isBadRequest());
+		inventario(desde, desde.plusDays(400)).andExpect(status().isBadRequest());
+		porTipo(desde.plusDays(2), desde).andExpect(status().isBadRequest());
+	}
+
+	private ResultActions inventario(LocalDate desde, LocalDate hasta) throws Exception {
+		return mvc.perform(get("/habitacion/inventario")
+				.param("desde", desde.toString())
+				.param("hasta", hasta.toString())
+				.param("tipo", TIPO));
+	}
+
+	private ResultActions porTipo(LocalDate desde, LocalDate hasta) throws Exception {
+		String cuerpo = mapper.writeValueAsString(Map.of(
+				"fechaInicio", desde.toString(),
+				"fechaFin", hasta.toString(),
+				"tipoHabitacion", TIPO,
+				"clienteId", 1));
+		return mvc.perform(post("/reserva/por-tipo").contentType(MediaType.APPLICATION_JSON).content(cuerpo));
+	}
+}
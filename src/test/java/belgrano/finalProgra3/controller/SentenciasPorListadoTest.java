@@ -0,0 +1,212 @@
+package belgrano.finalProgra3.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import belgrano.finalProgra3.entity.Cliente;
+import belgrano.finalProgra3.entity.Empleado;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.entity.Servicio;
+import belgrano.finalProgra3.repository.ClienteRepository;
+import belgrano.finalProgra3.repository.EmpleadoRepository;
+import belgrano.finalProgra3.repository.HabitacionRepository;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.repository.ServicioRepository;
+import belgrano.finalProgra3.service.IExportacionService;
+
+/**
+ * Cada listado hace la misma cantidad de sentencias SQL con los 5 registros de data.sql
+ * que con una pagina llena de filas con colecciones. Se cuentan solo las sentencias del
+ * hilo del request, asi los jobs programados no ensucian la cuenta. La exportacion de
+ * reservas tampoco crece con la tabla: dos cursores, sin cargas por fila. Usa su propia base:
+ * otro contexto sobre jdbc:h2:mem:testdb la recrearia debajo de los demas tests.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sentencias")
+@AutoConfigureMockMvc
+class SentenciasPorListadoTest {
+
+	private static final List<String> LISTADOS = List.of("/reserva", "/habitacion", "/servicio", "/cliente", "/empleado");
+	private static final int FILAS = 120;
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private ClienteRepository clienteRepository;
+	@Autowired
+	private EmpleadoRepository empleadoRepository;
+	@Autowired
+	private ServicioRepository servicioRepository;
+	@Autowired
+	private HabitacionRepository habitacionRepository;
+	@Autowired
+	private ReservaRepository reservaRepository;
+	@Autowired
+	private IExportacionService exportacionService;
+
+	@Test
+	void cadaListadoHaceLasMismasSentenciasConPocosYConMuchosDatos() throws Exception {
+		Map<String, Integer> conPocos = sentenciasPorListado(5);
+		conPocos.put("exportacion", sentenciasDeExportacion(0));
+
+		cargarFilas();
+		Map<String, Integer> conMuchos = sentenciasPorListado(50);
+		conMuchos.put("exportacion", sentenciasDeExportacion(FILAS));
+
+		// La pagina y, donde hay coleccion, una consulta IN para la de toda la pagina
+		// La exportacion: el cursor de reservas y el de sus servicios
+		Map<String, Integer> esperadas = Map.of("/reserva", 2, "/habitacion", 1, "/servicio", 2, "/cliente", 1, "/empleado", 1,
+				"exportacion", 2);
+		assertThat(conPocos).isEqualTo(esperadas);
+		assertThat(conMuchos).isEqualTo(esperadas);
+	}
+
+	// Primero una pasada sin contar, para que cargas unicas (caches, calendario) no sumen
+	private Map<String, Integer> sentenciasPorListado(int filasEsperadas) throws Exception {
+		Map<String, Integer> sentencias = new LinkedHashMap<>();
+		for (String listado : LISTADOS) {
+			mvc.perform(get(listado)).andExpect(status().isOk());
+			Contador.armar();
+			try {
+				mvc.perform(get(listado))
+						.andExpect(status().isOk())
+						.andExpect(jsonPath("$.data.length()").value(greaterThanOrEqualTo(filasEsperadas)));
+			} finally {
+				sentencias.put(listado, Contador.desarmar());
+			}
+		}
+		return sentencias;
+	}
+
+	// La exportacion corre en el hilo del test, que es el que se arma
+	private int sentenciasDeExportacion(int conServicios) throws Exception {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+		int sentencias;
+		Contador.armar();
+		try {
+			exportacionService.exportarReservas(salida, IExportacionService.Formato.NDJSON);
+		} finally {
+			sentencias = Contador.desarmar();
+		}
+		// Las reservas de data.sql no tienen servicios; las de cargarFilas() tienen dos cada una
+		List<String> filas = salida.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(filas).hasSize(5 + conServicios);
+		assertThat(filas).filteredOn(fila -> fila.matches(".*\"serviciosIds\":\\[\\d+,\\d+].*")).hasSize(conServicios);
+		return sentencias;
+	}
+
+	// Una pagina llena (50) de cada listado, con servicios por reserva y empleados por servicio
+	private void cargarFilas() {
+		List<Empleado> empleados = new ArrayList<>();
+		List<Cliente> clientes = new ArrayList<>();
+		List<Habitacion> habitaciones = new ArrayList<>();
+		for (int i = 0; i < FILAS; i++) {
+			Empleado empleado = new Empleado();
+			empleado.setNombre("Empleado " + i);
+			empleado.setCargo("Recepcionista");
+			empleado.setNumeroIdentificacion(40_000_000L + i);
+			empleado.setSalario(90_000L);
+			empleado.setFechaContratacion(LocalDateTime.of(2024, 1, 1, 9, 0));
+			empleados.add(empleado);
+			clientes.add(new Cliente(null, "Cliente " + i, "Calle " + i, "011-5000-" + (1000 + i), "cliente" + i + "@email.com"));
+			Habitacion habitacion = new Habitacion();
+			habitacion.setNumero(1000 + i);
+			habitacion.setTipo("Doble Deluxe");
+			habitacion.setPrecioPorNoche(12000);
+			habitacion.setEstado("Limpia");
+			habitacion.setDisponible(true);
+			habitaciones.add(habitacion);
+		}
+		empleados = empleadoRepository.saveAll(empleados);
+		clientes = clienteRepository.saveAll(clientes);
+		habitaciones = habitacionRepository.saveAll(habitaciones);
+
+		List<Servicio> servicios = new ArrayList<>();
+		for (int i = 0; i < FILAS; i++) {
+			Servicio servicio = new Servicio();
+			servicio.setNombre("Servicio " + i);
+			servicio.setDescripcion("Servicio de prueba");
+			servicio.setPrecio(1000);
+			servicio.setDisponibilidad(true);
+			servicio.setEmpleados(new HashSet<>(Set.of(empleados.get(i), empleados.get((i + 1) % FILAS))));
+			servicios.add(servicio);
+		}
+		servicios = servicioRepository.saveAll(servicios);
+
+		List<Reserva> reservas = new ArrayList<>();
+		LocalDate inicio = LocalDate.now().plusDays(10);
+		for (int i = 0; i < FILAS; i++) {
+			Reserva reserva = new Reserva();
+			reserva.setFechaInicio(inicio);
+			reserva.setFechaFin(inicio.plusDays(2));
+			reserva.setNumeroNoches(2);
+			reserva.setPrecioTotal(24000);
+			reserva.setHabitacion(habitaciones.get(i));
+			reserva.setCliente(clientes.get(i));
+			reserva.setServicios(new HashSet<>(Set.of(servicios.get(i), servicios.get((i + 7) % FILAS))));
+			reserva.setEstado(Reserva.EstadoReserva.CONFIRMADA);
+			reservas.add(reserva);
+		}
+		reservaRepository.saveAll(reservas);
+	}
+
+	@TestConfiguration
+	static class Configuracion {
+
+		@Bean
+		HibernatePropertiesCustomizer contadorDeSentencias() {
+			return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new Contador());
+		}
+	}
+
+	// Cuenta las sentencias que prepara Hibernate en el hilo armado
+	static class Contador implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+		private static final ThreadLocal<int[]> CUENTA = new ThreadLocal<>();
+
+		static void armar() {
+			CUENTA.set(new int[1]);
+		}
+
+		static int desarmar() {
+			int[] cuenta = CUENTA.get();
+			CUENTA.remove();
+			return cuenta[0];
+		}
+
+		@Override
+		public String inspect(String sql) {
+			int[] cuenta = CUENTA.get();
+			if (cuenta != null) {
+				cuenta[0]++;
+			}
+			return sql;
+		}
+	}
+}
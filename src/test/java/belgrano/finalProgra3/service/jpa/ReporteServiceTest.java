@@ -0,0 +1,82 @@
+package belgrano.finalProgra3.service.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import belgrano.finalProgra3.dto.IngresoDiaDto;
+import belgrano.finalProgra3.dto.OcupacionDiaDto;
+import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IInventarioService;
+import belgrano.finalProgra3.service.IReporteService;
+import belgrano.finalProgra3.service.IReservaService;
+
+// Los agregados que arman las altas y bajas son los mismos que reconstruye recargar() desde la base
+@SpringBootTest
+class ReporteServiceTest {
+
+	private static final String TIPO = "Prueba Reportes";
+
+	@Autowired
+	private IReporteService reporteService;
+	@Autowired
+	private IReservaService reservaService;
+	@Autowired
+	private IHabitacionService habitacionService;
+	@Autowired
+	private IInventarioService inventarioService;
+
+	@Test
+	void recargarReconstruyeLoMismoQueLasActualizacionesIncrementales() {
+		LocalDate desde = LocalDate.now().plusDays(300);
+		LocalDate hasta = desde.plusDays(3);
+		Habitacion habitacion = new Habitacion();
+		habitacion.setNumero(9900);
+		habitacion.setTipo(TIPO);
+		// Un precio con centavos que no se reparten exacto entre las noches
+		habitacion.setPrecioPorNoche(12345.67);
+		habitacion.setEstado("Limpia");
+		habitacion.setDisponible(true);
+		long habitacionId = habitacionService.save(habitacion).getId();
+		inventarioService.reconciliar();
+		List<IngresoDiaDto> ingresosAntes = reporteService.ingresos(desde.minusDays(1), hasta.plusDays(1));
+
+		Reserva reserva = reservaService.createFromRequest(pedido(habitacionId, desde, hasta, List.of(1L, 3L)));
+		List<IngresoDiaDto> ingresos = reporteService.ingresos(desde.minusDays(1), hasta.plusDays(1));
+		List<OcupacionDiaDto> ocupacion = reporteService.ocupacion(desde.minusDays(1), hasta.plusDays(1));
+
+		// La habitacion y los servicios suman exactamente el total de la reserva
+		double total = ingresos.stream().mapToDouble(IngresoDiaDto::getTotal).sum()
+				- ingresosAntes.stream().mapToDouble(IngresoDiaDto::getTotal).sum();
+		assertThat(Math.round(total * 100)).isEqualTo(Math.round(reserva.getPrecioTotal() * 100));
+		assertThat(ocupacion.get(1).getPorTipo().get(TIPO).getOcupadas()).isEqualTo(1);
+
+		reporteService.recargar();
+		assertThat(reporteService.ingresos(desde.minusDays(1), hasta.plusDays(1))).isEqualTo(ingresos);
+		assertThat(reporteService.ocupacion(desde.minusDays(1), hasta.plusDays(1))).isEqualTo(ocupacion);
+
+		// La baja resta lo mismo que sumo el alta; el tipo queda con ingresos en cero
+		reservaService.deleteById(reserva.getId());
+		assertThat(reporteService.ingresos(desde.minusDays(1), hasta.plusDays(1)))
+				.extracting(IngresoDiaDto::getTotal)
+				.containsExactlyElementsOf(ingresosAntes.stream().map(IngresoDiaDto::getTotal).toList());
+	}
+
+	private static ReservaRequestDto pedido(long habitacionId, LocalDate desde, LocalDate hasta, List<Long> servicios) {
+		ReservaRequestDto pedido = new ReservaRequestDto();
+		pedido.setHabitacionId(habitacionId);
+		pedido.setClienteId(1L);
+		pedido.setFechaInicio(desde.toString());
+		pedido.setFechaFin(hasta.toString());
+		pedido.setServiciosIds(servicios);
+		return pedido;
+	}
+}
@@ -0,0 +1,179 @@
+package belgrano.finalProgra3.service.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import belgrano.finalProgra3.dto.ReservaRequestDto;
+import belgrano.finalProgra3.entity.Habitacion;
+import belgrano.finalProgra3.entity.Reserva;
+import belgrano.finalProgra3.repository.ReservaRepository;
+import belgrano.finalProgra3.service.IHabitacionService;
+import belgrano.finalProgra3.service.IInventarioService;
+import belgrano.finalProgra3.service.IReservaService;
+import belgrano.finalProgra3.service.memoria.CerrojosPorClave;
+
+// Altas concurrentes contra H2: la misma habitacion se serializa, habitaciones distintas no se esperan
+@SpringBootTest
+class ReservaConcurrenciaTest {
+
+	private static final int HILOS = 16;
+	private static final String TIPO = "Prueba Concurrencia";
+	// Numeros de habitacion que no usa data.sql
+	private static final AtomicInteger NUMEROS = new AtomicInteger(9000);
+
+	@Autowired
+	private IReservaService reservaService;
+	@Autowired
+	private IHabitacionService habitacionService;
+	@Autowired
+	private IInventarioService inventarioService;
+	@Autowired
+	private ReservaRepository reservaRepository;
+	@Autowired
+	private CerrojosPorClave cerrojos;
+
+	private ExecutorService hilos;
+	private LocalDate desde;
+	private LocalDate hasta;
+
+	@BeforeEach
+	void setUp() {
+		hilos = Executors.newFixedThreadPool(HILOS);
+		desde = LocalDate.now().plusDays(45);
+		hasta = desde.plusDays(3);
+	}
+
+	@AfterEach
+	void tearDown() {
+		hilos.shutdownNow();
+	}
+
+	@Test
+	void deVariasAltasParaLaMismaHabitacionYFechasEntraUnaSola() throws Exception {
+		long habitacionId = habitaciones(1).get(0);
+
+		List<Future<Reserva>> altas = lanzarJuntas(i -> habitacionId);
+
+		int creadas = 0;
+		int rechazadas = 0;
+		for (Future<Reserva> alta : altas) {
+			try {
+				alta.get(30, TimeUnit.SECONDS);
+				creadas++;
+			} catch (ExecutionException e) {
+				assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+				rechazadas++;
+			}
+		}
+		assertThat(creadas).isEqualTo(1);
+		assertThat(rechazadas).isEqualTo(HILOS - 1);
+		assertThat(reservaRepository.findSolapadasPorHabitacion(habitacionId, desde, hasta)).hasSize(1);
+	}
+
+	@Test
+	void altasEnHabitacionesDistintasEntranTodas() throws Exception {
+		List<Long> ids = habitaciones(HILOS);
+
+		List<Future<Reserva>> altas = lanzarJuntas(ids::get);
+
+		for (int i = 0; i < HILOS; i++) {
+			assertThat(altas.get(i).get(30, TimeUnit.SECONDS).getHabitacion().getId()).isEqualTo(ids.get(i));
+		}
+	}
+
+	@Test
+	void unaHabitacionOcupadaNoDemoraAOtraDeDistintaFranja() throws Exception {
+		List<Long> ids = habitaciones(2);
+		long ocupada = ids.get(0);
+		long libre = ids.get(1);
+		while (cerrojos.para(libre) == cerrojos.para(ocupada)) {
+			libre = habitaciones(1).get(0);
+		}
+		long otra = libre;
+
+		// Mientras otra operacion retiene la habitacion, el alta en otra franja no espera el cerrojo
+		ReentrantLock retenido = cerrojos.para(ocupada);
+		CountDownLatch tomado = new CountDownLatch(1);
+		CountDownLatch soltar = new CountDownLatch(1);
+		Future<?> retencion = hilos.submit(() -> {
+			retenido.lock();
+			try {
+				tomado.countDown();
+				soltar.await();
+			} finally {
+				retenido.unlock();
+			}
+			return null;
+		});
+		tomado.await();
+		try {
+			Future<Reserva> alta = hilos.submit(() -> reservaService.createFromRequest(pedido(otra)));
+			assertThat(alta.get(3, TimeUnit.SECONDS).getHabitacion().getId()).isEqualTo(otra);
+			assertThat(retenido.isLocked()).isTrue();
+		} finally {
+			soltar.countDown();
+			retencion.get(5, TimeUnit.SECONDS);
+		}
+	}
+
+	// Todas las altas arrancan a la vez; cada hilo reserva la habitacion que indica habitacion(i)
+	private List<Future<Reserva>> lanzarJuntas(IntFunction<Long> habitacion) throws InterruptedException {
+		CountDownLatch listos = new CountDownLatch(HILOS);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<Reserva>> altas = new ArrayList<>();
+		for (int i = 0; i < HILOS; i++) {
+			ReservaRequestDto pedido = pedido(habitacion.apply(i));
+			altas.add(hilos.submit(() -> {
+				listos.countDown();
+				largada.await();
+				return reservaService.createFromRequest(pedido);
+			}));
+		}
+		listos.await();
+		largada.countDown();
+		return altas;
+	}
+
+	private ReservaRequestDto pedido(long habitacionId) {
+		ReservaRequestDto pedido = new ReservaRequestDto();
+		pedido.setHabitacionId(habitacionId);
+		pedido.setClienteId(1L);
+		pedido.setFechaInicio(desde.toString());
+		pedido.setFechaFin(hasta.toString());
+		return pedido;
+	}
+
+	// Habitaciones propias del test; el inventario por tipo se reconcilia para contarlas
+	private List<Long> habitaciones(int cantidad) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < cantidad; i++) {
+			Habitacion habitacion = new Habitacion();
+			habitacion.setNumero(NUMEROS.incrementAndGet());
+			habitacion.setTipo(TIPO);
+			habitacion.setPrecioPorNoche(10000);
+			habitacion.setEstado("Limpia");
+			habitacion.setDisponible(true);
+			ids.add(habitacionService.save(habitacion).getId());
+		}
+		inventarioService.reconciliar();
+		return ids;
+	}
+}
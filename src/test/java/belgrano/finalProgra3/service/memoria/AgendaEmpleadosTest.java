@@ -0,0 +1,118 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import belgrano.finalProgra3.service.memoria.AgendaEmpleados.Bloque;
+
+class AgendaEmpleadosTest {
+
+	private static final int DIA = 20_000;
+	private static final long[] NADA = null;
+
+	private AgendaEmpleados agenda;
+
+	@BeforeEach
+	void setUp() {
+		agenda = new AgendaEmpleados();
+		// 1 y 2 trabajan de 08:00 a 16:00 (franjas 32 a 64), 3 de 16:00 a 00:00
+		agenda.cargar(List.of(
+				new Bloque(1L, 1L, DIA, 32, 64),
+				new Bloque(2L, 2L, DIA, 32, 64),
+				new Bloque(3L, 3L, DIA, 64, 96)), List.of());
+	}
+
+	@Test
+	void laMascaraCruzaElLimiteDePalabraSinPerderBits() {
+		assertThat(AgendaEmpleados.mascara(0, 64)).containsExactly(-1L, 0L);
+		assertThat(AgendaEmpleados.mascara(64, 96)).containsExactly(0L, 0xFFFF_FFFFL);
+		assertThat(AgendaEmpleados.mascara(0, 96)).containsExactly(-1L, 0xFFFF_FFFFL);
+		assertThat(AgendaEmpleados.mascara(63, 65)).containsExactly(1L << 63, 1L);
+		assertThat(AgendaEmpleados.mascara(10, 10)).containsExactly(0L, 0L);
+		for (int desde = 0; desde <= 96; desde++) {
+			for (int hasta = desde; hasta <= 96; hasta++) {
+				long[] mascara = AgendaEmpleados.mascara(desde, hasta);
+				assertThat(Long.bitCount(mascara[0]) + Long.bitCount(mascara[1])).isEqualTo(hasta - desde);
+				assertThat(AgendaEmpleados.tramos(mascara)).hasSize(hasta > desde ? 1 : 0);
+			}
+		}
+	}
+
+	@Test
+	void medianocheComoFinEsLaUltimaFranjaDelDia() {
+		assertThat(AgendaEmpleados.franjas(LocalTime.of(22, 0), LocalTime.MIDNIGHT)).containsExactly(88, 96);
+		assertThat(AgendaEmpleados.franjas(LocalTime.MIDNIGHT, LocalTime.of(8, 15))).containsExactly(0, 33);
+		assertThat(AgendaEmpleados.hora(96)).isEqualTo(LocalTime.MIDNIGHT);
+		assertThatThrownBy(() -> AgendaEmpleados.franjas(LocalTime.of(10, 0), LocalTime.of(10, 0)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> AgendaEmpleados.franjas(LocalTime.of(10, 10), LocalTime.of(11, 0)))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		// El turno que termina a las 00:00 cubre la ultima franja y sale como un solo tramo
+		assertThat(agenda.estaLibre(3L, DIA, AgendaEmpleados.mascara(88, 96))).isTrue();
+		assertThat(AgendaEmpleados.tramos(agenda.libres(3L, DIA))).containsExactly(new int[] { 64, 96 });
+	}
+
+	@Test
+	void libreSoloDentroDelTurnoYSinAsignacionesQueCrucen() {
+		assertThat(agenda.estaLibre(1L, DIA, AgendaEmpleados.mascara(40, 44))).isTrue();
+		assertThat(agenda.estaLibre(1L, DIA, AgendaEmpleados.mascara(60, 68))).isFalse();
+		assertThat(agenda.estaLibre(1L, DIA + 1, AgendaEmpleados.mascara(40, 44))).isFalse();
+
+		agenda.agregarAsignacion(new Bloque(10L, 1L, DIA, 42, 46));
+		assertThat(agenda.estaLibre(1L, DIA, AgendaEmpleados.mascara(40, 44))).isFalse();
+		assertThat(agenda.estaLibre(1L, DIA, AgendaEmpleados.mascara(46, 50))).isTrue();
+		assertThat(AgendaEmpleados.tramos(agenda.libres(1L, DIA))).containsExactly(new int[] { 32, 42 }, new int[] { 46, 64 });
+
+		agenda.quitarAsignacion(10L);
+		assertThat(agenda.estaLibre(1L, DIA, AgendaEmpleados.mascara(40, 44))).isTrue();
+		assertThat(agenda.cantidadAsignaciones()).isZero();
+	}
+
+	@Test
+	void lasFranjasTomadasEnElMismoLoteCuentanComoOcupadas() {
+		long[] tomadas = AgendaEmpleados.mascara(36, 40);
+
+		assertThat(agenda.estaLibre(1L, DIA, AgendaEmpleados.mascara(38, 42), tomadas)).isFalse();
+		assertThat(agenda.estaLibre(1L, DIA, AgendaEmpleados.mascara(40, 44), tomadas)).isTrue();
+		// Lo tomado no se escribe en la agenda
+		assertThat(agenda.estaLibre(1L, DIA, AgendaEmpleados.mascara(38, 42))).isTrue();
+	}
+
+	@Test
+	void eligeAlLibreConMenosCargaContandoLoDelLote() {
+		long[] ambos = { 1L, 2L };
+		long[] manana = AgendaEmpleados.mascara(48, 50);
+
+		// Sin carga empatan y gana el primero
+		assertThat(agenda.menosCargado(ambos, DIA, manana, id -> NADA)).isEqualTo(1L);
+
+		agenda.agregarAsignacion(new Bloque(10L, 1L, DIA, 32, 36));
+		assertThat(agenda.menosCargado(ambos, DIA, manana, id -> NADA)).isEqualTo(2L);
+
+		// Lo que el lote ya le dio a 2 pesa mas que lo asignado a 1
+		Map<Long, long[]> delLote = Map.of(2L, AgendaEmpleados.mascara(52, 60));
+		assertThat(agenda.menosCargado(ambos, DIA, manana, delLote::get)).isEqualTo(1L);
+
+		// Y si lo del lote cruza la franja, 2 ni siquiera es candidato
+		Map<Long, long[]> cruzado = Map.of(2L, AgendaEmpleados.mascara(49, 50));
+		assertThat(agenda.menosCargado(new long[] { 2L }, DIA, manana, cruzado::get)).isEqualTo(-1L);
+		assertThat(agenda.menosCargado(ambos, DIA, AgendaEmpleados.mascara(70, 72), id -> NADA)).isEqualTo(-1L);
+	}
+
+	@Test
+	void quitarElTurnoDejaAlEmpleadoSinDisponibilidad() {
+		agenda.quitarTurno(3L);
+
+		assertThat(agenda.estaLibre(3L, DIA, AgendaEmpleados.mascara(88, 96))).isFalse();
+		assertThat(AgendaEmpleados.tramos(agenda.libres(3L, DIA))).isEmpty();
+		assertThat(agenda.franjasOcupadas(3L, DIA)).isZero();
+	}
+}
@@ -0,0 +1,145 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import belgrano.finalProgra3.service.memoria.AgregadosDiarios.Aporte;
+
+class AgregadosDiariosTest {
+
+	private static final long[] SIN_SERVICIOS = {};
+
+	private AgregadosDiarios agregados;
+
+	@BeforeEach
+	void setUp() {
+		agregados = new AgregadosDiarios();
+	}
+
+	@Test
+	void sumaOcupacionEIngresosPorTipoYServicio() {
+		agregados.aplicar(new Aporte(1L, "Doble", 100, 102, 20_000, new long[] { 7L }, new long[] { 1_500 }));
+		agregados.aplicar(new Aporte(2L, "Doble", 101, 103, 30_000, SIN_SERVICIOS, SIN_SERVICIOS));
+
+		assertThat(agregados.ocupadas("Doble", 100)).isEqualTo(1);
+		assertThat(agregados.ocupadas("Doble", 101)).isEqualTo(2);
+		assertThat(agregados.ocupadas("Doble", 103)).isZero();
+		assertThat(agregados.ingresosTipo("Doble", 101)).isEqualTo(10_000 + 15_000);
+		assertThat(agregados.usosServicio(7L, 101)).isEqualTo(1);
+		assertThat(agregados.ingresosServicio(7L, 101)).isEqualTo(1_500);
+		assertThat(agregados.ingresosServicio(7L, 102)).isZero();
+		assertThat(agregados.cantidadReservas()).isEqualTo(2);
+	}
+
+	@Test
+	void aplicarYQuitarVuelveACero() {
+		agregados.aplicar(new Aporte(1L, "Suite", 100, 103, 10_001, new long[] { 7L, 8L }, new long[] { 1_500, 99 }));
+
+		agregados.quitar(1L);
+
+		for (int dia = 99; dia <= 103; dia++) {
+			assertThat(agregados.ocupadas("Suite", dia)).isZero();
+			assertThat(agregados.ingresosTipo("Suite", dia)).isZero();
+			assertThat(agregados.usosServicio(7L, dia)).isZero();
+			assertThat(agregados.ingresosServicio(8L, dia)).isZero();
+		}
+		assertThat(agregados.cantidadReservas()).isZero();
+		// Quitar una reserva que no esta no resta nada
+		agregados.quitar(1L);
+		assertThat(agregados.ocupadas("Suite", 100)).isZero();
+	}
+
+	@Test
+	void aplicarDosVecesLaMismaReservaNoCuentaDoble() {
+		Aporte aporte = new Aporte(1L, "Doble", 100, 102, 20_000, new long[] { 7L }, new long[] { 1_500 });
+
+		agregados.aplicar(aporte);
+		agregados.aplicar(aporte);
+
+		assertThat(agregados.ocupadas("Doble", 100)).isEqualTo(1);
+		assertThat(agregados.ingresosTipo("Doble", 100)).isEqualTo(10_000);
+		assertThat(agregados.usosServicio(7L, 101)).isEqualTo(1);
+		assertThat(agregados.cantidadReservas()).isEqualTo(1);
+	}
+
+	@Test
+	void modificarRestaElAporteAnteriorAunqueCambieElTipo() {
+		agregados.aplicar(new Aporte(1L, "Doble", 100, 102, 20_000, new long[] { 7L }, new long[] { 1_500 }));
+
+		agregados.aplicar(new Aporte(1L, "Suite", 101, 104, 60_000, SIN_SERVICIOS, SIN_SERVICIOS));
+
+		assertThat(agregados.ocupadas("Doble", 100)).isZero();
+		assertThat(agregados.ocupadas("Doble", 101)).isZero();
+		assertThat(agregados.ingresosTipo("Doble", 101)).isZero();
+		assertThat(agregados.usosServicio(7L, 100)).isZero();
+		assertThat(agregados.ocupadas("Suite", 101)).isEqualTo(1);
+		assertThat(agregados.ingresosTipo("Suite", 103)).isEqualTo(20_000);
+	}
+
+	@Test
+	void losCentavosQueNoSeDividenVanALasPrimerasNoches() {
+		agregados.aplicar(new Aporte(1L, "Doble", 100, 103, 10_001, SIN_SERVICIOS, SIN_SERVICIOS));
+		agregados.aplicar(new Aporte(2L, "Suite", 100, 103, 10_002, SIN_SERVICIOS, SIN_SERVICIOS));
+
+		assertThat(ingresos("Doble", 100, 103)).containsExactly(3_334L, 3_334L, 3_333L);
+		assertThat(ingresos("Suite", 100, 103)).containsExactly(3_334L, 3_334L, 3_334L);
+		// El total de las noches es exactamente el ingreso de la reserva
+		assertThat(ingresos("Doble", 100, 103).stream().mapToLong(Long::longValue).sum()).isEqualTo(10_001);
+	}
+
+	@Test
+	void unaReservaSinNochesNoSumaNada() {
+		agregados.aplicar(new Aporte(1L, "Doble", 100, 100, 5_000, new long[] { 7L }, new long[] { 1_500 }));
+
+		assertThat(agregados.ocupadas("Doble", 100)).isZero();
+		assertThat(agregados.ingresosServicio(7L, 100)).isZero();
+	}
+
+	@Test
+	void reconstruirDaLasMismasSeriesQueLasActualizacionesIncrementales() {
+		// Historia: altas, una modificacion, una baja y una alta repetida
+		agregados.aplicar(new Aporte(1L, "Doble", 100, 105, 50_003, new long[] { 7L }, new long[] { 1_500 }));
+		agregados.aplicar(new Aporte(2L, "Suite", 102, 104, 40_000, new long[] { 7L, 8L }, new long[] { 1_500, 800 }));
+		agregados.aplicar(new Aporte(3L, "Doble", 98, 101, 9_000, SIN_SERVICIOS, SIN_SERVICIOS));
+		agregados.aplicar(new Aporte(1L, "Doble", 101, 106, 55_007, new long[] { 8L }, new long[] { 900 }));
+		agregados.quitar(3L);
+		Aporte cuarta = new Aporte(4L, "Suite", 99, 102, 30_001, new long[] { 7L }, new long[] { 1_700 });
+		agregados.aplicar(cuarta);
+		agregados.aplicar(cuarta);
+
+		// Lo que leeria una reconstruccion desde la base: solo el estado final de cada reserva
+		AgregadosDiarios reconstruidos = new AgregadosDiarios();
+		for (Aporte aporte : List.of(
+				new Aporte(1L, "Doble", 101, 106, 55_007, new long[] { 8L }, new long[] { 900 }),
+				new Aporte(2L, "Suite", 102, 104, 40_000, new long[] { 7L, 8L }, new long[] { 1_500, 800 }),
+				cuarta)) {
+			reconstruidos.aplicar(aporte);
+		}
+
+		assertThat(agregados.cantidadReservas()).isEqualTo(reconstruidos.cantidadReservas());
+		for (int dia = 95; dia < 110; dia++) {
+			for (String tipo : List.of("Doble", "Suite")) {
+				assertThat(agregados.ocupadas(tipo, dia)).as("ocupadas %s %d", tipo, dia).isEqualTo(reconstruidos.ocupadas(tipo, dia));
+				assertThat(agregados.ingresosTipo(tipo, dia)).as("ingresos %s %d", tipo, dia)
+						.isEqualTo(reconstruidos.ingresosTipo(tipo, dia));
+			}
+			for (long servicio : new long[] { 7L, 8L }) {
+				assertThat(agregados.usosServicio(servicio, dia)).isEqualTo(reconstruidos.usosServicio(servicio, dia));
+				assertThat(agregados.ingresosServicio(servicio, dia)).isEqualTo(reconstruidos.ingresosServicio(servicio, dia));
+			}
+		}
+	}
+
+	private List<Long> ingresos(String tipo, int desde, int hasta) {
+		List<Long> ingresos = new ArrayList<>();
+		for (int dia = desde; dia < hasta; dia++) {
+			ingresos.add(agregados.ingresosTipo(tipo, dia));
+		}
+		return ingresos;
+	}
+}
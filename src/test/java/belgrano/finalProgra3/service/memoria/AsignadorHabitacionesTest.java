@@ -0,0 +1,57 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import belgrano.finalProgra3.service.memoria.AsignadorHabitaciones.Estadia;
+
+class AsignadorHabitacionesTest {
+
+	@Test
+	void lasEstadiasCortasLlenanHuecosYLasVaciasQuedanEnteras() {
+		AsignadorHabitaciones asignador = new AsignadorHabitaciones(new long[] { 10L, 11L });
+		asignador.ocupar(1, 100, 103);
+		asignador.ocupar(1, 105, 110);
+
+		int[] asignadas = asignador.asignar(List.of(new Estadia(0, 103, 105), new Estadia(1, 103, 106)), 2);
+
+		assertThat(asignadas).containsExactly(1, 0);
+	}
+
+	@Test
+	void sinLugarDevuelveMenosUno() {
+		AsignadorHabitaciones asignador = new AsignadorHabitaciones(new long[] { 10L });
+		asignador.ocupar(0, 100, 110);
+
+		assertThat(asignador.asignar(List.of(new Estadia(0, 105, 106)), 1)).containsExactly(-1);
+	}
+
+	@Test
+	void unaOcupacionHeredadaDentroDeOtraNoLiberaNoches() {
+		AsignadorHabitaciones asignador = new AsignadorHabitaciones(new long[] { 10L });
+		// Mismo inicio: antes la segunda pisaba a la primera en el mapa
+		asignador.ocupar(0, 100, 120);
+		asignador.ocupar(0, 100, 102);
+		// Contenida y empezando despues: el rango anterior a 115 era el corto
+		asignador.ocupar(0, 105, 107);
+
+		int[] asignadas = asignador.asignar(List.of(
+				new Estadia(0, 110, 112), new Estadia(1, 103, 104), new Estadia(2, 119, 121)), 3);
+
+		assertThat(asignadas).containsExactly(-1, -1, -1);
+	}
+
+	@Test
+	void lasOcupacionesQueSeEncadenanSeFunden() {
+		AsignadorHabitaciones asignador = new AsignadorHabitaciones(new long[] { 10L });
+		asignador.ocupar(0, 100, 105);
+		asignador.ocupar(0, 110, 115);
+		asignador.ocupar(0, 104, 111);
+
+		assertThat(asignador.asignar(List.of(new Estadia(0, 112, 113), new Estadia(1, 115, 116)), 2))
+				.containsExactly(-1, 0);
+	}
+}
@@ -0,0 +1,166 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import belgrano.finalProgra3.service.memoria.CalendarioTarifas.Ajuste;
+import belgrano.finalProgra3.service.memoria.CalendarioTarifas.Regla;
+
+class CalendarioTarifasTest {
+
+	// El horizonte arranca un lunes y cubre dos semanas
+	private static final int LUNES = IndiceIntervalos.dia(LocalDate.of(2030, 1, 7));
+	private static final int DIAS = 14;
+	private static final long BASE = 10_000;
+	private static final int SIN_INICIO = Integer.MIN_VALUE;
+	private static final int SIN_FIN = Integer.MAX_VALUE;
+	private static final int FIN_DE_SEMANA = 1 << 5 | 1 << 6;
+
+	private CalendarioTarifas calendario;
+
+	@BeforeEach
+	void setUp() {
+		calendario = new CalendarioTarifas(LUNES, DIAS);
+	}
+
+	@Test
+	void laReglaDeMayorPrioridadSeAplicaUltimaYElIdDesempata() {
+		calendario.cargar(List.of(
+				fijo(1, null, 6_000, 5),
+				fijo(2, null, 9_000, 3),
+				fijo(3, "Suite", 7_000, 5),
+				fijo(4, "Suite", 8_000, 5)));
+
+		assertThat(noche("Doble", LUNES)).isEqualTo(6_000);
+		assertThat(noche("Suite", LUNES)).isEqualTo(8_000);
+	}
+
+	@Test
+	void elPrecioFijoPisaLosPorcentajesAnterioresYSeAjustaConLosPosteriores() {
+		calendario.cargar(List.of(
+				porcentaje(1, null, 5_000, 0),
+				fijo(2, null, 8_000, 1),
+				porcentaje(3, null, 1_000, 2)));
+
+		assertThat(noche("Doble", LUNES)).isEqualTo(8_800);
+	}
+
+	@Test
+	void losPorcentajesSeComponenSobreElPrecioPropio() {
+		calendario.cargar(List.of(porcentaje(1, null, 2_000, 0), porcentaje(2, null, 1_000, 1)));
+
+		assertThat(noche("Doble", LUNES)).isEqualTo(13_200);
+	}
+
+	@Test
+	void laMascaraDeDiasSoloAlcanzaAEsosDias() {
+		calendario.cargar(List.of(new Regla(1, null, SIN_INICIO, SIN_FIN, FIN_DE_SEMANA, Ajuste.PORCENTAJE, 10_000, 0, 0)));
+
+		assertThat(noche("Doble", LUNES + 4)).isEqualTo(BASE);
+		assertThat(noche("Doble", LUNES + 5)).isEqualTo(2 * BASE);
+		assertThat(noche("Doble", LUNES + 6)).isEqualTo(2 * BASE);
+		assertThat(calendario.precioNoches("Doble", BASE, LUNES, LUNES + 7, null)).isEqualTo(9 * BASE);
+	}
+
+	@Test
+	void elRecargoPorOcupacionAplicaDesdeElUmbralYSobreElPrecioDeLaNoche() {
+		calendario.cargar(List.of(
+				fijo(1, null, 5_000, 0),
+				new Regla(2, "Doble", SIN_INICIO, SIN_FIN, 0, Ajuste.RECARGO_OCUPACION, 2_000, 80, 1)));
+
+		assertThat(calendario.tieneRecargos("Doble")).isTrue();
+		assertThat(calendario.tieneRecargos("Suite")).isFalse();
+		assertThat(calendario.precioNoches("Doble", BASE, LUNES, LUNES + 1, (tipo, dia) -> 80)).isEqualTo(6_000);
+		assertThat(calendario.precioNoches("Doble", BASE, LUNES, LUNES + 1, (tipo, dia) -> 79)).isEqualTo(5_000);
+		assertThat(calendario.precioNoches("Suite", BASE, LUNES, LUNES + 1, (tipo, dia) -> 100)).isEqualTo(5_000);
+		// Sin ocupacion (cotizacion cacheable) no hay recargo
+		assertThat(noche("Doble", LUNES)).isEqualTo(5_000);
+	}
+
+	@Test
+	void lasNochesFueraDelHorizonteSeEvaluanConLasMismasReglas() {
+		calendario.cargar(List.of(
+				new Regla(1, null, SIN_INICIO, SIN_FIN, FIN_DE_SEMANA, Ajuste.PORCENTAJE, 10_000, 0, 0),
+				new Regla(2, null, SIN_INICIO, LUNES, 0, Ajuste.PRECIO_FIJO, 3_000, 0, 1)));
+
+		// Cuatro semanas despues sigue siendo sabado
+		assertThat(noche("Doble", LUNES + 33)).isEqualTo(2 * BASE);
+		assertThat(noche("Doble", LUNES + 30)).isEqualTo(BASE);
+		// Antes del horizonte: el domingo anterior tiene el fijo, que pisa al fin de semana
+		assertThat(noche("Doble", LUNES - 1)).isEqualTo(3_000);
+		assertThat(calendario.precioNoches("Doble", BASE, LUNES - 1, LUNES + DIAS + 1, null))
+				.isEqualTo(3_000 + 10 * BASE + 4 * 2 * BASE + BASE);
+	}
+
+	@Test
+	void cambiarUnaReglaRecalculaSusNochesViejasYNuevas() {
+		// Calendarios ya armados: el cambio pasa por el recalculo parcial y no por construir()
+		assertThat(noche("Doble", LUNES + 3)).isEqualTo(BASE);
+		assertThat(noche("Suite", LUNES + 3)).isEqualTo(BASE);
+
+		calendario.aplicar(new Regla(1, "Doble", LUNES + 3, LUNES + 5, 0, Ajuste.PORCENTAJE, 10_000, 0, 0));
+		assertThat(noches("Doble", LUNES + 2, LUNES + 6)).containsExactly(BASE, 2 * BASE, 2 * BASE, BASE);
+		assertThat(noche("Suite", LUNES + 3)).isEqualTo(BASE);
+
+		// Otra franja y otro tipo: las noches de la version anterior vuelven al precio propio
+		calendario.aplicar(new Regla(1, "Suite", LUNES + 6, LUNES + 7, 0, Ajuste.PORCENTAJE, 10_000, 0, 0));
+		assertThat(noches("Doble", LUNES + 2, LUNES + 7)).containsOnly(BASE);
+		assertThat(noches("Suite", LUNES + 5, LUNES + 8)).containsExactly(BASE, 2 * BASE, BASE);
+
+		calendario.quitar(1);
+		assertThat(noches("Suite", LUNES, LUNES + DIAS)).containsOnly(BASE);
+		assertThat(calendario.cantidadReglas()).isZero();
+	}
+
+	@Test
+	void quitarUnaReglaDejaLasDemasEnSusNoches() {
+		calendario.cargar(List.of(
+				new Regla(1, null, LUNES, LUNES + 4, 0, Ajuste.PORCENTAJE, 5_000, 0, 0),
+				new Regla(2, null, LUNES + 2, LUNES + 6, 0, Ajuste.PORCENTAJE, 10_000, 0, 1)));
+		assertThat(noches("Doble", LUNES, LUNES + 6)).containsExactly(15_000L, 15_000L, 30_000L, 30_000L, 20_000L, 20_000L);
+
+		calendario.quitar(2);
+
+		assertThat(noches("Doble", LUNES, LUNES + 6)).containsExactly(15_000L, 15_000L, 15_000L, 15_000L, BASE, BASE);
+	}
+
+	@Test
+	void losRecargosGrandesSeSaturanEnVezDeDesbordar() {
+		calendario.cargar(List.of(
+				porcentaje(1, null, 10_000_000, 0),
+				porcentaje(2, null, 10_000_000, 1),
+				porcentaje(3, null, 10_000_000, 2),
+				fijo(4, "Suite", Integer.MAX_VALUE, 3)));
+
+		// El factor queda en Integer.MAX_VALUE, dentro y fuera del horizonte
+		assertThat(noche("Doble", LUNES)).isEqualTo(Integer.MAX_VALUE);
+		assertThat(noche("Doble", LUNES + DIAS + 1)).isEqualTo(Integer.MAX_VALUE);
+		// El fijo maximo no se confunde con SIN_FIJO ni con un precio negativo
+		assertThat(noche("Suite", LUNES)).isEqualTo(Integer.MAX_VALUE);
+	}
+
+	private long noche(String tipo, int dia) {
+		return calendario.precioNoches(tipo, BASE, dia, dia + 1, null);
+	}
+
+	private Long[] noches(String tipo, int desde, int hasta) {
+		Long[] precios = new Long[hasta - desde];
+		for (int dia = desde; dia < hasta; dia++) {
+			precios[dia - desde] = noche(tipo, dia);
+		}
+		return precios;
+	}
+
+	private static Regla fijo(long id, String tipo, int centavos, int prioridad) {
+		return new Regla(id, tipo, SIN_INICIO, SIN_FIN, 0, Ajuste.PRECIO_FIJO, centavos, 0, prioridad);
+	}
+
+	private static Regla porcentaje(long id, String tipo, int puntosBasicos, int prioridad) {
+		return new Regla(id, tipo, SIN_INICIO, SIN_FIN, 0, Ajuste.PORCENTAJE, puntosBasicos, 0, prioridad);
+	}
+}
@@ -0,0 +1,72 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import belgrano.finalProgra3.entity.Cliente;
+
+class IndiceClientesTest {
+
+	private IndiceClientes indice;
+
+	@BeforeEach
+	void setUp() {
+		indice = new IndiceClientes();
+		indice.cargar(List.of(
+				new Cliente(1L, "Juan Pérez García", "Av. Libertador 1234", "011-4555-0101", "juan.perez@email.com"),
+				new Cliente(2L, "María López", "Corrientes 5678", "011-4555-0202", "maria.lopez@email.com"),
+				new Cliente(3L, "Juana Pereyra", "Santa Fe 910", "011-4555-0303", "jpereyra@otro.com"),
+				new Cliente(4L, "Carlos Juan", "Florida 234", "011-4555-0404", "carlos@email.com")).iterator());
+	}
+
+	@Test
+	void normalizaAcentosMayusculasYSeparadores() {
+		assertThat(IndiceClientes.normalizar("  María-JOSÉ  López ")).isEqualTo("maria jose lopez");
+		assertThat(IndiceClientes.normalizar(null)).isEmpty();
+	}
+
+	@Test
+	void buscaPorPrefijoSinAcentos() {
+		assertThat(ids(indice.buscar("maria lop", 10))).containsExactly(2L);
+		assertThat(ids(indice.buscar("PER", 10))).containsExactlyInAnyOrder(1L, 3L);
+	}
+
+	@Test
+	void ordenaExactoAntesQuePrefijoYNombreAntesQueCorreo() {
+		// "juan" es exacto en 1 y 4 (4 tiene el nombre mas corto) y prefijo en 3 ("juana")
+		assertThat(ids(indice.buscar("juan", 10))).containsExactly(4L, 1L, 3L);
+		assertThat(ids(indice.buscar("juan", 2))).containsExactly(4L, 1L);
+	}
+
+	@Test
+	void buscaPorTelefonoCompletoOSuCola() {
+		assertThat(ids(indice.buscar("011 4555-0303", 10))).containsExactly(3L);
+		assertThat(ids(indice.buscar("0202", 10))).containsExactly(2L);
+	}
+
+	@Test
+	void todosLosTerminosTienenQueCoincidir() {
+		assertThat(ids(indice.buscar("juan email", 10))).containsExactlyInAnyOrder(1L, 4L);
+		assertThat(indice.buscar("juan zzz", 10)).isEmpty();
+		assertThat(indice.buscar("   ", 10)).isEmpty();
+	}
+
+	@Test
+	void registrarReindexaYRemoverSaca() {
+		indice.registrar(new Cliente(2L, "María Gómez", "Corrientes 5678", "011-4555-0202", "maria.gomez@email.com"));
+		indice.remover(3L);
+
+		assertThat(indice.buscar("lopez", 10)).isEmpty();
+		assertThat(ids(indice.buscar("gomez", 10))).containsExactly(2L);
+		assertThat(ids(indice.buscar("per", 10))).containsExactly(1L);
+		assertThat(indice.tamanio()).isEqualTo(3);
+	}
+
+	private static List<Long> ids(List<Cliente> clientes) {
+		return clientes.stream().map(Cliente::getId).toList();
+	}
+}
@@ -0,0 +1,102 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos.Ocupacion;
+
+class IndiceIntervalosTest {
+
+	private IndiceIntervalos indice;
+
+	@BeforeEach
+	void setUp() {
+		indice = new IndiceIntervalos();
+	}
+
+	@Test
+	void laNocheDelCheckoutQuedaLibre() {
+		indice.registrar(new Ocupacion(1L, 10L, 100, 105));
+
+		assertThat(indice.estaLibre(10L, 105, 107)).isTrue();
+		assertThat(indice.estaLibre(10L, 98, 100)).isTrue();
+		assertThat(indice.estaLibre(10L, 104, 106)).isFalse();
+		assertThat(indice.estaLibre(10L, 99, 101)).isFalse();
+		assertThat(indice.estaLibre(11L, 100, 105)).isTrue();
+	}
+
+	@Test
+	void detectaSolapesConIntervalosSuperpuestosHeredados() {
+		// Uno largo que contiene a otro corto: el largo empieza antes y termina despues
+		indice.cargar(List.of(
+				new Ocupacion(1L, 10L, 100, 120),
+				new Ocupacion(2L, 10L, 105, 107),
+				new Ocupacion(3L, 10L, 130, 131)));
+
+		assertThat(indice.estaLibre(10L, 110, 112)).isFalse();
+		assertThat(indice.estaLibre(10L, 120, 130)).isTrue();
+		assertThat(indice.solapadas(10L, 106, 110)).extracting(Ocupacion::reservaId)
+				.containsExactlyInAnyOrder(1L, 2L);
+	}
+
+	@Test
+	void ignoraLaReservaQueSeModifica() {
+		indice.registrar(new Ocupacion(1L, 10L, 100, 105));
+		indice.registrar(new Ocupacion(2L, 10L, 105, 108));
+
+		assertThat(indice.estaLibre(10L, 101, 104, 1L)).isTrue();
+		assertThat(indice.estaLibre(10L, 101, 106, 1L)).isFalse();
+	}
+
+	@Test
+	void registrarDeNuevoReemplazaLasNochesAnteriores() {
+		indice.registrar(new Ocupacion(1L, 10L, 100, 105));
+
+		Ocupacion anterior = indice.registrar(new Ocupacion(1L, 10L, 110, 112));
+
+		assertThat(anterior).isEqualTo(new Ocupacion(1L, 10L, 100, 105));
+		assertThat(indice.estaLibre(10L, 100, 105)).isTrue();
+		assertThat(indice.estaLibre(10L, 110, 112)).isFalse();
+		assertThat(indice.cantidadReservas()).isEqualTo(1);
+	}
+
+	@Test
+	void moverLaReservaDeHabitacionOcupaLaNueva() {
+		indice.registrar(new Ocupacion(1L, 10L, 100, 105));
+
+		Ocupacion anterior = indice.registrar(new Ocupacion(1L, 20L, 100, 105));
+
+		assertThat(anterior).isEqualTo(new Ocupacion(1L, 10L, 100, 105));
+		assertThat(indice.estaLibre(10L, 100, 105)).isTrue();
+		assertThat(indice.estaLibre(20L, 100, 105)).isFalse();
+		assertThat(indice.solapadas(20L, 100, 105)).containsExactly(new Ocupacion(1L, 20L, 100, 105));
+		assertThat(indice.remover(1L)).isEqualTo(new Ocupacion(1L, 20L, 100, 105));
+		assertThat(indice.estaLibre(20L, 100, 105)).isTrue();
+	}
+
+	@Test
+	void removerDevuelveLasNochesLiberadas() {
+		indice.registrar(new Ocupacion(1L, 10L, 100, 105));
+
+		assertThat(indice.remover(1L)).isEqualTo(new Ocupacion(1L, 10L, 100, 105));
+		assertThat(indice.remover(1L)).isNull();
+		assertThat(indice.estaLibre(10L, 100, 105)).isTrue();
+		assertThat(indice.cantidadReservas()).isZero();
+	}
+
+	@Test
+	void cargarReemplazaTodoElContenido() {
+		indice.registrar(new Ocupacion(1L, 10L, 100, 105));
+
+		indice.cargar(List.of(new Ocupacion(2L, 20L, 200, 201)));
+
+		assertThat(indice.estaLibre(10L, 100, 105)).isTrue();
+		assertThat(indice.estaLibre(20L, 200, 201)).isFalse();
+		assertThat(indice.remover(1L)).isNull();
+		assertThat(indice.cantidadReservas()).isEqualTo(1);
+	}
+}
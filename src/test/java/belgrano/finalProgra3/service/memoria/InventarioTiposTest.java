@@ -0,0 +1,112 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import belgrano.finalProgra3.service.memoria.IndiceIntervalos.Ocupacion;
+
+class InventarioTiposTest {
+
+	private InventarioTipos inventario;
+
+	@BeforeEach
+	void setUp() {
+		// 10 y 11 son dobles, 20 es suite; 30 no esta habilitada
+		inventario = new InventarioTipos(Map.of(10L, "Doble", 11L, "Doble", 20L, "Suite"));
+	}
+
+	@Test
+	void cuentaHabitacionesYVendidasPorTipoYNoche() {
+		inventario.aplicar(new Ocupacion(1L, 10L, 100, 103));
+		inventario.aplicar(new Ocupacion(2L, 11L, 102, 104));
+
+		assertThat(inventario.habitaciones("Doble")).isEqualTo(2);
+		assertThat(inventario.vendidas("Doble", 101)).isEqualTo(1);
+		assertThat(inventario.vendidas("Doble", 102)).isEqualTo(2);
+		assertThat(inventario.libres("Doble", 102)).isZero();
+		assertThat(inventario.libres("Doble", 103)).isEqualTo(1);
+		assertThat(inventario.libres("Suite", 102)).isEqualTo(1);
+	}
+
+	@Test
+	void minimoLibresMiraTodasLasNochesDelRango() {
+		inventario.aplicar(new Ocupacion(1L, 10L, 102, 103));
+		inventario.aplicar(new Ocupacion(2L, 11L, 102, 103));
+
+		assertThat(inventario.minimoLibres("Doble", 100, 102)).isEqualTo(2);
+		assertThat(inventario.minimoLibres("Doble", 100, 103)).isZero();
+		assertThat(inventario.minimoLibres("Inexistente", 100, 103)).isZero();
+	}
+
+	@Test
+	void aplicarDosVecesNoCuentaDoble() {
+		Ocupacion ocupacion = new Ocupacion(1L, 10L, 100, 103);
+
+		inventario.aplicar(ocupacion);
+		inventario.aplicar(ocupacion);
+
+		assertThat(inventario.vendidas("Doble", 100)).isEqualTo(1);
+		assertThat(inventario.cantidadReservas()).isEqualTo(1);
+	}
+
+	@Test
+	void moverLaReservaRestaLoSumadoAntes() {
+		inventario.aplicar(new Ocupacion(1L, 10L, 100, 103));
+
+		inventario.aplicar(new Ocupacion(1L, 20L, 101, 102));
+
+		assertThat(inventario.vendidas("Doble", 100)).isZero();
+		assertThat(inventario.vendidas("Doble", 101)).isZero();
+		assertThat(inventario.vendidas("Suite", 101)).isEqualTo(1);
+	}
+
+	@Test
+	void quitarYHabitacionesNoHabilitadas() {
+		inventario.aplicar(new Ocupacion(1L, 10L, 100, 103));
+		inventario.quitar(1L);
+		inventario.quitar(1L);
+
+		// Una reserva que pasa a una habitacion no habilitada deja de contar
+		inventario.aplicar(new Ocupacion(2L, 11L, 100, 101));
+		inventario.aplicar(new Ocupacion(2L, 30L, 100, 101));
+
+		assertThat(inventario.vendidas("Doble", 100)).isZero();
+		assertThat(inventario.cantidadReservas()).isZero();
+	}
+
+	@Test
+	void diferenciasCuentaLasCeldasDistintas() {
+		InventarioTipos otro = new InventarioTipos(Map.of(10L, "Doble", 11L, "Doble", 20L, "Suite"));
+		inventario.aplicar(new Ocupacion(1L, 10L, 100, 103));
+		otro.aplicar(new Ocupacion(1L, 10L, 100, 102));
+
+		assertThat(inventario.diferencias(otro, 90, 110)).isEqualTo(1);
+		assertThat(inventario.diferencias(inventario, 90, 110)).isZero();
+	}
+
+	@Test
+	void ventasConcurrentesNoPierdenActualizaciones() throws InterruptedException {
+		ExecutorService hilos = Executors.newFixedThreadPool(8);
+		for (long id = 0; id < 4000; id++) {
+			long reservaId = id;
+			hilos.execute(() -> {
+				inventario.aplicar(new Ocupacion(reservaId, reservaId % 2 == 0 ? 10L : 11L, 100, 110));
+				if (reservaId % 4 == 0) {
+					inventario.quitar(reservaId);
+				}
+			});
+		}
+		hilos.shutdown();
+		assertThat(hilos.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(inventario.vendidas("Doble", 105)).isEqualTo(3000);
+		assertThat(inventario.cantidadReservas()).isEqualTo(3000);
+	}
+}
@@ -0,0 +1,61 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import belgrano.finalProgra3.service.memoria.ListaEspera.Solicitud;
+
+class ListaEsperaTest {
+
+	private ListaEspera lista;
+
+	@BeforeEach
+	void setUp() {
+		lista = new ListaEspera();
+	}
+
+	@Test
+	void candidatasSonLasDelTipoQueTocanLasNochesDeLaMasViejaALaMasNueva() {
+		lista.agregar(new Solicitud(3L, "Doble", 100, 103));
+		lista.agregar(new Solicitud(1L, "Doble", 102, 104));
+		lista.agregar(new Solicitud(2L, "Simple", 100, 103));
+		lista.agregar(new Solicitud(4L, "Doble", 110, 112));
+
+		assertThat(lista.candidatas("Doble", 101, 103)).extracting(Solicitud::id).containsExactly(1L, 3L);
+		assertThat(lista.candidatas("Doble", 104, 110)).isEmpty();
+		assertThat(lista.candidatas("Suite", 100, 200)).isEmpty();
+		assertThat(lista.candidatas("Doble", 103, 103)).isEmpty();
+	}
+
+	@Test
+	void quitarSacaLaSolicitudDeTodasSusNoches() {
+		lista.agregar(new Solicitud(1L, "Doble", 100, 103));
+
+		assertThat(lista.quitar(1L)).isEqualTo(new Solicitud(1L, "Doble", 100, 103));
+		assertThat(lista.quitar(1L)).isNull();
+		assertThat(lista.candidatas("Doble", 100, 103)).isEmpty();
+		assertThat(lista.tamanio()).isZero();
+	}
+
+	@Test
+	void agregarDeNuevoReemplazaLasNochesYElTipo() {
+		lista.agregar(new Solicitud(1L, "Doble", 100, 103));
+
+		lista.agregar(new Solicitud(1L, "Suite", 200, 201));
+
+		assertThat(lista.candidatas("Doble", 100, 103)).isEmpty();
+		assertThat(lista.candidatas("Suite", 200, 201)).extracting(Solicitud::id).containsExactly(1L);
+		assertThat(lista.tamanio()).isEqualTo(1);
+	}
+
+	@Test
+	void anterioresADevuelveLasQueYaNoSePuedenCumplir() {
+		lista.cargar(List.of(new Solicitud(1L, "Doble", 99, 101), new Solicitud(2L, "Doble", 100, 102)));
+
+		assertThat(lista.anterioresA(100)).extracting(Solicitud::id).containsExactly(1L);
+	}
+}
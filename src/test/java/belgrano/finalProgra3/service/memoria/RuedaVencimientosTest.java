@@ -0,0 +1,101 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RuedaVencimientosTest {
+
+	private static final long SEGUNDO = 1000;
+
+	@Test
+	void entregaCadaIdEnSuTic() {
+		RuedaVencimientos rueda = new RuedaVencimientos(SEGUNDO, 0);
+		rueda.programar(1L, 3 * SEGUNDO);
+		rueda.programar(2L, 5 * SEGUNDO);
+
+		assertThat(avanzar(rueda, 2 * SEGUNDO)).isEmpty();
+		assertThat(avanzar(rueda, 3 * SEGUNDO)).containsExactly(1L);
+		assertThat(avanzar(rueda, 10 * SEGUNDO)).containsExactly(2L);
+		assertThat(rueda.tamanio()).isZero();
+	}
+
+	@Test
+	void loYaVencidoSaleEnElProximoTic() {
+		RuedaVencimientos rueda = new RuedaVencimientos(SEGUNDO, 10 * SEGUNDO);
+		rueda.programar(1L, 0);
+
+		assertThat(avanzar(rueda, 11 * SEGUNDO)).containsExactly(1L);
+	}
+
+	@Test
+	void cancelarYReprogramarDescartanLaEntradaVieja() {
+		RuedaVencimientos rueda = new RuedaVencimientos(SEGUNDO, 0);
+		rueda.programar(1L, 3 * SEGUNDO);
+		rueda.programar(2L, 3 * SEGUNDO);
+		assertThat(rueda.cancelar(1L)).isTrue();
+		assertThat(rueda.cancelar(1L)).isFalse();
+		rueda.programar(2L, 100 * SEGUNDO);
+
+		assertThat(avanzar(rueda, 50 * SEGUNDO)).isEmpty();
+		assertThat(avanzar(rueda, 100 * SEGUNDO)).containsExactly(2L);
+	}
+
+	@Test
+	void lasCascadasEntreganATiempoEnTodosLosNiveles() {
+		RuedaVencimientos rueda = new RuedaVencimientos(SEGUNDO, 0);
+		// Uno por nivel y uno mas alla del ultimo (mas de 64^4 tics)
+		long[] tics = { 7, 64 * 3 + 5, 64 * 64 * 2 + 11, 64L * 64 * 64 * 3 + 1, 64L * 64 * 64 * 64 + 17 };
+		for (int i = 0; i < tics.length; i++) {
+			rueda.programar(i, tics[i] * SEGUNDO);
+		}
+
+		for (int i = 0; i < tics.length; i++) {
+			assertThat(avanzar(rueda, (tics[i] - 1) * SEGUNDO)).isEmpty();
+			assertThat(avanzar(rueda, tics[i] * SEGUNDO)).containsExactly((long) i);
+		}
+	}
+
+	@Test
+	void coincideConUnaListaOrdenadaEnUnaSecuenciaAlAzar() {
+		Random azar = new Random(42);
+		RuedaVencimientos rueda = new RuedaVencimientos(SEGUNDO, 0);
+		long[] vence = new long[500];
+		for (int id = 0; id < vence.length; id++) {
+			vence[id] = (1 + azar.nextInt(20_000)) * SEGUNDO;
+			rueda.programar(id, vence[id]);
+		}
+		for (int ahora = 0; ahora <= 20_000; ahora += 1 + azar.nextInt(300)) {
+			long ahoraMs = ahora * SEGUNDO;
+			List<Long> esperados = new ArrayList<>();
+			for (int id = 0; id < vence.length; id++) {
+				if (vence[id] > 0 && vence[id] <= ahoraMs) {
+					esperados.add((long) id);
+					vence[id] = 0;
+				}
+			}
+			assertThat(avanzar(rueda, ahoraMs)).containsExactlyInAnyOrderElementsOf(esperados);
+		}
+		assertThat(avanzar(rueda, 20_001 * SEGUNDO)).containsExactlyInAnyOrderElementsOf(pendientes(vence));
+	}
+
+	private static List<Long> pendientes(long[] vence) {
+		List<Long> ids = new ArrayList<>();
+		for (int id = 0; id < vence.length; id++) {
+			if (vence[id] > 0) {
+				ids.add((long) id);
+			}
+		}
+		return ids;
+	}
+
+	private static List<Long> avanzar(RuedaVencimientos rueda, long ahoraMs) {
+		List<Long> vencidos = new ArrayList<>();
+		rueda.avanzar(ahoraMs, vencidos::add);
+		return vencidos;
+	}
+}
@@ -0,0 +1,37 @@
+package belgrano.finalProgra3.service.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SerieDiariaTest {
+
+	@Test
+	void cadaDiaTieneSuContadorAunqueCrucenBloques() {
+		SerieDiaria serie = new SerieDiaria();
+
+		serie.sumar(1023, 5);
+		serie.sumar(1024, 7);
+		serie.sumar(1024, -2);
+
+		assertThat(serie.valor(1023)).isEqualTo(5);
+		assertThat(serie.valor(1024)).isEqualTo(5);
+		assertThat(serie.valor(1025)).isZero();
+		assertThat(serie.valor(50_000)).isZero();
+	}
+
+	@Test
+	void losDiasAnterioresA1970NoSePisanConLosPosteriores() {
+		SerieDiaria serie = new SerieDiaria();
+
+		serie.sumar(-1, 3);
+		serie.sumar(-1024, 4);
+		serie.sumar(-1025, 6);
+
+		assertThat(serie.valor(-1)).isEqualTo(3);
+		assertThat(serie.valor(-1024)).isEqualTo(4);
+		assertThat(serie.valor(-1025)).isEqualTo(6);
+		assertThat(serie.valor(1023)).isZero();
+		assertThat(serie.valor(0)).isZero();
+	}
+}